@@ -0,0 +1,105 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.audit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zowe.apiml.caching.config.GeneralConfig;
+import org.zowe.apiml.caching.model.KeyValue;
+import org.zowe.apiml.caching.service.Storage;
+import org.zowe.apiml.caching.service.Strategies;
+import org.zowe.apiml.caching.service.inmemory.InMemoryStorage;
+import org.zowe.apiml.caching.service.inmemory.config.InMemoryConfig;
+import org.zowe.apiml.message.yaml.YamlMessageService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the in-memory storage with the synchronous logging of each operation including the value (the former
+ * behaviour of all storages) and with the asynchronous {@link StorageAuditLog}. Both loggers write into the same file
+ * (see logback-benchmark.xml), the count of dropped audit records is logged to the console at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class StorageAuditBenchmark {
+
+    private static final Logger SYNCHRONOUS_LOG = LoggerFactory.getLogger(StorageAuditBenchmark.class);
+    private static final Logger RESULT_LOG = LoggerFactory.getLogger(StorageAuditBenchmark.class.getName() + ".result");
+
+    private static final String SERVICE_ID = "gateway";
+    private static final int RECORDS = 1000;
+
+    @Param({"DROP_NEWEST", "BLOCK"})
+    public String dropPolicy;
+
+    private InMemoryStorage storage;
+    private StorageAuditLog auditLog;
+    private Storage auditedStorage;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        GeneralConfig generalConfig = new GeneralConfig();
+        generalConfig.setEvictionStrategy(Strategies.REJECT.getKey());
+        generalConfig.setMaxDataSize(RECORDS * 10);
+        storage = new InMemoryStorage(new InMemoryConfig(generalConfig), new YamlMessageService("/caching-log-messages.yml"));
+        auditLog = new StorageAuditLog(10_000, StorageAuditLog.DropPolicy.of(dropPolicy));
+        auditedStorage = new AuditedStorage(storage, auditLog);
+
+        keys = new String[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            keys[i] = "key" + i;
+            storage.create(SERVICE_ID, new KeyValue(keys[i], "value" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        auditLog.stop();
+        RESULT_LOG.info("Dropped audit records (policy {}): {}", dropPolicy, auditLog.getDroppedCount());
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(RECORDS)];
+    }
+
+    @Benchmark
+    public KeyValue updateWithSynchronousLog() {
+        String key = randomKey();
+        SYNCHRONOUS_LOG.info("Updating Record: {}|{}|{}", SERVICE_ID, key, "updated");
+        return storage.update(SERVICE_ID, new KeyValue(key, "updated"));
+    }
+
+    @Benchmark
+    public KeyValue updateWithAuditLog() {
+        return auditedStorage.update(SERVICE_ID, new KeyValue(randomKey(), "updated"));
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.infinispan.storage;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.jboss.marshalling.commons.GenericJBossMarshaller;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zowe.apiml.caching.model.KeyValue;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of the Infinispan storage of the caching service on an embedded cache manager in the local mode. The
+ * caches use the same encoding and marshaller as {@code InfinispanConfig}, so the values are marshalled as in
+ * the cluster, just without the replication to other nodes. The persistence is left out, with the passivation and
+ * without an eviction it is used only on the shutdown.
+ *
+ * The clustered lock is not available in the local mode. It is used only by the operations with the token maps, they
+ * are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InfinispanStorageBenchmark {
+
+    private static final String SERVICE_ID = "gateway";
+    private static final int RECORDS = 1000;
+
+    private DefaultCacheManager cacheManager;
+    private InfinispanStorage storage;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        GlobalConfigurationBuilder global = new GlobalConfigurationBuilder().nonClusteredDefault();
+        global.serialization().marshaller(new GenericJBossMarshaller())
+            .allowList().addClasses(KeyValue.class, HashMap.class);
+
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder.clustering().cacheMode(CacheMode.LOCAL)
+            .encoding().mediaType("application/x-jboss-marshalling");
+
+        cacheManager = new DefaultCacheManager(global.build());
+        cacheManager.defineConfiguration("zoweCache", builder.build());
+        cacheManager.defineConfiguration("zoweInvalidatedTokenCache", builder.build());
+        storage = new InfinispanStorage(cacheManager.getCache("zoweCache"), cacheManager.getCache("zoweInvalidatedTokenCache"), null);
+
+        keys = new String[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            keys[i] = "key" + i;
+            storage.create(SERVICE_ID, new KeyValue(keys[i], "value" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        cacheManager.stop();
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(RECORDS)];
+    }
+
+    @Benchmark
+    public KeyValue read() {
+        return storage.read(SERVICE_ID, randomKey());
+    }
+
+    @Benchmark
+    public KeyValue update() {
+        String key = randomKey();
+        return storage.update(SERVICE_ID, new KeyValue(key, "updated"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public KeyValue readConcurrently() {
+        return storage.read(SERVICE_ID, randomKey());
+    }
+
+}
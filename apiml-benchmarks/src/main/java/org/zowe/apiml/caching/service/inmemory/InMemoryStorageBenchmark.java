@@ -0,0 +1,86 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.inmemory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zowe.apiml.caching.config.GeneralConfig;
+import org.zowe.apiml.caching.model.KeyValue;
+import org.zowe.apiml.caching.service.Strategies;
+import org.zowe.apiml.caching.service.inmemory.config.InMemoryConfig;
+import org.zowe.apiml.message.yaml.YamlMessageService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of the in-memory storage of the caching service. The VSAM and Redis storages need an external system
+ * and they cannot be measured offline, the Infinispan storage is measured by {@code InfinispanStorageBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryStorageBenchmark {
+
+    private static final String SERVICE_ID = "gateway";
+    private static final int RECORDS = 1000;
+
+    private InMemoryStorage storage;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        GeneralConfig generalConfig = new GeneralConfig();
+        generalConfig.setEvictionStrategy(Strategies.REJECT.getKey());
+        generalConfig.setMaxDataSize(RECORDS * 10);
+        storage = new InMemoryStorage(new InMemoryConfig(generalConfig), new YamlMessageService("/caching-log-messages.yml"));
+
+        keys = new String[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            keys[i] = "key" + i;
+            storage.create(SERVICE_ID, new KeyValue(keys[i], "value" + i));
+        }
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(RECORDS)];
+    }
+
+    @Benchmark
+    public KeyValue read() {
+        return storage.read(SERVICE_ID, randomKey());
+    }
+
+    @Benchmark
+    public KeyValue update() {
+        String key = randomKey();
+        return storage.update(SERVICE_ID, new KeyValue(key, "updated"));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public KeyValue readConcurrently() {
+        return storage.read(SERVICE_ID, randomKey());
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.discovery.DiscoveryLocatorProperties;
+import org.springframework.cloud.gateway.filter.FilterDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.zowe.apiml.auth.AuthenticationScheme;
+import org.zowe.apiml.cloudgatewayservice.service.routing.ByBasePath;
+import org.zowe.apiml.cloudgatewayservice.service.routing.ByHeader;
+import org.zowe.apiml.cloudgatewayservice.service.scheme.HttpBasicPassticket;
+import org.zowe.apiml.cloudgatewayservice.service.scheme.SafIdt;
+import org.zowe.apiml.cloudgatewayservice.service.scheme.X509;
+import org.zowe.apiml.cloudgatewayservice.service.scheme.Zosmf;
+import org.zowe.apiml.cloudgatewayservice.service.scheme.Zowe;
+import org.zowe.apiml.util.CorsUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.zowe.apiml.constants.EurekaMetadataDefinition.AUTHENTICATION_APPLID;
+import static org.zowe.apiml.constants.EurekaMetadataDefinition.AUTHENTICATION_SCHEME;
+
+/**
+ * Refresh of the route definitions of the cloud gateway with 1,000 services. The cold refresh generates all
+ * definitions by a new {@link RouteLocator}, the warm refresh reuses the definitions cached by the previous refresh
+ * (no instance was changed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteLocatorBenchmark {
+
+    private static final int SERVICES = 1000;
+
+    private StaticApplicationContext context;
+    private CorsUtils corsUtils;
+    private ReactiveDiscoveryClient discoveryClient;
+    private List<FilterDefinition> commonFilters;
+    private DiscoveryLocatorProperties properties;
+
+    private RouteLocator warmRouteLocator;
+
+    @Setup
+    public void setUp() {
+        context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("corsConfigurationSource", new UrlBasedCorsConfigurationSource());
+        context.refresh();
+        corsUtils = new CorsUtils(true, Collections.emptyList());
+        properties = new DiscoveryLocatorProperties();
+
+        FilterDefinition circuitBreakerFilter = new FilterDefinition();
+        circuitBreakerFilter.setName("CircuitBreaker");
+        FilterDefinition retryFilter = new FilterDefinition();
+        retryFilter.setName("Retry");
+        retryFilter.addArg("retries", "5");
+        retryFilter.addArg("statuses", "SERVICE_UNAVAILABLE");
+        commonFilters = Arrays.asList(circuitBreakerFilter, retryFilter);
+
+        AuthenticationScheme[] schemes = AuthenticationScheme.values();
+        Map<String, List<ServiceInstance>> instances = new LinkedHashMap<>();
+        for (int i = 0; i < SERVICES; i++) {
+            String serviceId = "service" + i;
+            Map<String, String> metadata = new HashMap<>();
+            metadata.put("apiml.routes.api-v1.gatewayUrl", "api/v1");
+            metadata.put("apiml.routes.api-v1.serviceUrl", "/" + serviceId + "/api/v1");
+            metadata.put("apiml.routes.ui-v1.gatewayUrl", "ui/v1");
+            metadata.put("apiml.routes.ui-v1.serviceUrl", "/" + serviceId);
+            metadata.put("apiml.corsEnabled", "true");
+            metadata.put(AUTHENTICATION_SCHEME, schemes[i % schemes.length].getScheme());
+            metadata.put(AUTHENTICATION_APPLID, "APPLID");
+            instances.put(serviceId, Collections.singletonList(
+                new DefaultServiceInstance(serviceId + ":1", serviceId, "host" + i, 10010, true, metadata)
+            ));
+        }
+        discoveryClient = new ReactiveDiscoveryClient() {
+            @Override
+            public String description() {
+                return "benchmark";
+            }
+
+            @Override
+            public Flux<ServiceInstance> getInstances(String serviceId) {
+                return Flux.fromIterable(instances.get(serviceId));
+            }
+
+            @Override
+            public Flux<String> getServices() {
+                return Flux.fromIterable(instances.keySet());
+            }
+        };
+
+        warmRouteLocator = createRouteLocator();
+        warmRouteLocator.getRouteDefinitions().collectList().block();
+    }
+
+    private RouteLocator createRouteLocator() {
+        return new RouteLocator(
+            context,
+            corsUtils,
+            discoveryClient,
+            commonFilters,
+            Arrays.asList(new HttpBasicPassticket(), new SafIdt(), new X509(), new Zosmf(), new Zowe()),
+            Arrays.asList(new ByBasePath(properties), new ByHeader(properties))
+        );
+    }
+
+    @Benchmark
+    public List<RouteDefinition> coldRefresh() {
+        return createRouteLocator().getRouteDefinitions().collectList().block();
+    }
+
+    @Benchmark
+    public List<RouteDefinition> warmRefresh() {
+        return warmRouteLocator.getRouteDefinitions().collectList().block();
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.service.balancer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection of an instance by the load balancer of the cloud gateway, including recording of the call result. The
+ * Ribbon based load balancer of the gateway-service is not a part of the build, this is its successor on the request
+ * path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PeakEwmaInstanceChooserBenchmark {
+
+    @Param({"3", "500"})
+    int instanceCount;
+
+    private PeakEwmaInstanceChooser chooser;
+    private List<ServiceInstance> instances;
+
+    @Setup
+    public void setUp() {
+        chooser = new PeakEwmaInstanceChooser(10000, 3, 30000);
+        instances = new ArrayList<>(instanceCount);
+        for (int i = 0; i < instanceCount; i++) {
+            instances.add(new DefaultServiceInstance("service:" + i, "service", "host" + i, 10010, true));
+        }
+        for (ServiceInstance instance : instances) {
+            chooser.start(instance).succeeded();
+        }
+    }
+
+    @Benchmark
+    public ServiceInstance choose() {
+        ServiceInstance instance = chooser.getIterator(instances).next();
+        chooser.start(instance).succeeded();
+        return instance;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ServiceInstance chooseConcurrently() {
+        return choose();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.discovery;
+
+import com.netflix.appinfo.InstanceInfo;
+import com.netflix.eureka.DefaultEurekaServerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.netflix.eureka.server.InstanceRegistryProperties;
+import org.springframework.context.support.StaticApplicationContext;
+import org.zowe.apiml.discovery.config.EurekaConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registration storm: all instances register into an empty registry, or all registered instances renew at once. The
+ * calls are handled as replications to measure just the registry, without any peer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ApimlInstanceRegistryBenchmark {
+
+    @Param({"10000"})
+    int instanceCount;
+
+    private InstanceInfo[] instances;
+    private ApimlInstanceRegistry emptyRegistry;
+    private ApimlInstanceRegistry filledRegistry;
+
+    @Setup(Level.Trial)
+    public void createInstances() {
+        instances = new InstanceInfo[instanceCount];
+        for (int i = 0; i < instanceCount; i++) {
+            instances[i] = InstanceInfo.Builder.newBuilder()
+                .setInstanceId("host" + i + ":service" + (i % 100) + ":10010")
+                .setAppName("SERVICE" + (i % 100))
+                .setHostName("host" + i)
+                .setVIPAddress("service" + (i % 100))
+                .setStatus(InstanceInfo.InstanceStatus.UP)
+                .build();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void createRegistries() {
+        emptyRegistry = createRegistry();
+        filledRegistry = createRegistry();
+        for (InstanceInfo instance : instances) {
+            filledRegistry.register(instance, true);
+        }
+    }
+
+    private static ApimlInstanceRegistry createRegistry() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.refresh();
+
+        ApimlInstanceRegistry registry = new ApimlInstanceRegistry(new DefaultEurekaServerConfig(), null, null, null, null,
+            new InstanceRegistryProperties(), context, new EurekaConfig.Tuple(null));
+        registry.setApplicationContext(context);
+        registry.initializedResponseCache();
+        return registry;
+    }
+
+    @Benchmark
+    public ApimlInstanceRegistry register() {
+        for (InstanceInfo instance : instances) {
+            emptyRegistry.register(instance, true);
+        }
+        return emptyRegistry;
+    }
+
+    @Benchmark
+    public ApimlInstanceRegistry renew() {
+        for (InstanceInfo instance : instances) {
+            filledRegistry.renew(instance.getAppName(), instance.getInstanceId(), true);
+        }
+        return filledRegistry;
+    }
+
+}
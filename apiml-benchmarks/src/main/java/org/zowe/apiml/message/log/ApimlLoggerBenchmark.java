@@ -0,0 +1,61 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.message.log;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zowe.apiml.message.core.Message;
+import org.zowe.apiml.message.core.MessageService;
+import org.zowe.apiml.message.yaml.YamlMessageService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a message and logging by {@link ApimlLogger} into a disabled logger (see logback-benchmark.xml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApimlLoggerBenchmark {
+
+    private static final String KEY = "org.zowe.apiml.common.buildInfoPropertiesIOError";
+
+    private MessageService messageService;
+    private ApimlLogger apimlLogger;
+
+    @Setup
+    public void setUp() {
+        messageService = new YamlMessageService("/core-log-messages.yml");
+        apimlLogger = new ApimlLogger(ApimlLoggerBenchmark.class, messageService);
+    }
+
+    @Benchmark
+    public String createReadableMessage() {
+        return messageService.createMessage(KEY, "build-info.properties", "Not found").mapToReadableText();
+    }
+
+    @Benchmark
+    public Message logIntoDisabledLogger() {
+        return apimlLogger.log(KEY, "build-info.properties", "Not found");
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.product.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of a log line by {@link MaskingLogPatternLayout}, with and without a value to mask.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaskingLogPatternLayoutBenchmark {
+
+    private static final String PLAIN_MESSAGE = "Routing request GET /gateway/api/v1/auth/query to https://localhost:10010/ with status 200";
+    private static final String SENSITIVE_MESSAGE = "Request body {\"username\":\"USER\",\"password\":\"secret\",\"newPassword\":\"secret2\"}";
+
+    private MaskingLogPatternLayout layout;
+    private LoggingEvent plainEvent;
+    private LoggingEvent sensitiveEvent;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = new LoggerContext();
+        layout = new MaskingLogPatternLayout();
+        layout.setContext(context);
+        layout.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS,UTC} <%thread> %-5level \\(%logger{15}\\) %msg%n");
+        layout.start();
+
+        ch.qos.logback.classic.Logger logger = context.getLogger(MaskingLogPatternLayoutBenchmark.class);
+        plainEvent = new LoggingEvent(MaskingLogPatternLayoutBenchmark.class.getName(), logger, Level.INFO, PLAIN_MESSAGE, null, null);
+        sensitiveEvent = new LoggingEvent(MaskingLogPatternLayoutBenchmark.class.getName(), logger, Level.INFO, SENSITIVE_MESSAGE, null, null);
+    }
+
+    @Benchmark
+    public String layoutPlainMessage() {
+        return layout.doLayout(plainEvent);
+    }
+
+    @Benchmark
+    public String layoutSensitiveMessage() {
+        return layout.doLayout(sensitiveEvent);
+    }
+
+    @Benchmark
+    public String maskPlainMessage() {
+        return layout.maskMessage(PLAIN_MESSAGE);
+    }
+
+    @Benchmark
+    public String maskSensitiveMessage() {
+        return layout.maskMessage(SENSITIVE_MESSAGE);
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.product.routing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup of the route of a request in routes of a service (see {@link RoutedServices}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutedServicesBenchmark {
+
+    @Param({"4", "64"})
+    int routes;
+
+    private RoutedServices routedServices;
+    private String apiUrl;
+    private String uiUrl;
+
+    @Setup
+    public void setUp() {
+        routedServices = new RoutedServices();
+        for (int i = 0; i < routes; i++) {
+            routedServices.addRoutedService(new RoutedService("api-v" + i, "api/v" + i, "/service/api/v" + i));
+            routedServices.addRoutedService(new RoutedService("ui-v" + i, "ui/v" + i, "/service/ui/v" + i));
+        }
+        apiUrl = "/service/api/v" + (routes / 2) + "/resources/items/42";
+        uiUrl = "/service/ui/v" + (routes - 1) + "/index.html";
+    }
+
+    @Benchmark
+    public RoutedService bestMatchingApiUrl() {
+        return routedServices.getBestMatchingApiUrl(apiUrl);
+    }
+
+    @Benchmark
+    public RoutedService bestMatchingServiceUrl() {
+        return routedServices.getBestMatchingServiceUrl(uiUrl, ServiceType.UI);
+    }
+
+    @Benchmark
+    public RoutedService findServiceByGatewayUrl() {
+        return routedServices.findServiceByGatewayUrl("api/v0");
+    }
+
+}
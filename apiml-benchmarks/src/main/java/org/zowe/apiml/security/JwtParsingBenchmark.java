@@ -0,0 +1,81 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation and parsing of a Zowe JWT the same way as AuthenticationService of the gateway does it: RS256 signature,
+ * a new parser for each token. The gateway-service is not a part of the build, so the benchmark reproduces the calls
+ * of the library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    private KeyPair keyPair;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        keyPair = Jwts.SIG.RS256.keyPair().build();
+        parser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+
+        Instant now = Instant.now();
+        token = Jwts.builder()
+            .subject("USER")
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plus(Duration.ofHours(8))))
+            .issuer("APIML")
+            .id(UUID.randomUUID().toString())
+            .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+            .compact();
+    }
+
+    @Benchmark
+    public Claims parseWithNewParser() {
+        return Jwts.parser()
+            .verifyWith(keyPair.getPublic())
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
+    }
+
+    @Benchmark
+    public Claims parseWithSharedParser() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+}
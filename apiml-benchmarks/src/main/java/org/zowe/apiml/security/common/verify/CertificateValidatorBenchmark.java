@@ -0,0 +1,112 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.security.common.verify;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verification of a forwarded client certificate chain by {@link CertificateValidator}. The trusted certificates are
+ * provided without any remote call, the benchmark measures just the comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CertificateValidatorBenchmark {
+
+    @Param({"2", "20"})
+    int trustedCertificates;
+
+    private CertificateValidator validator;
+    private X509Certificate[] trustedChain;
+    private X509Certificate[] untrustedChain;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException, OperatorCreationException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        List<Certificate> trusted = new ArrayList<>();
+        for (int i = 0; i < trustedCertificates; i++) {
+            trusted.add(createCertificate(keyPair, "CN=Trusted " + i, i));
+        }
+
+        TrustedCertificatesProvider provider = new TrustedCertificatesProvider(null) {
+            @Override
+            public List<Certificate> getTrustedCerts(String certificatesEndpoint) {
+                return trusted;
+            }
+        };
+        validator = new CertificateValidator(provider, new HashSet<>());
+
+        trustedChain = new X509Certificate[] {
+            (X509Certificate) trusted.get(trustedCertificates - 1), (X509Certificate) trusted.get(trustedCertificates - 2)
+        };
+        untrustedChain = new X509Certificate[] {
+            createCertificate(keyPair, "CN=Untrusted", trustedCertificates), (X509Certificate) trusted.get(0)
+        };
+    }
+
+    private static X509Certificate createCertificate(KeyPair keyPair, String subject, int serial) throws GeneralSecurityException, OperatorCreationException {
+        Instant now = Instant.now();
+        JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(
+            new X500Name(subject), BigInteger.valueOf(serial + 1L),
+            Date.from(now), Date.from(now.plus(Duration.ofDays(1))),
+            new X500Name(subject), keyPair.getPublic()
+        );
+        return new JcaX509CertificateConverter().getCertificate(
+            builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate()))
+        );
+    }
+
+    @Benchmark
+    public boolean trustedChain() {
+        return validator.isTrusted(trustedChain);
+    }
+
+    @Benchmark
+    public boolean untrustedChain() {
+        return validator.isTrusted(untrustedChain);
+    }
+
+}
@@ -48,7 +48,11 @@ import javax.net.ssl.SSLException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -71,12 +75,17 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
     /**
      * Maximum amount of time in ms to wait for new items prior to dispatching a batch of tasks.
      */
-    private static final long MAX_BATCHING_DELAY_MS = 500;
+    public static final long MAX_BATCHING_DELAY_MS = 500;
 
     /**
      * Maximum batch size for batched requests.
      */
-    private static final int BATCH_SIZE = 250;
+    public static final int BATCH_SIZE = 250;
+
+    /**
+     * Default count of batching dispatchers (shards) per peer.
+     */
+    public static final int SHARDS = 1;
 
     private final String serviceUrl;
     private final EurekaServerConfig config;
@@ -85,17 +94,34 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
     private final String targetHost;
     private final HttpReplicationClient replicationClient;
 
-    private final TaskDispatcher<String, ReplicationTask> batchingDispatcher;
+    /**
+     * Batched tasks are split into shards by the instance, each shard has its own acceptor and workers. All tasks of
+     * the same instance are processed by the same shard to keep their order.
+     */
+    private final List<TaskDispatcher<String, ReplicationTask>> batchingDispatchers;
     private final TaskDispatcher<String, ReplicationTask> nonBatchingDispatcher;
 
     public ApimlPeerEurekaNode(PeerAwareInstanceRegistry registry, String targetHost, String serviceUrl, HttpReplicationClient replicationClient, EurekaServerConfig config, int maxPeerRetries) {
-        this(registry, targetHost, serviceUrl, replicationClient, config, BATCH_SIZE, MAX_BATCHING_DELAY_MS, RETRY_SLEEP_TIME_MS, SERVER_UNAVAILABLE_SLEEP_TIME_MS, maxPeerRetries);
+        this(registry, targetHost, serviceUrl, replicationClient, config, BATCH_SIZE, MAX_BATCHING_DELAY_MS, SHARDS, maxPeerRetries);
+    }
+
+    public ApimlPeerEurekaNode(PeerAwareInstanceRegistry registry, String targetHost, String serviceUrl,
+                               HttpReplicationClient replicationClient, EurekaServerConfig config,
+                               int batchSize, long maxBatchingDelayMs, int shards, int maxPeerRetries) {
+        this(registry, targetHost, serviceUrl, replicationClient, config, batchSize, maxBatchingDelayMs, shards, RETRY_SLEEP_TIME_MS, SERVER_UNAVAILABLE_SLEEP_TIME_MS, maxPeerRetries);
     }
 
     /* For testing */ ApimlPeerEurekaNode(PeerAwareInstanceRegistry registry, String targetHost, String serviceUrl,
                                           HttpReplicationClient replicationClient, EurekaServerConfig config,
                                           int batchSize, long maxBatchingDelayMs,
                                           long retrySleepTimeMs, long serverUnavailableSleepTimeMs, int maxPeerRetries) {
+        this(registry, targetHost, serviceUrl, replicationClient, config, batchSize, maxBatchingDelayMs, SHARDS, retrySleepTimeMs, serverUnavailableSleepTimeMs, maxPeerRetries);
+    }
+
+    /* For testing */ ApimlPeerEurekaNode(PeerAwareInstanceRegistry registry, String targetHost, String serviceUrl,
+                                          HttpReplicationClient replicationClient, EurekaServerConfig config,
+                                          int batchSize, long maxBatchingDelayMs, int shards,
+                                          long retrySleepTimeMs, long serverUnavailableSleepTimeMs, int maxPeerRetries) {
         super(registry, targetHost, serviceUrl, replicationClient, config);
         this.registry = registry;
         this.targetHost = targetHost;
@@ -107,16 +133,25 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
 
         String batcherName = getBatcherName();
         ReplicationTaskProcessor taskProcessor = new ReplicationTaskProcessor(targetHost, replicationClient, maxPeerRetries);
-        this.batchingDispatcher = TaskDispatchers.createBatchingTaskDispatcher(
-            batcherName,
-            config.getMaxElementsInPeerReplicationPool(),
-            batchSize,
-            config.getMaxThreadsForPeerReplication(),
-            maxBatchingDelayMs,
-            serverUnavailableSleepTimeMs,
-            retrySleepTimeMs,
-            taskProcessor
-        );
+        if (shards < 1) {
+            throw new IllegalArgumentException("The count of replication shards must be positive: " + shards);
+        }
+        // the capacity of the pool is split between shards to keep the same memory limit
+        int shardPoolSize = Math.max(batchSize, (config.getMaxElementsInPeerReplicationPool() + shards - 1) / shards);
+        List<TaskDispatcher<String, ReplicationTask>> dispatchers = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            dispatchers.add(TaskDispatchers.createBatchingTaskDispatcher(
+                shards == 1 ? batcherName : batcherName + "_" + i,
+                shardPoolSize,
+                batchSize,
+                config.getMaxThreadsForPeerReplication(),
+                maxBatchingDelayMs,
+                serverUnavailableSleepTimeMs,
+                retrySleepTimeMs,
+                taskProcessor
+            ));
+        }
+        this.batchingDispatchers = Collections.unmodifiableList(dispatchers);
         this.nonBatchingDispatcher = TaskDispatchers.createNonBatchingTaskDispatcher(
             targetHost,
             config.getMaxElementsInStatusReplicationPool(),
@@ -139,7 +174,7 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
     @Override
     public void register(final InstanceInfo info) throws Exception {
         long expiryTime = System.currentTimeMillis() + getLeaseRenewalOf(info);
-        batchingDispatcher.process(
+        batchingDispatcher(info.getAppName(), info.getId()).process(
             taskId("register", info),
             new InstanceReplicationTask(targetHost, PeerAwareInstanceRegistryImpl.Action.Register, info, null, true) {
                 public EurekaHttpResponse<Void> execute() {
@@ -161,7 +196,7 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
     @Override
     public void cancel(final String appName, final String id) throws Exception {
         long expiryTime = System.currentTimeMillis() + maxProcessingDelayMs;
-        batchingDispatcher.process(
+        batchingDispatcher(appName, id).process(
             taskId("cancel", appName, id),
             new InstanceReplicationTask(targetHost, PeerAwareInstanceRegistryImpl.Action.Cancel, appName, id) {
                 @Override
@@ -227,7 +262,7 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
         };
         long expiryTime = System.currentTimeMillis() + getLeaseRenewalOf(info);
         log.debug("Heartbeat update");
-        batchingDispatcher.process(taskId("heartbeat", info), replicationTask, expiryTime);
+        batchingDispatcher(appName, id).process(taskId("heartbeat", info), replicationTask, expiryTime);
     }
 
     /**
@@ -267,7 +302,7 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
     public void statusUpdate(final String appName, final String id,
                              final InstanceInfo.InstanceStatus newStatus, final InstanceInfo info) {
         long expiryTime = System.currentTimeMillis() + maxProcessingDelayMs;
-        batchingDispatcher.process(
+        batchingDispatcher(appName, id).process(
             taskId("statusUpdate", appName, id),
             new InstanceReplicationTask(targetHost, PeerAwareInstanceRegistryImpl.Action.StatusUpdate, info, null, false) {
                 @Override
@@ -289,7 +324,7 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
     @Override
     public void deleteStatusOverride(final String appName, final String id, final InstanceInfo info) {
         long expiryTime = System.currentTimeMillis() + maxProcessingDelayMs;
-        batchingDispatcher.process(
+        batchingDispatcher(appName, id).process(
             taskId("deleteStatusOverride", appName, id),
             new InstanceReplicationTask(targetHost, PeerAwareInstanceRegistryImpl.Action.DeleteStatusOverride, info, null, false) {
                 @Override
@@ -315,7 +350,7 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
      */
     @Override
     public void shutDown() {
-        batchingDispatcher.shutdown();
+        batchingDispatchers.forEach(TaskDispatcher::shutdown);
         nonBatchingDispatcher.shutdown();
         replicationClient.shutdown();
     }
@@ -350,6 +385,20 @@ public class ApimlPeerEurekaNode extends PeerEurekaNode {
         return "target_" + batcherName;
     }
 
+    /**
+     * Select the shard of the instance. The shard is stable for the instance, so tasks of one instance are not
+     * reordered between shards. The application name is compared case-insensitively (the registration contains
+     * the upper case name, but other requests could use the service ID as it is).
+     */
+    TaskDispatcher<String, ReplicationTask> batchingDispatcher(String appName, String id) {
+        int size = batchingDispatchers.size();
+        if (size == 1) {
+            return batchingDispatchers.get(0);
+        }
+        String normalizedAppName = appName == null ? null : appName.toUpperCase(Locale.ROOT);
+        return batchingDispatchers.get(Math.floorMod(Objects.hash(normalizedAppName, id), size));
+    }
+
     private static String taskId(String requestType, String appName, String id) {
         return requestType + '#' + appName + '/' + id;
     }
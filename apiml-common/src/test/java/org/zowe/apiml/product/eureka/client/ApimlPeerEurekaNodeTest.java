@@ -13,8 +13,11 @@ package org.zowe.apiml.product.eureka.client;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.eureka.DefaultEurekaServerConfig;
 import com.netflix.eureka.EurekaServerConfig;
+import com.netflix.eureka.cluster.HttpReplicationClient;
 import com.netflix.eureka.cluster.protocol.ReplicationInstance;
+import com.netflix.eureka.cluster.protocol.ReplicationInstanceResponse;
 import com.netflix.eureka.cluster.protocol.ReplicationList;
+import com.netflix.eureka.cluster.protocol.ReplicationListResponse;
 import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
 import com.netflix.eureka.resources.ASGResource.ASGStatus;
 import org.junit.jupiter.api.AfterEach;
@@ -22,13 +25,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import static com.netflix.discovery.shared.transport.EurekaHttpResponse.anEurekaHttpResponse;
 import static com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl.Action;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.zowe.apiml.product.eureka.client.TestableHttpReplicationClient.RequestType;
 
@@ -140,6 +152,125 @@ class ApimlPeerEurekaNodeTest {
         assertThat(replicationInstance.getAction(), is(equalTo(Action.DeleteStatusOverride)));
     }
 
+    @Nested
+    class GivenLargeRegistry {
+
+        private static final int INSTANCES = 2000;
+        private static final int LARGE_BATCH_SIZE = 50;
+
+        /**
+         * Simulates a peer. It stores the replicated instances, counts the concurrent batch requests and remembers
+         * the threads (each shard has just one) which replicated each instance.
+         */
+        private final Set<String> replicated = ConcurrentHashMap.newKeySet();
+        private final Map<String, Set<String>> threadsByInstance = new ConcurrentHashMap<>();
+        private final AtomicInteger replications = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        // the first batch of each shard waits for the others, so all shards have a batch in flight at the same time
+        private CountDownLatch allShardsBusy = new CountDownLatch(0);
+
+        private final HttpReplicationClient peer = mock(HttpReplicationClient.class);
+
+        @BeforeEach
+        void setUp() {
+            when(peer.submitBatchUpdates(any())).thenAnswer(invocation -> {
+                ReplicationList list = invocation.getArgument(0);
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    allShardsBusy.countDown();
+                    allShardsBusy.await(10, TimeUnit.SECONDS);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                List<ReplicationInstanceResponse> responses = new ArrayList<>();
+                for (ReplicationInstance instance : list.getReplicationList()) {
+                    replicated.add(instance.getId());
+                    threadsByInstance.computeIfAbsent(instance.getId(), id -> ConcurrentHashMap.newKeySet())
+                        .add(Thread.currentThread().getName());
+                    replications.incrementAndGet();
+                    responses.add(new ReplicationInstanceResponse(200, null));
+                }
+                return anEurekaHttpResponse(200, new ReplicationListResponse(responses)).build();
+            });
+        }
+
+        private void createPeerEurekaNode(int shards) {
+            EurekaServerConfig config = new DefaultEurekaServerConfig("apiml") {
+                @Override
+                public int getMaxThreadsForPeerReplication() {
+                    return 1;
+                }
+            };
+            peerEurekaNode = new ApimlPeerEurekaNode(
+                registry, "test", "http://test.host.com", peer, config,
+                LARGE_BATCH_SIZE, MAX_BATCHING_DELAY_MS, shards, 100, 1000, 10
+            );
+        }
+
+        private void awaitReplications(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (replications.get() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(replications.get(), is(count));
+        }
+
+        private void catchUp(int shards) throws Exception {
+            allShardsBusy = new CountDownLatch(shards);
+            createPeerEurekaNode(shards);
+
+            for (int i = 0; i < INSTANCES; i++) {
+                peerEurekaNode.register(new InstanceInfo.Builder(new InstanceInfo(instanceInfo))
+                    .setAppName("service" + (i % 20))
+                    .setInstanceId("instance" + i)
+                    .build());
+            }
+            awaitReplications(INSTANCES);
+            assertThat(replicated.size(), is(INSTANCES));
+        }
+
+        @Test
+        void givenOneShard_thenBatchesAreSentSequentially() throws Exception {
+            catchUp(1);
+
+            assertThat(maxInFlight.get(), is(1));
+        }
+
+        @Test
+        void givenMoreShards_thenBatchesAreSentInParallel() throws Exception {
+            catchUp(4);
+
+            // each shard has one thread, so there is at most one batch of each shard in flight
+            assertThat(maxInFlight.get(), is(4));
+        }
+
+        @Test
+        void givenMoreShards_thenAllTasksOfInstanceAreInTheSameShard() throws Throwable {
+            int instances = 20;
+            createPeerEurekaNode(4);
+
+            for (int i = 0; i < instances; i++) {
+                // the registration contains the upper case name, the other requests could come with the service ID
+                InstanceInfo info = new InstanceInfo.Builder(new InstanceInfo(instanceInfo))
+                    .setAppName("service" + i)
+                    .setInstanceId("instance" + i)
+                    .build();
+                String serviceId = "service" + i;
+                peerEurekaNode.register(info);
+                peerEurekaNode.heartbeat(serviceId, info.getId(), info, null, false);
+                peerEurekaNode.statusUpdate(serviceId, info.getId(), InstanceStatus.DOWN, info);
+                peerEurekaNode.cancel(serviceId, info.getId());
+            }
+            awaitReplications(4 * instances);
+
+            assertThat(threadsByInstance.size(), is(instances));
+            threadsByInstance.values().forEach(threads -> assertThat(threads, hasSize(1)));
+        }
+
+    }
+
     private ApimlPeerEurekaNode createPeerEurekaNode() {
         EurekaServerConfig config = new DefaultEurekaServerConfig("apiml");
 
@@ -0,0 +1,132 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.security.common.auth.saf;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+
+import java.time.Duration;
+
+/**
+ * Decorator of {@link SafResourceAccessVerifying} which caches the decisions. The key of the decision is the user,
+ * resource class, resource name and access level. The denied access is cached for a shorter time than the granted one
+ * to propagate a newly granted access faster. Errors of the provider are not cached.
+ *
+ * Statistics of the cache (hits, misses, evictions) are recorded, see {@link #getStats()}.
+ */
+@Slf4j
+public class SafResourceAccessCache implements SafResourceAccessVerifying, MeterBinder {
+
+    static final String METRICS_NAME = "safResourceAccess";
+
+    private final SafResourceAccessVerifying delegate;
+    private final Cache<Key, Boolean> decisions;
+
+    public SafResourceAccessCache(SafResourceAccessVerifying delegate, Duration ttl, Duration negativeTtl, long maxSize) {
+        this(delegate, ttl, negativeTtl, maxSize, Ticker.systemTicker());
+    }
+
+    SafResourceAccessCache(SafResourceAccessVerifying delegate, Duration ttl, Duration negativeTtl, long maxSize, Ticker ticker) {
+        this.delegate = delegate;
+        this.decisions = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new DecisionExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public boolean hasSafResourceAccess(Authentication authentication, String resourceClass, String resourceName, String accessLevel) {
+        if (authentication == null) {
+            // unknown user, nothing to cache
+            return delegate.hasSafResourceAccess(null, resourceClass, resourceName, accessLevel);
+        }
+
+        Key key = new Key(authentication.getName(), resourceClass, resourceName, accessLevel);
+        return decisions.get(key, k -> delegate.hasSafResourceAccess(authentication, resourceClass, resourceName, accessLevel));
+    }
+
+    /**
+     * Remove all cached decisions of the user, ie. once the user's permissions were changed.
+     *
+     * @param userId ID of the user
+     */
+    @Override
+    public void invalidate(String userId) {
+        log.debug("Invalidating cached SAF decisions of user {}", userId);
+        decisions.asMap().keySet().removeIf(key -> (key.getUserId() != null) && key.getUserId().equalsIgnoreCase(userId));
+    }
+
+    /**
+     * Remove all cached decisions, ie. once the SAF definitions were changed.
+     */
+    @Override
+    public void invalidateAll() {
+        log.debug("Invalidating all cached SAF decisions");
+        decisions.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return decisions.stats();
+    }
+
+    /**
+     * Publish the size, hits, misses and evictions of the cache.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, decisions, METRICS_NAME);
+    }
+
+    @Value
+    static class Key {
+
+        String userId;
+        String resourceClass;
+        String resourceName;
+        String accessLevel;
+
+    }
+
+    @Value
+    static class DecisionExpiry implements Expiry<Key, Boolean> {
+
+        long ttlNanos;
+        long negativeTtlNanos;
+
+        @Override
+        public long expireAfterCreate(Key key, Boolean authorized, long currentTime) {
+            return Boolean.TRUE.equals(authorized) ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Boolean authorized, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, authorized, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Boolean authorized, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
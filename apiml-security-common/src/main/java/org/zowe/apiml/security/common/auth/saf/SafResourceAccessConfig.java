@@ -10,8 +10,10 @@
 
 package org.zowe.apiml.security.common.auth.saf;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,6 +21,7 @@ import org.springframework.web.client.RestTemplate;
 import org.zowe.apiml.security.common.config.AuthConfigurationProperties;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -37,8 +40,23 @@ public class SafResourceAccessConfig {
     @Value("${apiml.security.authorization.endpoint.enabled:false}")
     private boolean endpointEnabled;
 
+    @Value("${apiml.security.authorization.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${apiml.security.authorization.cache.ttlSec:60}")
+    private long cacheTtlSec;
+
+    @Value("${apiml.security.authorization.cache.negativeTtlSec:10}")
+    private long cacheNegativeTtlSec;
+
+    @Value("${apiml.security.authorization.cache.maxSize:10000}")
+    private long cacheMaxSize;
+
+    @Value("${apiml.security.authorization.endpoint.url:http://localhost:8542/saf-auth}")
+    private String endpointUrl;
+
     protected SafResourceAccessVerifying createEndpoint(RestTemplate restTemplate, AuthConfigurationProperties authConfigurationProperties) {
-        return new SafResourceAccessEndpoint(restTemplate, authConfigurationProperties);
+        return new SafResourceAccessEndpoint(restTemplate, authConfigurationProperties, endpointUrl);
     }
 
     protected SafResourceAccessVerifying createNative() throws ClassNotFoundException, NoSuchMethodException, IllegalAccessException, NoSuchFieldException {
@@ -49,16 +67,27 @@ public class SafResourceAccessConfig {
         return new SafResourceAccessDummy();
     }
 
+    /**
+     * Wrap the provider with the cache of decisions.
+     */
+    protected SafResourceAccessVerifying withCache(SafResourceAccessVerifying provider) {
+        if (!cacheEnabled || (provider == null)) {
+            return provider;
+        }
+
+        return new SafResourceAccessCache(provider, Duration.ofSeconds(cacheTtlSec), Duration.ofSeconds(cacheNegativeTtlSec), cacheMaxSize);
+    }
+
     private SafResourceAccessVerifying create(RestTemplate restTemplate,AuthConfigurationProperties authConfigurationProperties, String type, boolean force) {
         switch (StringUtils.lowerCase(type)) {
             case ENDPOINT:
                 if (endpointEnabled || force) {
-                    return createEndpoint(restTemplate, authConfigurationProperties);
+                    return withCache(createEndpoint(restTemplate, authConfigurationProperties));
                 }
                 return null;
             case NATIVE:
                 try {
-                    return createNative();
+                    return withCache(createNative());
                 } catch (Exception e) {
                     log.debug("API PlatformAccessControl is not available", e);
                 }
@@ -92,4 +121,16 @@ public class SafResourceAccessConfig {
         return null;
     }
 
+    /**
+     * Statistics of the decision cache, the provider bean is exposed just by its interface.
+     */
+    @Bean
+    public MeterBinder safResourceAccessCacheMetrics(ObjectProvider<SafResourceAccessVerifying> safResourceAccessVerifying) {
+        return registry -> {
+            if (safResourceAccessVerifying.getIfAvailable() instanceof SafResourceAccessCache cache) {
+                cache.bindTo(registry);
+            }
+        };
+    }
+
 }
@@ -15,7 +15,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.client.RestTemplate;
@@ -29,13 +28,12 @@ public class SafResourceAccessEndpoint implements SafResourceAccessVerifying {
 
     private static final String URL_VARIABLE_SUFFIX = "/{entity}/{level}";
 
-    @Value("${apiml.security.authorization.endpoint.url:http://localhost:8542/saf-auth}")
-    private String endpointUrl;
-
     private final RestTemplate restTemplate;
 
     private final AuthConfigurationProperties authConfigurationProperties;
 
+    private final String endpointUrl;
+
     private <T> HttpEntity<T> createHttpEntity(Authentication authentication) {
 
         HttpHeaders headers = new HttpHeaders();
@@ -16,4 +16,22 @@ public interface SafResourceAccessVerifying {
 
     boolean hasSafResourceAccess(Authentication authentication, String resourceClass, String resourceName, String accessLevel);
 
+    /**
+     * Forget the decisions about the user (i.e. after logout or change of the user's permissions). It is relevant only
+     * for the providers which cache the decisions.
+     *
+     * @param userId ID of the user
+     */
+    default void invalidate(String userId) {
+        // there is nothing to invalidate by default
+    }
+
+    /**
+     * Forget all decisions (i.e. after change of SAF definitions). It is relevant only for the providers which cache
+     * the decisions.
+     */
+    default void invalidateAll() {
+        // there is nothing to invalidate by default
+    }
+
 }
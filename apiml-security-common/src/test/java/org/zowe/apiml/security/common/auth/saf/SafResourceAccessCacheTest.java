@@ -0,0 +1,143 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.security.common.auth.saf;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.client.RestTemplate;
+import org.zowe.apiml.security.common.config.AuthConfigurationProperties;
+import org.zowe.apiml.security.common.token.TokenAuthentication;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SafResourceAccessCacheTest {
+
+    private static final String TEST_URL = "https://hostname/saf";
+    private static final String TEST_URI_ARGS = TEST_URL + "/{entity}/{level}";
+    private static final String CLASS = "ZOWE";
+    private static final String RESOURCE = "APIML.SERVICES";
+    private static final String LEVEL = "READ";
+    private static final Authentication USER1 = new TokenAuthentication("user1", "token1");
+    private static final Authentication USER2 = new TokenAuthentication("user2", "token2");
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private SafResourceAccessCache safResourceAccessCache;
+
+    @BeforeEach
+    void setUp() {
+        SafResourceAccessEndpoint endpoint = new SafResourceAccessEndpoint(restTemplate, new AuthConfigurationProperties(), TEST_URL);
+        safResourceAccessCache = new SafResourceAccessCache(endpoint, Duration.ofSeconds(60), Duration.ofSeconds(10), 100, nanoTime::get);
+    }
+
+    private void mockEndpoint(String resource, boolean authorized) {
+        doReturn(new ResponseEntity<>(new SafResourceAccessEndpoint.Response(authorized, false, null), HttpStatus.OK))
+            .when(restTemplate).exchange(eq(TEST_URI_ARGS), eq(HttpMethod.GET), any(), eq(SafResourceAccessEndpoint.Response.class), eq(resource), eq(LEVEL));
+    }
+
+    private void verifyEndpointCalls(String resource, int times) {
+        verify(restTemplate, times(times))
+            .exchange(eq(TEST_URI_ARGS), eq(HttpMethod.GET), any(), eq(SafResourceAccessEndpoint.Response.class), eq(resource), eq(LEVEL));
+    }
+
+    private void elapse(int seconds) {
+        nanoTime.addAndGet(Duration.ofSeconds(seconds).toNanos());
+    }
+
+    @Test
+    void givenRepeatedChecks_whenHasSafResourceAccess_thenEndpointIsCalledOnce() {
+        mockEndpoint(RESOURCE, true);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL));
+        }
+
+        verifyEndpointCalls(RESOURCE, 1);
+        assertEquals(9, safResourceAccessCache.getStats().hitCount());
+        assertEquals(1, safResourceAccessCache.getStats().missCount());
+    }
+
+    @Test
+    void givenDifferentUsers_whenHasSafResourceAccess_thenEachUserIsVerified() {
+        mockEndpoint(RESOURCE, true);
+
+        safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL);
+        safResourceAccessCache.hasSafResourceAccess(USER2, CLASS, RESOURCE, LEVEL);
+        safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL);
+
+        verifyEndpointCalls(RESOURCE, 2);
+    }
+
+    @Test
+    void givenDeniedAccess_whenNegativeTtlExpires_thenVerifyAgain() {
+        mockEndpoint(RESOURCE, false);
+        mockEndpoint("ALLOWED", true);
+
+        assertFalse(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL));
+        assertTrue(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, "ALLOWED", LEVEL));
+        elapse(11);
+        assertFalse(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL));
+        assertTrue(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, "ALLOWED", LEVEL));
+
+        verifyEndpointCalls(RESOURCE, 2);
+        verifyEndpointCalls("ALLOWED", 1);
+
+        elapse(50);
+        assertTrue(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, "ALLOWED", LEVEL));
+        verifyEndpointCalls("ALLOWED", 2);
+    }
+
+    @Test
+    void givenInvalidatedUser_whenHasSafResourceAccess_thenVerifyAgain() {
+        mockEndpoint(RESOURCE, true);
+
+        safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL);
+        safResourceAccessCache.hasSafResourceAccess(USER2, CLASS, RESOURCE, LEVEL);
+        safResourceAccessCache.invalidate("USER1");
+        safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL);
+        safResourceAccessCache.hasSafResourceAccess(USER2, CLASS, RESOURCE, LEVEL);
+        verifyEndpointCalls(RESOURCE, 3);
+
+        safResourceAccessCache.invalidateAll();
+        safResourceAccessCache.hasSafResourceAccess(USER2, CLASS, RESOURCE, LEVEL);
+        verifyEndpointCalls(RESOURCE, 4);
+    }
+
+    @Test
+    void givenEndpointError_whenHasSafResourceAccess_thenErrorIsNotCached() {
+        doThrow(new RuntimeException("unavailable"))
+            .doReturn(new ResponseEntity<>(new SafResourceAccessEndpoint.Response(true, false, null), HttpStatus.OK))
+            .when(restTemplate).exchange(anyString(), any(), any(), eq(SafResourceAccessEndpoint.Response.class), anyString(), anyString());
+
+        assertThrows(EndpointImproprietyConfigureException.class, () -> safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL));
+        assertTrue(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL));
+        assertTrue(safResourceAccessCache.hasSafResourceAccess(USER1, CLASS, RESOURCE, LEVEL));
+
+        verifyEndpointCalls(RESOURCE, 2);
+    }
+
+}
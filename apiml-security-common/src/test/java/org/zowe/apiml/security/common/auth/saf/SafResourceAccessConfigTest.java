@@ -10,16 +10,20 @@
 
 package org.zowe.apiml.security.common.auth.saf;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 import org.zowe.apiml.security.common.config.AuthConfigurationProperties;
 
 import java.io.IOException;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class SafResourceAccessConfigTest {
 
@@ -103,6 +107,57 @@ class SafResourceAccessConfigTest {
         assertThrows(IllegalArgumentException.class, () -> getSafResourceAccessConfig("unknown", true, true, true, true));
     }
 
+    @Test
+    void givenEnabledCache_whenCreate_thenReturnCachedProvider() {
+        SafResourceAccessConfig config = new SafResourceAccessConfigMock(true, false, true);
+        ReflectionTestUtils.setField(config, "provider", "endpoint");
+        ReflectionTestUtils.setField(config, "cacheEnabled", true);
+        ReflectionTestUtils.setField(config, "cacheTtlSec", 60L);
+        ReflectionTestUtils.setField(config, "cacheNegativeTtlSec", 10L);
+        ReflectionTestUtils.setField(config, "cacheMaxSize", 100L);
+
+        SafResourceAccessVerifying verifying = config.safResourceAccessVerifying(restTemplate, authConfigurationProperties);
+
+        assertTrue(verifying instanceof SafResourceAccessCache);
+        assertSame(ENDPOINT_PROVIDER, ReflectionTestUtils.getField(verifying, "delegate"));
+
+        ReflectionTestUtils.setField(config, "provider", "dummy");
+        assertSame(DUMMY_PROVIDER, config.safResourceAccessVerifying(restTemplate, authConfigurationProperties));
+    }
+
+    @Test
+    void givenEndpointUrl_whenCreateEndpoint_thenUrlIsPassedToProvider() {
+        SafResourceAccessConfig config = new SafResourceAccessConfig();
+        ReflectionTestUtils.setField(config, "endpointUrl", "https://hostname/saf");
+
+        SafResourceAccessVerifying endpoint = config.createEndpoint(restTemplate, authConfigurationProperties);
+
+        assertEquals("https://hostname/saf", ReflectionTestUtils.getField(endpoint, "endpointUrl"));
+    }
+
+    @Test
+    void givenCachedProvider_whenBindMetrics_thenCacheStatisticsArePublished() {
+        SafResourceAccessCache cache = new SafResourceAccessCache(ENDPOINT_PROVIDER, Duration.ofSeconds(60), Duration.ofSeconds(10), 100);
+        ObjectProvider<SafResourceAccessVerifying> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(cache);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new SafResourceAccessConfig().safResourceAccessCacheMetrics(provider).bindTo(registry);
+
+        assertNotNull(registry.find("cache.gets").tag("cache", SafResourceAccessCache.METRICS_NAME).tag("result", "hit").functionCounter());
+    }
+
+    @Test
+    void givenNotCachedProvider_whenBindMetrics_thenNothingIsPublished() {
+        ObjectProvider<SafResourceAccessVerifying> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(DUMMY_PROVIDER);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        new SafResourceAccessConfig().safResourceAccessCacheMetrics(provider).bindTo(registry);
+
+        assertTrue(registry.getMeters().isEmpty());
+    }
+
     @RequiredArgsConstructor
     public static class SafResourceAccessConfigMock extends SafResourceAccessConfig {
 
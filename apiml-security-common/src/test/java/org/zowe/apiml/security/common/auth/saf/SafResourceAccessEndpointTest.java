@@ -21,7 +21,6 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestTemplate;
 import org.zowe.apiml.security.common.config.AuthConfigurationProperties;
 import org.zowe.apiml.security.common.token.TokenAuthentication;
@@ -53,8 +52,7 @@ class SafResourceAccessEndpointTest {
     @BeforeEach
     void setUp() {
         authConfigurationProperties = new AuthConfigurationProperties();
-        safResourceAccessEndpoint = new SafResourceAccessEndpoint(restTemplate, authConfigurationProperties);
-        ReflectionTestUtils.setField(safResourceAccessEndpoint, "endpointUrl", TEST_URL);
+        safResourceAccessEndpoint = new SafResourceAccessEndpoint(restTemplate, authConfigurationProperties, TEST_URL);
     }
 
     @ParameterizedTest
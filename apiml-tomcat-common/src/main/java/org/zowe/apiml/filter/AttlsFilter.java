@@ -10,26 +10,46 @@
 
 package org.zowe.apiml.filter;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.apache.tomcat.util.codec.binary.Base64;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.zowe.commons.attls.InboundAttls;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.util.HexFormat;
 
 /**
  * This filter will add X509 certificate from InboundAttls
+ * <p>
+ * The raw certificate (DER) is parsed directly. Parsed certificates are cached by the digest of the raw certificate,
+ * so repeated requests of the same client do not parse the certificate again.
  */
 public class AttlsFilter extends OncePerRequestFilter {
 
+    static final long DEFAULT_CACHE_SIZE = 1000;
+
+    private final Cache<String, X509Certificate[]> certificates;
+
+    public AttlsFilter() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public AttlsFilter(long cacheSize) {
+        this.certificates = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
@@ -45,19 +65,30 @@ public class AttlsFilter extends OncePerRequestFilter {
     }
 
     public void populateRequestWithCertificate(HttpServletRequest request, byte[] rawCertificate) throws CertificateException {
-        var str = String.format("""
-            -----BEGIN CERTIFICATE-----
-            %s
-            -----END CERTIFICATE-----
-            """,
-            Base64.encodeBase64String(rawCertificate)
-        );
-
-        var certificate = (X509Certificate) CertificateFactory
-            .getInstance("X509")
-            .generateCertificate(new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8)));
-        var certs = new X509Certificate[] { certificate };
-        request.setAttribute("jakarta.servlet.request.X509Certificate", certs);
+        String digest = digest(rawCertificate);
+        X509Certificate[] certs = certificates.getIfPresent(digest);
+        if (certs == null) {
+            var certificate = (X509Certificate) CertificateFactory
+                .getInstance("X509")
+                .generateCertificate(new ByteArrayInputStream(rawCertificate));
+            certs = new X509Certificate[] { certificate };
+            certificates.put(digest, certs);
+        }
+        // the array is mutable, each request gets its own copy
+        request.setAttribute("jakarta.servlet.request.X509Certificate", certs.clone());
+    }
+
+    private static String digest(byte[] rawCertificate) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(rawCertificate));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    long getCacheSize() {
+        certificates.cleanUp();
+        return certificates.estimatedSize();
     }
 
 }
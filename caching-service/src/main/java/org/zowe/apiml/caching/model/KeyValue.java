@@ -14,6 +14,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -26,6 +27,7 @@ import java.util.Date;
 @Data
 public class KeyValue implements Serializable {
     private final String key;
+    @ToString.Exclude // the value can be a secret, it must not be logged
     private final String value;
     private String serviceId;
     private final String created;
@@ -0,0 +1,123 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.audit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.zowe.apiml.caching.model.KeyValue;
+import org.zowe.apiml.caching.service.Storage;
+import org.zowe.apiml.caching.service.StorageException;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Storage decorator which measures each operation and writes it to the {@link StorageAuditLog}.
+ */
+@RequiredArgsConstructor
+public class AuditedStorage implements Storage {
+
+    static final String OUTCOME_OK = "ok";
+    static final String OUTCOME_NONE = "none";
+
+    @Getter
+    private final Storage storage;
+    private final StorageAuditLog auditLog;
+
+    private <T> T audit(String operation, String serviceId, String key, Supplier<T> call) {
+        if (!auditLog.isEnabled()) {
+            return call.get();
+        }
+
+        long start = System.nanoTime();
+        String outcome = OUTCOME_NONE;
+        try {
+            T result = call.get();
+            outcome = result == null ? OUTCOME_NONE : OUTCOME_OK;
+            return result;
+        } catch (StorageException e) {
+            outcome = String.valueOf(e.getStatus() == null ? e.getKey() : e.getStatus().value());
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            auditLog.record(operation, serviceId, key, System.nanoTime() - start, outcome);
+        }
+    }
+
+    private void audit(String operation, String serviceId, String key, Runnable call) {
+        audit(operation, serviceId, key, () -> {
+            call.run();
+            return OUTCOME_OK;
+        });
+    }
+
+    private static String keyOf(KeyValue keyValue) {
+        return keyValue == null ? null : keyValue.getKey();
+    }
+
+    @Override
+    public KeyValue create(String serviceId, KeyValue toCreate) {
+        return audit("create", serviceId, keyOf(toCreate), () -> storage.create(serviceId, toCreate));
+    }
+
+    @Override
+    public KeyValue storeMapItem(String serviceId, String mapKey, KeyValue toCreate) {
+        return audit("storeMapItem", serviceId, keyOf(toCreate), () -> storage.storeMapItem(serviceId, mapKey, toCreate));
+    }
+
+    @Override
+    public Map<String, String> getAllMapItems(String serviceId, String mapKey) {
+        return audit("getAllMapItems", serviceId, mapKey, () -> storage.getAllMapItems(serviceId, mapKey));
+    }
+
+    @Override
+    public Map<String, Map<String, String>> getAllMaps(String serviceId) {
+        return audit("getAllMaps", serviceId, null, () -> storage.getAllMaps(serviceId));
+    }
+
+    @Override
+    public KeyValue read(String serviceId, String key) {
+        return audit("read", serviceId, key, () -> storage.read(serviceId, key));
+    }
+
+    @Override
+    public KeyValue update(String serviceId, KeyValue toUpdate) {
+        return audit("update", serviceId, keyOf(toUpdate), () -> storage.update(serviceId, toUpdate));
+    }
+
+    @Override
+    public KeyValue delete(String serviceId, String toDelete) {
+        return audit("delete", serviceId, toDelete, () -> storage.delete(serviceId, toDelete));
+    }
+
+    @Override
+    public Map<String, KeyValue> readForService(String serviceId) {
+        return audit("readForService", serviceId, null, () -> storage.readForService(serviceId));
+    }
+
+    @Override
+    public void deleteForService(String serviceId) {
+        audit("deleteForService", serviceId, null, () -> storage.deleteForService(serviceId));
+    }
+
+    @Override
+    public void removeNonRelevantRules(String serviceId, String mapKey) {
+        audit("removeNonRelevantRules", serviceId, mapKey, () -> storage.removeNonRelevantRules(serviceId, mapKey));
+    }
+
+    @Override
+    public void removeNonRelevantTokens(String serviceId, String mapKey) {
+        audit("removeNonRelevantTokens", serviceId, mapKey, () -> storage.removeNonRelevantTokens(serviceId, mapKey));
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.audit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded asynchronous audit log of storage operations. The callers only put a record into the queue, the records are
+ * formatted and written by a single background thread. The record contains the operation, service, hash of the key,
+ * latency and outcome, never the value. If the queue is full, the record is handled by the {@link DropPolicy}.
+ * <p>
+ * The records are written by the logger {@value #LOGGER_NAME} on the level INFO. If the level is not enabled,
+ * the records are not created at all.
+ */
+public class StorageAuditLog {
+
+    public static final String LOGGER_NAME = "org.zowe.apiml.caching.audit";
+
+    private static final int KEY_HASH_BYTES = 8;
+    private static final int DRAIN_SIZE = 256;
+
+    // MessageDigest is not thread-safe, the key is hashed by the writer thread and also by callers of hash()
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Logger auditLogger;
+    private final BlockingQueue<Record> queue;
+    private final DropPolicy dropPolicy;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public StorageAuditLog(int queueSize, DropPolicy dropPolicy) {
+        this(LoggerFactory.getLogger(LOGGER_NAME), queueSize, dropPolicy);
+    }
+
+    StorageAuditLog(Logger auditLogger, int queueSize, DropPolicy dropPolicy) {
+        this.auditLogger = auditLogger;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.dropPolicy = dropPolicy;
+
+        this.writer = new Thread(this::writeRecords, "StorageAuditLog");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * @return true if the records are written, the caller can skip measuring otherwise
+     */
+    public boolean isEnabled() {
+        return running && auditLogger.isInfoEnabled();
+    }
+
+    /**
+     * Put the record of an operation to the queue. It does not block unless the drop policy is {@link DropPolicy#BLOCK}.
+     *
+     * @param operation    name of the storage operation
+     * @param serviceId    id of the service the data belong to
+     * @param key          key of the record, it is written only as a hash, can be null
+     * @param latencyNanos duration of the operation
+     * @param outcome      result of the operation
+     */
+    public void record(String operation, String serviceId, String key, long latencyNanos, String outcome) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        Record auditRecord = new Record(operation, serviceId, key, latencyNanos, outcome);
+        if (queue.offer(auditRecord)) {
+            return;
+        }
+
+        switch (dropPolicy) {
+            case DROP_OLDEST:
+                // make a space by the oldest record, the race with other producers can still drop the new one
+                if (queue.poll() != null) {
+                    dropped.incrementAndGet();
+                }
+                if (!queue.offer(auditRecord)) {
+                    dropped.incrementAndGet();
+                }
+                break;
+            case BLOCK:
+                try {
+                    queue.put(auditRecord);
+                } catch (InterruptedException e) {
+                    dropped.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+            case DROP_NEWEST:
+            default:
+                dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return count of dropped records since the start
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void writeRecords() {
+        List<Record> batch = new ArrayList<>(DRAIN_SIZE);
+        long reportedDrops = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                Record first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, DRAIN_SIZE - 1);
+                    batch.forEach(this::write);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // the writer must not stop because of a failure of the logging backend
+                batch.clear();
+            }
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                auditLogger.warn("Audit queue is full, {} records were dropped since the start", drops);
+                reportedDrops = drops;
+            }
+        }
+    }
+
+    private void write(Record auditRecord) {
+        auditLogger.info("operation={} service={} keyHash={} latencyUs={} outcome={}",
+            auditRecord.getOperation(),
+            auditRecord.getServiceId(),
+            hash(auditRecord.getKey()),
+            TimeUnit.NANOSECONDS.toMicros(auditRecord.getLatencyNanos()),
+            auditRecord.getOutcome()
+        );
+    }
+
+    String hash(String key) {
+        if (key == null) {
+            return "-";
+        }
+        byte[] hash = DIGEST.get().digest(key.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash, 0, KEY_HASH_BYTES);
+    }
+
+    /**
+     * Stop accepting new records and write those in the queue.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public enum DropPolicy {
+
+        /**
+         * The new record is dropped, the caller is never blocked.
+         */
+        DROP_NEWEST,
+
+        /**
+         * The oldest record in the queue is dropped to make a space for the new one.
+         */
+        DROP_OLDEST,
+
+        /**
+         * The caller waits for a space in the queue, no record is lost, but the storage operation is slowed down.
+         */
+        BLOCK;
+
+        /**
+         * @param value name of the policy in camel case (i.e. {@code dropNewest}), kebab case or as the constant
+         * @return the policy
+         * @throws IllegalArgumentException if there is no such policy
+         */
+        public static DropPolicy of(String value) {
+            return valueOf(value.trim()
+                .replaceAll("([a-z])([A-Z])", "$1_$2")
+                .toUpperCase(Locale.ROOT)
+                .replace('-', '_')
+            );
+        }
+
+    }
+
+    @Value
+    static class Record {
+
+        String operation;
+        String serviceId;
+        String key;
+        long latencyNanos;
+        String outcome;
+
+    }
+
+}
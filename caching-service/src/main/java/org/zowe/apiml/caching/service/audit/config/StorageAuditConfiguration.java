@@ -0,0 +1,58 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.audit.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.zowe.apiml.caching.service.Storage;
+import org.zowe.apiml.caching.service.audit.AuditedStorage;
+import org.zowe.apiml.caching.service.audit.StorageAuditLog;
+
+/**
+ * Wraps the storage (whatever the mode is) to write the audit records of its operations.
+ */
+@Configuration
+public class StorageAuditConfiguration {
+
+    @ConditionalOnProperty(name = "caching.audit.enabled", havingValue = "true", matchIfMissing = true)
+    @Bean
+    public StorageAuditLog storageAuditLog(
+        @Value("${caching.audit.queueSize:10000}") int queueSize,
+        @Value("${caching.audit.dropPolicy:dropNewest}") String dropPolicy
+    ) {
+        return new StorageAuditLog(queueSize, StorageAuditLog.DropPolicy.of(dropPolicy));
+    }
+
+    /**
+     * The post processor is not ordered, so it is applied after the proxies (i.e. {@code @Retryable}) are created and
+     * the audit record includes the retries.
+     */
+    @Bean
+    public static BeanPostProcessor auditedStoragePostProcessor(ObjectProvider<StorageAuditLog> storageAuditLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ((bean instanceof Storage storage) && !(bean instanceof AuditedStorage)) {
+                    StorageAuditLog auditLog = storageAuditLog.getIfAvailable();
+                    if (auditLog != null) {
+                        return new AuditedStorage(storage, auditLog);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+}
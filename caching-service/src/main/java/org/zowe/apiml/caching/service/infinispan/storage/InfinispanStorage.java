@@ -49,7 +49,7 @@ public class InfinispanStorage implements Storage {
     @Override
     public KeyValue create(String serviceId, KeyValue toCreate) {
         toCreate.setServiceId(serviceId);
-        log.info("Writing record: {}|{}|{}", serviceId, toCreate.getKey(), toCreate.getValue());
+        log.debug("Writing record: {}|{}", serviceId, toCreate.getKey());
 
         KeyValue serviceCache = cache.putIfAbsent(serviceId + toCreate.getKey(), toCreate);
 
@@ -65,7 +65,7 @@ public class InfinispanStorage implements Storage {
             if (Boolean.TRUE.equals(r)) {
                 try {
                     String cacheKey = serviceId + mapKey;
-                    log.info("Storing the item into token cache: {} -> {}|{}", cacheKey, toCreate.getKey(), toCreate.getValue());
+                    log.debug("Storing the item into token cache: {} -> {}", cacheKey, toCreate.getKey());
                     Map<String, String> tokenCacheItem = tokenCache.get(cacheKey);
                     if (tokenCacheItem == null) {
                         tokenCacheItem = new HashMap<>();
@@ -83,13 +83,13 @@ public class InfinispanStorage implements Storage {
 
     @Override
     public Map<String, String> getAllMapItems(String serviceId, String mapKey) {
-        log.info("Reading all records from token cache for service {} under the {} key.", serviceId, mapKey);
+        log.debug("Reading all records from token cache for service {} under the {} key.", serviceId, mapKey);
         return tokenCache.get(serviceId + mapKey);
     }
 
     @Override
     public Map<String, Map<String, String>> getAllMaps(String serviceId) {
-        log.info("Reading all records from token cache for service {} ", serviceId);
+        log.debug("Reading all records from token cache for service {} ", serviceId);
         // filter all maps which belong given service and remove the service name from key names.
         return tokenCache.entrySet().stream().filter(
             entry -> entry.getKey().startsWith(serviceId))
@@ -98,7 +98,7 @@ public class InfinispanStorage implements Storage {
 
     @Override
     public KeyValue read(String serviceId, String key) {
-        log.info("Reading record for service {} under key {}", serviceId, key);
+        log.debug("Reading record for service {} under key {}", serviceId, key);
         KeyValue serviceCache = cache.get(serviceId + key);
         if (serviceCache != null) {
             return serviceCache;
@@ -110,7 +110,7 @@ public class InfinispanStorage implements Storage {
     @Override
     public KeyValue update(String serviceId, KeyValue toUpdate) {
         toUpdate.setServiceId(serviceId);
-        log.info("Updating record for service {} under key {}", serviceId, toUpdate);
+        log.debug("Updating record for service {} under key {}", serviceId, toUpdate);
         KeyValue serviceCache = cache.put(serviceId + toUpdate.getKey(), toUpdate);
         if (serviceCache == null) {
             throw new StorageException(Messages.KEY_NOT_IN_CACHE.getKey(), Messages.KEY_NOT_IN_CACHE.getStatus(), toUpdate.getKey(), serviceId);
@@ -121,7 +121,7 @@ public class InfinispanStorage implements Storage {
 
     @Override
     public KeyValue delete(String serviceId, String toDelete) {
-        log.info("Removing record for service {} under key {}", serviceId, toDelete);
+        log.debug("Removing record for service {} under key {}", serviceId, toDelete);
         KeyValue entry = cache.remove(serviceId + toDelete);
         if (entry != null) {
             return entry;
@@ -132,7 +132,7 @@ public class InfinispanStorage implements Storage {
 
     @Override
     public Map<String, KeyValue> readForService(String serviceId) {
-        log.info("Reading all records for service {} ", serviceId);
+        log.debug("Reading all records for service {} ", serviceId);
         Map<String, KeyValue> result = new HashMap<>();
         cache.forEach((key, value) -> {
             if (serviceId.equals(value.getServiceId())) {
@@ -144,7 +144,7 @@ public class InfinispanStorage implements Storage {
 
     @Override
     public void deleteForService(String serviceId) {
-        log.info("Removing all records for service {} ", serviceId);
+        log.debug("Removing all records for service {} ", serviceId);
         cache.forEach((key, value) -> {
             if (value.getServiceId().equals(serviceId)) {
                 cache.remove(key);
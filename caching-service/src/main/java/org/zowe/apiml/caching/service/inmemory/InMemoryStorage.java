@@ -45,7 +45,7 @@ public class InMemoryStorage implements Storage {
 
     @Override
     public KeyValue create(String serviceId, KeyValue toCreate) {
-        log.info("Writing record: {}|{}|{}", serviceId, toCreate.getKey(), toCreate.getValue());
+        log.debug("Writing record: {}|{}", serviceId, toCreate.getKey());
 
         storage.computeIfAbsent(serviceId, k -> new HashMap<>());
         Map<String, KeyValue> serviceStorage = storage.get(serviceId);
@@ -79,7 +79,7 @@ public class InMemoryStorage implements Storage {
 
     @Override
     public KeyValue read(String serviceId, String key) {
-        log.info("Reading Record: {}|{}|{}", serviceId, key, "-");
+        log.debug("Reading Record: {}|{}|{}", serviceId, key, "-");
 
         Map<String, KeyValue> serviceSpecificStorage = storage.get(serviceId);
         if (serviceSpecificStorage == null || !serviceSpecificStorage.containsKey(key)) {
@@ -91,7 +91,7 @@ public class InMemoryStorage implements Storage {
 
     @Override
     public KeyValue update(String serviceId, KeyValue toUpdate) {
-        log.info("Updating Record: {}|{}|{}", serviceId, toUpdate.getKey(), toUpdate.getValue());
+        log.debug("Updating Record: {}|{}", serviceId, toUpdate.getKey());
 
         String key = toUpdate.getKey();
         if (isKeyNotInCache(serviceId, key)) {
@@ -106,7 +106,7 @@ public class InMemoryStorage implements Storage {
 
     @Override
     public KeyValue delete(String serviceId, String key) {
-        log.info("Deleting Record: {}|{}|{}", serviceId, key, "-");
+        log.debug("Deleting Record: {}|{}|{}", serviceId, key, "-");
 
         if (isKeyNotInCache(serviceId, key)) {
             throw new StorageException(Messages.KEY_NOT_IN_CACHE.getKey(), Messages.KEY_NOT_IN_CACHE.getStatus(), key, serviceId);
@@ -44,7 +44,7 @@ public class RedisStorage implements Storage {
     @Override
     @Retryable(value = RetryableRedisException.class)
     public KeyValue create(String serviceId, KeyValue toCreate) {
-        log.info("Creating entry: {}|{}|{}", serviceId, toCreate.getKey(), toCreate.getValue());
+        log.debug("Creating entry: {}|{}", serviceId, toCreate.getKey());
 
         RedisEntry entryToCreate = new RedisEntry(serviceId, toCreate);
         try {
@@ -77,7 +77,7 @@ public class RedisStorage implements Storage {
     @Override
     @Retryable(value = RetryableRedisException.class)
     public KeyValue read(String serviceId, String key) {
-        log.info("Reading entry: {}|{}", serviceId, key);
+        log.debug("Reading entry: {}|{}", serviceId, key);
 
         RedisEntry result = redis.get(serviceId, key);
         if (result == null) {
@@ -89,7 +89,7 @@ public class RedisStorage implements Storage {
     @Override
     @Retryable(value = RetryableRedisException.class)
     public KeyValue update(String serviceId, KeyValue toUpdate) {
-        log.info("Updating entry: {}|{}|{}", serviceId, toUpdate.getKey(), toUpdate.getValue());
+        log.debug("Updating entry: {}|{}", serviceId, toUpdate.getKey());
 
         RedisEntry entryToUpdate = new RedisEntry(serviceId, toUpdate);
         try {
@@ -107,7 +107,7 @@ public class RedisStorage implements Storage {
     @Override
     @Retryable(value = RetryableRedisException.class)
     public KeyValue delete(String serviceId, String toDelete) {
-        log.info("Deleting entry: {}|{}", serviceId, toDelete);
+        log.debug("Deleting entry: {}|{}", serviceId, toDelete);
 
         RedisEntry entryToDelete = redis.get(serviceId, toDelete);
         boolean result = redis.delete(serviceId, toDelete);
@@ -121,7 +121,7 @@ public class RedisStorage implements Storage {
     @Override
     @Retryable(value = RetryableRedisException.class)
     public Map<String, KeyValue> readForService(String serviceId) {
-        log.info("Reading all entries: {}", serviceId);
+        log.debug("Reading all entries: {}", serviceId);
 
         List<RedisEntry> redisResult = redis.get(serviceId);
         Map<String, KeyValue> readResult = new HashMap<>();
@@ -134,7 +134,7 @@ public class RedisStorage implements Storage {
 
     @Override
     public void deleteForService(String serviceId) {
-        log.info("Deleting all entries: {}", serviceId);
+        log.debug("Deleting all entries: {}", serviceId);
 
         boolean result = redis.delete(serviceId);
 
@@ -68,7 +68,7 @@ public class VsamStorage implements Storage {
     @Override
     @Retryable(value = {RetryableVsamException.class, IllegalStateException.class, UnsupportedOperationException.class})
     public KeyValue create(String serviceId, KeyValue toCreate) {
-        log.info("Writing record: {}|{}|{}", serviceId, toCreate.getKey(), toCreate.getValue());
+        log.debug("Writing record: {}|{}", serviceId, toCreate.getKey());
         KeyValue result = null;
 
         try (VsamFile file = producer.newVsamFile(vsamConfig, VsamConfig.VsamOptions.WRITE, apimlLog)) {
@@ -117,7 +117,7 @@ public class VsamStorage implements Storage {
     @Override
     @Retryable(value = {RetryableVsamException.class})
     public KeyValue read(String serviceId, String key) {
-        log.info("Reading Record: {}|{}|{}", serviceId, key, "-");
+        log.debug("Reading Record: {}|{}|{}", serviceId, key, "-");
         KeyValue result = null;
 
         try (VsamFile file = producer.newVsamFile(vsamConfig, VsamConfig.VsamOptions.READ, apimlLog)) {
@@ -140,7 +140,7 @@ public class VsamStorage implements Storage {
     @Override
     @Retryable(value = {RetryableVsamException.class, IllegalStateException.class, UnsupportedOperationException.class})
     public KeyValue update(String serviceId, KeyValue toUpdate) {
-        log.info("Updating Record: {}|{}|{}", serviceId, toUpdate.getKey(), toUpdate.getValue());
+        log.debug("Updating Record: {}|{}", serviceId, toUpdate.getKey());
         KeyValue result = null;
 
         try (VsamFile file = producer.newVsamFile(vsamConfig, VsamConfig.VsamOptions.WRITE, apimlLog)) {
@@ -164,7 +164,7 @@ public class VsamStorage implements Storage {
     @Retryable(value = {RetryableVsamException.class, IllegalStateException.class, UnsupportedOperationException.class})
     public KeyValue delete(String serviceId, String toDelete) {
 
-        log.info("Deleting Record: {}|{}|{}", serviceId, toDelete, "-");
+        log.debug("Deleting Record: {}|{}|{}", serviceId, toDelete, "-");
         KeyValue result = null;
 
         try (VsamFile file = producer.newVsamFile(vsamConfig, VsamConfig.VsamOptions.WRITE, apimlLog)) {
@@ -187,7 +187,7 @@ public class VsamStorage implements Storage {
     @Override
     public Map<String, KeyValue> readForService(String serviceId) {
 
-        log.info("Reading All Records: {}|{}|{}", serviceId, "-", "-");
+        log.debug("Reading All Records: {}|{}|{}", serviceId, "-", "-");
         Map<String, KeyValue> result = new HashMap<>();
         List<VsamRecord> returned;
 
@@ -202,7 +202,7 @@ public class VsamStorage implements Storage {
 
     @Override
     public void deleteForService(String serviceId) {
-        log.info("Deleting All Records: {}|{}|{}", serviceId, "-", "-");
+        log.debug("Deleting All Records: {}|{}|{}", serviceId, "-", "-");
 
         try (VsamFile file = producer.newVsamFile(vsamConfig, VsamConfig.VsamOptions.WRITE, apimlLog)) {
             file.deleteForService(serviceId);
@@ -0,0 +1,104 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.audit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.zowe.apiml.caching.model.KeyValue;
+import org.zowe.apiml.caching.service.Storage;
+import org.zowe.apiml.caching.service.StorageException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditedStorageTest {
+
+    private final Storage storage = mock(Storage.class);
+    private final StorageAuditLog auditLog = mock(StorageAuditLog.class);
+    private final AuditedStorage underTest = new AuditedStorage(storage, auditLog);
+
+    @Nested
+    class GivenAuditIsEnabled {
+
+        @BeforeEach
+        void setUp() {
+            when(auditLog.isEnabled()).thenReturn(true);
+        }
+
+        @Test
+        void whenCreate_thenKeyIsRecordedWithoutValue() {
+            KeyValue keyValue = new KeyValue("key", "secret");
+            when(storage.create("gateway", keyValue)).thenReturn(keyValue);
+
+            assertSame(keyValue, underTest.create("gateway", keyValue));
+
+            verify(auditLog).record(eq("create"), eq("gateway"), eq("key"), longThat(latency -> latency >= 0), eq(AuditedStorage.OUTCOME_OK));
+            verify(auditLog, never()).record(any(), any(), eq("secret"), anyLong(), any());
+        }
+
+        @Test
+        void whenReadReturnsNothing_thenOutcomeIsNone() {
+            assertNull(underTest.read("gateway", "key"));
+
+            verify(auditLog).record(eq("read"), eq("gateway"), eq("key"), anyLong(), eq(AuditedStorage.OUTCOME_NONE));
+        }
+
+        @Test
+        void whenStorageFails_thenStatusIsRecordedAndExceptionIsRethrown() {
+            StorageException exception = new StorageException("org.zowe.apiml.cache.keyNotInCache", HttpStatus.NOT_FOUND, "key", "gateway");
+            when(storage.delete("gateway", "key")).thenThrow(exception);
+
+            assertSame(exception, assertThrows(StorageException.class, () -> underTest.delete("gateway", "key")));
+
+            verify(auditLog).record(eq("delete"), eq("gateway"), eq("key"), anyLong(), eq("404"));
+        }
+
+        @Test
+        void whenStorageFailsUnexpectedly_thenExceptionTypeIsRecorded() {
+            when(storage.readForService("gateway")).thenThrow(new IllegalStateException());
+
+            assertThrows(IllegalStateException.class, () -> underTest.readForService("gateway"));
+
+            verify(auditLog).record(eq("readForService"), eq("gateway"), isNull(), anyLong(), eq("IllegalStateException"));
+        }
+
+        @Test
+        void whenVoidOperation_thenItIsRecorded() {
+            underTest.deleteForService("gateway");
+            underTest.removeNonRelevantTokens("gateway", "invalidTokens");
+
+            verify(storage).deleteForService("gateway");
+            verify(storage).removeNonRelevantTokens("gateway", "invalidTokens");
+            verify(auditLog).record(eq("deleteForService"), eq("gateway"), isNull(), anyLong(), eq(AuditedStorage.OUTCOME_OK));
+            verify(auditLog).record(eq("removeNonRelevantTokens"), eq("gateway"), eq("invalidTokens"), anyLong(), eq(AuditedStorage.OUTCOME_OK));
+        }
+
+    }
+
+    @Test
+    void givenAuditIsDisabled_whenOperation_thenNothingIsRecorded() {
+        KeyValue keyValue = new KeyValue("key", "value");
+        when(storage.update("gateway", keyValue)).thenReturn(keyValue);
+
+        assertSame(keyValue, underTest.update("gateway", keyValue));
+
+        verify(auditLog, never()).record(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void givenKeyValue_whenToString_thenValueIsNotIncluded() {
+        assertFalse(new KeyValue("key", "secret").toString().contains("secret"));
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.caching.service.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StorageAuditLogTest {
+
+    private final Logger logger = mock(Logger.class);
+    private final List<Object[]> written = Collections.synchronizedList(new ArrayList<>());
+    private StorageAuditLog underTest;
+
+    private void captureRecords() {
+        when(logger.isInfoEnabled()).thenReturn(true);
+        doAnswer(invocation -> {
+            written.add(invocation.getArguments());
+            return null;
+        }).when(logger).info(anyString(), any(Object[].class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (underTest != null) {
+            underTest.stop();
+        }
+    }
+
+    @Test
+    void givenRecord_whenWritten_thenValueIsNotIncluded() {
+        captureRecords();
+        underTest = new StorageAuditLog(logger, 10, StorageAuditLog.DropPolicy.DROP_NEWEST);
+
+        underTest.record("create", "gateway", "secretKey", 2_000, "ok");
+        underTest.stop();
+
+        assertEquals(1, written.size());
+        Object[] parameters = written.get(0);
+        assertEquals("create", parameters[1]);
+        assertEquals("gateway", parameters[2]);
+        assertEquals(underTest.hash("secretKey"), parameters[3]);
+        assertNotEquals("secretKey", parameters[3]);
+        assertEquals(2L, parameters[4]);
+        assertEquals("ok", parameters[5]);
+    }
+
+    @Test
+    void givenInfoIsDisabled_whenRecord_thenNothingIsWritten() {
+        underTest = new StorageAuditLog(logger, 10, StorageAuditLog.DropPolicy.DROP_NEWEST);
+
+        assertFalse(underTest.isEnabled());
+        underTest.record("read", "gateway", "key", 1, "ok");
+        underTest.stop();
+
+        verify(logger, never()).info(anyString(), any(Object[].class));
+    }
+
+    @Test
+    void givenKey_whenHash_thenItIsStable() {
+        underTest = new StorageAuditLog(logger, 10, StorageAuditLog.DropPolicy.DROP_NEWEST);
+
+        assertEquals(underTest.hash("key"), underTest.hash("key"));
+        assertNotEquals(underTest.hash("key"), underTest.hash("key2"));
+        assertEquals(16, underTest.hash("key").length());
+        assertEquals("-", underTest.hash(null));
+    }
+
+    @Test
+    void givenManyThreads_whenHash_thenResultsAreConsistent() throws Exception {
+        underTest = new StorageAuditLog(logger, 10, StorageAuditLog.DropPolicy.DROP_NEWEST);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(underTest.hash("key" + i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> hashes = new ArrayList<>();
+                    for (int repeat = 0; repeat < 100; repeat++) {
+                        hashes.clear();
+                        for (int i = 0; i < 100; i++) {
+                            hashes.add(underTest.hash("key" + i));
+                        }
+                    }
+                    return hashes;
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                assertEquals(expected, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Nested
+    class GivenFullQueue {
+
+        private final CountDownLatch writerBlocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        /**
+         * The first written record blocks the writer, so the next records stay in the queue.
+         */
+        private void blockWriter() {
+            when(logger.isInfoEnabled()).thenReturn(true);
+            doAnswer(invocation -> {
+                written.add(invocation.getArguments());
+                writerBlocked.countDown();
+                release.await(10, TimeUnit.SECONDS);
+                return null;
+            }).when(logger).info(anyString(), any(Object[].class));
+        }
+
+        private void fill(int count) throws InterruptedException {
+            underTest.record("op", "service", "blocking", 0, "ok");
+            assertTrue(writerBlocked.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < count; i++) {
+                underTest.record("op", "service", "key" + i, 0, "ok");
+            }
+        }
+
+        @Test
+        void givenDropNewest_thenNewRecordsAreDropped() throws InterruptedException {
+            blockWriter();
+            underTest = new StorageAuditLog(logger, 2, StorageAuditLog.DropPolicy.DROP_NEWEST);
+
+            fill(5);
+            release.countDown();
+            underTest.stop();
+
+            assertEquals(3, underTest.getDroppedCount());
+            assertEquals(3, written.size());
+            assertEquals(underTest.hash("key0"), written.get(1)[3]);
+            assertEquals(underTest.hash("key1"), written.get(2)[3]);
+            verify(logger, atLeastOnce()).warn(anyString(), eq(3L));
+        }
+
+        @Test
+        void givenDropOldest_thenOldRecordsAreDropped() throws InterruptedException {
+            blockWriter();
+            underTest = new StorageAuditLog(logger, 2, StorageAuditLog.DropPolicy.DROP_OLDEST);
+
+            fill(5);
+            release.countDown();
+            underTest.stop();
+
+            assertEquals(3, underTest.getDroppedCount());
+            assertEquals(3, written.size());
+            assertEquals(underTest.hash("key3"), written.get(1)[3]);
+            assertEquals(underTest.hash("key4"), written.get(2)[3]);
+        }
+
+        @Test
+        void givenBlock_thenNoRecordIsDropped() throws InterruptedException {
+            blockWriter();
+            underTest = new StorageAuditLog(logger, 2, StorageAuditLog.DropPolicy.BLOCK);
+
+            Thread producer = new Thread(() -> {
+                try {
+                    fill(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            assertTrue(writerBlocked.await(10, TimeUnit.SECONDS));
+            release.countDown();
+            producer.join(10_000);
+            underTest.stop();
+
+            assertEquals(0, underTest.getDroppedCount());
+            assertEquals(6, written.size());
+        }
+
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"dropOldest", "drop-oldest", "DROP_OLDEST", " drop_oldest "})
+    void givenPolicyName_whenParse_thenPolicyIsFound(String name) {
+        assertEquals(StorageAuditLog.DropPolicy.DROP_OLDEST, StorageAuditLog.DropPolicy.of(name));
+    }
+
+    @Test
+    void givenUnknownPolicyName_whenParse_thenFail() {
+        assertThrows(IllegalArgumentException.class, () -> StorageAuditLog.DropPolicy.of("dropAll"));
+    }
+
+}
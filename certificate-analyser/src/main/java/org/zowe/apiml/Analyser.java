@@ -12,6 +12,7 @@ package org.zowe.apiml;
 
 import picocli.CommandLine;
 
+import javax.net.ssl.SSLContext;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -41,10 +42,19 @@ public class Analyser {
                     client = new HttpClient(sslContextFactory.getSslContext());
                 }
                 verifiers.add(new RemoteHandshake(sslContextFactory, client));
-            } else {
+            } else if (conf.getBatchFile() == null) {
                 System.out.println("No remote will be verified. Specify \"-r\" or \"--remoteurl\" if you wish to verify the trust.");
             }
 
+            if (conf.getBatchFile() != null) {
+                // all services are verified with the same context, the stores are not loaded again
+                SSLContextFactory batchContextFactory = conf.isClientCertAuth() ?
+                    SSLContextFactory.initSSLContextWithKeystore(stores) : SSLContextFactory.initSSLContextWithoutKeystore(stores);
+                SSLContext batchContext = conf.isClientCertAuth() ?
+                    batchContextFactory.getSslContextWithKeystore() : batchContextFactory.getSslContext();
+                verifiers.add(new BatchHandshake(batchContextFactory, batchContext, BatchHandshake.readTargets(conf.getBatchFile())));
+            }
+
             if (conf.isDoLocalHandshake()) {
                 sslContextFactory = SSLContextFactory.initSSLContextWithKeystore(stores);
                 client = new HttpClient(sslContextFactory.getSslContextWithKeystore());
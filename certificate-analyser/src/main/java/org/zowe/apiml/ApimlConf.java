@@ -41,6 +41,14 @@ public class ApimlConf implements Config {
     private boolean helpRequested = false;
     @Option(names = {"-c", "--clientcert"}, description = "Add client certificate to HTTPS request")
     private boolean clientCertAuth;
+    @Option(names = {"-b", "--batch"}, description = "Path to file with URLs of services to be verified, one per line")
+    private String batchFile;
+    @Option(names = {"-p", "--parallelism"}, description = "Count of concurrent handshakes in the batch mode, default is 8")
+    private int parallelism = 8;
+    @Option(names = {"-to", "--timeout"}, description = "Timeout of connection and handshake of each service in milliseconds, default is 5000")
+    private int timeout = 5000;
+    @Option(names = {"-o", "--output"}, description = "Path to file where the results of the batch mode are written, default is standard output")
+    private String outputFile;
 
     public String getKeyStore() {
         return keyStore;
@@ -86,6 +94,22 @@ public class ApimlConf implements Config {
         return clientCertAuth;
     }
 
+    public String getBatchFile() {
+        return batchFile;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    public String getOutputFile() {
+        return outputFile;
+    }
+
     private String defaultValue(String value, String defaultVal) {
         return value != null ? value : defaultVal;
     }
@@ -0,0 +1,272 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the trust of many services at once. The stores and the SSL context are loaded just once and the handshakes
+ * run in parallel. Each handshake is limited by the timeout and the result of each service is written as a single line
+ * JSON object in the order of the input.
+ */
+@SuppressWarnings("squid:S106") //ignoring the System.out System.err warinings
+public class BatchHandshake implements Verifier {
+
+    public enum Status {
+        OK, HANDSHAKE_FAILED, TIMEOUT, INVALID_URL, ERROR
+    }
+
+    private final SSLContext sslContext;
+    private final List<String> targets;
+    private final int parallelism;
+    private final int timeout;
+    private final String outputFile;
+
+    public BatchHandshake(SSLContextFactory sslContextFactory, SSLContext sslContext, List<String> targets) {
+        this.sslContext = sslContext;
+        this.targets = targets;
+        this.parallelism = sslContextFactory.getStores().getConf().getParallelism();
+        this.timeout = sslContextFactory.getStores().getConf().getTimeout();
+        this.outputFile = sslContextFactory.getStores().getConf().getOutputFile();
+    }
+
+    /**
+     * Reads the URLs of services from the file. Empty lines and lines starting with # are ignored.
+     */
+    public static List<String> readTargets(String file) throws IOException {
+        return Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8).stream()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public void verify() {
+        List<Result> results = run();
+        if (outputFile == null) {
+            results.forEach(result -> System.out.println(result.toJson()));
+            return;
+        }
+
+        try (PrintStream out = new PrintStream(new FileOutputStream(outputFile), true, StandardCharsets.UTF_8.name())) {
+            results.forEach(result -> out.println(result.toJson()));
+            System.out.println("Results of " + results.size() + " services were written to \"" + outputFile + "\".");
+        } catch (IOException e) {
+            System.err.println("Failed when writing results to \"" + outputFile + "\". Error message: " + e.getMessage());
+        }
+    }
+
+    public List<Result> run() {
+        List<Result> results = new ArrayList<>(targets.size());
+        if (targets.isEmpty()) {
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, targets.size())), runnable -> {
+            Thread thread = new Thread(runnable, "batch-handshake");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Result>> futures = new ArrayList<>(targets.size());
+            for (String target : targets) {
+                futures.add(executor.submit(() -> handshake(target)));
+            }
+            for (int i = 0; i < targets.size(); i++) {
+                results.add(get(targets.get(i), futures.get(i)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    private Result get(String target, Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.failed(target, Status.ERROR, "Interrupted");
+        } catch (ExecutionException e) {
+            return Result.failed(target, Status.ERROR, e.getCause().getMessage());
+        }
+    }
+
+    Result handshake(String target) {
+        URL url;
+        try {
+            url = new URL(target);
+        } catch (MalformedURLException e) {
+            return Result.failed(target, Status.INVALID_URL, e.getMessage());
+        }
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+
+        long start = System.nanoTime();
+        try (Socket plainSocket = new Socket()) {
+            plainSocket.connect(new InetSocketAddress(url.getHost(), port), timeout);
+            plainSocket.setSoTimeout(timeout);
+            long connected = System.nanoTime();
+
+            try (SSLSocket socket = (SSLSocket) sslContext.getSocketFactory().createSocket(plainSocket, url.getHost(), port, false)) {
+                // verify the hostname the same way as HttpsURLConnection does
+                SSLParameters sslParameters = socket.getSSLParameters();
+                sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                socket.setSSLParameters(sslParameters);
+
+                socket.startHandshake();
+                long finished = System.nanoTime();
+
+                SSLSession session = socket.getSession();
+                return new Result(target, Status.OK, connected - start, finished - connected,
+                    session.getProtocol(), session.getCipherSuite(), null);
+            }
+        } catch (SocketTimeoutException e) {
+            return Result.failed(target, Status.TIMEOUT, "No response in " + timeout + " ms");
+        } catch (SSLHandshakeException e) {
+            return Result.failed(target, Status.HANDSHAKE_FAILED, e.getMessage());
+        } catch (IOException e) {
+            return Result.failed(target, Status.ERROR, e.getMessage());
+        }
+    }
+
+    public static class Result {
+
+        private final String target;
+        private final Status status;
+        private final long connectNanos;
+        private final long handshakeNanos;
+        private final String protocol;
+        private final String cipherSuite;
+        private final String message;
+
+        Result(String target, Status status, long connectNanos, long handshakeNanos, String protocol, String cipherSuite, String message) {
+            this.target = target;
+            this.status = status;
+            this.connectNanos = connectNanos;
+            this.handshakeNanos = handshakeNanos;
+            this.protocol = protocol;
+            this.cipherSuite = cipherSuite;
+            this.message = message;
+        }
+
+        static Result failed(String target, Status status, String message) {
+            return new Result(target, status, -1, -1, null, null, message);
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getConnectNanos() {
+            return connectNanos;
+        }
+
+        public long getHandshakeNanos() {
+            return handshakeNanos;
+        }
+
+        public String getProtocol() {
+            return protocol;
+        }
+
+        public String getCipherSuite() {
+            return cipherSuite;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String toJson() {
+            StringBuilder sb = new StringBuilder("{");
+            appendString(sb, "target", target).append(',');
+            appendString(sb, "status", status.name());
+            if (status == Status.OK) {
+                sb.append(',');
+                appendMillis(sb, "connectMs", connectNanos).append(',');
+                appendMillis(sb, "handshakeMs", handshakeNanos).append(',');
+                appendString(sb, "protocol", protocol).append(',');
+                appendString(sb, "cipherSuite", cipherSuite);
+            } else {
+                sb.append(',');
+                appendString(sb, "message", message);
+            }
+            return sb.append('}').toString();
+        }
+
+        private static StringBuilder appendMillis(StringBuilder sb, String name, long nanos) {
+            return sb.append('"').append(name).append("\":").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+        }
+
+        private static StringBuilder appendString(StringBuilder sb, String name, String value) {
+            sb.append('"').append(name).append("\":");
+            if (value == null) {
+                return sb.append("null");
+            }
+            sb.append('"');
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '"':
+                        sb.append("\\\"");
+                        break;
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    case '\r':
+                        sb.append("\\r");
+                        break;
+                    case '\t':
+                        sb.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            return sb.append('"');
+        }
+
+    }
+
+}
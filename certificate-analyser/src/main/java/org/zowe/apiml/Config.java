@@ -32,4 +32,12 @@ public interface Config {
     boolean isDoLocalHandshake();
 
     boolean isClientCertAuth();
+
+    String getBatchFile();
+
+    int getParallelism();
+
+    int getTimeout();
+
+    String getOutputFile();
 }
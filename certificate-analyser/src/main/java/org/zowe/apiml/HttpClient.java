@@ -24,8 +24,8 @@ public class HttpClient {
     }
 
     public int executeCall(URL url) throws IOException {
-        HttpsURLConnection.setDefaultSSLSocketFactory(sslContext.getSocketFactory());
         HttpsURLConnection con = (HttpsURLConnection) url.openConnection();
+        con.setSSLSocketFactory(sslContext.getSocketFactory());
         con.setRequestMethod("GET");
         con.setConnectTimeout(5000);
         con.setReadTimeout(5000);
@@ -0,0 +1,197 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.zowe.apiml.server.SocketServer;
+import picocli.CommandLine;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchHandshakeTest {
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+    private final List<ServerSocket> servers = new ArrayList<>();
+
+    private SSLContextFactory sslContextFactory;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        System.setOut(originalOut);
+        for (ServerSocket server : servers) {
+            server.close();
+        }
+    }
+
+    private BatchHandshake batchHandshake(List<String> targets, String... options) throws Exception {
+        List<String> args = new ArrayList<>(Arrays.asList("--keystore", "../keystore/localhost/localhost.keystore.p12",
+            "--truststore", "../keystore/localhost/localhost.truststore.p12",
+            "--keypasswd", "password",
+            "--keyalias", "localhost"));
+        args.addAll(Arrays.asList(options));
+
+        ApimlConf conf = new ApimlConf();
+        new CommandLine(conf).parseArgs(args.toArray(new String[0]));
+        Stores stores = new Stores(conf);
+        sslContextFactory = SSLContextFactory.initSSLContextWithKeystore(stores);
+        SSLContextFactory clientContextFactory = SSLContextFactory.initSSLContextWithoutKeystore(stores);
+        return new BatchHandshake(clientContextFactory, clientContextFactory.getSslContext(), targets);
+    }
+
+    private String startTlsServer() throws IOException {
+        SSLServerSocket listener = (SSLServerSocket) sslContextFactory.getSslContextWithKeystore().getServerSocketFactory().createServerSocket(0);
+        servers.add(listener);
+        new SocketServer(listener);
+        return "https://localhost:" + listener.getLocalPort();
+    }
+
+    /**
+     * Server which accepts the connection, but never answers.
+     */
+    private String startSilentServer() throws IOException {
+        ServerSocket listener = new ServerSocket(0);
+        servers.add(listener);
+        return "https://localhost:" + listener.getLocalPort();
+    }
+
+    @Test
+    void givenTrustedServices_whenRun_thenHandshakesAreSuccessfulAndTimed() throws Exception {
+        List<String> targets = new ArrayList<>();
+        BatchHandshake underTest = batchHandshake(targets, "-p", "3");
+        for (int i = 0; i < 5; i++) {
+            targets.add(startTlsServer());
+        }
+
+        List<BatchHandshake.Result> results = underTest.run();
+
+        assertEquals(5, results.size());
+        for (int i = 0; i < 5; i++) {
+            BatchHandshake.Result result = results.get(i);
+            assertEquals(targets.get(i), result.getTarget());
+            assertEquals(BatchHandshake.Status.OK, result.getStatus(), result.getMessage());
+            assertTrue(result.getHandshakeNanos() > 0);
+            assertEquals("TLSv1.2", result.getProtocol());
+            assertNotNull(result.getCipherSuite());
+        }
+    }
+
+    @Test
+    void givenDifferentProblems_whenRun_thenEachIsReportedInOrder() throws Exception {
+        List<String> targets = new ArrayList<>();
+        BatchHandshake underTest = batchHandshake(targets, "-to", "500");
+        ServerSocket closed = new ServerSocket(0);
+        closed.close();
+        targets.add("malformedurl");
+        targets.add(startTlsServer());
+        targets.add(startSilentServer());
+        targets.add("https://localhost:" + closed.getLocalPort());
+
+        List<BatchHandshake.Result> results = underTest.run();
+
+        assertEquals(BatchHandshake.Status.INVALID_URL, results.get(0).getStatus());
+        assertEquals(BatchHandshake.Status.OK, results.get(1).getStatus());
+        assertEquals(BatchHandshake.Status.TIMEOUT, results.get(2).getStatus());
+        assertEquals(BatchHandshake.Status.ERROR, results.get(3).getStatus());
+    }
+
+    @Test
+    void givenSlowServices_whenRun_thenTimeoutsRunInParallel() throws Exception {
+        List<String> targets = new ArrayList<>();
+        BatchHandshake underTest = batchHandshake(targets, "-p", "4", "-to", "500");
+        for (int i = 0; i < 4; i++) {
+            targets.add(startSilentServer());
+        }
+
+        long start = System.nanoTime();
+        List<BatchHandshake.Result> results = underTest.run();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        results.forEach(result -> assertEquals(BatchHandshake.Status.TIMEOUT, result.getStatus()));
+        assertTrue(elapsedMs < 4 * 500, "The handshakes took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void givenUntrustedService_whenRun_thenHandshakeFails() throws Exception {
+        // loads the stores for the server
+        batchHandshake(Collections.emptyList());
+        String target = startTlsServer();
+
+        KeyStore emptyTrustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        emptyTrustStore.load(null, null);
+        TrustManagerFactory trustFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustFactory.init(emptyTrustStore);
+        SSLContext untrustedContext = SSLContext.getInstance("TLSv1.2");
+        untrustedContext.init(null, trustFactory.getTrustManagers(), new SecureRandom());
+        BatchHandshake underTest = new BatchHandshake(sslContextFactory, untrustedContext, Collections.singletonList(target));
+
+        BatchHandshake.Result result = underTest.run().get(0);
+        assertEquals(BatchHandshake.Status.HANDSHAKE_FAILED, result.getStatus());
+        assertNotNull(result.getMessage());
+    }
+
+    @Test
+    void givenOutputFile_whenVerify_thenResultsAreWrittenAsJsonLines(@TempDir Path tempDir) throws Exception {
+        Path output = tempDir.resolve("results.jsonl");
+        List<String> targets = new ArrayList<>();
+        BatchHandshake underTest = batchHandshake(targets, "-o", output.toString());
+        targets.add(startTlsServer());
+        targets.add("malformedurl");
+
+        underTest.verify();
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).matches("\\{\"target\":\"https://localhost:\\d+\",\"status\":\"OK\",\"connectMs\":[\\d.]+,\"handshakeMs\":[\\d.]+,\"protocol\":\"TLSv1.2\",\"cipherSuite\":\"\\w+\"}"), lines.get(0));
+        assertTrue(lines.get(1).startsWith("{\"target\":\"malformedurl\",\"status\":\"INVALID_URL\",\"message\":\"no protocol"), lines.get(1));
+    }
+
+    @Test
+    void givenMessageWithSpecialCharacters_whenToJson_thenItIsEscaped() {
+        BatchHandshake.Result result = BatchHandshake.Result.failed("https://host", BatchHandshake.Status.ERROR, "a \"quoted\"\nvalue\\");
+
+        assertEquals("{\"target\":\"https://host\",\"status\":\"ERROR\",\"message\":\"a \\\"quoted\\\"\\nvalue\\\\\"}", result.toJson());
+    }
+
+    @Test
+    void givenTargetsFile_whenRead_thenCommentsAndEmptyLinesAreIgnored(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("targets.txt");
+        Files.write(file, Arrays.asList("# gateway", "https://localhost:10010", "", "  https://localhost:10011  "), StandardCharsets.UTF_8);
+
+        assertEquals(Arrays.asList("https://localhost:10010", "https://localhost:10011"), BatchHandshake.readTargets(file.toString()));
+    }
+
+}
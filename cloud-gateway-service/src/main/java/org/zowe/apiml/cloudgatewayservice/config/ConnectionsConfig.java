@@ -18,6 +18,9 @@ import com.netflix.discovery.EurekaClient;
 import com.netflix.discovery.EurekaClientConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import jakarta.annotation.PostConstruct;
@@ -67,7 +70,9 @@ import org.zowe.apiml.security.HttpsConfigError;
 import org.zowe.apiml.security.HttpsFactory;
 import org.zowe.apiml.security.SecurityUtils;
 import org.zowe.apiml.util.CorsUtils;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.TrustManagerFactory;
@@ -133,6 +138,27 @@ public class ConnectionsConfig {
     private int requestTimeout;
     @Value("${apiml.service.corsEnabled:false}")
     private boolean corsEnabled;
+
+    @Value("${apiml.cloudGateway.routing.connectionPool.perRoute:true}")
+    private boolean connectionPoolPerRoute;
+    @Value("${apiml.cloudGateway.routing.connectionPool.maxConnections:100}")
+    private int routeMaxConnections;
+    @Value("${apiml.cloudGateway.routing.connectionPool.pendingAcquireMaxCount:1000}")
+    private int routePendingAcquireMaxCount;
+    @Value("${apiml.cloudGateway.routing.connectionPool.pendingAcquireTimeoutMs:45000}")
+    private long routePendingAcquireTimeoutMs;
+    @Value("${apiml.cloudGateway.routing.connectionPool.maxIdleTimeMs:30000}")
+    private long routeMaxIdleTimeMs;
+    @Value("${apiml.cloudGateway.routing.connectionPool.evictionIntervalMs:60000}")
+    private long routeEvictionIntervalMs;
+    @Value("${apiml.cloudGateway.routing.connectionPool.disposeDelayMs:5000}")
+    private long routeDisposeDelayMs;
+    @Value("${apiml.cloudGateway.routing.connectionPool.disposeTimeoutMs:60000}")
+    private long routeDisposeTimeoutMs;
+    @Value("${apiml.cloudGateway.routing.connectionPool.metrics:true}")
+    private boolean routeConnectionPoolMetrics;
+    @Value("${apiml.cloudGateway.routing.http2:false}")
+    private boolean routingHttp2;
     private final ApplicationContext context;
     private static final ApimlLogger apimlLog = ApimlLogger.of(ConnectionsConfig.class, YamlMessageServiceInstance.getInstance());
     private HttpsFactory httpsFactory;
@@ -186,8 +212,9 @@ public class ConnectionsConfig {
     @Bean
     public BeanPostProcessor routingFilterHandler(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider, HttpClientProperties properties) {
         // obtain SSL contexts (one with keystore to support client cert sign and truststore, second just with truststore)
-        SslContext justTruststore = sslContext(false);
-        SslContext withKeystore = sslContext(true);
+        SslContext justTruststore = sslContext(false, routingHttp2);
+        SslContext withKeystore = sslContext(true, routingHttp2);
+        HttpClient routingHttpClient = routingHttp2 ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11) : httpClient;
 
         return new BeanPostProcessor() {
             @Override
@@ -195,7 +222,12 @@ public class ConnectionsConfig {
                 if ("routingFilter".equals(beanName)) {
                     log.debug("Updating routing bean {}", NettyRoutingFilterApiml.class);
                     // once is creating original bean by autoconfiguration replace it with custom implementation
-                    return new NettyRoutingFilterApiml(httpClient, headersFiltersProvider, properties, justTruststore, withKeystore);
+                    if (connectionPoolPerRoute) {
+                        return new NettyRoutingFilterApiml(routingHttpClient, headersFiltersProvider, properties, justTruststore, withKeystore,
+                            ConnectionsConfig.this::routeConnectionProvider, connectionProvider -> routeHttpClient(connectionProvider, properties),
+                            Duration.ofMillis(routeDisposeDelayMs));
+                    }
+                    return new NettyRoutingFilterApiml(routingHttpClient, headersFiltersProvider, properties, justTruststore, withKeystore);
                 }
                 // do not touch any other bean
                 return bean;
@@ -204,11 +236,74 @@ public class ConnectionsConfig {
     }
 
     /**
-     * @return io.netty.handler.ssl.SslContext for http client.
+     * Creates an isolated connection pool for a route. The pool is named by the route, and if metrics are enabled
+     * the gauges of the pool (reactor.netty.connection.provider.*) are tagged by this name.
+     *
+     * @param routeId ID of the route
+     * @return connection pool dedicated to the route
      */
+    ConnectionProvider routeConnectionProvider(String routeId) {
+        return ConnectionProvider.builder("route:" + routeId)
+            .maxConnections(routeMaxConnections)
+            .pendingAcquireMaxCount(routePendingAcquireMaxCount)
+            .pendingAcquireTimeout(Duration.ofMillis(routePendingAcquireTimeoutMs))
+            .maxIdleTime(Duration.ofMillis(routeMaxIdleTimeMs))
+            .evictInBackground(Duration.ofMillis(routeEvictionIntervalMs))
+            .disposeTimeout(Duration.ofMillis(routeDisposeTimeoutMs))
+            .metrics(routeConnectionPoolMetrics)
+            .build();
+    }
+
+    /**
+     * Creates HttpClient for a route with a dedicated connection pool. It applies the same client properties as
+     * the default HttpClient created by Spring Cloud Gateway (SSL is set by the routing filter).
+     *
+     * @param connectionProvider connection pool of the route
+     * @param properties client HTTP properties
+     * @return http client using the connection pool
+     */
+    HttpClient routeHttpClient(ConnectionProvider connectionProvider, HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .httpResponseDecoder(spec -> {
+                if (properties.getMaxHeaderSize() != null) {
+                    spec.maxHeaderSize((int) properties.getMaxHeaderSize().toBytes());
+                }
+                if (properties.getMaxInitialLineLength() != null) {
+                    spec.maxInitialLineLength((int) properties.getMaxInitialLineLength().toBytes());
+                }
+                return spec;
+            })
+            .compress(properties.isCompression())
+            .wiretap(properties.isWiretap());
+
+        if (properties.getConnectTimeout() != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeout());
+        }
+        if (routingHttp2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+
     SslContext sslContext(boolean setKeystore) {
+        return sslContext(setKeystore, false);
+    }
+
+    /**
+     * @return io.netty.handler.ssl.SslContext for http client.
+     */
+    SslContext sslContext(boolean setKeystore, boolean http2) {
         try {
             SslContextBuilder builder = SslContextBuilder.forClient();
+            if (http2) {
+                // negotiate HTTP/2 with southbound services by ALPN, HTTP/1.1 is still supported
+                builder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1
+                ));
+            }
 
             KeyStore trustStore = SecurityUtils.loadKeyStore(trustStoreType, trustStorePath, trustStorePassword);
             TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
@@ -12,39 +12,91 @@ package org.zowe.apiml.cloudgatewayservice.config;
 
 import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContext;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
 import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
 import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
 import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
 import static org.zowe.apiml.constants.ApimlConstants.HTTP_CLIENT_USE_CLIENT_CERTIFICATE;
 
+/**
+ * Routing filter which selects the HttpClient by the route and by the requirement of a client certificate.
+ *
+ * The HttpClient instances are built once per route (the connect timeout from metadata of route is applied just
+ * once). If the connection provider factory is set, each route also gets its own connection pool, so a slow
+ * southbound service cannot exhaust connections of others. The clients are precomputed once routes are refreshed
+ * and clients (and pools) of removed routes are released. The pool of a removed route is disposed after a delay,
+ * because requests routed before the refresh could still use it.
+ */
 @Slf4j
-public class NettyRoutingFilterApiml extends NettyRoutingFilter {
+public class NettyRoutingFilterApiml extends NettyRoutingFilter implements ApplicationListener<RefreshRoutesResultEvent> {
 
     private final HttpClient httpClientNoCert;
     private final HttpClient httpClientClientCert;
 
+    private final SslContext justTruststore;
+    private final SslContext withKeystore;
+
+    // if null, all routes share the default connection pool
+    private final Function<String, ConnectionProvider> connectionProviderFactory;
+    private final Function<ConnectionProvider, HttpClient> httpClientFactory;
+    private final Duration disposeDelay;
+
+    private final Map<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+    private final Map<RouteKey, HttpClient> routeClientsNoCert = new ConcurrentHashMap<>();
+    private final Map<RouteKey, HttpClient> routeClientsClientCert = new ConcurrentHashMap<>();
+
     public NettyRoutingFilterApiml(
         HttpClient httpClient,
         ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
         HttpClientProperties properties,
         SslContext justTruststore,
         SslContext withKeystore
+    ) {
+        this(httpClient, headersFiltersProvider, properties, justTruststore, withKeystore, null, null, Duration.ZERO);
+    }
+
+    public NettyRoutingFilterApiml(
+        HttpClient httpClient,
+        ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+        HttpClientProperties properties,
+        SslContext justTruststore,
+        SslContext withKeystore,
+        Function<String, ConnectionProvider> connectionProviderFactory,
+        Function<ConnectionProvider, HttpClient> httpClientFactory,
+        Duration disposeDelay
     ) {
         super(null, headersFiltersProvider, properties);
 
+        this.justTruststore = justTruststore;
+        this.withKeystore = withKeystore;
+        this.connectionProviderFactory = connectionProviderFactory;
+        this.httpClientFactory = httpClientFactory;
+        this.disposeDelay = disposeDelay;
+
         // construct http clients with different SSL configuration - with / without client certs
-        httpClientNoCert = httpClient.secure(sslContextSpec -> sslContextSpec.sslContext(justTruststore));
-        httpClientClientCert = httpClient.secure(sslContextSpec -> sslContextSpec.sslContext(withKeystore));
+        httpClientNoCert = secure(httpClient, false);
+        httpClientClientCert = secure(httpClient, true);
     }
 
     static Integer getInteger(Object connectTimeoutAttr) {
@@ -57,22 +109,110 @@ public class NettyRoutingFilterApiml extends NettyRoutingFilter {
         return connectTimeout;
     }
 
+    private HttpClient secure(HttpClient httpClient, boolean useClientCert) {
+        SslContext sslContext = useClientCert ? withKeystore : justTruststore;
+        return httpClient.secure(sslContextSpec -> sslContextSpec.sslContext(sslContext));
+    }
+
+    boolean isPoolPerRoute() {
+        return (connectionProviderFactory != null) && (httpClientFactory != null);
+    }
+
+    HttpClient createHttpClient(RouteKey routeKey, boolean useClientCert) {
+        HttpClient httpClient;
+        if (isPoolPerRoute()) {
+            ConnectionProvider connectionProvider = connectionProviders.computeIfAbsent(routeKey.getRouteId(), connectionProviderFactory);
+            httpClient = secure(httpClientFactory.apply(connectionProvider), useClientCert);
+        } else {
+            httpClient = useClientCert ? httpClientClientCert : httpClientNoCert;
+        }
+
+        if (routeKey.getConnectTimeout() != null) {
+            // if there is configured timeout, respect it
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, routeKey.getConnectTimeout());
+        }
+        return httpClient;
+    }
+
+    private HttpClient getHttpClient(RouteKey routeKey, boolean useClientCert) {
+        if (!isPoolPerRoute() && (routeKey.getConnectTimeout() == null)) {
+            // there is nothing specific for the route, just return selected HttpClient
+            return useClientCert ? httpClientClientCert : httpClientNoCert;
+        }
+
+        Map<RouteKey, HttpClient> routeClients = useClientCert ? routeClientsClientCert : routeClientsNoCert;
+        return routeClients.computeIfAbsent(routeKey, key -> createHttpClient(key, useClientCert));
+    }
+
     @Override
     protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
         // select proper HttpClient instance by attribute apiml.useClientCert
         boolean useClientCert = Optional.ofNullable((Boolean) exchange.getAttribute(HTTP_CLIENT_USE_CLIENT_CERTIFICATE)).orElse(Boolean.FALSE);
-        HttpClient httpClient = useClientCert ? httpClientClientCert : httpClientNoCert;
-
         log.debug("Using client with keystore {}", useClientCert);
-        Object connectTimeoutAttr = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
-        if (connectTimeoutAttr != null) {
-            // if there is configured timeout, respect it
-            Integer connectTimeout = getInteger(connectTimeoutAttr);
-            return httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+
+        return getHttpClient(RouteKey.of(route), useClientCert);
+    }
+
+    /**
+     * Prepare clients for the current routes and release the ones of routes that do not exist anymore.
+     *
+     * @param routes current routes
+     */
+    void updateRoutes(List<Route> routes) {
+        Set<RouteKey> routeKeys = routes.stream().map(RouteKey::of).collect(Collectors.toSet());
+        Set<String> routeIds = routeKeys.stream().map(RouteKey::getRouteId).collect(Collectors.toSet());
+
+        // at first prepare clients of the current routes (most of the requests are routed without client certificate)
+        routeKeys.forEach(routeKey -> getHttpClient(routeKey, false));
+
+        // then release the removed ones
+        routeClientsNoCert.keySet().retainAll(routeKeys);
+        routeClientsClientCert.keySet().retainAll(routeKeys);
+        connectionProviders.entrySet().removeIf(entry -> {
+            if (routeIds.contains(entry.getKey())) return false;
+
+            dispose(entry.getKey(), entry.getValue());
+            return true;
+        });
+    }
+
+    /**
+     * Dispose the pool of a removed route once the delay elapses. The pool then waits for active connections up to its
+     * dispose timeout (see {@link ConnectionProvider.ConnectionPoolSpec#disposeTimeout(Duration)}).
+     */
+    private void dispose(String routeId, ConnectionProvider connectionProvider) {
+        log.debug("Connection pool of route {} will be disposed in {}", routeId, disposeDelay);
+        Mono.delay(disposeDelay)
+            .then(Mono.defer(connectionProvider::disposeLater))
+            .subscribe(
+                null,
+                e -> log.debug("Cannot dispose connection pool of route {}", routeId, e),
+                () -> log.debug("Connection pool of route {} was disposed", routeId)
+            );
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (event.isSuccess() && (event.getSource() instanceof RouteLocator routeLocator)) {
+            routeLocator.getRoutes().collectList().subscribe(this::updateRoutes);
+        }
+    }
+
+    /**
+     * The key of prepared HttpClient. The route could be redefined with the same ID, the connect timeout is
+     * therefore also part of the key.
+     */
+    @Value
+    static class RouteKey {
+
+        String routeId;
+        Integer connectTimeout;
+
+        static RouteKey of(Route route) {
+            Object connectTimeoutAttr = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+            return new RouteKey(route.getId(), connectTimeoutAttr == null ? null : getInteger(connectTimeoutAttr));
         }
 
-        // otherwise just return selected HttpClient
-        return httpClient;
     }
 
 }
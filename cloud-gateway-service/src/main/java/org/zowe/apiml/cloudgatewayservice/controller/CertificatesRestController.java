@@ -14,11 +14,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import org.zowe.apiml.cloudgatewayservice.service.CertificateChainService;
 import reactor.core.publisher.Mono;
 
 /**
- * This simple controller provides a public endpoint with the client certificate chain.
+ * This simple controller provides a public endpoint with the client certificate chain. The response contains ETag,
+ * a conditional request (If-None-Match) with the same chain gets status 304 without the body.
  */
 @RequiredArgsConstructor
 @RestController
@@ -29,7 +31,11 @@ public class CertificatesRestController {
     private final CertificateChainService certificateChainService;
 
     @GetMapping
-    public Mono<String> getCertificates() {
+    public Mono<String> getCertificates(ServerWebExchange exchange) {
+        String eTag = certificateChainService.getCertificatesETag();
+        if (eTag != null && exchange.checkNotModified(eTag)) {
+            return Mono.empty();
+        }
         return Mono.just(certificateChainService.getCertificatesInPEMFormat());
     }
 }
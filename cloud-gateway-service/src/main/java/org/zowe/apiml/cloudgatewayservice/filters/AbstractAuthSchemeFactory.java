@@ -10,8 +10,17 @@
 
 package org.zowe.apiml.cloudgatewayservice.filters;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -21,22 +30,34 @@ import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.SslInfo;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ServerWebExchange;
 import org.zowe.apiml.cloudgatewayservice.service.InstanceInfoService;
+import org.zowe.apiml.cloudgatewayservice.service.balancer.InstanceChooser;
+import org.zowe.apiml.cloudgatewayservice.service.balancer.RoundRobinInstanceChooser;
 import org.zowe.apiml.cloudgatewayservice.x509.X509Util;
 import org.zowe.apiml.constants.ApimlConstants;
 import org.zowe.apiml.message.core.MessageService;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.net.HttpCookie;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateEncodingException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.zowe.apiml.cloudgatewayservice.x509.ClientCertFilterFactory.CLIENT_CERT_HEADER;
 import static org.zowe.apiml.constants.ApimlConstants.PAT_COOKIE_AUTH_NAME;
 import static org.zowe.apiml.constants.ApimlConstants.PAT_HEADER_NAME;
@@ -52,11 +73,17 @@ import static org.zowe.apiml.security.SecurityUtils.COOKIE_AUTH_NAME;
  * To prepare a new implementation of authentication scheme decoration is required to implement those methods:
  * - {@link AbstractAuthSchemeFactory#getResponseClass()} - define class of the response body (see T)
  * - {@link AbstractAuthSchemeFactory#getResponseFor401()} - construct empty response body for 401 response
- * - {@link AbstractAuthSchemeFactory#createRequest(AbstractConfig, ServerHttpRequest.Builder, ServiceInstance, Object, ServerHttpRequest request)}
+ * - {@link AbstractAuthSchemeFactory#createRequest(ServiceInstance, Object)}
  *   - create the base part of request to the ZAAS. It requires only related request properties to the related scheme
  * - {@link AbstractAuthSchemeFactory#processResponse(ServerWebExchange, GatewayFilterChain, Object)}
  *   - it is responsible for reading the response from the ZAAS and modifying the clients request to provide new credentials
  *
+ * The response of ZAAS could be reused for the next requests with the same credentials. It is allowed only if the
+ * implementation overrides {@link AbstractAuthSchemeFactory#isCredentialCacheable()} and
+ * {@link AbstractAuthSchemeFactory#getCredentialExpiration(Object)}. The cache must not be used for one-time credentials
+ * (i.e. passtickets). The cache is not evicted on logout or when credentials are revoked, the cached response is
+ * reused up to `apiml.cloudGateway.credentialCache.maxTtlSec`. For this reason the cache is disabled by default.
+ *
  * Example:
  *  class MyScheme extends AbstractAuthSchemeFactory<MyScheme.Config, MyResponse, MyData> {
  *
@@ -147,12 +174,29 @@ public abstract class AbstractAuthSchemeFactory<T extends AbstractAuthSchemeFact
         StringUtils.equalsIgnoreCase(headerName, CLIENT_CERT_HEADER) ||
         StringUtils.equalsIgnoreCase(headerName, HttpHeaders.COOKIE);
 
-    private static final RobinRoundIterator<ServiceInstance> robinRound = new RobinRoundIterator<>();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // the credentials are evicted a little bit earlier to avoid sending of expired credentials to the service
+    private static final Duration EXPIRATION_MARGIN = Duration.ofSeconds(5);
 
     protected final WebClient webClient;
     protected final InstanceInfoService instanceInfoService;
     protected final MessageService messageService;
 
+    @Value("${apiml.cloudGateway.credentialCache.enabled:false}")
+    private boolean credentialCacheEnabled;
+
+    @Value("${apiml.cloudGateway.credentialCache.maxTtlSec:60}")
+    private int credentialCacheMaxTtlSec;
+
+    @Value("${apiml.cloudGateway.credentialCache.maxSize:10000}")
+    private int credentialCacheMaxSize;
+
+    private Cache<CredentialCacheKey, CachedResponse<R>> credentialCache;
+
+    // the default chooser is replaced by the bean of the application context (see setInstanceChooser)
+    private InstanceChooser instanceChooser = new RoundRobinInstanceChooser();
+
     protected AbstractAuthSchemeFactory(Class<T> configClazz, WebClient webClient, InstanceInfoService instanceInfoService, MessageService messageService) {
         super(configClazz);
         this.webClient = webClient;
@@ -170,35 +214,220 @@ public abstract class AbstractAuthSchemeFactory<T extends AbstractAuthSchemeFact
      */
     protected abstract R getResponseFor401();
 
+    /**
+     * @return true if the response of ZAAS could be reused for the next request with the same credentials, false for
+     * one-time credentials (i.e. passticket)
+     */
+    protected boolean isCredentialCacheable() {
+        return false;
+    }
+
+    /**
+     * Provides the time when the credentials in the response of ZAAS expire. The response is cached up to this time
+     * (but at most the configured period, see `apiml.cloudGateway.credentialCache.maxTtlSec`).
+     *
+     * @param response response body from the ZAAS
+     * @return expiration of the credentials, {@link Instant#MAX} if it is unknown, or empty if the response cannot be
+     * reused (i.e. authentication failed)
+     */
+    protected Optional<Instant> getCredentialExpiration(R response) {
+        return Optional.empty();
+    }
+
+    @Autowired
+    void setInstanceChooser(InstanceChooser instanceChooser) {
+        this.instanceChooser = instanceChooser;
+    }
+
+    @PostConstruct
+    void initCredentialCache() {
+        if (credentialCacheEnabled && isCredentialCacheable()) {
+            credentialCache = CacheBuilder.newBuilder()
+                .maximumSize(credentialCacheMaxSize)
+                .expireAfterWrite(credentialCacheMaxTtlSec, SECONDS)
+                .build();
+        }
+    }
+
     private Mono<List<ServiceInstance>> getZaasInstances() {
         return instanceInfoService.getServiceInstance("gateway");
     }
 
+    /**
+     * Call the ZAAS instances in the order of preference. The next instance is used if the call fails with a server
+     * error, a connection error or returns an empty response. The results are reported to the {@link InstanceChooser}
+     * to prefer the healthy and fast instances in the next calls.
+     */
     private Mono<R> requestWithHa(
         Iterator<ServiceInstance> serviceInstanceIterator,
         Function<ServiceInstance, WebClient.RequestHeadersSpec<?>> requestCreator
     ) {
-        return requestCreator.apply(serviceInstanceIterator.next())
-            .retrieve()
-            .onStatus(HttpStatusCode::is5xxServerError, clientResponse -> Mono.empty())
-            .bodyToMono(getResponseClass())
-            .onErrorResume(exception -> exception instanceof WebClientResponseException.Unauthorized ? Mono.just(getResponseFor401()) : Mono.error(exception))
-            .switchIfEmpty(serviceInstanceIterator.hasNext() ?
+        ServiceInstance instance = serviceInstanceIterator.next();
+        return Mono.defer(() -> {
+                InstanceChooser.Observation observation = instanceChooser.start(instance);
+                return requestCreator.apply(instance)
+                    .retrieve()
+                    .onStatus(HttpStatusCode::is5xxServerError, clientResponse -> {
+                        observation.failed();
+                        return Mono.empty();
+                    })
+                    .bodyToMono(getResponseClass())
+                    .doOnSuccess(response -> {
+                        if (response == null) {
+                            observation.failed();
+                        } else {
+                            observation.succeeded();
+                        }
+                    })
+                    .onErrorResume(exception -> {
+                        if (exception instanceof WebClientResponseException.Unauthorized) {
+                            observation.succeeded();
+                            return Mono.just(getResponseFor401());
+                        }
+                        observation.failed();
+                        if ((exception instanceof WebClientRequestException) && serviceInstanceIterator.hasNext()) {
+                            // the instance is not reachable, try the next one (if there is no response keep the original error)
+                            return requestWithHa(serviceInstanceIterator, requestCreator).switchIfEmpty(Mono.error(exception));
+                        }
+                        return Mono.error(exception);
+                    })
+                    .doOnCancel(observation::cancelled);
+            })
+            .switchIfEmpty(Mono.defer(() -> serviceInstanceIterator.hasNext() ?
                 requestWithHa(serviceInstanceIterator, requestCreator) : Mono.empty()
-            );
+            ));
     }
 
-    protected Mono<Void> invoke(
+    protected Mono<R> invoke(
         List<ServiceInstance> serviceInstances,
-        Function<ServiceInstance, WebClient.RequestHeadersSpec<?>> requestCreator,
-        Function<? super R, ? extends Mono<Void>> responseProcessor
+        Function<ServiceInstance, WebClient.RequestHeadersSpec<?>> requestCreator
     ) {
-        Iterator<ServiceInstance> i = robinRound.getIterator(serviceInstances);
+        Iterator<ServiceInstance> i = instanceChooser.getIterator(serviceInstances);
         if (!i.hasNext()) {
             throw new IllegalArgumentException("No ZAAS is available");
         }
 
-        return requestWithHa(i, requestCreator).flatMap(responseProcessor);
+        return requestWithHa(i, requestCreator);
+    }
+
+    /**
+     * Returns the response of ZAAS from the cache if the same credentials were already used and they are still valid.
+     * Otherwise, it calls ZAAS. The concurrent requests with the same credentials share a single call of ZAAS.
+     */
+    private Mono<R> getZaasResponse(AbstractConfig config, D data, ServerHttpRequest request, Supplier<Mono<R>> zaasCall) {
+        if (credentialCache == null) {
+            return zaasCall.get();
+        }
+
+        CredentialCacheKey key = createCacheKey(config, data, request);
+        if (key == null) {
+            return zaasCall.get();
+        }
+
+        return getCachedResponse(key, zaasCall);
+    }
+
+    private Mono<R> getCachedResponse(CredentialCacheKey key, Supplier<Mono<R>> zaasCall) {
+        CachedResponse<R> cachedResponse = credentialCache.asMap().computeIfAbsent(key, k -> createCachedResponse(k, zaasCall.get()));
+        if (cachedResponse.isExpired()) {
+            credentialCache.asMap().remove(key, cachedResponse);
+            return getCachedResponse(key, zaasCall);
+        }
+        return cachedResponse.response;
+    }
+
+    private CachedResponse<R> createCachedResponse(CredentialCacheKey key, Mono<R> zaasCall) {
+        CachedResponse<R> cachedResponse = new CachedResponse<>();
+        cachedResponse.response = zaasCall
+            .doOnSuccess(response -> {
+                Instant expiration = response == null ? null : getCacheExpiration(response);
+                if (expiration == null) {
+                    // the response cannot be reused, it is just shared with the concurrent requests
+                    credentialCache.asMap().remove(key, cachedResponse);
+                } else {
+                    cachedResponse.expiration = expiration;
+                }
+            })
+            .doOnError(e -> credentialCache.asMap().remove(key, cachedResponse))
+            .cache();
+        return cachedResponse;
+    }
+
+    private Instant getCacheExpiration(R response) {
+        Instant now = Instant.now();
+        Instant maxExpiration = now.plusSeconds(credentialCacheMaxTtlSec);
+        return getCredentialExpiration(response)
+            .map(expiration -> expiration.minus(EXPIRATION_MARGIN))
+            .map(expiration -> expiration.isBefore(maxExpiration) ? expiration : maxExpiration)
+            .filter(now::isBefore)
+            .orElse(null);
+    }
+
+    /**
+     * Construct the key of credential cache. It contains the hash of all credentials that are sent to the ZAAS.
+     *
+     * @return the key or null if the request does not contain any credentials (the response should not be cached)
+     */
+    private CredentialCacheKey createCacheKey(AbstractConfig config, D data, ServerHttpRequest request) {
+        StringBuilder credentials = new StringBuilder();
+        request.getHeaders().entrySet().stream()
+            .filter(e -> CREDENTIALS_HEADER_INPUT.test(e.getKey()))
+            .sorted(Map.Entry.comparingByKey(String.CASE_INSENSITIVE_ORDER))
+            .forEach(e -> credentials.append(e.getKey().toLowerCase()).append(':').append(e.getValue()).append('\n'));
+        readCookies(request.getHeaders())
+            .filter(CREDENTIALS_COOKIE_INPUT)
+            .map(c -> c.getName() + "=" + c.getValue())
+            .sorted()
+            .forEach(c -> credentials.append("cookie:").append(c).append('\n'));
+        try {
+            String encodedCertificate = X509Util.getEncodedClientCertificate(request.getSslInfo());
+            if (encodedCertificate != null) {
+                credentials.append("cert:").append(encodedCertificate);
+            }
+        } catch (CertificateEncodingException e) {
+            // invalid certificate is handled by the ZAAS request, the response is not cached
+            return null;
+        }
+
+        if (credentials.length() == 0) {
+            return null;
+        }
+
+        return new CredentialCacheKey(name(), config.getServiceId(), data, createHash(credentials.toString()));
+    }
+
+    private static String createHash(String value) {
+        try {
+            var md = MessageDigest.getInstance("SHA-256");
+            byte[] digest = md.digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Read the expiration (claim `exp`) of JWT token without verification. The token is provided by ZAAS, it is not
+     * necessary to verify it.
+     *
+     * @param token JWT token or any other token
+     * @return expiration of JWT token, {@link Instant#MAX} if the token is not a JWT or does not contain expiration
+     */
+    protected static Instant getJwtExpiration(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            return Instant.MAX;
+        }
+
+        try {
+            JsonNode exp = OBJECT_MAPPER.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            if (exp != null && exp.isNumber()) {
+                return Instant.ofEpochSecond(exp.asLong());
+            }
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            // the token is not a JWT
+        }
+        return Instant.MAX;
     }
 
     /**
@@ -228,29 +457,39 @@ public abstract class AbstractAuthSchemeFactory<T extends AbstractAuthSchemeFact
     protected abstract Mono<Void> processResponse(ServerWebExchange clientCallBuilder, GatewayFilterChain chain, R response);
 
     @SuppressWarnings("squid:S1452")    // the internal API cannot define generic more specifically
-    protected WebClient.RequestHeadersSpec<?> createRequest(AbstractConfig config, ServerHttpRequest.Builder clientRequestbuilder, ServiceInstance instance, D data, ServerHttpRequest request) {
+    protected WebClient.RequestHeadersSpec<?> createRequest(AbstractConfig config, ServiceInstance instance, D data, ServerHttpRequest request) {
         WebClient.RequestHeadersSpec<?> zaasCallBuilder = createRequest(instance, data);
 
+        HttpHeaders headers = request.getHeaders();
+
+        // set in the request to ZAAS all cookies and headers that contain credentials
+        headers.entrySet().stream()
+            .filter(e -> CREDENTIALS_HEADER_INPUT.test(e.getKey()))
+            .forEach(e -> zaasCallBuilder.header(e.getKey(), e.getValue().toArray(new String[0])));
+        readCookies(headers)
+            .filter(CREDENTIALS_COOKIE_INPUT)
+            .forEach(c -> zaasCallBuilder.cookie(c.getName(), c.getValue()));
+
+        // add common headers to ZAAS
+        zaasCallBuilder.header(HEADER_SERVICE_ID, config.serviceId);
+
+        // add client certificate when present
+        setClientCertificate(zaasCallBuilder, request.getSslInfo());
+
+        return zaasCallBuilder;
+    }
+
+    /**
+     * Update original request - to remove all potential headers and cookies with credentials
+     *
+     * @param clientRequestbuilder builder of customer request
+     */
+    protected void removeCredentials(ServerHttpRequest.Builder clientRequestbuilder) {
         clientRequestbuilder
             .headers(headers -> {
                 // get all current cookies
                 List<HttpCookie> cookies = readCookies(headers).collect(Collectors.toList());
 
-                // set in the request to ZAAS all cookies and headers that contain credentials
-                headers.entrySet().stream()
-                    .filter(e -> CREDENTIALS_HEADER_INPUT.test(e.getKey()))
-                    .forEach(e -> zaasCallBuilder.header(e.getKey(), e.getValue().toArray(new String[0])));
-                cookies.stream()
-                    .filter(CREDENTIALS_COOKIE_INPUT)
-                    .forEach(c -> zaasCallBuilder.cookie(c.getName(), c.getValue()));
-
-                // add common headers to ZAAS
-                zaasCallBuilder.header(HEADER_SERVICE_ID, config.serviceId);
-
-                // add client certificate when present
-                setClientCertificate(zaasCallBuilder, request.getSslInfo());
-
-                // update original request - to remove all potential headers and cookies with credentials
                 Stream<Map.Entry<String, String>> nonCredentialHeaders = headers.entrySet().stream()
                     .filter(entry -> !CREDENTIALS_HEADER.test(entry.getKey()))
                     .flatMap(entry -> entry.getValue().stream().map(v -> new AbstractMap.SimpleEntry<>(entry.getKey(), v)));
@@ -266,21 +505,21 @@ public abstract class AbstractAuthSchemeFactory<T extends AbstractAuthSchemeFact
                 headers.clear();
                 newHeaders.forEach(newHeader -> headers.add(newHeader.getKey(), newHeader.getValue()));
             });
-
-        return zaasCallBuilder;
     }
 
     protected GatewayFilter createGatewayFilter(AbstractConfig config, D data) {
-        return (exchange, chain) -> getZaasInstances().flatMap(
-            instances -> {
-                ServerHttpRequest.Builder clientCallBuilder = exchange.getRequest().mutate();
-                return invoke(
-                    instances,
-                    instance -> createRequest(config, clientCallBuilder, instance, data, exchange.getRequest()),
-                    response -> processResponse(exchange.mutate().request(clientCallBuilder.build()).build(), chain, response)
-                );
-            }
-        );
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Mono<R> zaasResponse = getZaasResponse(config, data, request, () -> getZaasInstances().flatMap(
+                instances -> invoke(instances, instance -> createRequest(config, instance, data, request))
+            ));
+
+            ServerHttpRequest.Builder clientCallBuilder = request.mutate();
+            removeCredentials(clientCallBuilder);
+            return zaasResponse.flatMap(
+                response -> processResponse(exchange.mutate().request(clientCallBuilder.build()).build(), chain, response)
+            );
+        };
     }
     protected ServerHttpRequest addRequestHeader(ServerWebExchange exchange, String key, String value) {
         return exchange.getRequest().mutate()
@@ -330,4 +569,27 @@ public abstract class AbstractAuthSchemeFactory<T extends AbstractAuthSchemeFact
 
     }
 
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class CredentialCacheKey {
+
+        private final String scheme;
+        private final String serviceId;
+        private final Object data;
+        private final String credentialsHash;
+
+    }
+
+    private static class CachedResponse<R> {
+
+        private Mono<R> response;
+        // until the response is not received the record is valid, it is used to share a single call to ZAAS
+        private volatile Instant expiration = Instant.MAX;
+
+        boolean isExpired() {
+            return !Instant.now().isBefore(expiration);
+        }
+
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.filters;
+
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * This filter replaces the prefix of the request path. It is a replacement of RewritePath filter with a regular
+ * expression for the routing by a base path - the prefix is compared as a string, and no regular expression is
+ * evaluated per request.
+ *
+ * The slash after the prefix is optional, the rest of the path is appended to the replacement.
+ *
+ * Examples (prefix = "/service/api/v1", replacement = "/x"):
+ *      "/service/api/v1/a/b" > "/x/a/b"
+ *      "/service/api/v1"     > "/x/"
+ *      "/other/path"         > "/other/path" (not changed)
+ */
+@Service
+public class ReplacePathPrefixFilterFactory extends AbstractGatewayFilterFactory<ReplacePathPrefixFilterFactory.Config> {
+
+    public ReplacePathPrefixFilterFactory() {
+        super(Config.class);
+    }
+
+    static String replacePrefix(String path, String prefix, String replacement) {
+        if (!path.startsWith(prefix)) {
+            return path;
+        }
+
+        int start = prefix.length();
+        if ((start < path.length()) && (path.charAt(start) == '/')) {
+            start++;
+        }
+        return replacement + path.substring(start);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String prefix = config.getPrefix();
+        // precompute the replacement, the rest of the path is always separated by a slash
+        String replacement = config.getReplacement() == null ? "" : config.getReplacement();
+        String replacementWithSlash = replacement.endsWith("/") ? replacement : replacement + "/";
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            addOriginalRequestUrl(exchange, request.getURI());
+
+            String newPath = replacePrefix(request.getURI().getRawPath(), prefix, replacementWithSlash);
+            ServerHttpRequest newRequest = request.mutate().path(newPath).build();
+            exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, newRequest.getURI());
+
+            return chain.filter(exchange.mutate().request(newRequest).build());
+        };
+    }
+
+    @Data
+    public static class Config {
+
+        private String prefix;
+        private String replacement;
+
+    }
+
+}
@@ -12,7 +12,9 @@ package org.zowe.apiml.cloudgatewayservice.filters;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class RobinRoundIterator<T> {
@@ -22,9 +24,39 @@ public class RobinRoundIterator<T> {
     public Iterator<T> getIterator(Collection<T> input) {
         int offset = lastIndex.updateAndGet(prev -> input.isEmpty() ? 0 : (prev + 1) % input.size());
 
+        if (input instanceof List<T> list && input instanceof RandomAccess) {
+            return new ListRoundIterator(list, offset);
+        }
         return new RoundIterator(input, offset);
     }
 
+    /**
+     * Iterator for lists with random access. It does not skip the items, so the construction takes O(1).
+     */
+    private class ListRoundIterator implements Iterator<T> {
+
+        private final List<T> list;
+        private final int offset;
+        private int position;
+
+        private ListRoundIterator(List<T> list, int offset) {
+            this.list = list;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < list.size();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            return list.get((offset + position++) % list.size());
+        }
+    }
+
     private class RoundIterator implements Iterator<T> {
 
         private final Collection<T> collection;
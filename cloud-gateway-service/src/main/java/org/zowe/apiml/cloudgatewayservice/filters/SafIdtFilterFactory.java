@@ -23,6 +23,9 @@ import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.zaas.ZaasTokenResponse;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Optional;
+
 @Service
 public class SafIdtFilterFactory extends AbstractRequestBodyAuthSchemeFactory<ZaasTokenResponse> {
 
@@ -60,4 +63,14 @@ public class SafIdtFilterFactory extends AbstractRequestBodyAuthSchemeFactory<Za
         return new ZaasTokenResponse();
     }
 
+    @Override
+    protected boolean isCredentialCacheable() {
+        return true;
+    }
+
+    @Override
+    protected Optional<Instant> getCredentialExpiration(ZaasTokenResponse response) {
+        return Optional.ofNullable(response.getToken()).map(AbstractAuthSchemeFactory::getJwtExpiration);
+    }
+
 }
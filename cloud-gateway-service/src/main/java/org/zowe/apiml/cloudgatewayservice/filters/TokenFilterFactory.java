@@ -25,6 +25,8 @@ import org.zowe.apiml.zaas.ZaasTokenResponse;
 import reactor.core.publisher.Mono;
 
 import java.net.HttpCookie;
+import java.time.Instant;
+import java.util.Optional;
 
 
 public abstract class TokenFilterFactory extends AbstractAuthSchemeFactory<TokenFilterFactory.Config, ZaasTokenResponse, Object> {
@@ -57,6 +59,16 @@ public abstract class TokenFilterFactory extends AbstractAuthSchemeFactory<Token
         return new ZaasTokenResponse();
     }
 
+    @Override
+    protected boolean isCredentialCacheable() {
+        return true;
+    }
+
+    @Override
+    protected Optional<Instant> getCredentialExpiration(ZaasTokenResponse response) {
+        return Optional.ofNullable(response.getToken()).map(AbstractAuthSchemeFactory::getJwtExpiration);
+    }
+
     @Override
     protected WebClient.RequestHeadersSpec<?> createRequest(ServiceInstance instance, Object data) {
         String tokensUrl = getEndpointUrl(instance);
@@ -28,6 +28,7 @@ import org.zowe.apiml.services.ServiceInfo;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -87,9 +88,12 @@ public class GatewayScanJob {
         Mono<List<ServiceInstance>> registeredGateways = instanceInfoService.getServiceInstance(CoreService.GATEWAY.getServiceId())
                 .map(gateways -> gateways.stream().filter(info -> !StringUtils.equals(info.getMetadata().getOrDefault(APIML_ID, "N/A"), currentApimlId)).collect(Collectors.toList()));
 
-        Flux<ServiceInstance> serviceInstanceFlux = registeredGateways.flatMapMany(Flux::fromIterable);
+        // all instances of the same APIML provide the same services, it is enough to fetch just one of them
+        Flux<List<ServiceInstance>> apimlInstancesFlux = registeredGateways
+                .map(gateways -> gateways.stream().collect(Collectors.groupingBy(GatewayIndexService::getApimlIdKey, LinkedHashMap::new, Collectors.toList())))
+                .flatMapMany(apimls -> Flux.fromIterable(apimls.values()));
 
-        return serviceInstanceFlux
-                .flatMap(gatewayIndexerService::indexGatewayServices, maxSimultaneousRequests);
+        return apimlInstancesFlux
+                .flatMap(registrations -> gatewayIndexerService.indexGatewayServices(registrations), maxSimultaneousRequests);
     }
 }
@@ -11,6 +11,7 @@
 package org.zowe.apiml.cloudgatewayservice.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
 import org.springframework.stereotype.Service;
@@ -24,10 +25,17 @@ import org.zowe.apiml.security.SecurityUtils;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
+import java.util.Base64;
 
 /**
  * This service provides gateway's certificate chain which is used for the southbound communication
+ * <p>
+ * The chain is rendered to PEM once per loaded chain together with its ETag, so the same response is not encoded again
+ * for each request.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,9 +44,36 @@ public class CertificateChainService {
     private static final ApimlLogger apimlLog = ApimlLogger.of(CertificateChainService.class, YamlMessageServiceInstance.getInstance());
     Certificate[] certificates;
 
+    private volatile RenderedChain renderedChain;
+
     private final ConnectionsConfig connectionsConfig;
 
+    /**
+     * @return the certificate chain in PEM format, null if a certificate cannot be encoded
+     */
     public String getCertificatesInPEMFormat() {
+        return getRenderedChain().getPem();
+    }
+
+    /**
+     * @return the strong ETag (quoted) of the PEM chain, null if the chain cannot be encoded
+     */
+    public String getCertificatesETag() {
+        return getRenderedChain().getETag();
+    }
+
+    private RenderedChain getRenderedChain() {
+        Certificate[] current = certificates;
+        RenderedChain output = renderedChain;
+        if (output == null || output.getCertificates() != current) {
+            // the chain was (re)loaded
+            output = render(current);
+            renderedChain = output;
+        }
+        return output;
+    }
+
+    static RenderedChain render(Certificate[] certificates) {
         StringWriter stringWriter = new StringWriter();
         if (certificates != null && certificates.length > 0) {
             try (JcaPEMWriter jcaPEMWriter = new JcaPEMWriter(stringWriter)) {
@@ -47,11 +82,21 @@ public class CertificateChainService {
                 }
             } catch (IOException e) {
                 log.error("Failed to convert a certificate to PEM format. {}", e.getMessage());
-                return null;
+                return new RenderedChain(certificates, null, null);
             }
         }
 
-        return stringWriter.toString();
+        String pem = stringWriter.toString();
+        return new RenderedChain(certificates, pem, getETag(pem));
+    }
+
+    static String getETag(String pem) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(pem.getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
     }
 
     @PostConstruct
@@ -59,10 +104,21 @@ public class CertificateChainService {
         HttpsConfig config = connectionsConfig.factory().getConfig();
         try {
             certificates = SecurityUtils.loadCertificateChain(config);
+            renderedChain = render(certificates);
         } catch (Exception e) {
             apimlLog.log("org.zowe.apiml.common.sslContextInitializationError", e.getMessage());
             throw new HttpsConfigError("Error initializing SSL Context: " + e.getMessage(),
                 e, HttpsConfigError.ErrorCode.HTTP_CLIENT_INITIALIZATION_FAILED, config);
         }
     }
+
+    @Value
+    static class RenderedChain {
+
+        Certificate[] certificates;
+        String pem;
+        String eTag;
+
+    }
+
 }
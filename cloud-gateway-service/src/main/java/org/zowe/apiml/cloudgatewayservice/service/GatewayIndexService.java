@@ -12,17 +12,20 @@ package org.zowe.apiml.cloudgatewayservice.service;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.ImmutableMap;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.zowe.apiml.cloudgatewayservice.service.balancer.InstanceChooser;
 import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.message.yaml.YamlMessageServiceInstance;
 import org.zowe.apiml.services.ServiceInfo;
@@ -45,38 +48,76 @@ import static org.zowe.apiml.constants.EurekaMetadataDefinition.APIML_ID;
 public class GatewayIndexService {
     private final ApimlLogger apimlLog = ApimlLogger.of(GatewayIndexService.class, YamlMessageServiceInstance.getInstance());
     private final Cache<String, ServiceInstance> apimlGatewayLookup;
-    private final Cache<String, List<ServiceInfo>> apimlServicesCache;
+    private final Cache<String, IndexedServices> apimlServicesCache;
+    private final Cache<String, WebClient> webClients;
     private final WebClient webClient;
+    private final InstanceChooser instanceChooser;
 
     public GatewayIndexService(
         @Qualifier("webClientClientCert") WebClient webClient,
-        @Value("${apiml.cloudGateway.cachePeriodSec:120}") int cachePeriodSec
+        @Value("${apiml.cloudGateway.cachePeriodSec:120}") int cachePeriodSec,
+        InstanceChooser instanceChooser
     ) {
         this.webClient = webClient;
+        this.instanceChooser = instanceChooser;
 
         apimlGatewayLookup = CacheBuilder.newBuilder().expireAfterWrite(cachePeriodSec, SECONDS).build();
         apimlServicesCache = CacheBuilder.newBuilder().expireAfterWrite(cachePeriodSec, SECONDS).build();
+        webClients = CacheBuilder.newBuilder().expireAfterAccess(cachePeriodSec, SECONDS).build();
     }
 
-    private WebClient buildWebClient(ServiceInstance registration) {
-        final String baseUrl = String.format("%s://%s:%d", registration.getScheme(), registration.getHost(), registration.getPort());
-
+    private WebClient buildWebClient(String baseUrl) {
         return webClient.mutate()
             .baseUrl(baseUrl)
             .defaultHeader("Accept", MediaType.APPLICATION_JSON_VALUE)
             .build();
     }
 
+    private WebClient getWebClient(ServiceInstance registration) {
+        final String baseUrl = String.format("%s://%s:%d", registration.getScheme(), registration.getHost(), registration.getPort());
+        return webClients.asMap().computeIfAbsent(baseUrl, this::buildWebClient);
+    }
+
     public Mono<List<ServiceInfo>> indexGatewayServices(ServiceInstance registration) {
-        String apimlIdKey = extractApimlId(registration).orElse(buildAlternativeApimlIdKey(registration));
+        return indexGatewayServices(Collections.singletonList(registration));
+    }
+
+    /**
+     * Fetch services of another APIML. All registrations have to belong to the same APIML (see
+     * {@link #getApimlIdKey(ServiceInstance)}). The instance is selected by {@link InstanceChooser}, the other ones
+     * are used in the case of failure.
+     *
+     * @param registrations all gateway instances of the same APIML
+     * @return services of the APIML
+     */
+    public Mono<List<ServiceInfo>> indexGatewayServices(List<ServiceInstance> registrations) {
+        String apimlIdKey = getApimlIdKey(registrations.get(0));
         log.debug("Fetching registered gateway instance services: {}", apimlIdKey);
-        apimlGatewayLookup.put(apimlIdKey, registration);
-        return fetchServices(apimlIdKey, registration)
+        return fetchServicesWithHa(apimlIdKey, instanceChooser.getIterator(registrations))
             .doOnError(ex -> apimlLog.log("org.zowe.apiml.gateway.servicesRequestFailed", apimlIdKey, ex.getMessage()))
             .onErrorComplete()
             .doFinally(signal -> log.debug("\t {} completed with {}", apimlIdKey, signal));
     }
 
+    private Mono<List<ServiceInfo>> fetchServicesWithHa(String apimlId, Iterator<ServiceInstance> registrations) {
+        ServiceInstance registration = registrations.next();
+        return Mono.defer(() -> {
+            apimlGatewayLookup.put(apimlId, registration);
+            InstanceChooser.Observation observation = instanceChooser.start(registration);
+            return fetchServices(apimlId, registration)
+                .doOnSuccess(services -> observation.succeeded())
+                .doOnCancel(observation::cancelled)
+                .onErrorResume(ex -> {
+                    observation.failed();
+                    if (registrations.hasNext()) {
+                        log.debug("Fetching of services from {} failed, trying another instance: {}", registration.getInstanceId(), ex.getMessage());
+                        return fetchServicesWithHa(apimlId, registrations);
+                    }
+                    return Mono.error(ex);
+                });
+        });
+    }
+
     /**
      * Store entry in the Services Registry. Should be used to store services info from the current apiml instance
      *
@@ -84,24 +125,55 @@ public class GatewayIndexService {
      * @param services List of the services
      */
     public void putApimlServices(@NotNull String apimlId, List<ServiceInfo> services) {
-        apimlServicesCache.put(apimlId, services);
+        apimlServicesCache.put(apimlId, new IndexedServices(services, null));
     }
 
+    /**
+     * Fetch the services. If the services were fetched before with an ETag, the request is conditional. In the case
+     * the list was not changed (HTTP 304), the cached one is used and its validity is prolonged.
+     */
     private Mono<List<ServiceInfo>> fetchServices(String apimlId, ServiceInstance registration) {
         final ParameterizedTypeReference<List<ServiceInfo>> serviceInfoType = new ParameterizedTypeReference<List<ServiceInfo>>() {
         };
 
-        return buildWebClient(registration).get().uri("/gateway/services")
+        IndexedServices cached = apimlServicesCache.getIfPresent(apimlId);
+        WebClient.RequestHeadersSpec<?> request = getWebClient(registration).get().uri("/gateway/services");
+        if ((cached != null) && (cached.getETag() != null)) {
+            request = request.header(HttpHeaders.IF_NONE_MATCH, cached.getETag());
+        }
+
+        return request
             .retrieve()
-            .bodyToMono(serviceInfoType)
-            .doOnNext(foreignServices -> apimlServicesCache.put(apimlId, foreignServices));
+            .toEntity(serviceInfoType)
+            .flatMap(response -> {
+                if ((cached != null) && (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value())) {
+                    log.debug("Services of {} were not changed", apimlId);
+                    apimlServicesCache.put(apimlId, cached);
+                    return Mono.just(cached.getServices());
+                }
+
+                List<ServiceInfo> foreignServices = response.getBody();
+                if (foreignServices == null) {
+                    return Mono.empty();
+                }
+                apimlServicesCache.put(apimlId, new IndexedServices(foreignServices, response.getHeaders().getETag()));
+                return Mono.just(foreignServices);
+            });
     }
 
-    private String buildAlternativeApimlIdKey(ServiceInstance registration) {
+    /**
+     * @param registration gateway instance
+     * @return apimlId of the gateway or synthetic key if apimlId is not available
+     */
+    public static String getApimlIdKey(ServiceInstance registration) {
+        return extractApimlId(registration).orElse(buildAlternativeApimlIdKey(registration));
+    }
+
+    private static String buildAlternativeApimlIdKey(ServiceInstance registration) {
         return "SUBSTITUTE" + "_" + registration.getInstanceId();
     }
 
-    private Optional<String> extractApimlId(ServiceInstance registration) {
+    private static Optional<String> extractApimlId(ServiceInstance registration) {
         return Optional.ofNullable(registration.getMetadata()).map(m -> m.get(APIML_ID));
     }
 
@@ -111,38 +183,90 @@ public class GatewayIndexService {
      * @param apimlId   - filter for only services from the particular apiml instance, NULL - filter not applied
      * @param apiId     - filter for only services of particular type e.g. <code>zowe.apiml.apicatalog</code>
      * @param serviceId - filter for only services of the same serviceId e.g. <code>gateway</code>
-     * @return full of filter immutable map of the registry
+     * @return full of filter map of the registry
      */
     public Map<String, List<ServiceInfo>> listRegistry(String apimlId, String apiId, String serviceId) {
+        Map<String, IndexedServices> apimls;
+        if (apimlId == null) {
+            apimls = apimlServicesCache.asMap();
+        } else {
+            apimls = Optional.ofNullable(apimlServicesCache.getIfPresent(apimlId))
+                .map(services -> Collections.singletonMap(apimlId, services))
+                .orElse(Collections.emptyMap());
+        }
 
-        Map<String, List<ServiceInfo>> allServices = ImmutableMap.<String, List<ServiceInfo>>builder()
-            .putAll(apimlServicesCache.asMap()).build();
-        return allServices.entrySet().stream()
-            .filter(entry -> apimlId == null || StringUtils.equals(apimlId, entry.getKey()))
-            .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), filterServicesByApiIdAndServiceId(entry.getValue(), apiId, serviceId)))
-            .filter(entry -> !CollectionUtils.isEmpty(entry.getValue()))
-            .collect(Collectors.toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+        Map<String, List<ServiceInfo>> output = new HashMap<>();
+        apimls.forEach((key, services) -> {
+            List<ServiceInfo> found = services.find(apiId, serviceId);
+            if (!found.isEmpty()) {
+                output.put(key, found);
+            }
+        });
+        return output;
     }
 
-    List<ServiceInfo> filterServicesByApiIdAndServiceId(List<ServiceInfo> apimlIdServices, String apiId, String serviceId) {
-        if (!CollectionUtils.isEmpty(apimlIdServices)) {
-            return apimlIdServices.stream()
-                .filter(Objects::nonNull)
-                .filter(serviceInfo -> apiId == null || hasSameApiId(serviceInfo, apiId))
-                .filter(serviceInfo -> serviceId == null || hasSameServiceId(serviceInfo, serviceId))
-                .collect(Collectors.toList());
+    static String getApiId(ServiceInfo serviceInfo) {
+        if (serviceInfo.getApiml() != null && !isEmpty(serviceInfo.getApiml().getApiInfo())) {
+            return serviceInfo.getApiml().getApiInfo().get(0).getApiId();
         }
-        return Collections.emptyList();
+        return null;
     }
 
-    private boolean hasSameApiId(ServiceInfo serviceInfo, String apiId) {
-        if (serviceInfo.getApiml() != null && !isEmpty(serviceInfo.getApiml().getApiInfo())) {
-            return StringUtils.equals(apiId, serviceInfo.getApiml().getApiInfo().get(0).getApiId());
+    /**
+     * Services of one APIML with an index by apiId and serviceId. The index is built once the services are fetched,
+     * so lookups of the registry do not scan the services.
+     */
+    static class IndexedServices {
+
+        @Getter
+        private final List<ServiceInfo> services;
+        @Getter
+        private final String eTag;
+
+        private final Map<String, List<ServiceInfo>> byApiId = new HashMap<>();
+        private final Map<String, List<ServiceInfo>> byServiceId = new HashMap<>();
+
+        IndexedServices(List<ServiceInfo> services, String eTag) {
+            this.services = services;
+            this.eTag = eTag;
+
+            if (services != null) {
+                for (ServiceInfo serviceInfo : services) {
+                    if (serviceInfo == null) continue;
+
+                    addToIndex(byApiId, getApiId(serviceInfo), serviceInfo);
+                    addToIndex(byServiceId, serviceInfo.getServiceId(), serviceInfo);
+                }
+            }
+        }
+
+        private static void addToIndex(Map<String, List<ServiceInfo>> index, String key, ServiceInfo serviceInfo) {
+            if (key != null) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(serviceInfo);
+            }
+        }
+
+        List<ServiceInfo> find(String apiId, String serviceId) {
+            if (apiId != null) {
+                List<ServiceInfo> found = byApiId.getOrDefault(apiId, Collections.emptyList());
+                if (serviceId == null) {
+                    return Collections.unmodifiableList(found);
+                }
+                return found.stream()
+                    .filter(serviceInfo -> StringUtils.equals(serviceId, serviceInfo.getServiceId()))
+                    .collect(Collectors.toList());
+            }
+
+            if (serviceId != null) {
+                return Collections.unmodifiableList(byServiceId.getOrDefault(serviceId, Collections.emptyList()));
+            }
+
+            if (CollectionUtils.isEmpty(services)) {
+                return Collections.emptyList();
+            }
+            return services.stream().filter(Objects::nonNull).collect(Collectors.toList());
         }
-        return false;
-    }
 
-    private boolean hasSameServiceId(ServiceInfo serviceInfo, String serviceId) {
-        return StringUtils.equals(serviceId, serviceInfo.getServiceId());
     }
+
 }
@@ -11,7 +11,9 @@
 package org.zowe.apiml.cloudgatewayservice.service;
 
 import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
@@ -32,6 +34,7 @@ import org.zowe.apiml.util.StringUtils;
 import reactor.core.publisher.Flux;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -56,6 +59,9 @@ public class RouteLocator implements RouteDefinitionLocator {
     private final List<RouteDefinitionProducer> routeDefinitionProducers;
     private final Map<AuthenticationScheme, SchemeHandler> schemeHandlers = new EnumMap<>(AuthenticationScheme.class);
 
+    // route definitions (without order) of known instances, they are generated again only if the instance is changed
+    private final Map<InstanceKey, List<RouteDefinition>> routeDefinitionsCache = new ConcurrentHashMap<>();
+
     @Getter(lazy = true, value = AccessLevel.PRIVATE)
     private final UrlBasedCorsConfigurationSource corsConfigurationSource = context.getBean(UrlBasedCorsConfigurationSource.class);
 
@@ -138,7 +144,6 @@ public class RouteLocator implements RouteDefinitionLocator {
     }
 
     private List<RouteDefinition> getAuthFilterPerRoute(
-        AtomicInteger orderHolder,
         ServiceInstance serviceInstance,
         List<FilterDefinition> postRoutingFilters
     ) {
@@ -151,7 +156,6 @@ public class RouteLocator implements RouteDefinitionLocator {
                     .map(rdp -> {
                         // generate a new routing rule by a specific produces
                         RouteDefinition routeDefinition = rdp.get(serviceInstance, routedService);
-                        routeDefinition.setOrder(orderHolder.getAndIncrement());
                         routeDefinition.getFilters().addAll(postRoutingFilters);
                         setAuth(serviceInstance, routeDefinition, auth);
 
@@ -162,27 +166,81 @@ public class RouteLocator implements RouteDefinitionLocator {
             .collect(Collectors.toList());
     }
 
+    List<RouteDefinition> getRouteDefinitions(ServiceInstance serviceInstance) {
+        // configure CORS for the service (if necessary)
+        setCors(serviceInstance);
+
+        // generate route definition per services and its routing rules
+        return getAuthFilterPerRoute(serviceInstance, getPostRoutingFilters(serviceInstance));
+    }
+
+    static RouteDefinition withOrder(RouteDefinition cached, int order) {
+        // the cached definition is not modified, it could be already used by a previous refresh
+        RouteDefinition routeDefinition = new RouteDefinition();
+        routeDefinition.setId(cached.getId());
+        routeDefinition.setPredicates(cached.getPredicates());
+        routeDefinition.setFilters(cached.getFilters());
+        routeDefinition.setUri(cached.getUri());
+        routeDefinition.setMetadata(cached.getMetadata());
+        routeDefinition.setOrder(order);
+        return routeDefinition;
+    }
+
     /**
      * It generates each rule for each combination of instance x routing x generator ({@link RouteDefinitionProducer})
      * The routes are sorted by serviceUrl to avoid clashing between multiple levels of paths, ie. / vs. /a.
      * Sorting routes and generators by order allows to redefine order of each rule. There is no possible to have
      * multiple valid rules for the same case at one moment.
      *
+     * The rules are cached per instance (serviceId, location and metadata). They are generated again only if
+     * the instance is changed, rules of instances which do not exist anymore are evicted.
+     *
      * @return routing rules
      */
     @Override
     public Flux<RouteDefinition> getRouteDefinitions() {
         // counter of generated route definition to prevent clashing by the order
         AtomicInteger order = new AtomicInteger();
+        Set<InstanceKey> currentInstances = ConcurrentHashMap.newKeySet();
         // iterate over services
         return getServiceInstances().flatMap(Flux::fromIterable).map(serviceInstance -> {
-            // configure CORS for the service (if necessary)
-            setCors(serviceInstance);
-
-            // generate route definition per services and its routing rules
-            return getAuthFilterPerRoute(order, serviceInstance, getPostRoutingFilters(serviceInstance));
+            InstanceKey instanceKey = InstanceKey.of(serviceInstance);
+            currentInstances.add(instanceKey);
+            return routeDefinitionsCache.computeIfAbsent(instanceKey, k -> getRouteDefinitions(serviceInstance));
         })
-        .flatMapIterable(list -> list);
+        .flatMapIterable(list -> list)
+        .map(routeDefinition -> withOrder(routeDefinition, order.getAndIncrement()))
+        .doOnComplete(() -> routeDefinitionsCache.keySet().retainAll(currentInstances));
+    }
+
+    /**
+     * Identification of the instance for caching of route definitions. It contains all values of the instance used
+     * to generate route definitions.
+     */
+    @EqualsAndHashCode
+    @Getter
+    @RequiredArgsConstructor
+    static class InstanceKey {
+
+        private final String serviceId;
+        private final String instanceId;
+        private final String host;
+        private final int port;
+        private final boolean secure;
+        private final Map<String, String> metadata;
+
+        static InstanceKey of(ServiceInstance serviceInstance) {
+            Map<String, String> metadata = serviceInstance.getMetadata();
+            return new InstanceKey(
+                serviceInstance.getServiceId(),
+                serviceInstance.getInstanceId(),
+                serviceInstance.getHost(),
+                serviceInstance.getPort(),
+                serviceInstance.isSecure(),
+                metadata == null ? Collections.emptyMap() : new HashMap<>(metadata)
+            );
+        }
+
     }
 
 }
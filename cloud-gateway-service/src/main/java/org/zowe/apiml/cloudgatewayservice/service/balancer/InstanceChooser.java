@@ -0,0 +1,53 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.service.balancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Strategy to select an instance for internal calls of the Cloud Gateway (i.e. ZAAS or other gateways). The chooser
+ * returns an iterator of instances in the order of preference. The first item is the best candidate, the rest are
+ * used for a fallover. Each call of the instance should be observed to allow the strategy to learn about latency and
+ * failures of the instance.
+ */
+public interface InstanceChooser {
+
+    /**
+     * @param instances list of available instances
+     * @return iterator of instances in the order of preference
+     */
+    Iterator<ServiceInstance> getIterator(List<ServiceInstance> instances);
+
+    /**
+     * Notify the chooser about a new call of the instance.
+     *
+     * @param instance instance that is called
+     * @return observation that has to be completed with the result of the call
+     */
+    Observation start(ServiceInstance instance);
+
+    /**
+     * Result of a single call. Only the first invocation of any method is taken into account.
+     */
+    interface Observation {
+
+        void succeeded();
+
+        void failed();
+
+        void cancelled();
+
+    }
+
+}
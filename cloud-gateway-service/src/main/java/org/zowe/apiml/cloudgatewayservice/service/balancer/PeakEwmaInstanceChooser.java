@@ -0,0 +1,293 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.service.balancer;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Chooser based on the peak EWMA (exponentially weighted moving average) of latency. The selection uses the power of
+ * two random choices: two random instances are compared and the one with the lower cost is selected. The cost is
+ * the latency multiplied by the number of outstanding requests, so the selection takes O(1) and prefers fast and idle
+ * instances.
+ *
+ * An instance with consecutive failures is ejected for a configured period. The ejected instances are used only if
+ * there is no other instance available. After the period the instance gets a chance again, the first success resets
+ * the counter of failures.
+ *
+ * Behaviour of the chooser can be configured by the following settings:
+ * <pre>
+ *   apiml:
+ *     cloudGateway:
+ *       loadBalancer:
+ *         ewmaDecayMs: - default value 10000
+ *         ejection:
+ *           consecutiveFailures: - default value 3
+ *           durationMs: - default value 30000
+ * </pre>
+ */
+@Service
+public class PeakEwmaInstanceChooser implements InstanceChooser {
+
+    // the failed call is taken as a slow one to avoid preferring of fast failing instances
+    private static final long FAILURE_PENALTY_NANOS = SECONDS.toNanos(1);
+
+    private final long decayNanos;
+    private final int maxConsecutiveFailures;
+    private final long ejectionNanos;
+    private final LongSupplier nanoClock;
+
+    private final Cache<String, InstanceStats> stats = CacheBuilder.newBuilder().expireAfterAccess(10, MINUTES).build();
+
+    public PeakEwmaInstanceChooser(
+        @Value("${apiml.cloudGateway.loadBalancer.ewmaDecayMs:10000}") long decayMs,
+        @Value("${apiml.cloudGateway.loadBalancer.ejection.consecutiveFailures:3}") int maxConsecutiveFailures,
+        @Value("${apiml.cloudGateway.loadBalancer.ejection.durationMs:30000}") long ejectionMs
+    ) {
+        this(decayMs, maxConsecutiveFailures, ejectionMs, System::nanoTime);
+    }
+
+    PeakEwmaInstanceChooser(long decayMs, int maxConsecutiveFailures, long ejectionMs, LongSupplier nanoClock) {
+        this.decayNanos = MILLISECONDS.toNanos(decayMs);
+        this.maxConsecutiveFailures = maxConsecutiveFailures;
+        this.ejectionNanos = MILLISECONDS.toNanos(ejectionMs);
+        this.nanoClock = nanoClock;
+    }
+
+    static String getKey(ServiceInstance instance) {
+        if (instance.getInstanceId() != null) {
+            return instance.getInstanceId();
+        }
+        return instance.getServiceId() + ":" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private InstanceStats getStats(ServiceInstance instance) {
+        return stats.asMap().computeIfAbsent(getKey(instance), k -> new InstanceStats());
+    }
+
+    private double getCost(ServiceInstance instance, long now) {
+        InstanceStats instanceStats = stats.getIfPresent(getKey(instance));
+        if (instanceStats == null) {
+            // unknown instance, it gets a chance to be measured
+            return 0;
+        }
+        return instanceStats.getCost(now);
+    }
+
+    private boolean isEjected(ServiceInstance instance, long now) {
+        InstanceStats instanceStats = stats.getIfPresent(getKey(instance));
+        return instanceStats != null && instanceStats.isEjected(now);
+    }
+
+    int choose(List<ServiceInstance> instances) {
+        int size = instances.size();
+        if (size <= 1) {
+            return 0;
+        }
+
+        long now = nanoClock.getAsLong();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) second++;
+
+        int chosen = getCost(instances.get(first), now) <= getCost(instances.get(second), now) ? first : second;
+        if (isEjected(instances.get(chosen), now)) {
+            // both candidates are ejected, try to find any healthy instance
+            for (int i = 1; i < size; i++) {
+                int index = (chosen + i) % size;
+                if (!isEjected(instances.get(index), now)) {
+                    return index;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public Iterator<ServiceInstance> getIterator(List<ServiceInstance> instances) {
+        return new PreferenceIterator(instances);
+    }
+
+    @Override
+    public Observation start(ServiceInstance instance) {
+        InstanceStats instanceStats = getStats(instance);
+        instanceStats.outstanding.incrementAndGet();
+        return new InstanceObservation(instanceStats, nanoClock.getAsLong());
+    }
+
+    /**
+     * Iterator returns the chosen instance first. The rest of the instances (for a fallover) are ordered just on demand
+     * - the healthy ones first and the ejected ones at the end.
+     */
+    private class PreferenceIterator implements Iterator<ServiceInstance> {
+
+        private final List<ServiceInstance> instances;
+        private List<ServiceInstance> rest;
+        private int returned;
+        private int chosen;
+
+        PreferenceIterator(List<ServiceInstance> instances) {
+            this.instances = instances;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return returned < instances.size();
+        }
+
+        @Override
+        public ServiceInstance next() {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            if (returned++ == 0) {
+                chosen = choose(instances);
+                return instances.get(chosen);
+            }
+
+            if (rest == null) {
+                rest = orderRest();
+            }
+            return rest.get(returned - 2);
+        }
+
+        private List<ServiceInstance> orderRest() {
+            long now = nanoClock.getAsLong();
+            int size = instances.size();
+            List<ServiceInstance> healthy = new ArrayList<>(size - 1);
+            List<ServiceInstance> ejected = new ArrayList<>();
+            for (int i = 1; i < size; i++) {
+                ServiceInstance instance = instances.get((chosen + i) % size);
+                (isEjected(instance, now) ? ejected : healthy).add(instance);
+            }
+            healthy.addAll(ejected);
+            return Collections.unmodifiableList(healthy);
+        }
+
+    }
+
+    private class InstanceStats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+        // guarded by this
+        private double ewmaNanos;
+        private long lastUpdateNanos = nanoClock.getAsLong();
+
+        private volatile boolean ejected;
+        private volatile long ejectedUntilNanos;
+
+        private synchronized double getEwma(long now) {
+            long elapsed = Math.max(0, now - lastUpdateNanos);
+            return ewmaNanos * Math.exp(-(double) elapsed / decayNanos);
+        }
+
+        private synchronized void observe(long latencyNanos, long now) {
+            double current = getEwma(now);
+            if (latencyNanos > current) {
+                // peak sensitive - a latency spike is taken immediately
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) Math.max(0, now - lastUpdateNanos) / decayNanos);
+                ewmaNanos = current * weight + latencyNanos * (1 - weight);
+            }
+            lastUpdateNanos = now;
+        }
+
+        double getCost(long now) {
+            if (isEjected(now)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            // +1 allows to compare by outstanding requests if there is no measurement yet
+            return (getEwma(now) + 1) * (outstanding.get() + 1);
+        }
+
+        boolean isEjected(long now) {
+            return ejected && (now - ejectedUntilNanos < 0);
+        }
+
+        void succeeded(long latencyNanos, long now) {
+            observe(latencyNanos, now);
+            consecutiveFailures.set(0);
+            ejected = false;
+        }
+
+        void failed(long latencyNanos, long now) {
+            observe(Math.max(latencyNanos, FAILURE_PENALTY_NANOS), now);
+            if (consecutiveFailures.incrementAndGet() >= maxConsecutiveFailures) {
+                ejectedUntilNanos = now + ejectionNanos;
+                ejected = true;
+            }
+        }
+
+    }
+
+    private class InstanceObservation implements Observation {
+
+        private final InstanceStats instanceStats;
+        private final long startNanos;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        InstanceObservation(InstanceStats instanceStats, long startNanos) {
+            this.instanceStats = instanceStats;
+            this.startNanos = startNanos;
+        }
+
+        private boolean finish() {
+            if (finished.compareAndSet(false, true)) {
+                instanceStats.outstanding.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void succeeded() {
+            if (finish()) {
+                long now = nanoClock.getAsLong();
+                instanceStats.succeeded(now - startNanos, now);
+            }
+        }
+
+        @Override
+        public void failed() {
+            if (finish()) {
+                long now = nanoClock.getAsLong();
+                instanceStats.failed(now - startNanos, now);
+            }
+        }
+
+        @Override
+        public void cancelled() {
+            finish();
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.service.balancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.zowe.apiml.cloudgatewayservice.filters.RobinRoundIterator;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Simple chooser that rotates the instances and ignores the observed results.
+ */
+public class RoundRobinInstanceChooser implements InstanceChooser {
+
+    private static final Observation NO_OBSERVATION = new Observation() {
+
+        @Override
+        public void succeeded() {
+            // nothing to observe
+        }
+
+        @Override
+        public void failed() {
+            // nothing to observe
+        }
+
+        @Override
+        public void cancelled() {
+            // nothing to observe
+        }
+
+    };
+
+    private final RobinRoundIterator<ServiceInstance> robinRound = new RobinRoundIterator<>();
+
+    @Override
+    public Iterator<ServiceInstance> getIterator(List<ServiceInstance> instances) {
+        return robinRound.getIterator(instances);
+    }
+
+    @Override
+    public Observation start(ServiceInstance instance) {
+        return NO_OBSERVATION;
+    }
+
+}
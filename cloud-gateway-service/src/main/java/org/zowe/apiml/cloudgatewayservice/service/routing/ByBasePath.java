@@ -64,10 +64,10 @@ public class ByBasePath extends RouteDefinitionProducer {
     @Override
     protected void setFilters(RouteDefinition routeDefinition, ServiceInstance serviceInstance, RoutedService routedService) {
         FilterDefinition filter = new FilterDefinition();
-        filter.setName("RewritePath");
+        filter.setName("ReplacePathPrefixFilterFactory");
 
-        filter.addArg("regexp", constructUrl(serviceInstance.getServiceId(), routedService.getGatewayUrl(), "?(?<remaining>.*)"));
-        filter.addArg("replacement", constructUrl(routedService.getServiceUrl(), "${remaining}"));
+        filter.addArg("prefix", constructUrl(serviceInstance.getServiceId(), routedService.getGatewayUrl()));
+        filter.addArg("replacement", constructUrl(routedService.getServiceUrl()));
 
         routeDefinition.getFilters().add(filter);
     }
@@ -10,9 +10,12 @@
 
 package org.zowe.apiml.cloudgatewayservice.config;
 
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -20,11 +23,31 @@ import org.springframework.cloud.gateway.route.Route;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.tcp.SslProvider;
+import reactor.test.scheduler.VirtualTimeScheduler;
 
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLException;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -158,6 +181,162 @@ class NettyRoutingFilterApimlTest {
 
         }
 
+        @Nested
+        class PoolPerRoute {
+
+            private final Route ROUTE_A = Route.async()
+                .id("a").uri("http://localhost/").predicate(serverWebExchange -> true)
+                .build();
+            private final Route ROUTE_B = Route.async()
+                .id("b").uri("http://localhost/").predicate(serverWebExchange -> true)
+                .build();
+
+            private final Duration DISPOSE_DELAY = Duration.ofSeconds(5);
+
+            Map<String, ConnectionProvider> connectionProviders = new HashMap<>();
+            Map<String, Boolean> disposed = new HashMap<>();
+            NettyRoutingFilterApiml nettyRoutingFilterApiml;
+            MockServerWebExchange serverWebExchange;
+
+            @BeforeEach
+            void initMocks() {
+                connectionProviders.clear();
+                disposed.clear();
+                Function<String, ConnectionProvider> connectionProviderFactory = routeId -> {
+                    assertFalse(connectionProviders.containsKey(routeId));
+                    ConnectionProvider connectionProvider = mock(ConnectionProvider.class);
+                    doReturn(Mono.fromRunnable(() -> disposed.put(routeId, true))).when(connectionProvider).disposeLater();
+                    connectionProviders.put(routeId, connectionProvider);
+                    return connectionProvider;
+                };
+                nettyRoutingFilterApiml = new NettyRoutingFilterApiml(httpClient, null, null, sslContextNoCert, sslContextClientCert,
+                    connectionProviderFactory, connectionProvider -> httpClient, DISPOSE_DELAY);
+
+                serverWebExchange = MockServerWebExchange.from(MockServerHttpRequest.get("/path").build());
+            }
+
+            @Test
+            void givenMultipleRequests_whenGetHttpClient_thenCreatePoolOncePerRoute() {
+                assertSame(httpClientNoCert, nettyRoutingFilterApiml.getHttpClient(ROUTE_A, serverWebExchange));
+                assertSame(httpClientNoCert, nettyRoutingFilterApiml.getHttpClient(ROUTE_A, serverWebExchange));
+                serverWebExchange.getAttributes().put(HTTP_CLIENT_USE_CLIENT_CERTIFICATE, Boolean.TRUE);
+                assertSame(httpClientClientCert, nettyRoutingFilterApiml.getHttpClient(ROUTE_A, serverWebExchange));
+                assertSame(httpClientClientCert, nettyRoutingFilterApiml.getHttpClient(ROUTE_B, serverWebExchange));
+
+                assertEquals(Set.of("a", "b"), connectionProviders.keySet());
+            }
+
+            @Test
+            void givenRefreshedRoutes_whenUpdateRoutes_thenPrepareNewAndDisposeRemovedPoolsAfterDelay() {
+                VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+                try {
+                    nettyRoutingFilterApiml.updateRoutes(List.of(ROUTE_A));
+                    assertEquals(Set.of("a"), connectionProviders.keySet());
+
+                    nettyRoutingFilterApiml.updateRoutes(List.of(ROUTE_B));
+                    assertEquals(Set.of("a", "b"), connectionProviders.keySet());
+                    assertTrue(disposed.isEmpty());
+
+                    scheduler.advanceTimeBy(DISPOSE_DELAY.minusMillis(1));
+                    assertTrue(disposed.isEmpty());
+
+                    scheduler.advanceTimeBy(Duration.ofMillis(1));
+                    assertEquals(Map.of("a", true), disposed);
+                } finally {
+                    VirtualTimeScheduler.reset();
+                }
+            }
+
+        }
+
+    }
+
+    @Nested
+    class GivenRequestInFlight {
+
+        private static final char[] PASSWORD = "password".toCharArray();
+
+        private final CountDownLatch received = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final Map<String, ConnectionProvider> connectionProviders = new HashMap<>();
+
+        private HttpsServer server;
+        private NettyRoutingFilterApiml nettyRoutingFilterApiml;
+
+        @BeforeEach
+        void setUp() throws Exception {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            try (InputStream is = new FileInputStream("../keystore/localhost/localhost.keystore.p12")) {
+                keyStore.load(is, PASSWORD);
+            }
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, PASSWORD);
+            SSLContext serverSslContext = SSLContext.getInstance("TLSv1.2");
+            serverSslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+
+            // the service answers once the test releases the request
+            server = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setHttpsConfigurator(new HttpsConfigurator(serverSslContext));
+            server.createContext("/slow", exchange -> {
+                received.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            });
+            server.start();
+
+            SslContext clientSslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+            Function<String, ConnectionProvider> connectionProviderFactory = routeId -> {
+                ConnectionProvider connectionProvider = ConnectionProvider.builder("route:" + routeId)
+                    .maxConnections(1)
+                    .disposeTimeout(Duration.ofSeconds(10))
+                    .build();
+                connectionProviders.put(routeId, connectionProvider);
+                return connectionProvider;
+            };
+            // the pool is disposed immediately, the in-flight request is protected by the dispose timeout
+            nettyRoutingFilterApiml = new NettyRoutingFilterApiml(HttpClient.create(), null, null, clientSslContext, clientSslContext,
+                connectionProviderFactory, HttpClient::create, Duration.ZERO);
+        }
+
+        @AfterEach
+        void tearDown() {
+            release.countDown();
+            server.stop(0);
+            connectionProviders.values().forEach(ConnectionProvider::dispose);
+        }
+
+        private Route route(String id) {
+            return Route.async()
+                .id(id).uri("https://localhost:" + server.getAddress().getPort() + "/").predicate(serverWebExchange -> true)
+                .build();
+        }
+
+        @Test
+        void whenRouteIsRemoved_thenRequestIsFinished() throws Exception {
+            Route routeA = route("a");
+            nettyRoutingFilterApiml.updateRoutes(List.of(routeA));
+            HttpClient httpClient = nettyRoutingFilterApiml.getHttpClient(routeA, MockServerWebExchange.from(MockServerHttpRequest.get("/").build()));
+
+            CompletableFuture<String> response = httpClient.get()
+                .uri("https://localhost:" + server.getAddress().getPort() + "/slow")
+                .responseContent().aggregate().asString()
+                .toFuture();
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+
+            nettyRoutingFilterApiml.updateRoutes(List.of(route("b")));
+            release.countDown();
+
+            assertEquals("ok", response.get(10, TimeUnit.SECONDS));
+        }
+
     }
 
 }
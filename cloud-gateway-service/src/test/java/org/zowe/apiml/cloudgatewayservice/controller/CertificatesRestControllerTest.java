@@ -136,4 +136,46 @@ class CertificatesRestControllerTest {
             verify(mockCertificateChainService, times(1)).getCertificatesInPEMFormat();
         }
     }
+
+    @Nested
+    class WhenETagIsAvailable {
+        private static final String ETAG = "\"chain-digest\"";
+
+        @BeforeEach
+        void setUp() {
+            when(mockCertificateChainService.getCertificatesInPEMFormat()).thenReturn(CERTIFICATE_CHAIN);
+            when(mockCertificateChainService.getCertificatesETag()).thenReturn(ETAG);
+        }
+
+        @Test
+        void thenResponseContainsETag() {
+            webTestClient.get()
+                .uri(CertificatesRestController.CONTROLLER_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETAG)
+                .expectBody(String.class).isEqualTo(CERTIFICATE_CHAIN);
+        }
+
+        @Test
+        void givenSameETag_thenNotModified() {
+            webTestClient.get()
+                .uri(CertificatesRestController.CONTROLLER_PATH)
+                .header("If-None-Match", ETAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+            verify(mockCertificateChainService, never()).getCertificatesInPEMFormat();
+        }
+
+        @Test
+        void givenDifferentETag_thenResponseContainsAllCertificates() {
+            webTestClient.get()
+                .uri(CertificatesRestController.CONTROLLER_PATH)
+                .header("If-None-Match", "\"other\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(CERTIFICATE_CHAIN);
+        }
+    }
 }
@@ -0,0 +1,207 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.filters;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.zowe.apiml.cloudgatewayservice.service.InstanceInfoService;
+import org.zowe.apiml.zaas.ZaasTokenResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class AbstractAuthSchemeFactoryTest {
+
+    private static final String COOKIE_NAME = "apimlAuthenticationToken";
+
+    private static String createJwt(Instant expiration) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = encoder.encodeToString(("{\"sub\":\"USER\",\"exp\":" + expiration.getEpochSecond() + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".";
+    }
+
+    @Nested
+    class CredentialCache {
+
+        private final AtomicInteger zaasCalls = new AtomicInteger();
+        private final List<MockServerWebExchange> forwardedExchanges = Collections.synchronizedList(new ArrayList<>());
+        private final GatewayFilterChain chain = exchange -> {
+            forwardedExchanges.add((MockServerWebExchange) exchange);
+            return Mono.empty();
+        };
+
+        private String token;
+        private Duration zaasDelay;
+        private TokenFilterFactory factory;
+
+        @BeforeEach
+        void setUp() {
+            token = createJwt(Instant.now().plusSeconds(3600));
+            zaasDelay = Duration.ZERO;
+
+            WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+                zaasCalls.incrementAndGet();
+                return Mono.delay(zaasDelay).map(x -> ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(getResponseBody())
+                    .build()
+                );
+            }).build();
+
+            InstanceInfoService instanceInfoService = mock(InstanceInfoService.class);
+            ServiceInstance zaas = new DefaultServiceInstance("gateway-1", "gateway", "localhost", 10010, true);
+            doReturn(Mono.just(List.of(zaas))).when(instanceInfoService).getServiceInstance("gateway");
+
+            factory = new TokenFilterFactory(webClient, instanceInfoService, null) {
+                @Override
+                public String getEndpointUrl(ServiceInstance instance) {
+                    return "https://localhost:10010/gateway/zaas/zoweJwt";
+                }
+            };
+            ReflectionTestUtils.setField(factory, "credentialCacheEnabled", true);
+            ReflectionTestUtils.setField(factory, "credentialCacheMaxTtlSec", 60);
+            ReflectionTestUtils.setField(factory, "credentialCacheMaxSize", 100);
+            factory.initCredentialCache();
+        }
+
+        private String getResponseBody() {
+            try {
+                return new ObjectMapper().writeValueAsString(ZaasTokenResponse.builder().cookieName(COOKIE_NAME).token(token).build());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private Mono<Void> call(String authorization) {
+            TokenFilterFactory.Config config = new TokenFilterFactory.Config();
+            config.setServiceId("service");
+            GatewayFilter filter = factory.apply(config);
+
+            MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/service/api/v1/test");
+            if (authorization != null) {
+                request.header(HttpHeaders.AUTHORIZATION, authorization);
+            }
+            return filter.filter(MockServerWebExchange.from(request), chain);
+        }
+
+        private String getForwardedCookie(int index) {
+            return forwardedExchanges.get(index).getRequest().getHeaders().getFirst(HttpHeaders.COOKIE);
+        }
+
+        @Test
+        void givenSameCredentials_whenCallingRepeatedly_thenZaasIsCalledOnce() {
+            for (int i = 0; i < 5; i++) {
+                call("Bearer userJwt").block();
+            }
+
+            assertEquals(1, zaasCalls.get());
+            assertEquals(5, forwardedExchanges.size());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(COOKIE_NAME + "=\"" + token + "\"", getForwardedCookie(i));
+                assertNull(forwardedExchanges.get(i).getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+            }
+        }
+
+        @Test
+        void givenDifferentCredentials_whenCalling_thenZaasIsCalledForEach() {
+            call("Bearer userJwt1").block();
+            call("Bearer userJwt2").block();
+            call("Bearer userJwt1").block();
+
+            assertEquals(2, zaasCalls.get());
+        }
+
+        @Test
+        void givenNoCredentials_whenCallingRepeatedly_thenResponseIsNotCached() {
+            call(null).block();
+            call(null).block();
+
+            assertEquals(2, zaasCalls.get());
+        }
+
+        @Test
+        void givenExpiredToken_whenCallingRepeatedly_thenResponseIsNotCached() {
+            token = createJwt(Instant.now().minusSeconds(10));
+
+            call("Bearer userJwt").block();
+            call("Bearer userJwt").block();
+
+            assertEquals(2, zaasCalls.get());
+        }
+
+        @Test
+        void givenConcurrentRequests_whenCalling_thenZaasCallIsShared() {
+            zaasDelay = Duration.ofMillis(200);
+
+            Mono.when(call("Bearer userJwt"), call("Bearer userJwt"), call("Bearer userJwt")).block();
+
+            assertEquals(1, zaasCalls.get());
+            assertEquals(3, forwardedExchanges.size());
+        }
+
+        @Test
+        void givenDisabledCache_whenCallingRepeatedly_thenZaasIsCalledForEach() {
+            ReflectionTestUtils.setField(factory, "credentialCache", null);
+
+            call("Bearer userJwt").block();
+            call("Bearer userJwt").block();
+
+            assertEquals(2, zaasCalls.get());
+        }
+
+    }
+
+    @Nested
+    class JwtExpiration {
+
+        @Test
+        void givenJwt_whenGetExpiration_thenReturnExpClaim() {
+            Instant expiration = Instant.ofEpochSecond(Instant.now().getEpochSecond() + 100);
+            assertEquals(expiration, AbstractAuthSchemeFactory.getJwtExpiration(createJwt(expiration)));
+        }
+
+        @Test
+        void givenNonJwtToken_whenGetExpiration_thenReturnMax() {
+            assertEquals(Instant.MAX, AbstractAuthSchemeFactory.getJwtExpiration("LtpaToken"));
+            assertEquals(Instant.MAX, AbstractAuthSchemeFactory.getJwtExpiration("a.b.c"));
+        }
+
+    }
+
+}
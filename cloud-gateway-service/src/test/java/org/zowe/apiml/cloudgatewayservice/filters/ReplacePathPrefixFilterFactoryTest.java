@@ -0,0 +1,65 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.filters;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+
+class ReplacePathPrefixFilterFactoryTest {
+
+    @ParameterizedTest(name = "When path {0} is processed with prefix {1} and replacement {2} the new path is {3}")
+    @CsvSource({
+        "/service/api/v1/a/b,/service/api/v1,/x,/x/a/b",
+        "/service/api/v1/a/b/,/service/api/v1,/x,/x/a/b/",
+        "/service/api/v1,/service/api/v1,/x,/x/",
+        "/service/api/v1/,/service/api/v1,/x,/x/",
+        "/service/api/v1/a,/service/api/v1,'',/a",
+        "/service/api/v1/a,/service/api/v1,/x/y/,/x/y/a",
+        "/other/api/v1/a,/service/api/v1,/x,/other/api/v1/a",
+    })
+    void givenPath_whenFilter_thenReplacePrefix(String path, String prefix, String replacement, String newPath) {
+        ReplacePathPrefixFilterFactory.Config config = new ReplacePathPrefixFilterFactory.Config();
+        config.setPrefix(prefix);
+        config.setReplacement(replacement);
+        GatewayFilter filter = new ReplacePathPrefixFilterFactory().apply(config);
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        AtomicReference<String> processedPath = new AtomicReference<>();
+        filter.filter(exchange, exchange2 -> {
+            processedPath.set(exchange2.getRequest().getURI().getRawPath());
+            assertEquals(exchange2.getRequest().getURI(), exchange2.getAttribute(GATEWAY_REQUEST_URL_ATTR));
+            return null;
+        });
+
+        assertEquals(newPath, processedPath.get());
+    }
+
+    @ParameterizedTest(name = "Path {0} is processed the same way as by the regular expression")
+    @CsvSource({
+        "/service/api/v1/a/b",
+        "/service/api/v1",
+        "/service/api/v1/",
+        "/service/api/v1//a",
+    })
+    void givenPath_whenReplacePrefix_thenSameResultAsRegexp(String path) {
+        String expected = path.replaceAll("/service/api/v1/?(?<remaining>.*)", "/x/${remaining}");
+        assertEquals(expected, ReplacePathPrefixFilterFactory.replacePrefix(path, "/service/api/v1", "/x/"));
+    }
+
+}
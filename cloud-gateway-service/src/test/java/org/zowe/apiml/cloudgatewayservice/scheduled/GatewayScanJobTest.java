@@ -30,6 +30,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -38,6 +39,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.zowe.apiml.constants.EurekaMetadataDefinition.APIML_ID;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -68,8 +70,11 @@ class GatewayScanJobTest {
 
         lenient().when(instanceInfoService.getServiceInstance(CoreService.GATEWAY.getServiceId())).thenReturn(Mono.just(asList(instanceOne, instanceTwo)));
 
-        lenient().when(gatewayIndexerService.indexGatewayServices(instanceOne)).thenReturn(Mono.just(apimlServicesOne));
-        lenient().when(gatewayIndexerService.indexGatewayServices(instanceTwo)).thenReturn(Mono.just(apimlServicesTwo));
+        lenient().when(instanceOne.getInstanceId()).thenReturn("instanceOne");
+        lenient().when(instanceTwo.getInstanceId()).thenReturn("instanceTwo");
+
+        lenient().when(gatewayIndexerService.indexGatewayServices(List.of(instanceOne))).thenReturn(Mono.just(apimlServicesOne));
+        lenient().when(gatewayIndexerService.indexGatewayServices(List.of(instanceTwo))).thenReturn(Mono.just(apimlServicesTwo));
     }
 
     @Nested
@@ -81,8 +86,22 @@ class GatewayScanJobTest {
                     .expectNext(apimlServicesTwo)
                     .verifyComplete();
 
-            verify(gatewayIndexerService).indexGatewayServices(instanceOne);
-            verify(gatewayIndexerService).indexGatewayServices(instanceTwo);
+            verify(gatewayIndexerService).indexGatewayServices(List.of(instanceOne));
+            verify(gatewayIndexerService).indexGatewayServices(List.of(instanceTwo));
+            verifyNoMoreInteractions(gatewayIndexerService);
+        }
+
+        @Test
+        void shouldIndexInstancesOfTheSameApimlOnce() {
+            lenient().when(instanceOne.getMetadata()).thenReturn(Collections.singletonMap(APIML_ID, "apiml2"));
+            lenient().when(instanceTwo.getMetadata()).thenReturn(Collections.singletonMap(APIML_ID, "apiml2"));
+            when(gatewayIndexerService.indexGatewayServices(asList(instanceOne, instanceTwo))).thenReturn(Mono.just(apimlServicesOne));
+
+            StepVerifier.create(gatewayScanJob.doScanExternalGateway())
+                    .expectNext(apimlServicesOne)
+                    .verifyComplete();
+
+            verify(gatewayIndexerService).indexGatewayServices(asList(instanceOne, instanceTwo));
             verifyNoMoreInteractions(gatewayIndexerService);
         }
     }
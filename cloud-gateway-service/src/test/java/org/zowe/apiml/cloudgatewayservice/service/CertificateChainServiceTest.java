@@ -12,6 +12,7 @@ package org.zowe.apiml.cloudgatewayservice.service;
 
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -22,6 +23,9 @@ import org.zowe.apiml.security.HttpsConfigError;
 import org.zowe.apiml.security.SecurityUtils;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStoreException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
@@ -110,6 +114,42 @@ class CertificateChainServiceTest {
             assertNotNull(result);
             assertEquals(normalizeText(CERTIFICATE_1 + CERTIFICATE_2), result);
         }
+
+        @Test
+        void whenGetCertificates_thenResponseIsByteIdenticalToEncodingOnEachCall() throws IOException {
+            // the original implementation encoded the chain on each call
+            StringWriter stringWriter = new StringWriter();
+            try (JcaPEMWriter jcaPEMWriter = new JcaPEMWriter(stringWriter)) {
+                for (Certificate cert : certificates) {
+                    jcaPEMWriter.writeObject(cert);
+                }
+            }
+
+            byte[] expected = stringWriter.toString().getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(expected, certificateChainService.getCertificatesInPEMFormat().getBytes(StandardCharsets.UTF_8));
+            assertArrayEquals(expected, certificateChainService.getCertificatesInPEMFormat().getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void whenGetCertificatesRepeatedly_thenChainIsRenderedOnce() {
+            String pem = certificateChainService.getCertificatesInPEMFormat();
+            String eTag = certificateChainService.getCertificatesETag();
+
+            assertSame(pem, certificateChainService.getCertificatesInPEMFormat());
+            assertSame(eTag, certificateChainService.getCertificatesETag());
+            assertEquals(CertificateChainService.getETag(pem), eTag);
+            assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+        }
+
+        @Test
+        void whenChainIsReloaded_thenChainIsRenderedAgain() {
+            String eTag = certificateChainService.getCertificatesETag();
+
+            ReflectionTestUtils.setField(certificateChainService, "certificates", new Certificate[] {certificates[1]}, Certificate[].class);
+
+            assertEquals(normalizeText(CERTIFICATE_2), normalizeText(certificateChainService.getCertificatesInPEMFormat()));
+            assertNotEquals(eTag, certificateChainService.getCertificatesETag());
+        }
     }
 
     @Nested
@@ -143,6 +183,7 @@ class CertificateChainServiceTest {
         void whenGetCertificates_thenNullReturned() {
             String result = certificateChainService.getCertificatesInPEMFormat();
             assertNull(result);
+            assertNull(certificateChainService.getCertificatesETag());
         }
     }
 
@@ -16,16 +16,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.zowe.apiml.cloudgatewayservice.service.balancer.RoundRobinInstanceChooser;
 import org.zowe.apiml.services.ServiceInfo;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -38,9 +41,11 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -64,6 +69,8 @@ class GatewayIndexServiceTest {
     private ServiceInstance eurekaInstance;
     @Mock
     private ExchangeFilterFunction exchangeFilterFunction;
+    @Mock
+    private ClientResponse.Headers responseHeaders;
 
     @BeforeEach
     void setUp() {
@@ -81,7 +88,7 @@ class GatewayIndexServiceTest {
         serviceInfoB.getApiml().setApiInfo(Collections.singletonList(sysviewApiInfo));
 
         webClient = spy(WebClient.builder().exchangeFunction(exchangeFunction).build());
-        gatewayIndexService = new GatewayIndexService(webClient, 60);
+        gatewayIndexService = new GatewayIndexService(webClient, 60, new RoundRobinInstanceChooser());
     }
 
     @Nested
@@ -93,6 +100,8 @@ class GatewayIndexServiceTest {
                 .thenReturn(Mono.just(clientResponse));
             lenient().when(clientResponse.statusCode()).thenReturn(HttpStatusCode.valueOf(200));
             lenient().when(clientResponse.bodyToMono(serviceInfoType)).thenReturn(Mono.just(Arrays.asList(serviceInfoA, serviceInfoB)));
+            lenient().when(clientResponse.headers()).thenReturn(responseHeaders);
+            lenient().when(responseHeaders.asHttpHeaders()).thenReturn(new HttpHeaders());
         }
 
         @Test
@@ -176,6 +185,62 @@ class GatewayIndexServiceTest {
             assertThat(allServices).isEmpty();
         }
 
+        @Test
+        void shouldFilterCachedServicesByApiIdAndServiceId() {
+            StepVerifier.create(gatewayIndexService.indexGatewayServices(eurekaInstance))
+                .expectNext(asList(serviceInfoA, serviceInfoB))
+                .verifyComplete();
+
+            assertThat(gatewayIndexService.listRegistry("testApimlIdA", API_CATALOG_API_ID, SERVICE_ID))
+                .containsOnly(new AbstractMap.SimpleEntry<>("testApimlIdA", Collections.singletonList(serviceInfoB)));
+            assertThat(gatewayIndexService.listRegistry(null, API_CATALOG_API_ID, "not_existing_serviceId")).isEmpty();
+        }
+
+        @Test
+        void givenIndexedServices_whenListRegistry_thenIndexCannotBeModified() {
+            gatewayIndexService.indexGatewayServices(eurekaInstance).block();
+
+            List<ServiceInfo> byApiId = gatewayIndexService.listRegistry(null, API_CATALOG_API_ID, null).get("testApimlIdA");
+            List<ServiceInfo> byServiceId = gatewayIndexService.listRegistry(null, null, SERVICE_ID).get("testApimlIdA");
+            assertThrows(UnsupportedOperationException.class, byApiId::clear);
+            assertThrows(UnsupportedOperationException.class, byServiceId::clear);
+
+            assertThat(gatewayIndexService.listRegistry(null, API_CATALOG_API_ID, null))
+                .containsOnly(new AbstractMap.SimpleEntry<>("testApimlIdA", Collections.singletonList(serviceInfoB)));
+            assertThat(gatewayIndexService.listRegistry(null, null, SERVICE_ID))
+                .containsOnly(new AbstractMap.SimpleEntry<>("testApimlIdA", Collections.singletonList(serviceInfoB)));
+        }
+
+        @Test
+        void shouldReuseWebClientOfTheSameGateway() {
+            gatewayIndexService.indexGatewayServices(eurekaInstance).block();
+            gatewayIndexService.indexGatewayServices(eurekaInstance).block();
+
+            verify(exchangeFunction, times(2)).exchange(any());
+            verify(webClient, times(1)).mutate();
+        }
+
+        @Test
+        void givenETag_whenServicesAreNotModified_thenKeepCachedServices() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag("\"v1\"");
+            when(responseHeaders.asHttpHeaders()).thenReturn(headers);
+            gatewayIndexService.indexGatewayServices(eurekaInstance).block();
+
+            when(clientResponse.statusCode()).thenReturn(HttpStatusCode.valueOf(304));
+            when(clientResponse.bodyToMono(serviceInfoType)).thenReturn(Mono.empty());
+            StepVerifier.create(gatewayIndexService.indexGatewayServices(eurekaInstance))
+                .expectNext(asList(serviceInfoA, serviceInfoB))
+                .verifyComplete();
+
+            ArgumentCaptor<ClientRequest> requests = ArgumentCaptor.forClass(ClientRequest.class);
+            verify(exchangeFunction, times(2)).exchange(requests.capture());
+            assertThat(requests.getAllValues().get(0).headers().getIfNoneMatch()).isEmpty();
+            assertThat(requests.getAllValues().get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+            assertThat(gatewayIndexService.listRegistry(null, null, SERVICE_ID))
+                .containsOnly(new AbstractMap.SimpleEntry<>("testApimlIdA", Collections.singletonList(serviceInfoB)));
+        }
+
         @Test
         void shouldReturnEmptyMapForNotExistingApimlId() {
             assertThat(gatewayIndexService.listRegistry("unknownId", null, null)).isEmpty();
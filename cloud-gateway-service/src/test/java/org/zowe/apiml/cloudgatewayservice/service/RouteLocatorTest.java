@@ -15,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
 import org.springframework.cloud.gateway.filter.FilterDefinition;
@@ -259,6 +260,98 @@ class RouteLocatorTest {
             }
         }
 
+        @Nested
+        class Caching {
+
+            private static final int SERVICES = 1000;
+
+            @BeforeEach
+            void resetProducers() {
+                clearInvocations((Object[]) PRODUCERS);
+            }
+
+            private List<ServiceInstance> createServiceInstances(int count) {
+                List<ServiceInstance> serviceInstances = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    Map<String, String> metadata = new HashMap<>();
+                    metadata.put("apiml.routes.api-v1.gatewayUrl", "api/v1");
+                    metadata.put("apiml.routes.api-v1.serviceUrl", "/service" + i + "/api/v1");
+                    metadata.put("apiml.routes.ui-v1.gatewayUrl", "ui/v1");
+                    metadata.put("apiml.routes.ui-v1.serviceUrl", "/service" + i + "/ui/v1");
+                    serviceInstances.add(new DefaultServiceInstance("host:service" + i + ":10000", "service" + i, "host", 10000, true, metadata));
+                }
+                return serviceInstances;
+            }
+
+            private void verifyProducersCalled(int times) {
+                for (RouteDefinitionProducer producer : PRODUCERS) {
+                    verify(producer, times(times)).get(any(), any());
+                }
+            }
+
+            @Test
+            void givenUnchangedInstances_whenGetRouteDefinitions_thenReuseDefinitions() {
+                ServiceInstance serviceInstance = createServiceInstance("service1", "/a/b");
+                doReturn(Flux.just(Collections.singletonList(serviceInstance))).when(routeLocator).getServiceInstances();
+
+                List<RouteDefinition> first = routeLocator.getRouteDefinitions().collectList().block();
+                List<RouteDefinition> second = routeLocator.getRouteDefinitions().collectList().block();
+
+                verifyProducersCalled(1);
+                verify(corsUtils, times(1)).setCorsConfiguration(eq("service1"), any(), any());
+                assertEquals(3, second.size());
+                for (int i = 0; i < 3; i++) {
+                    assertNotSame(first.get(i), second.get(i));
+                    assertEquals(i, second.get(i).getOrder());
+                    assertSame(first.get(i).getMetadata(), second.get(i).getMetadata());
+                }
+            }
+
+            @Test
+            void givenChangedMetadata_whenGetRouteDefinitions_thenGenerateDefinitionsAgain() {
+                ServiceInstance serviceInstance = createServiceInstance("service1", "/a/b");
+                doReturn(Flux.just(Collections.singletonList(serviceInstance))).when(routeLocator).getServiceInstances();
+
+                routeLocator.getRouteDefinitions().collectList().block();
+                serviceInstance.getMetadata().put("apiml.routes.api-v2.gatewayUrl", "c");
+                serviceInstance.getMetadata().put("apiml.routes.api-v2.serviceUrl", "c");
+                List<RouteDefinition> routeDefinitions = routeLocator.getRouteDefinitions().collectList().block();
+
+                assertEquals(6, routeDefinitions.size());
+                verify(PRODUCERS[0], times(3)).get(any(), any());
+            }
+
+            @Test
+            void givenRemovedInstance_whenGetRouteDefinitions_thenEvictCachedDefinitions() {
+                ServiceInstance serviceInstance1 = createServiceInstance("service1", "/a/b");
+                ServiceInstance serviceInstance2 = createServiceInstance("service2", "/a/b");
+                doReturn(Flux.just(Arrays.asList(serviceInstance1, serviceInstance2))).when(routeLocator).getServiceInstances();
+                routeLocator.getRouteDefinitions().collectList().block();
+
+                doReturn(Flux.just(Collections.singletonList(serviceInstance1))).when(routeLocator).getServiceInstances();
+                routeLocator.getRouteDefinitions().collectList().block();
+                doReturn(Flux.just(Arrays.asList(serviceInstance1, serviceInstance2))).when(routeLocator).getServiceInstances();
+                routeLocator.getRouteDefinitions().collectList().block();
+
+                verify(corsUtils, times(1)).setCorsConfiguration(eq("service1"), any(), any());
+                verify(corsUtils, times(2)).setCorsConfiguration(eq("service2"), any(), any());
+            }
+
+            @Test
+            void givenThousandServices_whenRefreshRoutes_thenGenerateDefinitionsJustOnce() {
+                List<ServiceInstance> serviceInstances = createServiceInstances(SERVICES);
+                doReturn(Flux.just(serviceInstances)).when(routeLocator).getServiceInstances();
+
+                for (int i = 0; i < 10; i++) {
+                    assertEquals(SERVICES * 2 * PRODUCERS.length, routeLocator.getRouteDefinitions().count().block());
+                }
+
+                verifyProducersCalled(SERVICES * 2);
+                verify(corsUtils, times(SERVICES)).setCorsConfiguration(anyString(), any(), any());
+            }
+
+        }
+
         @Nested
         class PostRoutingFilterDefinition {
 
@@ -0,0 +1,166 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.cloudgatewayservice.service.balancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PeakEwmaInstanceChooserTest {
+
+    private static final int ATTEMPTS = 100;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final ServiceInstance instanceA = new DefaultServiceInstance("a", "gateway", "hostA", 10010, true);
+    private final ServiceInstance instanceB = new DefaultServiceInstance("b", "gateway", "hostB", 10010, true);
+    private final List<ServiceInstance> instances = List.of(instanceA, instanceB);
+
+    private PeakEwmaInstanceChooser chooser;
+
+    @BeforeEach
+    void setUp() {
+        chooser = new PeakEwmaInstanceChooser(10000, 3, 30000, clock::get);
+    }
+
+    private void call(ServiceInstance instance, long latencyMs, boolean success) {
+        InstanceChooser.Observation observation = chooser.start(instance);
+        clock.addAndGet(MILLISECONDS.toNanos(latencyMs));
+        if (success) {
+            observation.succeeded();
+        } else {
+            observation.failed();
+        }
+    }
+
+    private List<ServiceInstance> fetch(Iterator<ServiceInstance> iterator) {
+        List<ServiceInstance> output = new ArrayList<>();
+        while (iterator.hasNext()) {
+            output.add(iterator.next());
+        }
+        return output;
+    }
+
+    private void assertAlwaysChosen(ServiceInstance expected) {
+        for (int i = 0; i < ATTEMPTS; i++) {
+            assertEquals(expected, chooser.getIterator(instances).next());
+        }
+    }
+
+    @Nested
+    class GivenLatency {
+
+        @Test
+        void whenOneInstanceIsSlower_thenPreferTheFasterOne() {
+            call(instanceA, 100, true);
+            call(instanceB, 5, true);
+
+            assertAlwaysChosen(instanceB);
+        }
+
+        @Test
+        void whenLatencySpikes_thenReactImmediately() {
+            call(instanceA, 5, true);
+            call(instanceB, 10, true);
+            assertAlwaysChosen(instanceA);
+
+            call(instanceA, 500, true);
+            assertAlwaysChosen(instanceB);
+        }
+
+        @Test
+        void whenInstanceHasOutstandingRequests_thenPreferTheIdleOne() {
+            call(instanceA, 10, true);
+            call(instanceB, 10, true);
+
+            chooser.start(instanceA);
+            chooser.start(instanceA);
+
+            assertAlwaysChosen(instanceB);
+        }
+
+    }
+
+    @Nested
+    class GivenFailures {
+
+        @Test
+        void whenConsecutiveFailures_thenInstanceIsEjected() {
+            call(instanceB, 500, true);
+            for (int i = 0; i < 3; i++) {
+                call(instanceA, 1, false);
+            }
+
+            assertAlwaysChosen(instanceB);
+            assertEquals(List.of(instanceB, instanceA), fetch(chooser.getIterator(instances)));
+        }
+
+        @Test
+        void whenEjectionExpires_thenInstanceGetsChanceAgain() {
+            for (int i = 0; i < 3; i++) {
+                call(instanceA, 1, false);
+            }
+            call(instanceB, 10, true);
+            assertAlwaysChosen(instanceB);
+
+            clock.addAndGet(MILLISECONDS.toNanos(120000));
+            call(instanceA, 1, true);
+            call(instanceB, 50, true);
+
+            assertAlwaysChosen(instanceA);
+        }
+
+        @Test
+        void whenAllInstancesAreEjected_thenStillReturnAll() {
+            for (int i = 0; i < 3; i++) {
+                call(instanceA, 1, false);
+                call(instanceB, 1, false);
+            }
+
+            assertEquals(2, fetch(chooser.getIterator(instances)).size());
+        }
+
+    }
+
+    @Nested
+    class Iteration {
+
+        @Test
+        void givenEmptyList_whenIterate_thenThrowAnException() {
+            Iterator<ServiceInstance> iterator = chooser.getIterator(List.of());
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+
+        @Test
+        void givenInstances_whenIterate_thenReturnEachOnce() {
+            ServiceInstance instanceC = new DefaultServiceInstance("c", "gateway", "hostC", 10010, true);
+            List<ServiceInstance> output = fetch(chooser.getIterator(List.of(instanceA, instanceB, instanceC)));
+
+            assertEquals(3, output.size());
+            assertEquals(3, output.stream().distinct().count());
+        }
+
+    }
+
+}
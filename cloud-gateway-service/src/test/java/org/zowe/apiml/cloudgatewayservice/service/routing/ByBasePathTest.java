@@ -79,13 +79,14 @@ class ByBasePathTest {
             assertEquals(pattern, pathPredicate.getArgs().get("pattern"));
         }
 
-        @ParameterizedTest(name = "to map URLs of service {0} from {1} to {2} is constructed pattern {3} and replacement {4} arguments")
+        @ParameterizedTest(name = "to map URLs of service {0} from {1} to {2} is constructed prefix {3} and replacement {4} arguments")
         @CsvSource({
-            "service,/api/v1/,/x/,/service/api/v1/?(?<remaining>.*),/x/${remaining}",
-            "service,api/v1,x,/service/api/v1/?(?<remaining>.*),/x/${remaining}",
+            "service,/api/v1/,/x/,/service/api/v1,/x",
+            "service,api/v1,x,/service/api/v1,/x",
+            "service,api/v1,/,/service/api/v1,''",
         })
-        void givenInstanceConfig_whenSetFilters_thenConstructRegexFilter(
-                String serviceId, String gatewayUrl, String serviceUrl, String pattern, String replacement
+        void givenInstanceConfig_whenSetFilters_thenConstructPrefixFilter(
+                String serviceId, String gatewayUrl, String serviceUrl, String prefix, String replacement
         ) {
             RouteDefinition routeDefinition = new RouteDefinition();
             ServiceInstance serviceInstance = mock(ServiceInstance.class);
@@ -96,8 +97,8 @@ class ByBasePathTest {
 
             assertEquals(1, routeDefinition.getFilters().size());
             FilterDefinition filterDefinition = routeDefinition.getFilters().get(0);
-            assertEquals("RewritePath", filterDefinition.getName());
-            assertEquals(pattern, filterDefinition.getArgs().get("regexp"));
+            assertEquals("ReplacePathPrefixFilterFactory", filterDefinition.getName());
+            assertEquals(prefix, filterDefinition.getArgs().get("prefix"));
             assertEquals(replacement, filterDefinition.getArgs().get("replacement"));
         }
 
@@ -12,6 +12,7 @@ package org.zowe.apiml.message.core;
 
 import org.zowe.apiml.message.api.ApiMessage;
 import org.zowe.apiml.message.api.ApiMessageView;
+import org.zowe.apiml.message.template.CompiledMessageText;
 import org.zowe.apiml.message.template.MessageTemplate;
 import org.zowe.apiml.util.ObjectUtil;
 import org.apache.commons.text.StringEscapeUtils;
@@ -31,6 +32,8 @@ public final class Message {
     private final MessageTemplate messageTemplate;
     private final Object[] messageParameters;
 
+    // text is formatted on the first usage (usually logging enabled on the level of the message)
+    private String convertedText;
 
     private Message(String requestedKey,
                     MessageTemplate messageTemplate,
@@ -63,16 +66,15 @@ public final class Message {
     }
 
     /**
-     * Validate the message text and parameters returning them as formatted String.
+     * Validate the message text and parameters.
      *
      * @param messageText       the message text.
      * @param messageParameters the object containing the message parameters.
      * @throws MissingFormatArgumentException when the amount of parameters is less than required.
      * @throws IllegalFormatConversionException when format is not valid.
-     * @return a formatted String
      */
-    private static String validateMessageTextFormat(String messageText, Object[] messageParameters) {
-        return String.format(messageText, messageParameters);
+    private static void validateMessageTextFormat(String messageText, Object[] messageParameters) {
+        CompiledMessageText.of(messageText).validate(messageParameters);
     }
 
     /**
@@ -97,8 +99,10 @@ public final class Message {
      * @return escaped characters in the converted text using HTML entities
      */
     public String getConvertedText() {
-        String convertedText = validateMessageTextFormat(messageTemplate.getText(), messageParameters);
-        convertedText = StringEscapeUtils.escapeHtml4(convertedText);
+        if (convertedText == null) {
+            String text = CompiledMessageText.of(messageTemplate.getText()).format(messageParameters);
+            convertedText = StringEscapeUtils.escapeHtml4(text);
+        }
         return convertedText;
     }
 
@@ -106,10 +110,7 @@ public final class Message {
      * @return a message in the format that can be printed to console as a single line or displayed to the user
      */
     public String mapToReadableText() {
-        return String.format("%s%s %s",
-            messageTemplate.getNumber(),
-            messageTemplate.getType().toChar(),
-            getConvertedText());
+        return messageTemplate.getNumber() + messageTemplate.getType().toChar() + " " + getConvertedText();
     }
 
     /**
@@ -62,6 +62,7 @@ public final class ApimlLogger {
 
     /**
      * Method which allows to create a specific message with specific parameters and log it in its level type.
+     * The message is always created (it is returned), but its text is formatted only if the level is enabled.
      *
      * @param key        of the message
      * @param parameters for message
@@ -88,7 +89,38 @@ public final class ApimlLogger {
         ObjectUtil.requireNotNull(message, "message can't be null");
         ObjectUtil.requireNotNull(message.getMessageTemplate(), "message template can't be null");
 
-        log(message.getMessageTemplate().getType(), message.mapToLogMessage());
+        MessageType messageType = message.getMessageTemplate().getType();
+        if (isEnabled(messageType)) {
+            log(messageType, message.mapToLogMessage());
+        }
+    }
+
+    /**
+     * Check if the logger would write a message of the type. It allows to skip formatting of the message text.
+     *
+     * @param messageType type of the message
+     * @return true if the message of the type would be logged
+     */
+    boolean isEnabled(MessageType messageType) {
+        if (messageType == null) {
+            // let the logging itself to handle invalid type
+            return true;
+        }
+
+        switch (messageType) {
+            case TRACE:
+                return logger.isTraceEnabled(marker);
+            case DEBUG:
+                return logger.isDebugEnabled(marker);
+            case INFO:
+                return logger.isInfoEnabled(marker);
+            case WARNING:
+                return logger.isWarnEnabled(marker);
+            case ERROR:
+                return logger.isErrorEnabled(marker);
+            default:
+                return true;
+        }
     }
 
     /**
@@ -0,0 +1,138 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.message.template;
+
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precompiled text of a message template. The text is parsed once per template and cached. Messages use just plain
+ * {@code %s} placeholders, such a text is formatted by concatenation and the validation of parameters is just a check
+ * of their count. Any other text (flags, width, other conversions) is processed by {@link String#format(String, Object...)}
+ * to keep exactly the same behaviour, including exceptions.
+ */
+public final class CompiledMessageText {
+
+    private static final Map<String, CompiledMessageText> CACHE = new ConcurrentHashMap<>();
+    private static final CompiledMessageText NULL_TEXT = new CompiledMessageText(null, null, 0);
+
+    private final String text;
+    // literal parts of the text, parameter is placed between each two parts, null if the text is not simple
+    private final String[] literals;
+    private final int parameterCount;
+
+    private CompiledMessageText(String text, String[] literals, int parameterCount) {
+        this.text = text;
+        this.literals = literals;
+        this.parameterCount = parameterCount;
+    }
+
+    /**
+     * Returns the compiled form of the message text.
+     *
+     * @param text the text of message template
+     * @return compiled text
+     */
+    public static CompiledMessageText of(String text) {
+        if (text == null) {
+            return NULL_TEXT;
+        }
+        return CACHE.computeIfAbsent(text, CompiledMessageText::compile);
+    }
+
+    static CompiledMessageText compile(String text) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i++);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            char conversion = i < text.length() ? text.charAt(i++) : 0;
+            switch (conversion) {
+                case 's':
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    break;
+                case '%':
+                    literal.append('%');
+                    break;
+                case 'n':
+                    literal.append(System.lineSeparator());
+                    break;
+                default:
+                    // not a simple text, use the formatter
+                    return new CompiledMessageText(text, null, 0);
+            }
+        }
+        literals.add(literal.toString());
+        return new CompiledMessageText(text, literals.toArray(new String[0]), literals.size() - 1);
+    }
+
+    private boolean isSimple(Object[] parameters) {
+        if (literals == null) {
+            return false;
+        }
+        for (int i = 0; i < Math.min(parameterCount, parameters.length); i++) {
+            // formattable object can customize its output (and failure)
+            if (parameters[i] instanceof Formattable) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verify that the text can be formatted with the parameters.
+     *
+     * @param parameters parameters of the message
+     * @throws java.util.IllegalFormatException if the text cannot be formatted, the same as
+     * {@link String#format(String, Object...)}
+     */
+    public void validate(Object[] parameters) {
+        if (!isSimple(parameters)) {
+            format(parameters);
+        } else if (parameters.length < parameterCount) {
+            throw new MissingFormatArgumentException("%s");
+        }
+    }
+
+    /**
+     * Format the text with the parameters.
+     *
+     * @param parameters parameters of the message
+     * @return the formatted text
+     */
+    public String format(Object[] parameters) {
+        if (!isSimple(parameters)) {
+            return String.format(text, parameters);
+        }
+        if (parameters.length < parameterCount) {
+            throw new MissingFormatArgumentException("%s");
+        }
+
+        StringBuilder sb = new StringBuilder(text.length() + 16 * parameterCount);
+        sb.append(literals[0]);
+        for (int i = 0; i < parameterCount; i++) {
+            sb.append(parameters[i]);
+            sb.append(literals[i + 1]);
+        }
+        return sb.toString();
+    }
+
+}
@@ -14,24 +14,70 @@ import org.zowe.apiml.util.ClassOrDefaultProxyUtils;
 import org.zowe.apiml.util.ObjectUtil;
 import lombok.AllArgsConstructor;
 import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * This class allows to get a PassTicket from SAF.
+ *
+ * The implementation of IRRPassTicket is not thread-safe. To avoid waiting of all requests on a single instance,
+ * the service keeps a pool of instances, each one is used just by one thread at the moment.
+ *
+ * Optionally, the generated PassTickets could be cached per user and application for a short time (within the
+ * validity of PassTicket). It is disabled by default, because the application could be protected against replay
+ * of the same PassTicket.
  */
+@Slf4j
 public class PassTicketService {
 
+    public static final int DEFAULT_GENERATOR_POOL_SIZE = 8;
+
+    // limit of cached PassTickets, when it is reached the expired ones are removed
+    private static final int CACHE_PURGE_THRESHOLD = 10_000;
+
     private final IRRPassTicket irrPassTicket;
+    private final BlockingQueue<IRRPassTicket> generators;
+
+    private final long cacheTtlNanos;
+    private final Map<UserApp, CachedPassTicket> passTicketCache = new ConcurrentHashMap<>();
 
     public PassTicketService() {
-        this.irrPassTicket = ClassOrDefaultProxyUtils.createProxy(IRRPassTicket.class,
-            "com.ibm.eserver.zos.racf.IRRPassTicket", DefaultPassTicketImpl::new,
+        this(DEFAULT_GENERATOR_POOL_SIZE, 0);
+    }
+
+    /**
+     * @param generatorPoolSize number of IRRPassTicket instances to be used concurrently
+     * @param cacheTtlMs time to cache generated PassTicket per user and application, 0 disables the cache
+     */
+    public PassTicketService(int generatorPoolSize, long cacheTtlMs) {
+        this(generatorPoolSize, cacheTtlMs, createGeneratorFactory());
+    }
+
+    PassTicketService(int generatorPoolSize, long cacheTtlMs, Supplier<IRRPassTicket> generatorFactory) {
+        int poolSize = Math.max(1, generatorPoolSize);
+        this.generators = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            generators.add(generatorFactory.get());
+        }
+        this.irrPassTicket = generators.peek();
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, cacheTtlMs));
+    }
+
+    private static Supplier<IRRPassTicket> createGeneratorFactory() {
+        // the dummy implementation is shared to evaluate PassTickets generated by any instance in the pool
+        DefaultPassTicketImpl defaultImplementation = new DefaultPassTicketImpl();
+        return () -> ClassOrDefaultProxyUtils.createProxy(IRRPassTicket.class,
+            "com.ibm.eserver.zos.racf.IRRPassTicket", () -> defaultImplementation,
             new ClassOrDefaultProxyUtils.ByMethodName<>(
                 "com.ibm.eserver.zos.racf.IRRPassTicketEvaluationException",
                 IRRPassTicketEvaluationException.class, "getSafRc", "getRacfRc", "getRacfRsn"),
@@ -40,14 +86,59 @@ public class PassTicketService {
                 IRRPassTicketGenerationException.class, "getSafRc", "getRacfRc", "getRacfRsn"));
     }
 
-    // IRRPassTicket is not thread-safe, must be synchronized
-    public synchronized void evaluate(String userId, String applId, String passTicket) throws IRRPassTicketEvaluationException {
-        irrPassTicket.evaluate(userId.toUpperCase(), applId.toUpperCase(), passTicket.toUpperCase());
+    private IRRPassTicket borrow() {
+        try {
+            return generators.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for PassTicket generator", e);
+        }
     }
 
-    // IRRPassTicket is not thread-safe, must be synchronized
-    public synchronized String generate(String userId, String applId) throws IRRPassTicketGenerationException {
-        return irrPassTicket.generate(userId.toUpperCase(), applId.toUpperCase());
+    // IRRPassTicket is not thread-safe, each instance is used just by one thread
+    public void evaluate(String userId, String applId, String passTicket) throws IRRPassTicketEvaluationException {
+        IRRPassTicket generator = borrow();
+        try {
+            generator.evaluate(userId.toUpperCase(), applId.toUpperCase(), passTicket.toUpperCase());
+        } finally {
+            generators.add(generator);
+        }
+    }
+
+    // IRRPassTicket is not thread-safe, each instance is used just by one thread
+    public String generate(String userId, String applId) throws IRRPassTicketGenerationException {
+        UserApp userApp = new UserApp(userId.toUpperCase(), applId.toUpperCase());
+        if (cacheTtlNanos > 0) {
+            CachedPassTicket cached = passTicketCache.get(userApp);
+            if ((cached != null) && cached.isValid(System.nanoTime())) {
+                return cached.getPassTicket();
+            }
+        }
+
+        String passTicket;
+        IRRPassTicket generator = borrow();
+        try {
+            passTicket = generator.generate(userApp.getUserId(), userApp.getApplId());
+        } finally {
+            generators.add(generator);
+        }
+
+        if (cacheTtlNanos > 0) {
+            cache(userApp, passTicket);
+        }
+        return passTicket;
+    }
+
+    private void cache(UserApp userApp, String passTicket) {
+        long now = System.nanoTime();
+        if (passTicketCache.size() >= CACHE_PURGE_THRESHOLD) {
+            passTicketCache.values().removeIf(cached -> !cached.isValid(now));
+            if (passTicketCache.size() >= CACHE_PURGE_THRESHOLD) {
+                log.debug("Cache of PassTickets is full, it is cleared");
+                passTicketCache.clear();
+            }
+        }
+        passTicketCache.put(userApp, new CachedPassTicket(passTicket, now + cacheTtlNanos));
     }
 
     public boolean isUsingSafImplementation() {
@@ -55,9 +146,31 @@ public class PassTicketService {
         return stateInterface.isUsingBaseImplementation();
     }
 
+    @AllArgsConstructor
+    @Value
+    private static class UserApp {
+
+        String userId;
+        String applId;
+
+    }
+
+    @AllArgsConstructor
+    @Value
+    private static class CachedPassTicket {
+
+        String passTicket;
+        long expirationNanos;
+
+        boolean isValid(long now) {
+            return now - expirationNanos < 0;
+        }
+
+    }
+
     public static class DefaultPassTicketImpl implements IRRPassTicket {
 
-        private static int id = 0;
+        private static final AtomicInteger id = new AtomicInteger();
 
         public static final String ZOWE_DUMMY_USERID = "USER";
         public static final String ZOWE_DUMMY_PASS_TICKET_PREFIX = "ZOWE_DUMMY_PASS_TICKET";
@@ -66,7 +179,7 @@ public class PassTicketService {
         public static final String UNKNOWN_USER = "UNKNOWN_USER";
         public static final String UNKNOWN_APPLID = "XBADAPPL";
 
-        private final Map<UserApp, Set<String>> userAppToPasstickets = new HashMap<>();
+        private final Map<UserApp, Set<String>> userAppToPasstickets = new ConcurrentHashMap<>();
 
         @Override
         public void evaluate(String userId, String applId, String passTicket) throws IRRPassTicketEvaluationException {
@@ -104,26 +217,14 @@ public class PassTicketService {
             }
 
             final UserApp userApp = new UserApp(userId, applId);
-            final int currentId;
-            synchronized (DefaultPassTicketImpl.class) {
-                currentId = DefaultPassTicketImpl.id++;
-            }
+            final int currentId = id.getAndIncrement();
             final String passTicket = ZOWE_DUMMY_PASS_TICKET_PREFIX + "_" + applId + "_" + userId + "_" + currentId;
 
-            final Set<String> passTickets = userAppToPasstickets.computeIfAbsent(userApp, x -> new HashSet<>());
+            final Set<String> passTickets = userAppToPasstickets.computeIfAbsent(userApp, x -> ConcurrentHashMap.newKeySet());
             passTickets.add(passTicket);
 
             return passTicket;
         }
-
-        @AllArgsConstructor
-        @Value
-        private static class UserApp {
-
-            String userId;
-            String applId;
-
-        }
     }
 
 }
@@ -10,22 +10,34 @@
 
 package org.zowe.apiml.product.routing;
 
-import org.apache.commons.lang3.StringUtils;
 import org.zowe.apiml.util.UrlUtils;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Routes of a service. The lookup of the best matching route uses prefix tries built from the routes on the first
+ * lookup after any change, so it takes time proportional to the length of the url instead of the count of routes.
+ *
+ * The best matching route is the one with the longest service url (as it was registered, the length includes
+ * a trailing slash). If there are more such routes the first one in the iteration order of routes is used.
+ */
 public class RoutedServices {
     private final Map<String, RoutedService> routedService = new HashMap<>();
 
+    private volatile Indexes indexes;
+
     /**
      * Add route to the service
      *
      * @param route the route
      */
     public void addRoutedService(RoutedService route) {
-        routedService.put(route.getGatewayUrl(), route);
+        synchronized (routedService) {
+            routedService.put(route.getGatewayUrl(), route);
+            indexes = null;
+        }
     }
 
     /**
@@ -46,23 +58,10 @@ public class RoutedServices {
      * @return the route
      */
     public RoutedService getBestMatchingServiceUrl(String serviceUrl, ServiceType type) {
-        RoutedService result = null;
-        int maxSize = 0;
-
-        for (Map.Entry<String, RoutedService> serviceEntry : routedService.entrySet()) {
-            if (isServiceTypeMatch(serviceEntry, type)) {
-                RoutedService value = serviceEntry.getValue();
-                int size = value.getServiceUrl().length();
-                //Remove last slash for service url
-                String routeServiceUrl = UrlUtils.removeLastSlash(value.getServiceUrl().toLowerCase());
-                if (size > maxSize && serviceUrl.toLowerCase().startsWith(routeServiceUrl)) {
-                    result = value;
-                    maxSize = size;
-                }
-            }
+        if (serviceUrl == null) {
+            return null;
         }
-
-        return result;
+        return getIndexes().byType.get(type).find(serviceUrl.toLowerCase());
     }
 
     /**
@@ -72,38 +71,28 @@ public class RoutedServices {
      * @return the route
      */
     public RoutedService getBestMatchingApiUrl(String serviceUrl) {
-        RoutedService result = null;
-        int maxSize = 0;
+        if (serviceUrl == null) {
+            return null;
+        }
+        return getIndexes().api.find(serviceUrl.toLowerCase());
+    }
 
-        for (Map.Entry<String, RoutedService> serviceEntry : routedService.entrySet()) {
-            if (isServiceTypeMatch(serviceEntry, ServiceType.API)) {
-                RoutedService value = serviceEntry.getValue();
-                int size = value.getServiceUrl().length();
-                //Remove last slash for service url
-                String routeServiceUrl;
-                if ("/".equals(value.getServiceUrl())) {
-                    routeServiceUrl = value.getServiceUrl();
-                } else {
-                    routeServiceUrl = UrlUtils.removeLastSlash(value.getServiceUrl().toLowerCase());
-                }
-                if (size > maxSize && isMatchingApiRoute(serviceUrl, routeServiceUrl)) {
-                    result = value;
-                    maxSize = size;
+    /**
+     * The indexes are built under the same lock as routes are added, so an index of older routes cannot replace
+     * the reset made by {@link #addRoutedService(RoutedService)}.
+     */
+    private Indexes getIndexes() {
+        Indexes output = indexes;
+        if (output == null) {
+            synchronized (routedService) {
+                output = indexes;
+                if (output == null) {
+                    output = new Indexes(routedService);
+                    indexes = output;
                 }
             }
         }
-
-        return result;
-    }
-
-    private boolean isServiceTypeMatch(Map.Entry<String, RoutedService> serviceEntry, ServiceType type) {
-        String serviceEntryKey = serviceEntry.getKey().toLowerCase();
-        String typeName = type.name().toLowerCase();
-        return type.equals(ServiceType.ALL) || serviceEntryKey.startsWith(typeName);
-    }
-
-    private boolean isMatchingApiRoute(String serviceUrl, String routeServiceUrl) {
-        return StringUtils.startsWithIgnoreCase(serviceUrl, routeServiceUrl);
+        return output;
     }
 
     @Override
@@ -122,4 +111,111 @@ public class RoutedServices {
         builder.append("]");
         return builder.toString();
     }
+
+    /**
+     * Prefix tries of all routes. The service urls are normalized the same way for the lookup by service type and by
+     * api (the api lookup keeps the root route "/" as it is).
+     */
+    private static final class Indexes {
+
+        private final Map<ServiceType, PrefixTrie> byType = new EnumMap<>(ServiceType.class);
+        private final PrefixTrie api = new PrefixTrie();
+
+        Indexes(Map<String, RoutedService> routedService) {
+            for (ServiceType type : ServiceType.values()) {
+                byType.put(type, new PrefixTrie());
+            }
+
+            int order = 0;
+            for (Map.Entry<String, RoutedService> serviceEntry : routedService.entrySet()) {
+                RoutedService value = serviceEntry.getValue();
+                int size = value.getServiceUrl().length();
+                //Remove last slash for service url
+                String routeServiceUrl = UrlUtils.removeLastSlash(value.getServiceUrl().toLowerCase());
+                for (ServiceType type : ServiceType.values()) {
+                    if (isServiceTypeMatch(serviceEntry, type)) {
+                        byType.get(type).add(routeServiceUrl, size, order, value);
+                    }
+                }
+
+                if (isServiceTypeMatch(serviceEntry, ServiceType.API)) {
+                    api.add("/".equals(value.getServiceUrl()) ? value.getServiceUrl() : routeServiceUrl, size, order, value);
+                }
+                order++;
+            }
+        }
+
+        private static boolean isServiceTypeMatch(Map.Entry<String, RoutedService> serviceEntry, ServiceType type) {
+            String serviceEntryKey = serviceEntry.getKey().toLowerCase();
+            String typeName = type.name().toLowerCase();
+            return type.equals(ServiceType.ALL) || serviceEntryKey.startsWith(typeName);
+        }
+
+    }
+
+    /**
+     * Trie of normalized (lower case) service urls. Each node holds the best route ending in the node. The lookup
+     * walks the url and picks the best route of all visited nodes.
+     */
+    private static final class PrefixTrie {
+
+        private final Node root = new Node();
+
+        void add(String prefix, int size, int order, RoutedService route) {
+            if (size == 0) {
+                // empty service url has never been matched
+                return;
+            }
+
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+            }
+            node.best = better(node.best, new Candidate(size, order, route));
+        }
+
+        RoutedService find(String url) {
+            Node node = root;
+            Candidate best = root.best;
+            for (int i = 0; i < url.length(); i++) {
+                node = node.children.get(url.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                best = better(best, node.best);
+            }
+            return best == null ? null : best.route;
+        }
+
+        private static Candidate better(Candidate current, Candidate candidate) {
+            if (candidate == null) return current;
+            if (current == null) return candidate;
+            if (candidate.size > current.size) return candidate;
+            if ((candidate.size == current.size) && (candidate.order < current.order)) return candidate;
+            return current;
+        }
+
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private Candidate best;
+
+    }
+
+    private static final class Candidate {
+
+        private final int size;
+        private final int order;
+        private final RoutedService route;
+
+        Candidate(int size, int order, RoutedService route) {
+            this.size = size;
+            this.order = order;
+            this.route = route;
+        }
+
+    }
+
 }
@@ -10,18 +10,31 @@
 
 package org.zowe.apiml.message.log;
 
+import org.zowe.apiml.message.core.AbstractMessageService;
+import org.zowe.apiml.message.core.Message;
+import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.message.core.MessageType;
 
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.zowe.apiml.message.template.MessageTemplate;
+import org.zowe.apiml.message.template.MessageTemplates;
+
+import java.util.Collections;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -68,4 +81,71 @@ class ApimlLoggerTest {
         verify(logger, times(1)).error((Marker) any(), anyString(), (Object[]) any());
     }
 
+    @Nested
+    class GivenMessageOnDebugLevel {
+
+        private final Logger logger = mock(Logger.class);
+        private final MessageService messageService = new AbstractMessageService(null) {
+            @Override
+            public void loadMessages(String messagesFilePath) {
+                MessageTemplates messageTemplates = new MessageTemplates();
+                messageTemplates.setMessages(Collections.singletonList(
+                    new MessageTemplate("key", "ZWEAM001", MessageType.DEBUG, "Debug message: %s")
+                ));
+                addMessageTemplates(messageTemplates);
+            }
+        };
+        private final Marker marker = (Marker) ReflectionTestUtils.getField(ApimlLogger.class, "marker");
+        private final CountingParameter parameter = new CountingParameter();
+
+        private ApimlLogger apimlLogger;
+
+        @BeforeEach
+        void setUp() {
+            apimlLogger = new ApimlLogger(ApimlLoggerTest.class, messageService);
+            ReflectionTestUtils.setField(apimlLogger, "logger", logger);
+        }
+
+        @Test
+        void whenDebugIsDisabled_thenMessageIsNotFormatted() {
+            Message message = apimlLogger.log("key", parameter);
+
+            assertNotNull(message);
+            assertEquals(0, parameter.count);
+            verify(logger, never()).debug((Marker) any(), anyString(), (Object[]) any());
+        }
+
+        @Test
+        void whenDebugIsEnabled_thenMessageIsLogged() {
+            doReturn(true).when(logger).isDebugEnabled(marker);
+
+            apimlLogger.log("key", parameter);
+
+            assertEquals(1, parameter.count);
+            verify(logger).debug(eq(marker), eq("ZWEAM001D Debug message: parameter"), (Object[]) any());
+        }
+
+        @Test
+        void whenMessageIsUsedRepeatedly_thenItIsFormattedOnce() {
+            Message message = apimlLogger.log("key", parameter);
+
+            assertEquals("Debug message: parameter", message.getConvertedText());
+            assertEquals("ZWEAM001D Debug message: parameter", message.mapToLogMessage());
+            assertEquals(1, parameter.count);
+        }
+
+    }
+
+    private static class CountingParameter {
+
+        private int count;
+
+        @Override
+        public String toString() {
+            count++;
+            return "parameter";
+        }
+
+    }
+
 }
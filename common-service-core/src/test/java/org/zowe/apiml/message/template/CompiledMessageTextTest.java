@@ -0,0 +1,55 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.message.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.IllegalFormatConversionException;
+import java.util.MissingFormatArgumentException;
+import java.util.UnknownFormatConversionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledMessageTextTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", "No parameter", "%s", "Parameters %s and %s", "%s%s.", "100%% of %s%n", "Number %d", "Padded %5s", "Indexed %1$s"
+    })
+    void givenText_whenFormat_thenResultIsSameAsStringFormat(String text) {
+        Object[] parameters = {7, null};
+        assertEquals(String.format(text, parameters), CompiledMessageText.of(text).format(parameters));
+    }
+
+    @Test
+    void givenSameText_whenCompile_thenCachedInstanceIsReturned() {
+        assertSame(CompiledMessageText.of("Cached %s"), CompiledMessageText.of("Cached %s"));
+    }
+
+    @Test
+    void givenMissingParameter_whenValidate_thenThrowTheSameAsFormatter() {
+        CompiledMessageText text = CompiledMessageText.of("Parameters %s and %s");
+        Object[] parameters = {"one"};
+        assertThrows(MissingFormatArgumentException.class, () -> text.validate(parameters));
+    }
+
+    @Test
+    void givenInvalidConversion_whenValidate_thenThrowTheSameAsFormatter() {
+        Object[] parameters = {"text"};
+        assertThrows(IllegalFormatConversionException.class, () -> CompiledMessageText.of("Number %d").validate(parameters));
+        assertThrows(UnknownFormatConversionException.class, () -> CompiledMessageText.of("Invalid %").validate(parameters));
+    }
+
+}
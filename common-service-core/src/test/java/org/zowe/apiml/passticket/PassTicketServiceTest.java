@@ -14,11 +14,26 @@ import org.zowe.apiml.passticket.PassTicketService.DefaultPassTicketImpl;
 import org.zowe.apiml.util.ClassOrDefaultProxyUtils;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -48,8 +63,7 @@ class PassTicketServiceTest {
 
     @Test
     void testInit() throws IRRPassTicketEvaluationException, IRRPassTicketGenerationException {
-        PassTicketService passTicketService = new PassTicketService();
-        ReflectionTestUtils.setField(passTicketService, "irrPassTicket", new IRRPassTicket() {
+        PassTicketService passTicketService = new PassTicketService(1, 0, () -> new IRRPassTicket() {
             @Override
             public void evaluate(String userId, String applId, String passTicket) {
                 evaluated = userId + "-" + applId + "-" + passTicket;
@@ -178,6 +192,121 @@ class PassTicketServiceTest {
         assertEquals(AbstractIRRPassTicketException.ErrorCode.ERR_8_16_28, e.getErrorCode());
     }
 
+    @Nested
+    class Concurrency {
+
+        private static final int CALLS = 64;
+        private static final long GENERATION_TIME_MS = 5;
+
+        private final DefaultPassTicketImpl dummy = new DefaultPassTicketImpl();
+        private final AtomicInteger generations = new AtomicInteger();
+
+        // simulates the latency of the native call on the dummy implementation
+        private IRRPassTicket createSlowGenerator() {
+            return new IRRPassTicket() {
+                @Override
+                public void evaluate(String userId, String applId, String passTicket) throws IRRPassTicketEvaluationException {
+                    dummy.evaluate(userId, applId, passTicket);
+                }
+
+                @Override
+                public String generate(String userId, String applId) throws IRRPassTicketGenerationException {
+                    generations.incrementAndGet();
+                    try {
+                        Thread.sleep(GENERATION_TIME_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return dummy.generate(userId, applId);
+                }
+            };
+        }
+
+        private void generateConcurrently(PassTicketService service, int threads) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Callable<String>> tasks = new ArrayList<>();
+                for (int i = 0; i < CALLS; i++) {
+                    String userId = "user" + i;
+                    tasks.add(() -> {
+                        String passTicket = service.generate(userId, "applId");
+                        service.evaluate(userId, "applId", passTicket);
+                        return passTicket;
+                    });
+                }
+
+                for (Future<String> future : executor.invokeAll(tasks)) {
+                    assertNotNull(future.get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        void givenPoolOfGenerators_whenMoreThreadsGenerate_thenGeneratorsAreUsedConcurrently() throws Exception {
+            int poolSize = 4;
+            // the first calls wait until all generators are in use at the same time
+            CountDownLatch allBusy = new CountDownLatch(poolSize);
+            Set<IRRPassTicket> busy = ConcurrentHashMap.newKeySet();
+            AtomicInteger maxBusy = new AtomicInteger();
+            AtomicBoolean sharedUse = new AtomicBoolean();
+
+            PassTicketService service = new PassTicketService(poolSize, 0, () -> new IRRPassTicket() {
+                @Override
+                public void evaluate(String userId, String applId, String passTicket) throws IRRPassTicketEvaluationException {
+                    dummy.evaluate(userId, applId, passTicket);
+                }
+
+                @Override
+                public String generate(String userId, String applId) throws IRRPassTicketGenerationException {
+                    if (!busy.add(this)) {
+                        sharedUse.set(true);
+                    }
+                    maxBusy.accumulateAndGet(busy.size(), Math::max);
+                    try {
+                        allBusy.countDown();
+                        allBusy.await(10, TimeUnit.SECONDS);
+                        generations.incrementAndGet();
+                        return dummy.generate(userId, applId);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    } finally {
+                        busy.remove(this);
+                    }
+                }
+            });
+
+            generateConcurrently(service, 2 * poolSize);
+
+            assertEquals(CALLS, generations.get());
+            // all generators of the pool were used at once, but each one just by one thread
+            assertEquals(poolSize, maxBusy.get());
+            assertFalse(sharedUse.get());
+        }
+
+        @Test
+        void givenCache_whenGenerateRepeatedly_thenReuseThePassTicket() throws Exception {
+            PassTicketService service = new PassTicketService(2, 60_000, this::createSlowGenerator);
+
+            String passTicket = service.generate("user1", "applId");
+            assertEquals(passTicket, service.generate("USER1", "APPLID"));
+            assertNotEquals(passTicket, service.generate("user1", "applId2"));
+
+            assertEquals(2, generations.get());
+        }
+
+        @Test
+        void givenDisabledCache_whenGenerateRepeatedly_thenGenerateNewPassTickets() throws Exception {
+            PassTicketService service = new PassTicketService(2, 0, this::createSlowGenerator);
+
+            assertNotEquals(service.generate("user1", "applId"), service.generate("user1", "applId"));
+            assertEquals(2, generations.get());
+        }
+
+    }
+
     public static class Impl implements IRRPassTicket {
 
         @Override
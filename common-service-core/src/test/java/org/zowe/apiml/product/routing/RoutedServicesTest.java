@@ -11,11 +11,21 @@
 package org.zowe.apiml.product.routing;
 
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.zowe.apiml.util.UrlUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class RoutedServicesTest {
 
@@ -127,4 +137,144 @@ class RoutedServicesTest {
         RoutedService routedService = routedServ.getBestMatchingApiUrl("/");
         assertEquals("/", routedService.getServiceUrl());
     }
+
+    @Test
+    void givenRouteWithEmptyServiceUrl_thenItIsNeverMatched() {
+        RoutedServices routedServ = new RoutedServices();
+        routedServ.addRoutedService(new RoutedService("api_v1", "api/v1", ""));
+
+        assertNull(routedServ.getBestMatchingServiceUrl("/any", ServiceType.ALL));
+        assertNull(routedServ.getBestMatchingApiUrl("/any"));
+    }
+
+    @Test
+    void givenRouteAddedAfterLookup_thenItIsFound() {
+        assertEquals("/apicatalog", routedServices.getBestMatchingApiUrl("/apicatalog/api/v2").getServiceUrl());
+
+        routedServices.addRoutedService(new RoutedService("api_v2", "api/v2", "/apicatalog/api/v2"));
+
+        assertEquals("/apicatalog/api/v2", routedServices.getBestMatchingApiUrl("/apicatalog/api/v2/x").getServiceUrl());
+    }
+
+    @Test
+    void givenNullUrl_thenNothingIsMatched() {
+        assertNull(routedServices.getBestMatchingServiceUrl(null, ServiceType.ALL));
+        assertNull(routedServices.getBestMatchingApiUrl(null));
+    }
+
+    @Test
+    void givenLookupsDuringAdding_thenAllRoutesAreFoundAfterwards() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (running.get()) {
+                    routedServices.getBestMatchingApiUrl("/apicatalog/api/v1");
+                }
+            });
+            readers[i].start();
+        }
+
+        try {
+            for (int i = 0; i < 1000; i++) {
+                routedServices.addRoutedService(new RoutedService("api_v" + i, "api/v" + i, "/service" + i));
+            }
+        } finally {
+            running.set(false);
+            for (Thread reader : readers) {
+                reader.join();
+            }
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("/service" + i, routedServices.getBestMatchingApiUrl("/service" + i + "/x").getServiceUrl());
+        }
+    }
+
+    /**
+     * Compares the results with the linear scan the lookup was implemented by originally. The alphabet is small to
+     * generate a lot of common prefixes, different cases, trailing slashes and routes with the same length.
+     */
+    @Nested
+    class GivenRandomRoutes {
+
+        private static final String ALPHABET = "/aAb";
+        private static final String[] TYPES = {"api", "ui", "ws", "API", "other"};
+
+        private final Random random = new Random(42);
+
+        private String randomString(int maxLength) {
+            int length = random.nextInt(maxLength + 1);
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            return sb.toString();
+        }
+
+        @Test
+        void thenResultIsSameAsLinearScan() {
+            for (int i = 0; i < 500; i++) {
+                // the same insertion order into the same map implementation guarantees the same order of iteration
+                RoutedServices routes = new RoutedServices();
+                Map<String, RoutedService> map = new HashMap<>();
+                int count = random.nextInt(20);
+                for (int j = 0; j < count; j++) {
+                    String gatewayUrl = TYPES[random.nextInt(TYPES.length)] + "/v" + j;
+                    String serviceUrl = random.nextInt(10) == 0 ? "/" : "/" + randomString(5);
+                    RoutedService route = new RoutedService("s" + j, gatewayUrl, serviceUrl);
+                    routes.addRoutedService(route);
+                    map.put(gatewayUrl, route);
+                }
+
+                for (int j = 0; j < 20; j++) {
+                    String url = "/" + randomString(7);
+                    for (ServiceType type : ServiceType.values()) {
+                        assertSame(linearServiceUrl(map, url, type), routes.getBestMatchingServiceUrl(url, type), () -> routes + " " + url + " " + type);
+                    }
+                    assertSame(linearApiUrl(map, url), routes.getBestMatchingApiUrl(url), () -> routes + " " + url);
+                }
+            }
+        }
+
+        private RoutedService linearServiceUrl(Map<String, RoutedService> routedService, String serviceUrl, ServiceType type) {
+            RoutedService result = null;
+            int maxSize = 0;
+            for (Map.Entry<String, RoutedService> serviceEntry : routedService.entrySet()) {
+                if (isServiceTypeMatch(serviceEntry, type)) {
+                    RoutedService value = serviceEntry.getValue();
+                    int size = value.getServiceUrl().length();
+                    String routeServiceUrl = UrlUtils.removeLastSlash(value.getServiceUrl().toLowerCase());
+                    if (size > maxSize && serviceUrl.toLowerCase().startsWith(routeServiceUrl)) {
+                        result = value;
+                        maxSize = size;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private RoutedService linearApiUrl(Map<String, RoutedService> routedService, String serviceUrl) {
+            RoutedService result = null;
+            int maxSize = 0;
+            for (Map.Entry<String, RoutedService> serviceEntry : routedService.entrySet()) {
+                if (isServiceTypeMatch(serviceEntry, ServiceType.API)) {
+                    RoutedService value = serviceEntry.getValue();
+                    int size = value.getServiceUrl().length();
+                    String routeServiceUrl = "/".equals(value.getServiceUrl()) ? value.getServiceUrl() : UrlUtils.removeLastSlash(value.getServiceUrl().toLowerCase());
+                    if (size > maxSize && StringUtils.startsWithIgnoreCase(serviceUrl, routeServiceUrl)) {
+                        result = value;
+                        maxSize = size;
+                    }
+                }
+            }
+            return result;
+        }
+
+        private boolean isServiceTypeMatch(Map.Entry<String, RoutedService> serviceEntry, ServiceType type) {
+            return type.equals(ServiceType.ALL) || serviceEntry.getKey().toLowerCase().startsWith(type.name().toLowerCase());
+        }
+
+    }
+
 }
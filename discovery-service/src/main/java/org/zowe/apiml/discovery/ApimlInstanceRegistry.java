@@ -18,6 +18,10 @@ import com.netflix.eureka.registry.AbstractInstanceRegistry;
 import com.netflix.eureka.registry.PeerAwareInstanceRegistryImpl;
 import com.netflix.eureka.resources.ServerCodecs;
 import com.netflix.eureka.transport.EurekaServerHttpClientFactory;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.netflix.eureka.server.InstanceRegistry;
 import org.springframework.cloud.netflix.eureka.server.InstanceRegistryProperties;
@@ -31,6 +35,13 @@ import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 /**
@@ -41,9 +52,15 @@ import java.util.regex.Pattern;
  * <p>
  * #2659 Race condition with registration events in Eureka server
  * https://github.com/spring-cloud/spring-cloud-netflix/issues/2659
+ * <p>
+ * The method handles are bound to the registry and adapted to the exact types of the calls, so they are invoked by
+ * {@link MethodHandle#invokeExact(Object...)} without boxing of arguments. The latency of each operation is measured,
+ * see {@link #getOperationStats()}, and published as meters (see {@link #bindTo(MeterRegistry)}).
  */
 @Slf4j
-public class ApimlInstanceRegistry extends InstanceRegistry {
+public class ApimlInstanceRegistry extends InstanceRegistry implements MeterBinder {
+
+    static final String METRICS_NAME = "apiml.discovery.registry.operation";
 
     private static final String EXCEPTION_MESSAGE = "Implementation of InstanceRegistry changed, please verify fix of order sending events";
 
@@ -58,6 +75,14 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
     private final ApplicationContext appCntx;
     private final EurekaConfig.Tuple tuple;
 
+    // patterns of the service ID replacer, they are compiled just once (renew is called for each heartbeat)
+    private Pattern servicePrefixPattern;
+    private Pattern appNamePattern;
+    private Pattern instanceIdPattern;
+    private String targetValue;
+
+    private final Map<Operation, OperationStats> operationStats = new EnumMap<>(Operation.class);
+
     public ApimlInstanceRegistry(
         EurekaServerConfig serverConfig,
         EurekaClientConfig clientConfig,
@@ -75,13 +100,31 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
         );
         this.appCntx = appCntx;
         this.tuple = tuple;
+        for (Operation operation : Operation.values()) {
+            operationStats.put(operation, new OperationStats());
+        }
+        initReplacer();
         init();
     }
 
+    private void initReplacer() {
+        if (tuple.isValid()) {
+            String servicePrefix = tuple.getOldPrefix();
+            if (!servicePrefix.contains("*")) {
+                servicePrefix = servicePrefix + "*";
+            }
+            servicePrefixPattern = Pattern.compile("(?i)^" + servicePrefix);
+            appNamePattern = Pattern.compile("(?i)^" + tuple.getOldPrefix());
+            instanceIdPattern = Pattern.compile("(?i):" + tuple.getOldPrefix());
+            targetValue = tuple.getNewPrefix().replace("*", "");
+        }
+    }
+
 
     /**
      * Prepare method handlers to overridden methods to reimplement methods in InstanceRegistry, which contains a race
-     * condition problem. Handlers are faster than reflection, close to bytecode.
+     * condition problem. Handlers are faster than reflection, close to bytecode. Each handler is bound to this registry
+     * and has the exact type of the call site.
      */
     private void init() {
         try {
@@ -90,21 +133,21 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
                     InstanceInfo.class, int.class, boolean.class
                 );
             registrationMethod.setAccessible(true);
-            handleRegistrationMethod = MethodHandles.lookup().unreflect(registrationMethod);
+            handleRegistrationMethod = MethodHandles.lookup().unreflect(registrationMethod).bindTo(this);
 
             Method cancelationMethod =
                 InstanceRegistry.class.getDeclaredMethod("handleCancelation",
                     String.class, String.class, boolean.class
                 );
             cancelationMethod.setAccessible(true);
-            handleCancellationMethod = MethodHandles.lookup().unreflect(cancelationMethod);
+            handleCancellationMethod = MethodHandles.lookup().unreflect(cancelationMethod).bindTo(this);
 
             Method resolveInstanceLeaseDurationMethod =
                 InstanceRegistry.class.getDeclaredMethod("resolveInstanceLeaseDuration",
                     InstanceInfo.class
                 );
             resolveInstanceLeaseDurationMethod.setAccessible(true);
-            handlerResolveInstanceLeaseDurationMethod = MethodHandles.lookup().unreflect(resolveInstanceLeaseDurationMethod);
+            handlerResolveInstanceLeaseDurationMethod = MethodHandles.lookup().unreflect(resolveInstanceLeaseDurationMethod).bindTo(this);
 
             Constructor<MethodHandles.Lookup> lookupConstructor = MethodHandles.Lookup.class.getDeclaredConstructor(Class.class);
             lookupConstructor.setAccessible(true);
@@ -116,7 +159,7 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
                     "register",
                     MethodType.methodType(void.class, InstanceInfo.class, boolean.class),
                     PeerAwareInstanceRegistryImpl.class
-                );
+                ).bindTo(this);
 
             cancelMethodHandle =
                 lookup.findSpecial(
@@ -124,7 +167,7 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
                     "cancel",
                     MethodType.methodType(boolean.class, String.class, String.class, boolean.class),
                     PeerAwareInstanceRegistryImpl.class
-                );
+                ).bindTo(this);
 
             lookup = lookupConstructor.newInstance(AbstractInstanceRegistry.class);
 
@@ -134,7 +177,7 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
                     "register",
                     MethodType.methodType(void.class, InstanceInfo.class, int.class, boolean.class),
                     AbstractInstanceRegistry.class
-                );
+                ).bindTo(this);
         } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException e) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, e);
         }
@@ -142,7 +185,7 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
 
     protected int resolveInstanceLeaseDurationRewritten(final InstanceInfo info) {
         try {
-            return (int) handlerResolveInstanceLeaseDurationMethod.invokeWithArguments(this, info);
+            return (int) handlerResolveInstanceLeaseDurationMethod.invokeExact(info);
         } catch (ClassCastException | WrongMethodTypeException e) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, e);
         } catch (RuntimeException re) {
@@ -154,40 +197,47 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
 
     @Override
     public void register(InstanceInfo info, int leaseDuration, boolean isReplication) {
-            info = changeServiceId(info);
+        final long start = System.nanoTime();
+        info = changeServiceId(info);
         try {
-            register3ArgsMethodHandle.invokeWithArguments(this, info, leaseDuration, isReplication);
-            handleRegistrationMethod.invokeWithArguments(this, info, leaseDuration, isReplication);
+            register3ArgsMethodHandle.invokeExact(info, leaseDuration, isReplication);
+            handleRegistrationMethod.invokeExact(info, leaseDuration, isReplication);
         } catch (ClassCastException | WrongMethodTypeException e) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, e);
         } catch (RuntimeException re) {
             throw re;
         } catch (Throwable t) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, t);
+        } finally {
+            record(Operation.REGISTER, start);
         }
     }
 
     @Override
     public void register(InstanceInfo info, final boolean isReplication) {
-            info = changeServiceId(info);
+        final long start = System.nanoTime();
+        info = changeServiceId(info);
         try {
-            register2ArgsMethodHandle.invokeWithArguments(this, info, isReplication);
-            handleRegistrationMethod.invokeWithArguments(this, info, resolveInstanceLeaseDurationRewritten(info), isReplication);
+            register2ArgsMethodHandle.invokeExact(info, isReplication);
+            handleRegistrationMethod.invokeExact(info, resolveInstanceLeaseDurationRewritten(info), isReplication);
         } catch (ClassCastException | WrongMethodTypeException e) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, e);
         } catch (RuntimeException re) {
             throw re;
         } catch (Throwable t) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, t);
+        } finally {
+            record(Operation.REGISTER, start);
         }
     }
 
     @Override
     public boolean cancel(String appName, String serverId, boolean isReplication) {
+        final long start = System.nanoTime();
         try {
             String[] updatedValues = replaceValues(appName, serverId);
-            final boolean out = (boolean) cancelMethodHandle.invokeWithArguments(this, updatedValues[0], updatedValues[1], isReplication);
-            handleCancellationMethod.invokeWithArguments(this, updatedValues[0], updatedValues[1], isReplication);
+            final boolean out = (boolean) cancelMethodHandle.invokeExact(updatedValues[0], updatedValues[1], isReplication);
+            handleCancellationMethod.invokeExact(updatedValues[0], updatedValues[1], isReplication);
             return out;
         } catch (ClassCastException | WrongMethodTypeException e) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, e);
@@ -195,36 +245,76 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
             throw re;
         } catch (Throwable t) {
             throw new IllegalArgumentException(EXCEPTION_MESSAGE, t);
+        } finally {
+            record(Operation.CANCEL, start);
         }
     }
 
     @Override
     public boolean renew(String appName, String serverId, boolean isReplication) {
-        String[] updatedValues = replaceValues(appName, serverId);
-        return super.renew(updatedValues[0], updatedValues[1], isReplication);
+        final long start = System.nanoTime();
+        try {
+            String[] updatedValues = replaceValues(appName, serverId);
+            return super.renew(updatedValues[0], updatedValues[1], isReplication);
+        } finally {
+            record(Operation.RENEW, start);
+        }
     }
 
     @Override
     public boolean statusUpdate(String appName, String instanceId, InstanceInfo.InstanceStatus newStatus, String lastDirtyTimestamp, boolean isReplication) {
-        String[] updatedValues = replaceValues(appName, instanceId);
-        boolean isUpdated = super.statusUpdate(updatedValues[0], updatedValues[1], newStatus, lastDirtyTimestamp, isReplication);
-        this.appCntx.publishEvent(new EurekaStatusUpdateEvent(this, appName, instanceId));
-        return isUpdated;
+        final long start = System.nanoTime();
+        try {
+            String[] updatedValues = replaceValues(appName, instanceId);
+            boolean isUpdated = super.statusUpdate(updatedValues[0], updatedValues[1], newStatus, lastDirtyTimestamp, isReplication);
+            this.appCntx.publishEvent(new EurekaStatusUpdateEvent(this, appName, instanceId));
+            return isUpdated;
+        } finally {
+            record(Operation.STATUS_UPDATE, start);
+        }
+    }
+
+    private void record(Operation operation, long start) {
+        operationStats.get(operation).record(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns latency counters of the registry operations. The values are cumulative since the start of the registry.
+     *
+     * @return counters of each operation
+     */
+    public Map<Operation, OperationStats> getOperationStats() {
+        return Collections.unmodifiableMap(operationStats);
+    }
+
+    /**
+     * Publishes the counters of each operation as a timer (count and total time) and a gauge of the maximal time. The
+     * meters are tagged by the name of the operation.
+     *
+     * @param registry registry of meters
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        operationStats.forEach((operation, stats) -> {
+            String tag = operation.name().toLowerCase(Locale.ROOT);
+            FunctionTimer.builder(METRICS_NAME, stats, OperationStats::getCount, OperationStats::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tag("operation", tag)
+                .description("Latency of the registry operation")
+                .register(registry);
+            TimeGauge.builder(METRICS_NAME + ".max", stats, TimeUnit.NANOSECONDS, OperationStats::getMaxNanos)
+                .tag("operation", tag)
+                .description("Maximal latency of the registry operation")
+                .register(registry);
+        });
     }
 
     private String[] replaceValues(String appName, String instanceId) {
         if (tuple.isValid()) {
-            String appNameRegex = "(?i)^" + tuple.getOldPrefix();
-            String instanceIdRegex = "(?i):" + tuple.getOldPrefix();
-            String targetValue = tuple.getNewPrefix();
-            if (targetValue.contains("*")) {
-                targetValue = targetValue.replace("*", "");
-            }
-            appName = appName.replaceAll(appNameRegex, targetValue).toUpperCase();
+            appName = appNamePattern.matcher(appName).replaceAll(targetValue).toUpperCase();
             if (instanceId.contains(":")) {
-                instanceId = instanceId.replaceAll(instanceIdRegex, ":" + targetValue);
+                instanceId = instanceIdPattern.matcher(instanceId).replaceAll(":" + targetValue);
             } else {
-                instanceId = instanceId.replaceAll(appNameRegex, targetValue);
+                instanceId = appNamePattern.matcher(instanceId).replaceAll(targetValue);
             }
         }
         return new String[]{appName,instanceId};
@@ -237,14 +327,9 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
      */
     protected InstanceInfo changeServiceId(final InstanceInfo info) {
         if (tuple.isValid()) {
-            String servicePrefix = tuple.getOldPrefix();
-            if (!servicePrefix.contains("*")) {
-                servicePrefix = servicePrefix + "*";
-            }
             String instanceId = info.getInstanceId();
             String appName = info.getAppName();
-            Pattern p = Pattern.compile("(?i)^" + servicePrefix);
-            if (p.matcher(appName).find()) {
+            if (servicePrefixPattern.matcher(appName).find()) {
                 String[] updatedValues = replaceValues(appName, instanceId);
                 log.debug("The instance ID of {} service has been changed to {}.", info.getAppName(), updatedValues[1]);
                 return new InstanceInfo.Builder(info)
@@ -259,4 +344,48 @@ public class ApimlInstanceRegistry extends InstanceRegistry {
         return info;
     }
 
+    /**
+     * Operations of the registry with measured latency.
+     */
+    public enum Operation {
+
+        REGISTER, RENEW, CANCEL, STATUS_UPDATE
+
+    }
+
+    /**
+     * Latency counters of a single operation. The time includes the whole call, also the parent implementation and
+     * sending of events.
+     */
+    public static class OperationStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public double getAverageNanos() {
+            long calls = getCount();
+            return calls == 0 ? 0 : (double) getTotalNanos() / calls;
+        }
+
+    }
+
 }
@@ -21,13 +21,16 @@ import com.netflix.eureka.transport.EurekaServerHttpClientFactory;
 import jakarta.ws.rs.client.ClientRequestFilter;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cloud.netflix.eureka.server.InstanceRegistryProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
 import org.zowe.apiml.discovery.ApimlInstanceRegistry;
 import org.zowe.apiml.discovery.eureka.RefreshablePeerEurekaNodes;
+import org.zowe.apiml.discovery.eureka.ReplicationCompressionFilter;
 
 import java.util.Collection;
 
@@ -43,6 +46,21 @@ public class EurekaConfig {
     @Value("${apiml.discovery.maxPeerRetries:10}")
     private int maxPeerRetries;
 
+    @Value("${apiml.discovery.replication.batchSize:250}")
+    private int replicationBatchSize;
+
+    @Value("${apiml.discovery.replication.maxBatchingDelayMs:500}")
+    private long replicationMaxBatchingDelayMs;
+
+    @Value("${apiml.discovery.replication.shards:1}")
+    private int replicationShards;
+
+    @Value("${apiml.discovery.replication.compression:true}")
+    private boolean replicationCompression;
+
+    @Value("${apiml.discovery.replication.maxDecompressedSize:10485760}")
+    private int replicationMaxDecompressedSize;
+
     @Bean
     @Primary
     public ApimlInstanceRegistry getApimlInstanceRegistry(
@@ -64,7 +82,17 @@ public class EurekaConfig {
                                            Collection<ClientRequestFilter> replicationClientAdditionalFilters, ApplicationInfoManager applicationInfoManager, EurekaServerConfig eurekaServerConfig, EurekaClientConfig eurekaClientConfig) {
         return new RefreshablePeerEurekaNodes(registry, eurekaServerConfig,
             eurekaClientConfig, serverCodecs, applicationInfoManager,
-            replicationClientAdditionalFilters, maxPeerRetries);
+            replicationClientAdditionalFilters, maxPeerRetries,
+            replicationBatchSize, replicationMaxBatchingDelayMs, replicationShards, replicationCompression);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicationCompressionFilter> replicationCompressionFilter() {
+        FilterRegistrationBean<ReplicationCompressionFilter> registration = new FilterRegistrationBean<>(new ReplicationCompressionFilter(replicationCompression, replicationMaxDecompressedSize));
+        // replication client of the peer reads the advertisement from a response of any Eureka endpoint
+        registration.addUrlPatterns("/eureka/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
     }
 
 
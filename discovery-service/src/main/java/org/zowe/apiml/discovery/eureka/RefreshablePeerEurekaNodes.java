@@ -44,6 +44,10 @@ public class RefreshablePeerEurekaNodes extends PeerEurekaNodes
 
     private Collection<ClientRequestFilter> replicationClientAdditionalFilters;
     private int maxPeerRetries;
+    private int batchSize = ApimlPeerEurekaNode.BATCH_SIZE;
+    private long maxBatchingDelayMs = ApimlPeerEurekaNode.MAX_BATCHING_DELAY_MS;
+    private int shards = ApimlPeerEurekaNode.SHARDS;
+    private boolean compression;
 
     public RefreshablePeerEurekaNodes(final PeerAwareInstanceRegistry registry,
                                       final EurekaServerConfig serverConfig,
@@ -57,20 +61,44 @@ public class RefreshablePeerEurekaNodes extends PeerEurekaNodes
         this.maxPeerRetries = maxPeerRetries;
     }
 
+    /**
+     * @param batchSize          maximum count of replication tasks in one batch request
+     * @param maxBatchingDelayMs maximum time to wait for more tasks before a batch is sent
+     * @param shards             count of parallel batching dispatchers per peer
+     * @param compression        compress replication requests if the peer supports it
+     */
+    public RefreshablePeerEurekaNodes(final PeerAwareInstanceRegistry registry,
+                                      final EurekaServerConfig serverConfig,
+                                      final EurekaClientConfig clientConfig, final ServerCodecs serverCodecs,
+                                      final ApplicationInfoManager applicationInfoManager,
+                                      final Collection<ClientRequestFilter> replicationClientAdditionalFilters,
+                                      final int maxPeerRetries,
+                                      final int batchSize, final long maxBatchingDelayMs, final int shards,
+                                      final boolean compression) {
+        this(registry, serverConfig, clientConfig, serverCodecs, applicationInfoManager,
+            replicationClientAdditionalFilters, maxPeerRetries);
+        this.batchSize = batchSize;
+        this.maxBatchingDelayMs = maxBatchingDelayMs;
+        this.shards = shards;
+        this.compression = compression;
+    }
+
     @Override
     public PeerEurekaNode createPeerEurekaNode(String peerEurekaNodeUrl) {
-        HttpReplicationClient replicationClient = createReplicationClient(serverConfig, serverCodecs, peerEurekaNodeUrl, replicationClientAdditionalFilters);
+        HttpReplicationClient replicationClient = createReplicationClient(serverConfig, serverCodecs, peerEurekaNodeUrl, replicationClientAdditionalFilters, compression);
 
 
         String targetHost = hostFromUrl(peerEurekaNodeUrl);
         if (targetHost == null) {
             targetHost = "host";
         }
-        return new ApimlPeerEurekaNode(registry, targetHost, peerEurekaNodeUrl, replicationClient, serverConfig, maxPeerRetries);
+        return new ApimlPeerEurekaNode(registry, targetHost, peerEurekaNodeUrl, replicationClient, serverConfig,
+            batchSize, maxBatchingDelayMs, shards, maxPeerRetries);
     }
 
     private static Jersey3ReplicationClient createReplicationClient(EurekaServerConfig config,
-                                                                    ServerCodecs serverCodecs, String serviceUrl, Collection<ClientRequestFilter> additionalFilters) {
+                                                                    ServerCodecs serverCodecs, String serviceUrl, Collection<ClientRequestFilter> additionalFilters,
+                                                                    boolean compression) {
         String name = Jersey3ReplicationClient.class.getSimpleName() + ": " + serviceUrl + "apps/: ";
 
         EurekaJersey3Client jerseyClient;
@@ -111,6 +139,8 @@ public class RefreshablePeerEurekaNodes extends PeerEurekaNodes
 
         Client jerseyApacheClient = jerseyClient.getClient();
         jerseyApacheClient.register(new Jersey3DynamicGZIPContentEncodingFilter(config));
+        // negotiated compression, the state is per peer, so the instance cannot be shared
+        jerseyApacheClient.register(new ReplicationCompressionClientFilter(compression));
 
         for (ClientRequestFilter filter : additionalFilters) {
             jerseyApacheClient.register(filter);
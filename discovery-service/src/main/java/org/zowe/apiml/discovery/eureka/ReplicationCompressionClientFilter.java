@@ -0,0 +1,84 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.discovery.eureka;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import static org.zowe.apiml.discovery.eureka.ReplicationCompressionFilter.GZIP;
+
+/**
+ * Client side of compressed peer replication, one instance per peer. The request bodies are compressed only after
+ * the peer advertises the support by {@code Accept-Encoding: gzip} in a response (see {@link ReplicationCompressionFilter}).
+ * Each response updates the state, so if the peer stops advertising it (i.e. it was downgraded), the requests are
+ * sent uncompressed again.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicationCompressionClientFilter implements ClientRequestFilter, ClientResponseFilter, WriterInterceptor {
+
+    private static final String COMPRESS_PROPERTY = ReplicationCompressionClientFilter.class.getName() + ".compress";
+
+    private final boolean compressionEnabled;
+
+    private volatile boolean acceptedByPeer;
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        if (compressionEnabled && acceptedByPeer && requestContext.hasEntity()
+            && !requestContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+        ) {
+            requestContext.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+            requestContext.setProperty(COMPRESS_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        String acceptEncoding = responseContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        boolean accepted = acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+        if (accepted != acceptedByPeer) {
+            log.debug("Peer {} {} compressed replication", requestContext.getUri().getHost(), accepted ? "supports" : "does not support");
+            acceptedByPeer = accepted;
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!Boolean.TRUE.equals(context.getProperty(COMPRESS_PROPERTY))) {
+            context.proceed();
+            return;
+        }
+
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(context.getOutputStream());
+        context.setOutputStream(gzipOutputStream);
+        try {
+            context.proceed();
+        } finally {
+            gzipOutputStream.finish();
+        }
+    }
+
+    boolean isAcceptedByPeer() {
+        return acceptedByPeer;
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.discovery.eureka;
+
+import com.netflix.eureka.cluster.PeerEurekaNode;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Server side of compressed peer replication. The filter decompresses gzip encoded bodies of replication requests
+ * (header {@code x-netflix-discovery-replication: true}) and, if the compression is enabled, advertises the support to
+ * the peer by the response header {@code Accept-Encoding: gzip} (see RFC 7694). The peer starts compressing the
+ * requests only after it receives this header, so the nodes of different versions can still replicate.
+ *
+ * The decompressed body is limited by {@code maxDecompressedSize}. A larger body is rejected with the status 413 before
+ * it reaches Eureka, so a small compressed request cannot exhaust the memory of the discovery service.
+ */
+@RequiredArgsConstructor
+public class ReplicationCompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+
+    private final boolean compressionEnabled;
+    private final int maxDecompressedSize;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (compressionEnabled) {
+            response.setHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+
+        if (isReplication(request) && GZIP.equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            byte[] body;
+            try {
+                body = decompress(request);
+            } catch (PayloadTooLargeException e) {
+                response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+                return;
+            } catch (ZipException | EOFException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid gzip body: " + e.getMessage());
+                return;
+            }
+            request = new GzipRequestWrapper(request, body);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isReplication(HttpServletRequest request) {
+        return "true".equalsIgnoreCase(request.getHeader(PeerEurekaNode.HEADER_REPLICATION));
+    }
+
+    private byte[] decompress(HttpServletRequest request) throws IOException {
+        try (InputStream inputStream = new GZIPInputStream(request.getInputStream())) {
+            // read one byte over the limit to recognize a larger body
+            byte[] body = inputStream.readNBytes(maxDecompressedSize + 1);
+            if (body.length > maxDecompressedSize) {
+                throw new PayloadTooLargeException("Decompressed body exceeds the limit of " + maxDecompressedSize + " bytes");
+            }
+            return body;
+        }
+    }
+
+    static class PayloadTooLargeException extends IOException {
+
+        PayloadTooLargeException(String message) {
+            super(message);
+        }
+
+    }
+
+    /**
+     * Request with decompressed body. The content encoding header is hidden, so the body is not decoded again.
+     */
+    static class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+        private ServletInputStream inputStream;
+
+        GzipRequestWrapper(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (inputStream == null) {
+                inputStream = new GzipServletInputStream(new ByteArrayInputStream(body));
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws UnsupportedEncodingException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(), encoding == null ? "UTF-8" : encoding));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (isHidden(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (isHidden(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                .filter(name -> !isHidden(name))
+                .toList());
+        }
+
+        private static boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+
+    }
+
+    @RequiredArgsConstructor
+    static class GzipServletInputStream extends ServletInputStream {
+
+        private final InputStream inputStream;
+        private boolean finished;
+
+        @Override
+        public int read() throws IOException {
+            return update(inputStream.read());
+        }
+
+        @Override
+        public int read(@NonNull byte[] b, int off, int len) throws IOException {
+            return update(inputStream.read(b, off, len));
+        }
+
+        private int update(int result) {
+            if (result < 0) {
+                finished = true;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            throw new UnsupportedOperationException("Non-blocking read of compressed request is not supported");
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
+        }
+
+    }
+
+}
@@ -16,6 +16,7 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.netflix.appinfo.DataCenterInfo;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.appinfo.LeaseInfo;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.stereotype.Component;
@@ -39,6 +40,8 @@ import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -46,6 +49,10 @@ import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
 
 /**
  * Processes static definition files and creates service instances
+ *
+ * The result of each file is cached. A file is read again only if its size or time of modification is changed and it
+ * is parsed again only if its content (hash) is changed. The cached files return the same instances, so the caller can
+ * recognize which instances were changed.
  */
 @Slf4j
 @Component
@@ -60,6 +67,13 @@ public class ServiceDefinitionProcessor {
 
     private static final String ERROR_PARSING_STATIC_DEFINITION_DATA = "org.zowe.apiml.discovery.errorParsingStaticDefinitionData";
 
+    // file systems could store time of modification in seconds, a file modified so recently is always verified by hash
+    private static final long MODIFICATION_TIME_GRANULARITY_MS = 2000;
+
+    // results of the processed files by the absolute path, guarded by this
+    private final Map<String, DefinitionFile> definitionFiles = new HashMap<>();
+    private Map<String, ServiceOverrideData> lastAdditionalServiceMetadata;
+
     public ServiceDefinitionProcessor() {
     }
 
@@ -96,7 +110,24 @@ public class ServiceDefinitionProcessor {
      * @param staticApiDefinitionsDirectories directories containing static definitions
      * @return list of instances
      */
-    public StaticRegistrationResult findStaticServicesData(String staticApiDefinitionsDirectories) {
+    public synchronized StaticRegistrationResult findStaticServicesData(String staticApiDefinitionsDirectories) {
+        StaticRegistrationResult context = findStaticServicesData(staticApiDefinitionsDirectories, new HashSet<>());
+
+        if (
+            (lastAdditionalServiceMetadata != null) &&
+            !lastAdditionalServiceMetadata.equals(context.getAdditionalServiceMetadata())
+        ) {
+            // metadata of cached instances could be already updated by previous additional metadata, create them again
+            log.debug("Additional service metadata were changed, all static definitions will be processed again");
+            definitionFiles.clear();
+            context = findStaticServicesData(staticApiDefinitionsDirectories, new HashSet<>());
+        }
+        lastAdditionalServiceMetadata = new HashMap<>(context.getAdditionalServiceMetadata());
+
+        return context;
+    }
+
+    private StaticRegistrationResult findStaticServicesData(String staticApiDefinitionsDirectories, Set<String> processedFiles) {
         final StaticRegistrationResult context = new StaticRegistrationResult();
 
         final List<File> directories = getFiles(context, staticApiDefinitionsDirectories);
@@ -115,29 +146,91 @@ public class ServiceDefinitionProcessor {
             }
 
             for (final File file : files) {
-                final Definition definition = loadDefinition(context, file);
-                if (definition == null) continue;
+                final StaticRegistrationResult fileResult = processFile(file);
+                if (fileResult == null) {
+                    context.getErrors().add(apimlLog.log("org.zowe.apiml.discovery.errorParsingStaticDefinitionFile", file.getAbsolutePath()));
+                    continue;
+                }
 
-                process(context, file.getAbsolutePath(), definition);
+                processedFiles.add(file.getAbsolutePath());
+                merge(context, file.getAbsolutePath(), fileResult);
             }
         }
 
+        // forget removed files
+        definitionFiles.keySet().retainAll(processedFiles);
+
         return context;
     }
 
-    protected Definition loadDefinition(StaticRegistrationResult context, File file) {
+    /**
+     * Returns the result of processing a single file. The cached result is used if the file is not changed.
+     *
+     * @param file the static definition file
+     * @return the result of the file or null if the file cannot be read
+     */
+    private StaticRegistrationResult processFile(File file) {
         final String fileName = file.getAbsolutePath();
-        log.info("Static API definition file: {}", fileName);
+        final long lastModified = file.lastModified();
+        final long size = file.length();
+        final long readAt = System.currentTimeMillis();
+
+        DefinitionFile cached = definitionFiles.get(fileName);
+        if (
+            (cached != null) && (cached.getLastModified() == lastModified) && (cached.getSize() == size) &&
+            (lastModified + MODIFICATION_TIME_GRANULARITY_MS < cached.getReadAt())
+        ) {
+            log.debug("Static API definition file {} was not changed", fileName);
+            return cached.getResult();
+        }
 
-        final String content;
+        final byte[] content;
         try {
-            content = new String(Files.readAllBytes(Paths.get(fileName)));
-            return loadDefinition(context, fileName, content);
+            content = Files.readAllBytes(Paths.get(fileName));
         } catch (IOException e) {
-            final Message msg = apimlLog.log("org.zowe.apiml.discovery.errorParsingStaticDefinitionFile", fileName);
-            context.getErrors().add(msg);
+            definitionFiles.remove(fileName);
             return null;
         }
+
+        final String hash = hash(content);
+        if ((cached != null) && cached.getHash().equals(hash)) {
+            log.debug("Content of static API definition file {} was not changed", fileName);
+            definitionFiles.put(fileName, new DefinitionFile(lastModified, size, readAt, hash, cached.getResult()));
+            return cached.getResult();
+        }
+
+        log.info("Static API definition file: {}", fileName);
+        final StaticRegistrationResult fileResult = new StaticRegistrationResult();
+        final Definition definition = loadDefinition(fileResult, fileName, new String(content));
+        if (definition != null) {
+            process(fileResult, fileName, definition);
+        }
+        definitionFiles.put(fileName, new DefinitionFile(lastModified, size, readAt, hash, fileResult));
+        return fileResult;
+    }
+
+    /**
+     * Adds the result of a single file into the whole result. It checks duplicities in the additional metadata
+     * across the files the same way as {@link #process(StaticRegistrationResult, String, Definition)}.
+     */
+    private void merge(StaticRegistrationResult context, String ymlFileName, StaticRegistrationResult fileResult) {
+        context.getErrors().addAll(fileResult.getErrors());
+        context.getInstances().addAll(fileResult.getInstances());
+        fileResult.getAdditionalServiceMetadata().forEach((serviceId, sod) -> {
+            if (context.getAdditionalServiceMetadata().put(serviceId, sod) != null) {
+                final Message msg = apimlLog.log(ERROR_PARSING_STATIC_DEFINITION_DATA, ymlFileName,
+                    String.format("Additional service metadata of %s in processing file %s were replaced for duplicities", serviceId, ymlFileName));
+                context.getErrors().add(msg);
+            }
+        });
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
     }
 
     protected Definition loadDefinition(StaticRegistrationResult context, String ymlFileName, String ymlData) {
@@ -399,4 +492,16 @@ public class ServiceDefinitionProcessor {
 
         return metadata;
     }
+
+    @Value
+    private static class DefinitionFile {
+
+        long lastModified;
+        long size;
+        long readAt;
+        String hash;
+        StaticRegistrationResult result;
+
+    }
+
 }
@@ -17,6 +17,7 @@ import com.netflix.appinfo.LeaseInfo;
 import com.netflix.eureka.EurekaServerContext;
 import com.netflix.eureka.EurekaServerContextHolder;
 import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,11 +25,18 @@ import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Responsible for registration of statically defined APIs into Eureka and updating their status.
  *
  * The service called by {@link EurekaRegistryAvailableListener} that calls method {@link #registerServices()}.
+ *
+ * The reload registers just the new or changed instances and cancels the removed ones. The definition files could be
+ * also watched for changes (apiml.discovery.staticApiDefinitionsWatchIntervalSec, disabled by default), the check of
+ * unchanged files is cheap (see {@link ServiceDefinitionProcessor}).
  */
 @Slf4j
 @Component
@@ -41,7 +49,14 @@ public class StaticServicesRegistrationService {
 
     private final List<InstanceInfo> staticInstances = new CopyOnWriteArrayList<>();
 
-    private final Timer renewalTimer = new Timer();
+    @Value("${apiml.discovery.staticApiDefinitionsWatchIntervalSec:0}")
+    private int watchIntervalSec;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "static-instances-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Autowired
     public StaticServicesRegistrationService(ServiceDefinitionProcessor serviceDefinitionProcessor, MetadataDefaultsService metadataDefaultsService) {
@@ -61,23 +76,47 @@ public class StaticServicesRegistrationService {
      */
     public void registerServices() {
         registerServices(staticApiDefinitionsDirectories);
-        startRenewalTimer();
+        startRenewal();
+        if (watchIntervalSec > 0) {
+            startWatching();
+        }
     }
 
-    private void startRenewalTimer() {
-        renewalTimer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
+    private void startRenewal() {
+        executor.scheduleAtFixedRate(() -> {
+            try {
                 renewInstances();
+            } catch (RuntimeException e) {
+                // an exception would stop any next execution
+                log.warn("Cannot renew static instances", e);
             }
-        }, LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL * 1000L, LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL * 1000L);
+        }, LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL, LeaseInfo.DEFAULT_LEASE_RENEWAL_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private void startWatching() {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                reloadServices();
+            } catch (RuntimeException e) {
+                log.warn("Cannot reload static API definitions", e);
+            }
+        }, watchIntervalSec, watchIntervalSec, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
     }
 
     synchronized void renewInstances() {
         log.debug("Renewing static instances");
         PeerAwareInstanceRegistry registry = getRegistry();
         for (InstanceInfo instance : getStaticInstances()) {
-            registry.renew(instance.getAppName(), instance.getId(), false);
+            if (!registry.renew(instance.getAppName(), instance.getId(), false)) {
+                // the instance was removed from the registry (i.e. evicted), register it again
+                log.debug("Static instance {} is not registered, it will be registered again", instance.getId());
+                registry.register(instance, false);
+            }
         }
     }
 
@@ -87,13 +126,16 @@ public class StaticServicesRegistrationService {
      */
     public synchronized StaticRegistrationResult reloadServices() {
         List<InstanceInfo> oldStaticInstances = new ArrayList<>(staticInstances);
+        Map<String, InstanceInfo> registeredInstances = new HashMap<>();
+        oldStaticInstances.forEach(info -> registeredInstances.put(info.getInstanceId(), info));
 
         staticInstances.clear();
-        StaticRegistrationResult result = registerServices(staticApiDefinitionsDirectories);
+        StaticRegistrationResult result = registerServices(staticApiDefinitionsDirectories, registeredInstances);
 
+        Set<String> registeredServices = new HashSet<>(result.getRegisteredServices());
         PeerAwareInstanceRegistry registry = getRegistry();
         for (InstanceInfo info: oldStaticInstances) {
-            if (!result.getRegisteredServices().contains(info.getInstanceId())) {
+            if (!registeredServices.contains(info.getInstanceId())) {
                 log.info("Instance {} is not defined in the new static API definitions. It will be removed", info.getInstanceId());
                 registry.cancel(info.getAppName(), info.getId(), false);
             }
@@ -106,6 +148,14 @@ public class StaticServicesRegistrationService {
      * Registers all statically defined APIs in a directory.
      */
     StaticRegistrationResult registerServices(String staticApiDefinitionsDirectories) {
+        return registerServices(staticApiDefinitionsDirectories, Collections.emptyMap());
+    }
+
+    /**
+     * Registers all statically defined APIs in a directory. The instance is not registered again if it is the same
+     * as the registered one (the definition file was not changed).
+     */
+    private StaticRegistrationResult registerServices(String staticApiDefinitionsDirectories, Map<String, InstanceInfo> registeredInstances) {
         PeerAwareInstanceRegistry registry = getRegistry();
         StaticRegistrationResult result = serviceDefinitionProcessor.findStaticServicesData(staticApiDefinitionsDirectories);
 
@@ -117,7 +167,9 @@ public class StaticServicesRegistrationService {
         for (InstanceInfo instanceInfo : result.getInstances()) {
             result.getRegisteredServices().add(instanceInfo.getInstanceId());
             staticInstances.add(instanceInfo);
-            registry.register(instanceInfo, false);
+            if (registeredInstances.get(instanceInfo.getInstanceId()) != instanceInfo) {
+                registry.register(instanceInfo, false);
+            }
         }
 
         return result;
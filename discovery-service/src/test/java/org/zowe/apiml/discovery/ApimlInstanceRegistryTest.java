@@ -17,6 +17,8 @@ import com.netflix.discovery.EurekaClientConfig;
 import com.netflix.eureka.*;
 import com.netflix.eureka.resources.ServerCodecs;
 import com.netflix.eureka.transport.EurekaServerHttpClientFactory;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.*;
@@ -32,7 +34,10 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.zowe.apiml.discovery.config.EurekaConfig;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.invoke.WrongMethodTypeException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -69,12 +74,19 @@ class ApimlInstanceRegistryTest {
             appCntx,
             new EurekaConfig.Tuple("service*,hello")));
 
-        MethodHandle methodHandle = mock(MethodHandle.class);
+        ReflectionTestUtils.setField(apimlInstanceRegistry, "handleRegistrationMethod", noop(InstanceInfo.class, int.class, boolean.class));
+        ReflectionTestUtils.setField(apimlInstanceRegistry, "register2ArgsMethodHandle", noop(InstanceInfo.class, boolean.class));
+        ReflectionTestUtils.setField(apimlInstanceRegistry, "register3ArgsMethodHandle", noop(InstanceInfo.class, int.class, boolean.class));
+        ReflectionTestUtils.setField(apimlInstanceRegistry, "handleCancellationMethod", noop(String.class, String.class, boolean.class));
+    }
+
+    private static MethodHandle noop(Class<?>...parameterTypes) {
+        return MethodHandles.empty(MethodType.methodType(void.class, parameterTypes));
+    }
 
-        ReflectionTestUtils.setField(apimlInstanceRegistry, "handleRegistrationMethod", methodHandle);
-        ReflectionTestUtils.setField(apimlInstanceRegistry, "register2ArgsMethodHandle", methodHandle);
-        ReflectionTestUtils.setField(apimlInstanceRegistry, "register3ArgsMethodHandle", methodHandle);
-        ReflectionTestUtils.setField(apimlInstanceRegistry, "handleCancellationMethod", methodHandle);
+    private static MethodHandle throwing(Throwable throwable, Class<?> returnType, Class<?>...parameterTypes) {
+        MethodHandle thrower = MethodHandles.throwException(returnType, throwable.getClass()).bindTo(throwable);
+        return MethodHandles.dropArguments(thrower, 0, parameterTypes);
     }
 
     @Nested
@@ -121,9 +133,8 @@ class ApimlInstanceRegistryTest {
             instanceRegistryProperties,
             appCntx,
             new EurekaConfig.Tuple(tuple)));
-        MethodHandle methodHandle = mock(MethodHandle.class);
-        ReflectionTestUtils.setField(apimlInstanceRegistry,"register2ArgsMethodHandle",methodHandle);
-        ReflectionTestUtils.setField(apimlInstanceRegistry,"handleRegistrationMethod",methodHandle);
+        ReflectionTestUtils.setField(apimlInstanceRegistry,"register2ArgsMethodHandle",noop(InstanceInfo.class, boolean.class));
+        ReflectionTestUtils.setField(apimlInstanceRegistry,"handleRegistrationMethod",noop(InstanceInfo.class, int.class, boolean.class));
         apimlInstanceRegistry.register(standardInstance, false);
         assertEquals(expectedServiceIdInResult, standardInstance.getInstanceId());
     }
@@ -140,9 +151,8 @@ class ApimlInstanceRegistryTest {
             instanceRegistryProperties,
             appCntx,
             new EurekaConfig.Tuple(tuple)));
-        MethodHandle methodHandle = mock(MethodHandle.class);
-        ReflectionTestUtils.setField(apimlInstanceRegistry,"register3ArgsMethodHandle",methodHandle);
-        ReflectionTestUtils.setField(apimlInstanceRegistry,"handleRegistrationMethod",methodHandle);
+        ReflectionTestUtils.setField(apimlInstanceRegistry,"register3ArgsMethodHandle",noop(InstanceInfo.class, int.class, boolean.class));
+        ReflectionTestUtils.setField(apimlInstanceRegistry,"handleRegistrationMethod",noop(InstanceInfo.class, int.class, boolean.class));
         apimlInstanceRegistry.register(standardInstance, 1, false);
         assertEquals(expectedServiceIdInResult, standardInstance.getInstanceId());
     }
@@ -163,9 +173,8 @@ class ApimlInstanceRegistryTest {
                     instanceRegistryProperties,
                     appCntx,
                     new EurekaConfig.Tuple(tuple)));
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "register2ArgsMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any())).thenThrow(exception);
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "register2ArgsMethodHandle",
+                    throwing(exception, void.class, InstanceInfo.class, boolean.class));
                 assertThrows(IllegalArgumentException.class, () -> {
                     apimlInstanceRegistry.register(standardInstance, false);
                 });
@@ -182,9 +191,8 @@ class ApimlInstanceRegistryTest {
                     instanceRegistryProperties,
                     appCntx,
                     new EurekaConfig.Tuple("service*,hello")));
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "register2ArgsMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any())).thenThrow(new RuntimeException());
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "register2ArgsMethodHandle",
+                    throwing(new RuntimeException(), void.class, InstanceInfo.class, boolean.class));
                 assertThrows(RuntimeException.class, () -> {
                     apimlInstanceRegistry.register(standardInstance, false);
                 });
@@ -202,9 +210,8 @@ class ApimlInstanceRegistryTest {
                     instanceRegistryProperties,
                     appCntx,
                     new EurekaConfig.Tuple(tuple)));
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "register3ArgsMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any(), any())).thenThrow(exception);
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "register3ArgsMethodHandle",
+                    throwing(exception, void.class, InstanceInfo.class, int.class, boolean.class));
                 assertThrows(IllegalArgumentException.class, () -> {
                     apimlInstanceRegistry.register(standardInstance, 1, false);
                 });
@@ -221,9 +228,8 @@ class ApimlInstanceRegistryTest {
                     instanceRegistryProperties,
                     appCntx,
                     new EurekaConfig.Tuple("service*,hello")));
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "register3ArgsMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any())).thenThrow(new RuntimeException());
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "register3ArgsMethodHandle",
+                    throwing(new RuntimeException(), void.class, InstanceInfo.class, int.class, boolean.class));
                 assertThrows(RuntimeException.class, () -> {
                     apimlInstanceRegistry.register(standardInstance, 1, false);
                 });
@@ -243,9 +249,8 @@ class ApimlInstanceRegistryTest {
             @ParameterizedTest
             @MethodSource("exceptions")
             void thenThrowIllegalArgumentException(Exception exception) throws Throwable {
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "handlerResolveInstanceLeaseDurationMethod", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any())).thenThrow(exception);
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "handlerResolveInstanceLeaseDurationMethod",
+                    throwing(exception, int.class, InstanceInfo.class));
                 assertThrows(IllegalArgumentException.class, () -> {
                     apimlInstanceRegistry.resolveInstanceLeaseDurationRewritten(standardInstance);
                 });
@@ -253,9 +258,8 @@ class ApimlInstanceRegistryTest {
 
             @Test
             void thenThrowRuntimeException() throws Throwable {
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "handlerResolveInstanceLeaseDurationMethod", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any())).thenThrow(new RuntimeException());
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "handlerResolveInstanceLeaseDurationMethod",
+                    throwing(new RuntimeException(), int.class, InstanceInfo.class));
                 assertThrows(RuntimeException.class, () -> {
                     apimlInstanceRegistry.resolveInstanceLeaseDurationRewritten(standardInstance);
                 });
@@ -274,9 +278,8 @@ class ApimlInstanceRegistryTest {
         class WhenCancelRegistration {
             @Test
             void thenIsSuccessful() throws Throwable {
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "cancelMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any(), any())).thenReturn(true);
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "cancelMethodHandle",
+                    MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, String.class, String.class, boolean.class));
                 apimlInstanceRegistry.register(standardInstance, false);
                 verify(apimlInstanceRegistry, times(1)).changeServiceId(any());
                 boolean isCancelled = apimlInstanceRegistry.cancel("HELLO", "hello", false);
@@ -286,9 +289,8 @@ class ApimlInstanceRegistryTest {
             @ParameterizedTest
             @MethodSource("exceptions")
             void thenThrowIllegalArgumentException(Exception exception) throws Throwable {
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "cancelMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any(), any())).thenThrow(exception);
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "cancelMethodHandle",
+                    throwing(exception, boolean.class, String.class, String.class, boolean.class));
                 assertThrows(IllegalArgumentException.class, () -> {
                     apimlInstanceRegistry.cancel("HELLO", "hello", false);
                 });
@@ -296,9 +298,8 @@ class ApimlInstanceRegistryTest {
 
             @Test
             void thenThrowRuntimeException() throws Throwable {
-                MethodHandle methodHandle = mock(MethodHandle.class);
-                ReflectionTestUtils.setField(apimlInstanceRegistry, "cancelMethodHandle", methodHandle);
-                when(methodHandle.invokeWithArguments(any(), any(), any(), any())).thenThrow(new RuntimeException());
+                ReflectionTestUtils.setField(apimlInstanceRegistry, "cancelMethodHandle",
+                    throwing(new RuntimeException(), boolean.class, String.class, String.class, boolean.class));
                 assertThrows(RuntimeException.class, () -> {
                     apimlInstanceRegistry.cancel("HELLO", "hello", false);
                 });
@@ -312,6 +313,86 @@ class ApimlInstanceRegistryTest {
             }
         }
 
+        @Nested
+        class GivenRegistrationStorm {
+
+            private static final int INSTANCES = 10_000;
+
+            private ApimlInstanceRegistry registry;
+
+            @BeforeEach
+            void setUp() {
+                registry = new ApimlInstanceRegistry(
+                    serverConfig,
+                    clientConfig,
+                    serverCodecs,
+                    eurekaClient,
+                    eurekaServerHttpClientFactory,
+                    instanceRegistryProperties,
+                    appCntx,
+                    new EurekaConfig.Tuple("service*,hello"));
+                ReflectionTestUtils.setField(registry, "handleRegistrationMethod", noop(InstanceInfo.class, int.class, boolean.class));
+                ReflectionTestUtils.setField(registry, "register3ArgsMethodHandle", noop(InstanceInfo.class, int.class, boolean.class));
+                ReflectionTestUtils.setField(registry, "handleCancellationMethod", noop(String.class, String.class, boolean.class));
+                ReflectionTestUtils.setField(registry, "cancelMethodHandle",
+                    MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, String.class, String.class, boolean.class));
+            }
+
+            @Test
+            void whenRegisterAndCancelInstances_thenEachOperationIsMeasured() {
+                for (int i = 0; i < INSTANCES; i++) {
+                    InstanceInfo instance = InstanceInfo.Builder.newBuilder()
+                        .setInstanceId("localhost:serviceclient:" + i)
+                        .setAppName("SERVICECLIENT")
+                        .setHostName("localhost")
+                        .build();
+                    registry.register(instance, 90, false);
+                }
+                for (int i = 0; i < INSTANCES; i++) {
+                    assertTrue(registry.cancel("SERVICECLIENT", "localhost:serviceclient:" + i, false));
+                }
+
+                ApimlInstanceRegistry.OperationStats register = registry.getOperationStats().get(ApimlInstanceRegistry.Operation.REGISTER);
+                assertEquals(INSTANCES, register.getCount());
+                assertTrue(register.getMaxNanos() > 0);
+                assertTrue(register.getTotalNanos() >= register.getMaxNanos());
+                assertEquals(INSTANCES, registry.getOperationStats().get(ApimlInstanceRegistry.Operation.CANCEL).getCount());
+                assertEquals(0, registry.getOperationStats().get(ApimlInstanceRegistry.Operation.RENEW).getCount());
+            }
+
+            @Test
+            void whenOperationFails_thenItIsMeasured() {
+                ReflectionTestUtils.setField(registry, "register3ArgsMethodHandle",
+                    throwing(new RuntimeException(), void.class, InstanceInfo.class, int.class, boolean.class));
+
+                assertThrows(RuntimeException.class, () -> registry.register(standardInstance, 90, false));
+                assertEquals(1, registry.getOperationStats().get(ApimlInstanceRegistry.Operation.REGISTER).getCount());
+            }
+
+            @Test
+            void whenNoOperation_thenAverageIsZero() {
+                assertEquals(0, registry.getOperationStats().get(ApimlInstanceRegistry.Operation.STATUS_UPDATE).getAverageNanos());
+            }
+
+            @Test
+            void whenBoundToMeterRegistry_thenOperationsArePublished() {
+                SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+                registry.bindTo(meterRegistry);
+
+                registry.register(standardInstance, 90, false);
+                registry.register(standardInstance, 90, false);
+
+                ApimlInstanceRegistry.OperationStats stats = registry.getOperationStats().get(ApimlInstanceRegistry.Operation.REGISTER);
+                FunctionTimer register = meterRegistry.get(ApimlInstanceRegistry.METRICS_NAME).tag("operation", "register").functionTimer();
+                assertEquals(2, register.count());
+                assertEquals(stats.getTotalNanos(), register.totalTime(TimeUnit.NANOSECONDS));
+                assertEquals(stats.getMaxNanos(),
+                    meterRegistry.get(ApimlInstanceRegistry.METRICS_NAME + ".max").tag("operation", "register").timeGauge().value(TimeUnit.NANOSECONDS));
+                assertEquals(0, meterRegistry.get(ApimlInstanceRegistry.METRICS_NAME).tag("operation", "status_update").functionTimer().count());
+                assertEquals(ApimlInstanceRegistry.Operation.values().length * 2, meterRegistry.getMeters().size());
+            }
+
+        }
 
     private InstanceInfo getStandardInstance() {
 
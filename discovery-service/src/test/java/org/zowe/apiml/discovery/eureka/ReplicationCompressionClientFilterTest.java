@@ -0,0 +1,144 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.discovery.eureka;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicationCompressionClientFilterTest {
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private final Map<String, Object> properties = new HashMap<>();
+    private final ClientRequestContext requestContext = mock(ClientRequestContext.class);
+    private final ClientResponseContext responseContext = mock(ClientResponseContext.class);
+
+    @BeforeEach
+    void setUp() {
+        when(requestContext.getHeaders()).thenReturn(headers);
+        when(requestContext.hasEntity()).thenReturn(true);
+        when(requestContext.getUri()).thenReturn(URI.create("https://peer:10011/eureka/peerreplication/batch/"));
+        doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(requestContext).setProperty(anyString(), any());
+        when(requestContext.getProperty(anyString())).thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+    }
+
+    private void respond(ReplicationCompressionClientFilter filter, String acceptEncoding) {
+        when(responseContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+        filter.filter(requestContext, responseContext);
+    }
+
+    @Nested
+    class GivenCompressionEnabled {
+
+        private final ReplicationCompressionClientFilter filter = new ReplicationCompressionClientFilter(true);
+
+        @Test
+        void whenPeerDidNotAdvertise_thenRequestIsNotCompressed() {
+            filter.filter(requestContext);
+
+            assertFalse(headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        void whenPeerAdvertised_thenRequestIsCompressed() {
+            respond(filter, "gzip");
+            filter.filter(requestContext);
+
+            assertTrue(filter.isAcceptedByPeer());
+            assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        void whenPeerStopsAdvertising_thenRequestIsNotCompressed() {
+            respond(filter, "gzip");
+            respond(filter, null);
+            filter.filter(requestContext);
+
+            assertFalse(filter.isAcceptedByPeer());
+            assertFalse(headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        void whenRequestHasNoEntity_thenRequestIsNotCompressed() {
+            when(requestContext.hasEntity()).thenReturn(false);
+            respond(filter, "gzip");
+            filter.filter(requestContext);
+
+            assertFalse(headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        void whenRequestIsCompressed_thenBodyIsGzipped() throws Exception {
+            respond(filter, "gzip");
+            filter.filter(requestContext);
+
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            WriterInterceptorContext context = mock(WriterInterceptorContext.class);
+            when(context.getProperty(anyString())).thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+            when(context.getOutputStream()).thenReturn(body);
+            ArgumentCaptor<OutputStream> outputStream = ArgumentCaptor.forClass(OutputStream.class);
+            doNothing().when(context).setOutputStream(outputStream.capture());
+            doAnswer(invocation -> {
+                outputStream.getValue().write("payload".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(context).proceed();
+
+            filter.aroundWriteTo(context);
+
+            try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+                assertEquals("payload", new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        @Test
+        void whenRequestIsNotCompressed_thenBodyIsUnchanged() throws Exception {
+            WriterInterceptorContext context = mock(WriterInterceptorContext.class);
+
+            filter.aroundWriteTo(context);
+
+            verify(context).proceed();
+            verify(context, never()).setOutputStream(any());
+        }
+
+    }
+
+    @Test
+    void givenCompressionDisabled_whenPeerAdvertised_thenRequestIsNotCompressed() {
+        ReplicationCompressionClientFilter filter = new ReplicationCompressionClientFilter(false);
+        respond(filter, "gzip");
+        filter.filter(requestContext);
+
+        assertFalse(headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+    }
+
+}
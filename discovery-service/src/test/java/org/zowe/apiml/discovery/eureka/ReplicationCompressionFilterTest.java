@@ -0,0 +1,159 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.discovery.eureka;
+
+import com.netflix.eureka.cluster.PeerEurekaNode;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationCompressionFilterTest {
+
+    private static final String BODY = "{\"replicationList\":[]}";
+    private static final int MAX_SIZE = 1024;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/eureka/peerreplication/batch/");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final MockFilterChain filterChain = new MockFilterChain();
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return baos.toByteArray();
+    }
+
+    @Nested
+    class GivenCompressionEnabled {
+
+        private final ReplicationCompressionFilter filter = new ReplicationCompressionFilter(true, MAX_SIZE);
+
+        @Test
+        void whenRequest_thenSupportIsAdvertised() throws Exception {
+            filter.doFilter(request, response, filterChain);
+
+            assertEquals("gzip", response.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        @Test
+        void whenCompressedRequest_thenBodyIsDecompressed() throws Exception {
+            byte[] compressed = gzip(BODY);
+            request.addHeader(PeerEurekaNode.HEADER_REPLICATION, "true");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.setContent(compressed);
+
+            filter.doFilter(request, response, filterChain);
+
+            HttpServletRequest forwarded = (HttpServletRequest) filterChain.getRequest();
+            assertEquals(BODY, new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            assertTrue(forwarded.getInputStream().isFinished());
+            assertNull(forwarded.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertNull(forwarded.getHeader(HttpHeaders.CONTENT_LENGTH));
+            assertEquals(-1, forwarded.getContentLength());
+            assertFalse(Collections.list(forwarded.getHeaderNames()).contains(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        @Test
+        void whenCompressedRequestIsNotReplication_thenBodyIsNotDecompressed() throws Exception {
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.setContent(gzip(BODY));
+
+            filter.doFilter(request, response, filterChain);
+
+            assertSame(request, filterChain.getRequest());
+        }
+
+        @Test
+        void whenDecompressedBodyExceedsLimit_thenRequestIsRejected() throws Exception {
+            request.addHeader(PeerEurekaNode.HEADER_REPLICATION, "true");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.setContent(gzip("x".repeat(MAX_SIZE + 1)));
+
+            filter.doFilter(request, response, filterChain);
+
+            assertEquals(413, response.getStatus());
+            assertNull(filterChain.getRequest());
+        }
+
+        @Test
+        void whenDecompressedBodyIsAtLimit_thenBodyIsDecompressed() throws Exception {
+            String body = "x".repeat(MAX_SIZE);
+            request.addHeader(PeerEurekaNode.HEADER_REPLICATION, "true");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.setContent(gzip(body));
+
+            filter.doFilter(request, response, filterChain);
+
+            assertEquals(body, new String(filterChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void whenInvalidCompressedBody_thenRequestIsRejected() throws Exception {
+            request.addHeader(PeerEurekaNode.HEADER_REPLICATION, "true");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+
+            filter.doFilter(request, response, filterChain);
+
+            assertEquals(400, response.getStatus());
+            assertNull(filterChain.getRequest());
+        }
+
+        @Test
+        void whenPlainRequest_thenBodyIsUnchanged() throws Exception {
+            request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+
+            filter.doFilter(request, response, filterChain);
+
+            assertSame(request, filterChain.getRequest());
+        }
+
+    }
+
+    @Nested
+    class GivenCompressionDisabled {
+
+        private final ReplicationCompressionFilter filter = new ReplicationCompressionFilter(false, MAX_SIZE);
+
+        @Test
+        void whenRequest_thenSupportIsNotAdvertised() throws Exception {
+            filter.doFilter(request, response, filterChain);
+
+            assertNull(response.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        @Test
+        void whenCompressedRequest_thenBodyIsStillDecompressed() throws Exception {
+            request.addHeader(PeerEurekaNode.HEADER_REPLICATION, "true");
+            request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            request.setContent(gzip(BODY));
+
+            filter.doFilter(request, response, filterChain);
+
+            assertEquals(BODY, new String(filterChain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+    }
+
+}
@@ -14,6 +14,7 @@ import com.netflix.appinfo.InstanceInfo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.zowe.apiml.message.core.Message;
@@ -21,7 +22,11 @@ import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.message.yaml.YamlMessageService;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -31,6 +36,11 @@ import java.util.Map;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.*;
 
 class ServiceDefinitionProcessorTest {
@@ -676,5 +686,91 @@ class ServiceDefinitionProcessorTest {
         final Message errorMsg = result.getErrors().get(0);
         assertFullMessageIsCorrect(errorMsg.getConvertedText(), "Additional service metadata of service1 in processing file test.yml were replaced for duplicities");
     }
-}
 
+    @Nested
+    class GivenManyDefinitionFiles {
+
+        private static final int FILES = 1000;
+
+        @TempDir
+        Path directory;
+
+        private ServiceDefinitionProcessor processor;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            processor = spy(serviceDefinitionProcessor);
+            for (int i = 0; i < FILES; i++) {
+                write(i, "Service " + i, 60_000);
+            }
+        }
+
+        private void write(int index, String title, long ageMs) throws IOException {
+            String definition = "services:\n" +
+                "    - serviceId: service" + index + "\n" +
+                "      title: " + title + "\n" +
+                "      instanceBaseUrls:\n" +
+                "        - http://localhost:" + (10000 + index) + "/\n";
+            Path file = directory.resolve("service" + index + ".yml");
+            Files.write(file, definition.getBytes(StandardCharsets.UTF_8));
+            // the file is not modified recently, it could be recognized as unchanged just by time and size
+            assertTrue(file.toFile().setLastModified(System.currentTimeMillis() - ageMs));
+        }
+
+        private StaticRegistrationResult find() {
+            return processor.findStaticServicesData(directory.toString());
+        }
+
+        private InstanceInfo getInstance(StaticRegistrationResult result, int index) {
+            return result.getInstances().stream()
+                .filter(instance -> ("service" + index).equalsIgnoreCase(instance.getAppName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        }
+
+        @Test
+        void whenReloadWithoutChange_thenNothingIsParsed() {
+            StaticRegistrationResult first = find();
+            StaticRegistrationResult second = find();
+
+            assertEquals(FILES, second.getInstances().size());
+            assertSame(getInstance(first, 7), getInstance(second, 7));
+            verify(processor, times(FILES)).loadDefinition(any(), anyString(), anyString());
+        }
+
+        @Test
+        void whenOneFileIsChanged_thenOnlyTheFileIsParsed() throws IOException {
+            StaticRegistrationResult first = find();
+            write(5, "Changed service", 30_000);
+            StaticRegistrationResult second = find();
+
+            assertEquals(FILES, second.getInstances().size());
+            assertNotSame(getInstance(first, 5), getInstance(second, 5));
+            assertEquals("Changed service", getInstance(second, 5).getMetadata().get(SERVICE_TITLE));
+            assertSame(getInstance(first, 6), getInstance(second, 6));
+            verify(processor, times(FILES + 1)).loadDefinition(any(), anyString(), anyString());
+        }
+
+        @Test
+        void whenFileIsTouchedWithoutChange_thenItIsNotParsed() {
+            StaticRegistrationResult first = find();
+            assertTrue(directory.resolve("service5.yml").toFile().setLastModified(System.currentTimeMillis() - 30_000));
+            StaticRegistrationResult second = find();
+
+            assertSame(getInstance(first, 5), getInstance(second, 5));
+            verify(processor, times(FILES)).loadDefinition(any(), anyString(), anyString());
+        }
+
+        @Test
+        void whenFileIsRemoved_thenItsInstanceIsNotReturned() throws IOException {
+            find();
+            Files.delete(directory.resolve("service5.yml"));
+            StaticRegistrationResult second = find();
+
+            assertEquals(FILES - 1, second.getInstances().size());
+            assertTrue(second.getInstances().stream().noneMatch(instance -> "service5".equalsIgnoreCase(instance.getAppName())));
+        }
+
+    }
+
+}
@@ -17,6 +17,7 @@ import com.netflix.eureka.EurekaServerContextHolder;
 import com.netflix.eureka.registry.PeerAwareInstanceRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
@@ -147,11 +148,76 @@ class StaticServicesRegistrationServiceTest {
         ServiceDefinitionProcessor serviceDefinitionProcessor = mock(ServiceDefinitionProcessor.class);
         when(serviceDefinitionProcessor.findStaticServicesData(directory)).thenReturn(createResult(instance));
 
+        when(mockRegistry.renew(instance.getAppName(), instance.getId(), false)).thenReturn(true);
+
         StaticServicesRegistrationService registrationService = new StaticServicesRegistrationService(serviceDefinitionProcessor, new MetadataDefaultsService());
         registrationService.registerServices(directory);
         registrationService.renewInstances();
 
         verify(mockRegistry, times(1)).renew(instance.getAppName(), instance.getId(), false);
+        verify(mockRegistry, times(1)).register(instance, false);
+    }
+
+    @Test
+    void testRenewInstancesWhenRenewFails() {
+        String directory = "directory";
+        String service = "service";
+        InstanceInfo instance = InstanceInfo.Builder.newBuilder().setInstanceId(service).setAppName(service).build();
+        ServiceDefinitionProcessor serviceDefinitionProcessor = mock(ServiceDefinitionProcessor.class);
+        when(serviceDefinitionProcessor.findStaticServicesData(directory)).thenReturn(createResult(instance));
+        when(mockRegistry.renew(instance.getAppName(), instance.getId(), false)).thenReturn(false);
+
+        StaticServicesRegistrationService registrationService = new StaticServicesRegistrationService(serviceDefinitionProcessor, new MetadataDefaultsService());
+        registrationService.registerServices(directory);
+        registrationService.renewInstances();
+
+        // registered at first and then again, because the renewal failed
+        verify(mockRegistry, times(2)).register(instance, false);
+    }
+
+    @Test
+    void testReloadServicesRegistersOnlyChangedInstances() {
+        String serviceA = "serviceA";
+        String serviceB = "serviceB";
+        ServiceDefinitionProcessor serviceDefinitionProcessor = mock(ServiceDefinitionProcessor.class);
+        InstanceInfo instanceA = InstanceInfo.Builder.newBuilder().setInstanceId(serviceA).setAppName(serviceA).build();
+        InstanceInfo instanceB = InstanceInfo.Builder.newBuilder().setInstanceId(serviceB).setAppName(serviceB).build();
+        InstanceInfo changedInstanceB = InstanceInfo.Builder.newBuilder().setInstanceId(serviceB).setAppName(serviceB).build();
+        // the processor returns the same object for an unchanged definition
+        when(serviceDefinitionProcessor.findStaticServicesData(null))
+            .thenReturn(createResult(instanceA, instanceB))
+            .thenReturn(createResult(instanceA, changedInstanceB));
+
+        StaticServicesRegistrationService registrationService = new StaticServicesRegistrationService(serviceDefinitionProcessor, new MetadataDefaultsService());
+        registrationService.reloadServices();
+        registrationService.reloadServices();
+
+        verify(mockRegistry, times(1)).register(same(instanceA), eq(false));
+        verify(mockRegistry, times(1)).register(same(instanceB), eq(false));
+        verify(mockRegistry, times(1)).register(same(changedInstanceB), eq(false));
+        verify(mockRegistry, times(0)).cancel(any(String.class), any(String.class), eq(false));
+        assertEquals(Arrays.asList(instanceA, changedInstanceB), registrationService.getStaticInstances());
+    }
+
+    @Test
+    void testWatchReloadsDefinitionsPeriodically() {
+        String service = "service";
+        InstanceInfo instance = InstanceInfo.Builder.newBuilder().setInstanceId(service).setAppName(service).build();
+        ServiceDefinitionProcessor serviceDefinitionProcessor = mock(ServiceDefinitionProcessor.class);
+        when(serviceDefinitionProcessor.findStaticServicesData(null)).thenReturn(createResult(instance));
+
+        StaticServicesRegistrationService registrationService = new StaticServicesRegistrationService(serviceDefinitionProcessor, new MetadataDefaultsService());
+        ReflectionTestUtils.setField(registrationService, "watchIntervalSec", 1);
+        try {
+            registrationService.registerServices();
+
+            // the first call is the initial registration, the next ones are made by the watcher
+            verify(serviceDefinitionProcessor, timeout(5000).atLeast(3)).findStaticServicesData(null);
+            // the unchanged instance is not registered again
+            verify(mockRegistry, times(1)).register(instance, false);
+        } finally {
+            registrationService.stop();
+        }
     }
 
 }
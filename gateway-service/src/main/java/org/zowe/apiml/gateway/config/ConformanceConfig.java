@@ -0,0 +1,40 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads of the batch conformance check. The pool is shared by all requests, so the count of concurrent validations
+ * is limited by {@code apiml.gateway.conformance.batch.parallelism} in total.
+ */
+@Configuration
+public class ConformanceConfig {
+
+    public static final String CONFORMANCE_BATCH_EXECUTOR = "conformanceBatchExecutor";
+
+    @Bean(name = CONFORMANCE_BATCH_EXECUTOR, destroyMethod = "shutdownNow")
+    public ExecutorService conformanceBatchExecutor(@Value("${apiml.gateway.conformance.batch.parallelism:4}") int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "conformance-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.conformance;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.zowe.apiml.gateway.security.service.ServiceCacheEvict;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Results of the conformance validation. A result is bound to the service, the version of its instance (ID, URI and
+ * metadata) and the token used to call the endpoints. A change of metadata creates a new version, the older results
+ * are evicted with other caches about the service or by expiration. Concurrent requests of the same validation wait
+ * for a single result. A validation can return its result by {@link UncachedResult} if it is not definitive.
+ */
+@Component
+public class ConformanceResultCache implements ServiceCacheEvict {
+
+    private final Cache<Key, ResponseEntity<String>> results;
+
+    public ConformanceResultCache(
+        @Value("${apiml.gateway.conformance.cache.ttlSeconds:300}") long ttlSeconds,
+        @Value("${apiml.gateway.conformance.cache.size:1000}") long size
+    ) {
+        this.results = CacheBuilder.newBuilder()
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .maximumSize(size)
+            .build();
+    }
+
+    /**
+     * Returns the cached result of the instance or runs the validation and stores its result.
+     *
+     * @param serviceId  ID of the validated service
+     * @param instance   validated instance of the service
+     * @param token      token used by the validation to call the service
+     * @param validation the validation to run if there is no cached result
+     * @return result of the validation
+     */
+    public ResponseEntity<String> get(String serviceId, ServiceInstance instance, String token, Supplier<ResponseEntity<String>> validation) {
+        try {
+            return results.get(Key.of(serviceId, instance, token), validation::get);
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            if (e.getCause() instanceof UncachedResult uncachedResult) {
+                return uncachedResult.getResponse();
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    long size() {
+        return results.size();
+    }
+
+    @Override
+    public void evictCacheService(String serviceId) {
+        String key = serviceId.toLowerCase(Locale.ROOT);
+        results.asMap().keySet().removeIf(cached -> cached.getServiceId().equals(key));
+    }
+
+    @Override
+    public void evictCacheAllService() {
+        results.invalidateAll();
+    }
+
+    /**
+     * Result of a validation which failed for a temporary reason, it is returned to the caller but not cached.
+     */
+    public static class UncachedResult extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ResponseEntity<String> response;
+
+        public UncachedResult(ResponseEntity<String> response) {
+            super(null, null, false, false);
+            this.response = response;
+        }
+
+        public ResponseEntity<String> getResponse() {
+            return response;
+        }
+
+    }
+
+    @lombok.Value
+    static class Key {
+
+        String serviceId;
+        String instanceId;
+        String uri;
+        Map<String, String> metadata;
+        // the token is not stored, just its hash
+        String tokenHash;
+
+        static Key of(String serviceId, ServiceInstance instance, String token) {
+            return new Key(
+                serviceId.toLowerCase(Locale.ROOT),
+                instance.getInstanceId(),
+                String.valueOf(instance.getUri()),
+                instance.getMetadata() == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(instance.getMetadata())),
+                hash(token)
+            );
+        }
+
+        private static String hash(String token) {
+            if (token == null) {
+                return null;
+            }
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(hash);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+    }
+
+}
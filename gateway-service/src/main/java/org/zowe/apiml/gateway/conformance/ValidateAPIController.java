@@ -10,23 +10,36 @@
 
 package org.zowe.apiml.gateway.conformance;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.client.RestClientException;
 import org.zowe.apiml.constants.EurekaMetadataDefinition;
+import org.zowe.apiml.message.api.ApiMessageView;
 import org.zowe.apiml.message.core.Message;
 import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.product.gateway.GatewayClient;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.zowe.apiml.gateway.config.ConformanceConfig.CONFORMANCE_BATCH_EXECUTOR;
+
 /**
  * Controller offers method to check the validation of the given serviceID under conformance criteria
  */
@@ -41,17 +54,26 @@ public class ValidateAPIController {
     static final String WRONG_SERVICE_ID_KEY = "org.zowe.apiml.gateway.verifier.wrongServiceId";
     static final String NO_METADATA_KEY = "org.zowe.apiml.gateway.verifier.noMetadata";
     static final String NON_CONFORMANT_KEY = "org.zowe.apiml.gateway.verifier.nonConformant";
+    static final String TOO_MANY_SERVICES_KEY = "org.zowe.apiml.gateway.verifier.tooManyServices";
 
 
     private static final String REGISTRATION_PROBLEMS = "Registration problems";
     private static final String METADATA_PROBLEMS = "Metadata problems";
     private static final String CONFORMANCE_PROBLEMS = "Conformance problems";
 
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
 
     private final MessageService messageService;
     private final VerificationOnboardService verificationOnboardService;
     private final DiscoveryClient discoveryClient;
     private final GatewayClient gatewayClient;
+    private final ConformanceResultCache conformanceResultCache;
+    @Qualifier(CONFORMANCE_BATCH_EXECUTOR)
+    private final ExecutorService conformanceBatchExecutor;
+
+    @Value("${apiml.gateway.conformance.batch.maxServices:100}")
+    private int batchMaxServices;
 
 
     /**
@@ -81,21 +103,72 @@ public class ValidateAPIController {
             Map<String, String> metadata = getMetadata(serviceInstance);
 
             checkMetadataCanBeRetrieved(metadata);
+
+            return conformanceResultCache.get(serviceId, serviceInstance, authenticationToken,
+                () -> validateInstance(serviceId, metadata, authenticationToken));
+        } catch (ValidationException e) {
+            return generateBadRequestResponseEntity(e, foundNonConformanceIssues);
+        }
+    }
+
+    /**
+     * Checks conformance criteria of more services in parallel. The count of concurrent validations is limited by
+     * {@code apiml.gateway.conformance.batch.parallelism}, the count of services in one request by
+     * {@code apiml.gateway.conformance.batch.maxServices}.
+     *
+     * @param serviceIds serviceIDs to check for conformance
+     * @return 200 with the result of each service (HTTP status and body of the single service check), 400 if there
+     * are too many services
+     */
+    @PostMapping(
+        value = "/gateway/conformance",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @HystrixCommand
+    public ResponseEntity<Object> checkConformanceBatch(@RequestBody List<String> serviceIds, @CookieValue(value = "apimlAuthenticationToken", defaultValue = "dummy") String authenticationToken) {
+        if (serviceIds.size() > batchMaxServices) {
+            ApiMessageView message = messageService.createMessage(TOO_MANY_SERVICES_KEY, serviceIds.size(), batchMaxServices).mapToView();
+            return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+        }
+
+        Set<String> distinctServiceIds = new LinkedHashSet<>(serviceIds);
+        Map<String, BatchResult> results = new LinkedHashMap<>();
+        if (distinctServiceIds.isEmpty()) {
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        }
+
+        Map<String, Future<ResponseEntity<String>>> futures = new LinkedHashMap<>();
+        try {
+            for (String serviceId : distinctServiceIds) {
+                futures.put(serviceId, conformanceBatchExecutor.submit(() -> checkConformance(serviceId, authenticationToken)));
+            }
+            for (Map.Entry<String, Future<ResponseEntity<String>>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), BatchResult.of(entry.getValue()));
+            }
+        } finally {
+            // the executor is shared, do not leave validations of an interrupted request there
+            futures.values().forEach(future -> future.cancel(true));
+        }
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    /**
+     * Validates the API documentation and endpoints of the instance. This is the expensive part of the check, its
+     * result is cached.
+     */
+    private ResponseEntity<String> validateInstance(String serviceId, Map<String, String> metadata, String authenticationToken) {
+        ConformanceProblemsContainer foundNonConformanceIssues = new ConformanceProblemsContainer(serviceId);
+        try {
             Optional<String> swaggerUrl = verificationOnboardService.findSwaggerUrl(metadata);
 
             validateSwaggerDocument(serviceId, foundNonConformanceIssues, metadata, swaggerUrl, authenticationToken);
         } catch (ValidationException e) {
-            switch (e.getKey()) {
-                case WRONG_SERVICE_ID_KEY:
-                    foundNonConformanceIssues.add(REGISTRATION_PROBLEMS, e.getMessage());
-                    break;
-                case NO_METADATA_KEY:
-                    foundNonConformanceIssues.add(METADATA_PROBLEMS, e.getMessage());
-                    break;
-                default:
-                    foundNonConformanceIssues.add(CONFORMANCE_PROBLEMS, e.getMessage());
+            ResponseEntity<String> response = generateBadRequestResponseEntity(e, foundNonConformanceIssues);
+            if (e.isTemporary()) {
+                throw new ConformanceResultCache.UncachedResult(response);
             }
-            return generateBadRequestResponseEntity(e.getKey(), foundNonConformanceIssues);
+            return response;
         }
 
         if (!foundNonConformanceIssues.isEmpty())
@@ -109,7 +182,15 @@ public class ValidateAPIController {
             throw new ValidationException("Could not find Swagger Url", NON_CONFORMANT_KEY);
         }
 
-        String swagger = verificationOnboardService.getSwagger(swaggerUrl.get());
+        String swagger;
+        try {
+            swagger = verificationOnboardService.getSwagger(swaggerUrl.get());
+        } catch (RestClientException e) {
+            throw new ValidationException("Could not retrieve the API documentation from " + swaggerUrl.get() + ": " + e.getMessage(), NON_CONFORMANT_KEY, true);
+        }
+        if (swagger == null || swagger.isEmpty()) {
+            throw new ValidationException("The API documentation at " + swaggerUrl.get() + " is empty", NON_CONFORMANT_KEY, true);
+        }
         AbstractSwaggerValidator swaggerParser;
         swaggerParser = ValidatorFactory.parseSwagger(swagger, metadata, gatewayClient.getGatewayConfigProperties(), serviceId);
 
@@ -142,6 +223,20 @@ public class ValidateAPIController {
         return checkConformance(serviceId, authenticationToken);
     }
 
+    private ResponseEntity<String> generateBadRequestResponseEntity(ValidationException e, ConformanceProblemsContainer foundNonConformanceIssues) {
+        switch (e.getKey()) {
+            case WRONG_SERVICE_ID_KEY:
+                foundNonConformanceIssues.add(REGISTRATION_PROBLEMS, e.getMessage());
+                break;
+            case NO_METADATA_KEY:
+                foundNonConformanceIssues.add(METADATA_PROBLEMS, e.getMessage());
+                break;
+            default:
+                foundNonConformanceIssues.add(CONFORMANCE_PROBLEMS, e.getMessage());
+        }
+        return generateBadRequestResponseEntity(e.getKey(), foundNonConformanceIssues);
+    }
+
     /**
      * Creates a response when a conformance criteria is failed.
      *
@@ -226,4 +321,36 @@ public class ValidateAPIController {
 
         return result;
     }
+
+    /**
+     * Result of a service in the batch check, the same as the response of the single service check.
+     */
+    @lombok.Value
+    public static class BatchResult {
+
+        int status;
+        JsonNode result;
+
+        static BatchResult of(Future<ResponseEntity<String>> future) {
+            try {
+                ResponseEntity<String> response = future.get();
+                return new BatchResult(response.getStatusCodeValue(), toJson(response.getBody()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new BatchResult(HttpStatus.SERVICE_UNAVAILABLE.value(), TextNode.valueOf("The check was interrupted"));
+            } catch (ExecutionException e) {
+                return new BatchResult(HttpStatus.INTERNAL_SERVER_ERROR.value(), TextNode.valueOf(String.valueOf(e.getCause().getMessage())));
+            }
+        }
+
+        private static JsonNode toJson(String body) {
+            try {
+                return OBJECT_MAPPER.readTree(body);
+            } catch (JsonProcessingException e) {
+                return TextNode.valueOf(body);
+            }
+        }
+
+    }
+
 }
@@ -17,9 +17,21 @@ public class ValidationException extends RuntimeException {
     @Getter
     private final String key;
 
+    /**
+     * The problem is caused by a failure of the service (i.e. unavailable documentation), not by its content, so
+     * the result can differ on the next try.
+     */
+    @Getter
+    private final boolean temporary;
+
     public ValidationException(String msg, String key) {
+        this(msg, key, false);
+    }
+
+    public ValidationException(String msg, String key, boolean temporary) {
         super(msg);
         this.key = key;
+        this.temporary = temporary;
     }
 
 }
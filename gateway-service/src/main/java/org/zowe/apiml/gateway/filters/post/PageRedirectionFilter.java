@@ -10,13 +10,16 @@
 
 package org.zowe.apiml.gateway.filters.post;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.netflix.util.Pair;
 import com.netflix.zuul.context.RequestContext;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.http.HttpStatus;
+import org.zowe.apiml.gateway.security.service.ServiceCacheEvict;
 import org.zowe.apiml.product.routing.RoutedServices;
 import org.zowe.apiml.product.routing.RoutedServicesUser;
 import org.zowe.apiml.product.routing.ServiceType;
@@ -24,6 +27,7 @@ import org.zowe.apiml.product.routing.transform.TransformService;
 import org.zowe.apiml.product.routing.transform.URLTransformationException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.apache.http.HttpHeaders.LOCATION;
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.*;
@@ -35,26 +39,41 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
  * <li>Hostname and port of the url are registered in Discovery Service</li>
  * <li>The url can be matched to gateway url</li>
  * </ul>
+ * The transformed urls are cached in a concurrent bounded cache. The list of services and hosts of each service are
+ * read from Discovery Service once and kept until a service is changed (see {@link ServiceCacheEvict}).
  */
-@RequiredArgsConstructor
-public class PageRedirectionFilter extends PostZuulFilter implements RoutedServicesUser {
+public class PageRedirectionFilter extends PostZuulFilter implements RoutedServicesUser, ServiceCacheEvict {
     @Value("${server.attls.enabled:false}")
     private boolean isAttlsEnabled;
-    private static final int MAX_ENTRIES = 1000;
+    static final int DEFAULT_MAX_ENTRIES = 1000;
 
     private final DiscoveryClient discovery;
     private final TransformService transformService;
 
-    private final Map<String, RoutedServices> routedServicesMap = new HashMap<>();
+    private final Map<String, RoutedServices> routedServicesMap = new ConcurrentHashMap<>();
 
-    private final Map<String, String> routeTable = Collections.synchronizedMap(
-        new LinkedHashMap<String, String>(MAX_ENTRIES * 4 / 3 + 1, .75F, true) {
-            @Override
-            public boolean removeEldestEntry(Map.Entry eldest) {
-                return size() > MAX_ENTRIES;
-            }
-        }
-    );
+    // location -> transformed url
+    private final Cache<String, Redirection> routeTable;
+
+    // serviceId -> set of "host:port" of its instances
+    private final Map<String, Set<String>> serviceHosts = new ConcurrentHashMap<>();
+
+    // IDs of services registered in Discovery Service, null if they have to be loaded again
+    private volatile List<String> serviceIds;
+    private final Object serviceIdsLock = new Object();
+
+    public PageRedirectionFilter(DiscoveryClient discovery, TransformService transformService) {
+        this(discovery, transformService, DEFAULT_MAX_ENTRIES);
+    }
+
+    public PageRedirectionFilter(DiscoveryClient discovery, TransformService transformService, int maxEntries) {
+        this.discovery = discovery;
+        this.transformService = transformService;
+        this.routeTable = CacheBuilder.newBuilder()
+            .maximumSize(maxEntries)
+            .recordStats()
+            .build();
+    }
 
     /**
      * @return true if status code is 3XX
@@ -89,19 +108,16 @@ public class PageRedirectionFilter extends PostZuulFilter implements RoutedServi
         if (locationHeader.isPresent()) {
             String location = locationHeader.get().second();
             //find matched url in cache
-            String transformedUrl = foundUrlInTable(location);
-            if (transformedUrl != null) {
-                transformedUrl = updateScheme(transformedUrl);
-                transformLocation(locationHeader.get(), transformedUrl);
+            Redirection redirection = foundUrlInTable(location);
+            if (redirection != null) {
+                transformLocation(locationHeader.get(), redirection.getUrl());
             } else {
                 //find matched url in Discovery Service
-                Optional<String> transformedUrlOp = getMatchedUrlFromDS(location);
-                if (transformedUrlOp.isPresent()) {
-                    transformedUrl = transformedUrlOp.get();
+                Optional<Redirection> redirectionOp = getMatchedUrlFromDS(location);
+                if (redirectionOp.isPresent()) {
                     //Put matched url to cache
-                    transformedUrl = updateScheme(transformedUrl);
-                    routeTable.put(location, transformedUrl);
-                    transformLocation(locationHeader.get(), transformedUrl);
+                    routeTable.put(location, redirectionOp.get());
+                    transformLocation(locationHeader.get(), redirectionOp.get().getUrl());
                 }
             }
         }
@@ -124,8 +140,8 @@ public class PageRedirectionFilter extends PostZuulFilter implements RoutedServi
      * @param location url in Location header
      * @return matched url
      */
-    private String foundUrlInTable(String location) {
-        return routeTable.get(location);
+    private Redirection foundUrlInTable(String location) {
+        return routeTable.getIfPresent(location);
     }
 
     /**
@@ -137,19 +153,18 @@ public class PageRedirectionFilter extends PostZuulFilter implements RoutedServi
      * @return return matched url if it can be found
      * return empty if matched url can not be found
      */
-    private Optional<String> getMatchedUrlFromDS(String location) {
+    private Optional<Redirection> getMatchedUrlFromDS(String location) {
         RequestContext context = RequestContext.getCurrentContext();
         String currentServiceId = (String) context.get(SERVICE_ID_KEY);
 
         //check current service instance
-        Optional<String> transformedUrl = foundMatchedUrlInService(location, currentServiceId);
+        Optional<Redirection> transformedUrl = foundMatchedUrlInService(location, currentServiceId);
         if (transformedUrl.isPresent()) {
             return transformedUrl;
         }
 
         //iterate through all instances registered in discovery client, check if there is matched url
-        List<String> serviceIds = discovery.getServices();
-        for (String serviceId : serviceIds) {
+        for (String serviceId : getServiceIds()) {
             if (!currentServiceId.equals(serviceId)) {
                 transformedUrl = foundMatchedUrlInService(location, serviceId);
                 if (transformedUrl.isPresent()) {
@@ -161,33 +176,75 @@ public class PageRedirectionFilter extends PostZuulFilter implements RoutedServi
     }
 
     /**
-     * Find matched url in specified service. For each service instance, the method first checks if the hostname and port
-     * of the service instance are the same as the hostname and port in Location url. If they are the same, then try to
-     * find the matched url.
+     * Find matched url in specified service. The method first checks if the hostname and port of any service instance
+     * are the same as the hostname and port in Location url. If they are the same, then try to find the matched url.
      *
      * @param location  url in Location header
      * @param serviceId specified serviceId
      * @return return matched url if it can be found
      * return empty if matched url can not be found
      */
-    private Optional<String> foundMatchedUrlInService(String location, String serviceId) {
-        List<ServiceInstance> serviceInstances = discovery.getInstances(serviceId);
-        for (ServiceInstance instance : serviceInstances) {
-            //Check if the host and port in location is registered in DS
-            String host = instance.getHost() + ":" + instance.getPort();
-            if (location.contains(host)) {
-                try {
-                    String transformedUrl = transformService.transformURL(ServiceType.ALL, serviceId, location, routedServicesMap.get(serviceId), false);
-                    return Optional.of(transformedUrl);
-                } catch (URLTransformationException e) {
-                    //do nothing if no matched url is found
-                }
+    private Optional<Redirection> foundMatchedUrlInService(String location, String serviceId) {
+        if (serviceId == null) {
+            return Optional.empty();
+        }
+
+        //Check if the host and port in location is registered in DS
+        boolean hostMatches = getHosts(serviceId).stream().anyMatch(location::contains);
+        if (hostMatches) {
+            try {
+                String transformedUrl = transformService.transformURL(ServiceType.ALL, serviceId, location, routedServicesMap.get(serviceId), false);
+                return Optional.of(new Redirection(serviceId, updateScheme(transformedUrl)));
+            } catch (URLTransformationException e) {
+                //do nothing if no matched url is found
             }
         }
 
         return Optional.empty();
     }
 
+    /**
+     * Returns the IDs of services registered in Discovery Service. They are loaded once and kept until a service is
+     * evicted.
+     *
+     * @return IDs of all services
+     */
+    private List<String> getServiceIds() {
+        List<String> ids = serviceIds;
+        if (ids == null) {
+            synchronized (serviceIdsLock) {
+                ids = serviceIds;
+                if (ids == null) {
+                    List<String> services = discovery.getServices();
+                    ids = services == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(services));
+                    serviceIds = ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the precomputed hosts ("host:port") of the service instances
+     *
+     * @param serviceId specified serviceId
+     * @return hosts of all instances
+     */
+    private Set<String> getHosts(String serviceId) {
+        return serviceHosts.computeIfAbsent(serviceId, id -> {
+            List<ServiceInstance> serviceInstances = discovery.getInstances(id);
+            if (serviceInstances == null) {
+                return Collections.emptySet();
+            }
+
+            Set<String> hosts = new LinkedHashSet<>();
+            for (ServiceInstance instance : serviceInstances) {
+                hosts.add(instance.getHost() + ":" + instance.getPort());
+            }
+            return Collections.unmodifiableSet(hosts);
+        });
+    }
+
     /**
      * Replace Location header with transformed url
      *
@@ -202,4 +259,42 @@ public class PageRedirectionFilter extends PostZuulFilter implements RoutedServi
     public void addRoutedServices(String serviceId, RoutedServices routedServices) {
         routedServicesMap.put(serviceId, routedServices);
     }
+
+    /**
+     * @return statistics of the cache of transformed urls (hits, misses, evictions)
+     */
+    public CacheStats getCacheStats() {
+        return routeTable.stats();
+    }
+
+    @Override
+    public void evictCacheService(String serviceId) {
+        // the service could be also added or removed
+        evictServiceIds();
+        serviceHosts.keySet().removeIf(id -> id.equalsIgnoreCase(serviceId));
+        routeTable.asMap().values().removeIf(redirection -> redirection.getServiceId().equalsIgnoreCase(serviceId));
+    }
+
+    @Override
+    public void evictCacheAllService() {
+        evictServiceIds();
+        serviceHosts.clear();
+        routeTable.invalidateAll();
+    }
+
+    private void evictServiceIds() {
+        // the lock makes sure that the list being loaded is not stored after the eviction
+        synchronized (serviceIdsLock) {
+            serviceIds = null;
+        }
+    }
+
+    @lombok.Value
+    private static class Redirection {
+
+        String serviceId;
+        String url;
+
+    }
+
 }
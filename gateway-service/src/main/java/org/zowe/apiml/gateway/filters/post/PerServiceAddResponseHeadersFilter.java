@@ -12,14 +12,9 @@ package org.zowe.apiml.gateway.filters.post;
 
 import com.netflix.zuul.context.RequestContext;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.stereotype.Component;
-import org.zowe.apiml.gateway.services.ServiceInstancesUtils;
-
-import java.util.List;
-import java.util.Map;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicy;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.*;
 
@@ -30,7 +25,7 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
 @RequiredArgsConstructor
 public class PerServiceAddResponseHeadersFilter extends PostZuulFilter {
 
-    private final DiscoveryClient discoveryClient;
+    private final ServiceRoutingPolicyService serviceRoutingPolicyService;
 
     @Override
     public int filterOrder() {
@@ -44,24 +39,9 @@ public class PerServiceAddResponseHeadersFilter extends PostZuulFilter {
 
     @Override
     public Object run() {
-        List<ServiceInstance> serviceInstances = ServiceInstancesUtils.getServiceInstancesFromDiscoveryClient(discoveryClient);
-        if (serviceInstances != null && !serviceInstances.isEmpty()) {
-            ServiceInstance serviceInstance = serviceInstances.get(0);
-            Map<String, String> metadata = serviceInstance.getMetadata();
-
-            RequestContext context = RequestContext.getCurrentContext();
-            String headersToAdd = metadata.get("apiml.response.headers");
-            if (headersToAdd != null && !headersToAdd.trim().isEmpty()) {
-                String[] headerValuePairs = StringUtils.stripAll(headersToAdd.split(","));
-
-                for (String headerValuePair : headerValuePairs) {
-                    String[] headerValue = StringUtils.stripAll(headerValuePair.split(":", 2)); // separate header name and header value
-                    String header = headerValue[0];
-                    String value = headerValue.length > 1 ? headerValue[1] : "";
-
-                    context.addZuulResponseHeader(header, value);
-                }
-            }
+        RequestContext context = RequestContext.getCurrentContext();
+        for (ServiceRoutingPolicy.ResponseHeader header : serviceRoutingPolicyService.getPolicy().getResponseHeaders()) {
+            context.addZuulResponseHeader(header.getName(), header.getValue());
         }
         return null;
     }
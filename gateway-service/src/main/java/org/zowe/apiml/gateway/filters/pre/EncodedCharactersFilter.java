@@ -12,19 +12,15 @@ package org.zowe.apiml.gateway.filters.pre;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.zowe.apiml.gateway.services.ServiceInstancesUtils;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicy;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 import org.zowe.apiml.message.core.Message;
 import org.zowe.apiml.message.core.MessageService;
 import com.netflix.zuul.context.RequestContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.http.HttpStatus;
 
-import java.util.*;
-import java.util.stream.Collectors;
-
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.*;
 
 /**
@@ -39,11 +35,15 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
 @Slf4j
 public class EncodedCharactersFilter extends PreZuulFilter {
 
-    private final DiscoveryClient discoveryClient;
+    private final ServiceRoutingPolicyService serviceRoutingPolicyService;
     private final MessageService messageService;
-    public static final String METADATA_KEY = "apiml.enableUrlEncodedCharacters";
-    private static final List<String> PROHIBITED_CHARACTERS =
-        Arrays.asList("%2e", "%2E", ";", "%3b", "%3B", "%2f", "%2F", "\\", "%5c", "%5C", "%25", "%");
+    public static final String METADATA_KEY = ServiceRoutingPolicy.ENABLE_URL_ENCODED_CHARACTERS;
+    /*
+     * The prohibited sequences are "%2e", "%2E", ";", "%3b", "%3B", "%2f", "%2F", "\\", "%5c", "%5C", "%25" and "%".
+     * Each encoded sequence starts with '%' which is prohibited itself, so a path is rejected exactly if it contains
+     * any of the characters '%', ';' and '\\'.
+     */
+    private static final char[] PROHIBITED_CHARACTERS = {'%', ';', '\\'};
 
     @Override
     public int filterOrder() {
@@ -52,21 +52,7 @@ public class EncodedCharactersFilter extends PreZuulFilter {
 
     @Override
     public boolean shouldFilter() {
-        boolean shouldFilter = true;
-
-        List<ServiceInstance> instanceList = ServiceInstancesUtils.getServiceInstancesFromDiscoveryClient(discoveryClient);
-
-        List<Map<String, String>> enabledList = instanceList.stream()
-            .map(ServiceInstance::getMetadata)
-            .filter(metadata -> metadata.get(METADATA_KEY) == null
-                || String.valueOf(true).equalsIgnoreCase(metadata.get(METADATA_KEY)))
-            .collect(Collectors.toList());
-
-        if (enabledList.size() == instanceList.size()) {
-            shouldFilter = false;
-        }
-
-        return shouldFilter;
+        return !serviceRoutingPolicyService.getPolicy().isEncodedCharactersAllowed();
     }
 
     @Override
@@ -79,9 +65,26 @@ public class EncodedCharactersFilter extends PreZuulFilter {
         return null;
     }
 
-    private boolean checkRequestForEncodedCharacters(String request) {
-        return PROHIBITED_CHARACTERS.stream()
-            .anyMatch(forbidden -> pathContains(request, forbidden));
+    /**
+     * Verify in a single pass without any allocation if the path contains a prohibited sequence.
+     *
+     * @param path path of the request, could be null
+     * @return true if the request should be rejected
+     */
+    static boolean checkRequestForEncodedCharacters(String path) {
+        if (path == null) {
+            return false;
+        }
+
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            for (char prohibited : PROHIBITED_CHARACTERS) {
+                if (c == prohibited) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     private void rejectRequest(RequestContext ctx) {
@@ -106,8 +109,4 @@ public class EncodedCharactersFilter extends PreZuulFilter {
         }
         return response;
     }
-
-    private static boolean pathContains(String path, String character) {
-        return path != null && path.contains(character);
-    }
 }
@@ -11,11 +11,10 @@
 package org.zowe.apiml.gateway.filters.pre;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicy;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 import org.zowe.apiml.gzip.GZipResponseUtils;
 import org.zowe.apiml.gzip.GZipResponseWrapper;
 
@@ -25,9 +24,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 import java.util.zip.GZIPOutputStream;
 
 /**
@@ -38,7 +34,7 @@ import java.util.zip.GZIPOutputStream;
 @RequiredArgsConstructor
 public class PerServiceGZipFilter extends OncePerRequestFilter {
 
-    private final DiscoveryClient discoveryClient;
+    private final ServiceRoutingPolicyService serviceRoutingPolicyService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -93,32 +89,23 @@ public class PerServiceGZipFilter extends OncePerRequestFilter {
      * @param request The request to verify
      */
     boolean requiresCompression(HttpServletRequest request) {
-        String requestUri = request.getRequestURI();
-        boolean acceptsCompression = requestAcceptsCompression(request);
-        Optional<ServiceInstance> validInstance = getInstanceInfoForUri(requestUri);
-        if (!validInstance.isPresent()) {
+        if (!requestAcceptsCompression(request)) {
             return false;
         }
-        boolean serviceRequestsCompression = serviceOnRouteRequestsCompression(validInstance.get(), requestUri);
 
-        return acceptsCompression && serviceRequestsCompression;
+        String requestUri = request.getRequestURI();
+        return getPolicyForUri(requestUri).isCompressionRequired(requestUri);
     }
 
     // Verify non versioned APIs
-    Optional<ServiceInstance> getInstanceInfoForUri(String requestUri) {
+    ServiceRoutingPolicy getPolicyForUri(String requestUri) {
         // Compress only if there is valid instance with relevant metadata.
         String[] uriParts = requestUri.split("/");
-        List<ServiceInstance> instances;
         if (uriParts.length < 2) {
-            return Optional.empty();
-        }
-
-        instances = discoveryClient.getInstances(uriParts[1]);
-        if (instances == null || instances.isEmpty()) {
-            return Optional.empty();
+            return ServiceRoutingPolicy.EMPTY;
         }
 
-        return Optional.of(instances.get(0));
+        return serviceRoutingPolicyService.getPolicy(uriParts[1]);
     }
 
     boolean requestAcceptsCompression(HttpServletRequest request) {
@@ -127,30 +114,4 @@ public class PerServiceGZipFilter extends OncePerRequestFilter {
             return false;
         } else return encodingHeader.contains("gzip");
     }
-
-    boolean serviceOnRouteRequestsCompression(ServiceInstance instance, String requestUri) {
-        Map<String, String> metadata = instance.getMetadata();
-        boolean allowCompressionForService = "true".equals(metadata.get("apiml.response.compress"));
-        if (!allowCompressionForService) {
-            return false;
-        }
-
-        String routesToCompress = metadata.get("apiml.response.compressRoutes");
-        if (routesToCompress == null) {
-            return true;
-        }
-
-        String[] setOfRoutesToMatch = routesToCompress.split(",");
-        AntPathMatcher matcher = new AntPathMatcher();
-        for (String pattern: setOfRoutesToMatch) {
-            if (!pattern.startsWith("/")) {
-                pattern = "/" + pattern;
-            }
-            if (matcher.match(pattern, requestUri)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
 }
@@ -11,14 +11,11 @@
 package org.zowe.apiml.gateway.filters.pre;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cloud.client.ServiceInstance;
-import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.netflix.zuul.filters.ProxyRequestHelper;
 import org.springframework.cloud.netflix.zuul.filters.ZuulProperties;
 import org.springframework.stereotype.Component;
-import org.zowe.apiml.gateway.services.ServiceInstancesUtils;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 
 import java.util.List;
 
@@ -28,12 +25,12 @@ import static org.springframework.cloud.netflix.zuul.filters.support.FilterConst
 @RequiredArgsConstructor
 public class PerServiceIgnoreHeaderFilter extends PreZuulFilter {
 
-    private final DiscoveryClient discoveryClient;
+    private final ServiceRoutingPolicyService serviceRoutingPolicyService;
     private final ProxyRequestHelper proxyRequestHelper;
 
     @Autowired
-    public PerServiceIgnoreHeaderFilter(DiscoveryClient discoveryClient, ZuulProperties zuulProperties) {
-        this.discoveryClient = discoveryClient;
+    public PerServiceIgnoreHeaderFilter(ServiceRoutingPolicyService serviceRoutingPolicyService, ZuulProperties zuulProperties) {
+        this.serviceRoutingPolicyService = serviceRoutingPolicyService;
         this.proxyRequestHelper = new ProxyRequestHelper(zuulProperties);
     }
 
@@ -49,15 +46,9 @@ public class PerServiceIgnoreHeaderFilter extends PreZuulFilter {
 
     @Override
     public Object run() {
-        List<ServiceInstance> serviceInstances = ServiceInstancesUtils.getServiceInstancesFromDiscoveryClient(discoveryClient);
-        if (serviceInstances != null && !serviceInstances.isEmpty()) {
-            ServiceInstance serviceInstance = serviceInstances.get(0);
-            String headersToIgnore = serviceInstance.getMetadata().get("apiml.headersToIgnore");
-
-            if (headersToIgnore != null && !headersToIgnore.trim().isEmpty()) {
-                String[] headers = StringUtils.stripAll(headersToIgnore.split(","));
-                proxyRequestHelper.addIgnoredHeaders(headers);
-            }
+        List<String> headersToIgnore = serviceRoutingPolicyService.getPolicy().getHeadersToIgnore();
+        if (!headersToIgnore.isEmpty()) {
+            proxyRequestHelper.addIgnoredHeaders(headersToIgnore.toArray(new String[0]));
         }
         return null;
     }
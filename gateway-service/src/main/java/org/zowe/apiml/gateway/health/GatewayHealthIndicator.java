@@ -10,6 +10,7 @@
 
 package org.zowe.apiml.gateway.health;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.AbstractHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
@@ -22,22 +23,44 @@ import org.zowe.apiml.message.log.ApimlLogger;
 import org.zowe.apiml.message.yaml.YamlMessageServiceInstance;
 import org.zowe.apiml.product.constants.CoreService;
 
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.springframework.boot.actuate.health.Status.DOWN;
 import static org.springframework.boot.actuate.health.Status.UP;
 
 /**
  * Gateway health information (/application/health)
+ * <p>
+ * The health is computed when the discovery client is refreshed (see {@link GatewayHealthRefreshListener}) and each
+ * probe just returns the last computed state. The probes then do not call the discovery client nor z/OSMF, so their
+ * frequency does not matter. The state is computed synchronously only if there was no refresh yet.
  */
+@Slf4j
 @Component
 public class GatewayHealthIndicator extends AbstractHealthIndicator {
     private final DiscoveryClient discoveryClient;
     private final Providers loginProviders;
     private String apiCatalogServiceId;
-    
+
     private final ApimlLogger apimlLog = ApimlLogger.of(GatewayHealthIndicator.class,
             YamlMessageServiceInstance.getInstance());
     boolean startedInformationPublished = false;
 
+    private volatile HealthSnapshot snapshot;
+
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "GatewayHealthRefresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     public GatewayHealthIndicator(DiscoveryClient discoveryClient,
                                   Providers providers,
                                   @Value("${apiml.catalog.serviceId:}") String apiCatalogServiceId) {
@@ -46,9 +69,45 @@ public class GatewayHealthIndicator extends AbstractHealthIndicator {
         this.apiCatalogServiceId = apiCatalogServiceId;
     }
 
-
     @Override
     protected void doHealthCheck(Health.Builder builder) {
+        HealthSnapshot current = snapshot;
+        if (current == null) {
+            current = refresh();
+        }
+
+        builder.status(current.getStatus()).withDetails(current.getDetails());
+    }
+
+    /**
+     * Request computing of the health in the background. Requests received before the computing starts are merged,
+     * so the caller (the thread refreshing the discovery client) is never blocked. If the computing fails, the state
+     * is UNKNOWN until the next successful refresh.
+     */
+    public void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshPending.set(false);
+                try {
+                    refresh();
+                } catch (RuntimeException e) {
+                    log.warn("Cannot compute the health of Gateway", e);
+                    refreshFailed(e);
+                }
+            });
+        }
+    }
+
+    private synchronized void refreshFailed(RuntimeException e) {
+        snapshot = new HealthSnapshot(Status.UNKNOWN, Collections.singletonMap("error", e.getClass().getName() + ": " + e.getMessage()));
+    }
+
+    /**
+     * Compute the health and store it for the next probes.
+     *
+     * @return the new state
+     */
+    synchronized HealthSnapshot refresh() {
         boolean anyCatalogIsAvailable = apiCatalogServiceId != null && !apiCatalogServiceId.isEmpty();
         boolean apiCatalogUp = !this.discoveryClient.getInstances(apiCatalogServiceId).isEmpty();
 
@@ -67,22 +126,39 @@ public class GatewayHealthIndicator extends AbstractHealthIndicator {
 
         int gatewayCount = this.discoveryClient.getInstances(CoreService.GATEWAY.getServiceId()).size();
 
-        builder.status(toStatus(discoveryUp))
-            .withDetail(CoreService.DISCOVERY.getServiceId(), toStatus(discoveryUp).getCode())
-            .withDetail(CoreService.AUTH.getServiceId(), toStatus(authUp).getCode())
-            .withDetail("gatewayCount", gatewayCount);
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put(CoreService.DISCOVERY.getServiceId(), toStatus(discoveryUp).getCode());
+        details.put(CoreService.AUTH.getServiceId(), toStatus(authUp).getCode());
+        details.put("gatewayCount", gatewayCount);
 
         if (anyCatalogIsAvailable) {
-            builder.withDetail(CoreService.API_CATALOG.getServiceId(), toStatus(apiCatalogUp).getCode());
+            details.put(CoreService.API_CATALOG.getServiceId(), toStatus(apiCatalogUp).getCode());
         }
 
         if (!startedInformationPublished && discoveryUp && apiCatalogUp && authUp) {
             apimlLog.log("org.zowe.apiml.common.mediationLayerStarted");
             startedInformationPublished = true;
         }
+
+        snapshot = new HealthSnapshot(toStatus(discoveryUp), Collections.unmodifiableMap(details));
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshExecutor.shutdownNow();
     }
 
     private Status toStatus(boolean up) {
         return up ? UP : DOWN;
     }
+
+    @lombok.Value
+    static class HealthSnapshot {
+
+        Status status;
+        Map<String, Object> details;
+
+    }
+
 }
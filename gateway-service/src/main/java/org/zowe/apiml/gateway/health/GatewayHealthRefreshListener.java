@@ -0,0 +1,31 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.health;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.zowe.apiml.gateway.metadata.service.RefreshEventListener;
+
+/**
+ * Recomputes the health of the gateway once the discovery client is refreshed (heartbeat, new registration etc.).
+ */
+@Component
+@RequiredArgsConstructor
+public class GatewayHealthRefreshListener extends RefreshEventListener {
+
+    private final GatewayHealthIndicator gatewayHealthIndicator;
+
+    @Override
+    public void refresh() {
+        gatewayHealthIndicator.requestRefresh();
+    }
+
+}
@@ -10,7 +10,6 @@
 
 package org.zowe.apiml.gateway.ribbon.loadbalancer;
 
-import com.google.common.base.Optional;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.client.config.IClientConfig;
 import com.netflix.loadbalancer.*;
@@ -18,10 +17,12 @@ import com.netflix.niws.loadbalancer.DiscoveryEnabledServer;
 import lombok.extern.slf4j.Slf4j;
 import org.zowe.apiml.gateway.context.ConfigurableNamedContextFactory;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.Comparator.comparing;
 
@@ -29,18 +30,28 @@ import static java.util.Comparator.comparing;
  * This adapter holds the load balancing logic by facilitating server selection.
  * There is plenty of debug log to increase supportability
  *
+ * The ordered list of servers is prepared once and reused until the server list of the load balancer or state of any
+ * instance is changed (see {@link ServerView}). The selection itself does not copy or sort the list, it just
+ * evaluates predicates and stores eligible servers into a buffer owned by the thread.
  */
 @Slf4j
 public class LoadBalancerRuleAdapter extends ClientConfigEnabledRoundRobinRule {
 
+    private static final Comparator<Server> SERVER_ORDER = comparing(Server::isReadyToServe).reversed().thenComparing(Server::getId);
+    private static final ServerView EMPTY_VIEW = new ServerView(0, new Server[0], new Server[0], new long[0], new boolean[0]);
+
     private InstanceInfo instanceInfo;
     private ConfigurableNamedContextFactory<?> configurableNamedContextFactory;
     private Map<String, RequestAwarePredicate> predicateMap;
+    private RequestAwarePredicate[] predicates = new RequestAwarePredicate[0];
 
     // used zuul's implementation of round-robin server selection
     private AvailabilityPredicate availabilityPredicate;
-    private AbstractServerPredicate zuulPredicate;
+    private final AtomicInteger nextIndex = new AtomicInteger();
 
+    private final AtomicLong viewVersion = new AtomicLong();
+    private volatile ServerView view = EMPTY_VIEW;
+    private final ThreadLocal<Server[]> buffer = ThreadLocal.withInitial(() -> new Server[0]);
 
     /**
      * no-argument constructor has to be present for zuul
@@ -50,47 +61,126 @@ public class LoadBalancerRuleAdapter extends ClientConfigEnabledRoundRobinRule {
 
     public LoadBalancerRuleAdapter(InstanceInfo instanceInfo, ConfigurableNamedContextFactory<?> configurableNamedContextFactory, IClientConfig config) {
         this.predicateMap = configurableNamedContextFactory.getInstances(instanceInfo.getAppName(), RequestAwarePredicate.class);
+        if (predicateMap != null) {
+            this.predicates = predicateMap.values().toArray(new RequestAwarePredicate[0]);
+        }
 
         this.instanceInfo = instanceInfo;
         this.configurableNamedContextFactory = configurableNamedContextFactory;
 
         //mirror original zuul setup
         availabilityPredicate = new AvailabilityPredicate(this, config);
-        zuulPredicate = CompositePredicate.withPredicates(availabilityPredicate)
-            .addFallbackPredicate(AbstractServerPredicate.alwaysTrue())
-            .build();
+    }
+
+    /**
+     * Return the ordered view of servers. The view is rebuilt only if the list of servers in the load balancer differs
+     * from the one used for the current view (another instance, order, readiness or update of instance's metadata).
+     */
+    ServerView getView(List<Server> allServers) {
+        ServerView current = view;
+        if (current.matches(allServers)) {
+            return current;
+        }
+
+        ServerView updated = ServerView.of(viewVersion.incrementAndGet(), allServers);
+        log.debug("Server list was changed, new view of servers (version {}): {}", updated.version, updated);
+        view = updated;
+        return updated;
     }
 
     @Override
     public Server choose(Object key) {
         log.debug("Choosing server: {}", key);
         ILoadBalancer lb = getLoadBalancer();
-        LoadBalancingContext ctx = new LoadBalancingContext(instanceInfo.getAppName(), instanceInfo);
-        List<Server> allServers = new ArrayList<>(lb.getAllServers());
-        allServers.sort(comparing(Server::isReadyToServe).reversed().thenComparing(Server::getId)); // the original list is in the random order
-        log.debug("Path: {}, List of servers from LoadBalancer: {}", ctx.getPath() ,allServers);
-        for (RequestAwarePredicate predicate : predicateMap.values()) {
-            log.debug("Running predicate: {}, list of servers: {}", allServers, predicate);
-            allServers = allServers.stream()
-                .map(server -> {
-                    if (server instanceof DiscoveryEnabledServer) {
-                        return (DiscoveryEnabledServer) server;
-                    } else {
-                        throw new IllegalStateException("Supplied Server is not instance of DiscoveryEnabledServer class");
-                    }
-                })
-                .filter(server -> predicate.apply(ctx, server))
-                .collect(Collectors.toList());
-            log.debug("List of servers after predicate: {}", allServers);
-        }
-        log.debug("Running Zuul predicates");
-        Optional<Server> server = zuulPredicate.chooseRoundRobinAfterFiltering(allServers, key); //NOSONAR following zuul's api
-        if (server.isPresent()) {
-            log.debug("Selected server: {}", server.get());
-            return server.get();
+        ServerView serverView = getView(lb.getAllServers());
+        Server[] sorted = serverView.sorted;
+        log.debug("List of servers from LoadBalancer: {}", serverView);
+
+        int count = sorted.length;
+        Server[] eligible = getBuffer(count);
+        if (predicates.length == 0) {
+            System.arraycopy(sorted, 0, eligible, 0, count);
         } else {
-            log.debug("Did not select any server");
-            return null;
+            if (serverView.heterogeneous) {
+                throw new IllegalStateException("Supplied Server is not instance of DiscoveryEnabledServer class");
+            }
+            LoadBalancingContext ctx = new LoadBalancingContext(instanceInfo.getAppName(), instanceInfo);
+            log.debug("Path: {}, Running predicates: {}", ctx.getPath(), predicateMap);
+            count = 0;
+            for (Server server : sorted) {
+                if (test(ctx, (DiscoveryEnabledServer) server)) {
+                    eligible[count++] = server;
+                }
+            }
+        }
+
+        try {
+            log.debug("Running Zuul predicates");
+            count = filterAvailable(eligible, count, key);
+            if (count == 0) {
+                log.debug("Did not select any server");
+                return null;
+            }
+
+            Server server = eligible[incrementAndGetModulo(count)];
+            log.debug("Selected server: {}", server);
+            return server;
+        } finally {
+            // do not hold references to the removed servers
+            Arrays.fill(eligible, 0, sorted.length, null);
+        }
+    }
+
+    private boolean test(LoadBalancingContext ctx, DiscoveryEnabledServer server) {
+        for (RequestAwarePredicate predicate : predicates) {
+            if (!predicate.apply(ctx, server)) {
+                log.debug("Server {} was filtered by predicate: {}", server, predicate);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Equivalent of zuul's {@link CompositePredicate} with availability predicate and fallback to all servers. The
+     * available servers are moved to the beginning of the array.
+     *
+     * @return count of eligible servers at the beginning of the array
+     */
+    private int filterAvailable(Server[] servers, int count, Object key) {
+        int available = 0;
+        ReusablePredicateKey predicateKey = new ReusablePredicateKey(key);
+        for (int i = 0; i < count; i++) {
+            predicateKey.server = servers[i];
+            if (availabilityPredicate.apply(predicateKey)) {
+                servers[available++] = servers[i];
+            }
+        }
+        if (available > 0) {
+            return available;
+        }
+
+        // fallback: no server is available (the array was not modified)
+        log.debug("No server is available, fallback to all servers");
+        return count;
+    }
+
+    private Server[] getBuffer(int size) {
+        Server[] output = buffer.get();
+        if (output.length < size) {
+            output = new Server[size];
+            buffer.set(output);
+        }
+        return output;
+    }
+
+    private int incrementAndGetModulo(int modulo) {
+        for (;;) {
+            int current = nextIndex.get();
+            int next = (current + 1) % modulo;
+            if (nextIndex.compareAndSet(current, next) && current < modulo) {
+                return current;
+            }
         }
     }
 
@@ -102,4 +192,101 @@ public class LoadBalancerRuleAdapter extends ClientConfigEnabledRoundRobinRule {
             ", predicates=" + predicateMap +
             '}';
     }
+
+    /**
+     * Key of the availability predicate reused for all servers of one selection.
+     */
+    private static final class ReusablePredicateKey extends PredicateKey {
+
+        private Server server;
+
+        ReusablePredicateKey(Object loadBalancerKey) {
+            super(loadBalancerKey, null);
+        }
+
+        @Override
+        public Server getServer() {
+            return server;
+        }
+
+    }
+
+    /**
+     * Immutable snapshot of servers provided by the load balancer. It contains the servers in the original order (to
+     * detect a change without any allocation) and sorted by readiness and id (the original list is in the random
+     * order).
+     */
+    static final class ServerView {
+
+        private final long version;
+        private final Server[] source;
+        private final Server[] sorted;
+        private final long[] lastDirtyTimestamps;
+        private final boolean[] readyToServe;
+        private final boolean heterogeneous;
+
+        private ServerView(long version, Server[] source, Server[] sorted, long[] lastDirtyTimestamps, boolean[] readyToServe) {
+            this.version = version;
+            this.source = source;
+            this.sorted = sorted;
+            this.lastDirtyTimestamps = lastDirtyTimestamps;
+            this.readyToServe = readyToServe;
+            this.heterogeneous = Arrays.stream(source).anyMatch(server -> !(server instanceof DiscoveryEnabledServer));
+        }
+
+        static ServerView of(long version, List<Server> servers) {
+            Server[] source = servers.toArray(new Server[0]);
+            long[] lastDirtyTimestamps = new long[source.length];
+            boolean[] readyToServe = new boolean[source.length];
+            for (int i = 0; i < source.length; i++) {
+                lastDirtyTimestamps[i] = getLastDirtyTimestamp(source[i]);
+                readyToServe[i] = source[i].isReadyToServe();
+            }
+
+            Server[] sorted = source.clone();
+            Arrays.sort(sorted, SERVER_ORDER);
+            return new ServerView(version, source, sorted, lastDirtyTimestamps, readyToServe);
+        }
+
+        private static long getLastDirtyTimestamp(Server server) {
+            if (server instanceof DiscoveryEnabledServer) {
+                InstanceInfo info = ((DiscoveryEnabledServer) server).getInstanceInfo();
+                if ((info != null) && (info.getLastDirtyTimestamp() != null)) {
+                    return info.getLastDirtyTimestamp();
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * Verify without allocation that the list contains the same servers in the same state as the view.
+         */
+        boolean matches(List<Server> servers) {
+            int size = servers.size();
+            if (size != source.length) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                Server server = servers.get(i);
+                if (
+                    (server != source[i]) ||
+                    (server.isReadyToServe() != readyToServe[i]) ||
+                    (getLastDirtyTimestamp(server) != lastDirtyTimestamps[i])
+                ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(sorted);
+        }
+
+    }
 }
@@ -11,6 +11,7 @@
 package org.zowe.apiml.gateway.routing;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
@@ -32,9 +33,9 @@ public class FilterConfig {
     }
 
     @Bean
-    public EncodedCharactersFilter encodedCharactersFilter(DiscoveryClient discovery,
+    public EncodedCharactersFilter encodedCharactersFilter(ServiceRoutingPolicyService serviceRoutingPolicyService,
                                                            MessageService messageService) {
-        return new EncodedCharactersFilter(discovery, messageService);
+        return new EncodedCharactersFilter(serviceRoutingPolicyService, messageService);
     }
 
     @Bean
@@ -54,8 +55,9 @@ public class FilterConfig {
 
     @Bean
     public PageRedirectionFilter pageRedirectionFilter(DiscoveryClient discovery,
-                                                       TransformService transformService) {
-        return new PageRedirectionFilter(discovery, transformService);
+                                                       TransformService transformService,
+                                                       @Value("${apiml.routing.redirectionCacheSize:1000}") int cacheSize) {
+        return new PageRedirectionFilter(discovery, transformService, cacheSize);
     }
 
     @Bean
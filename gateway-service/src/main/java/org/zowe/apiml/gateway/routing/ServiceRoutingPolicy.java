@@ -0,0 +1,151 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.routing;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing settings of a service compiled from the metadata of its instances. The metadata are parsed once, filters
+ * just read the prepared values. The object is immutable and it is replaced once the instances of the service change.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ServiceRoutingPolicy {
+
+    public static final String ENABLE_URL_ENCODED_CHARACTERS = "apiml.enableUrlEncodedCharacters";
+    public static final String HEADERS_TO_IGNORE = "apiml.headersToIgnore";
+    public static final String RESPONSE_HEADERS = "apiml.response.headers";
+    public static final String RESPONSE_COMPRESS = "apiml.response.compress";
+    public static final String RESPONSE_COMPRESS_ROUTES = "apiml.response.compressRoutes";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    /**
+     * Policy of a service without any instance.
+     */
+    public static final ServiceRoutingPolicy EMPTY = new ServiceRoutingPolicy(
+        null, true, Collections.emptyList(), Collections.emptyList(), false, null
+    );
+
+    String serviceId;
+
+    /**
+     * Encoded characters in the URL are allowed only if all instances allow them.
+     */
+    boolean encodedCharactersAllowed;
+
+    List<String> headersToIgnore;
+
+    List<ResponseHeader> responseHeaders;
+
+    boolean compressionEnabled;
+
+    /**
+     * Ant patterns of routes to compress, null if all routes should be compressed.
+     */
+    List<String> compressRoutes;
+
+    /**
+     * Compiles the policy. The service-wide settings are taken from the first instance as the filters did.
+     *
+     * @param serviceId ID of the service
+     * @param instances all instances of the service
+     * @return the compiled policy, {@link #EMPTY} if there is no instance
+     */
+    public static ServiceRoutingPolicy of(String serviceId, List<ServiceInstance> instances) {
+        if (instances == null || instances.isEmpty()) {
+            return EMPTY;
+        }
+
+        boolean encodedCharactersAllowed = instances.stream()
+            .map(ServiceInstance::getMetadata)
+            .allMatch(metadata -> metadata.get(ENABLE_URL_ENCODED_CHARACTERS) == null
+                || String.valueOf(true).equalsIgnoreCase(metadata.get(ENABLE_URL_ENCODED_CHARACTERS)));
+
+        Map<String, String> metadata = instances.get(0).getMetadata();
+        return new ServiceRoutingPolicy(
+            serviceId,
+            encodedCharactersAllowed,
+            parseHeadersToIgnore(metadata.get(HEADERS_TO_IGNORE)),
+            parseResponseHeaders(metadata.get(RESPONSE_HEADERS)),
+            "true".equals(metadata.get(RESPONSE_COMPRESS)),
+            parseCompressRoutes(metadata.get(RESPONSE_COMPRESS_ROUTES))
+        );
+    }
+
+    private static List<String> parseHeadersToIgnore(String headersToIgnore) {
+        if (headersToIgnore == null || headersToIgnore.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(StringUtils.stripAll(headersToIgnore.split(","))));
+    }
+
+    private static List<ResponseHeader> parseResponseHeaders(String headersToAdd) {
+        if (headersToAdd == null || headersToAdd.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ResponseHeader> output = new ArrayList<>();
+        for (String headerValuePair : StringUtils.stripAll(headersToAdd.split(","))) {
+            String[] headerValue = StringUtils.stripAll(headerValuePair.split(":", 2)); // separate header name and header value
+            output.add(new ResponseHeader(headerValue[0], headerValue.length > 1 ? headerValue[1] : ""));
+        }
+        return Collections.unmodifiableList(output);
+    }
+
+    private static List<String> parseCompressRoutes(String routesToCompress) {
+        if (routesToCompress == null) {
+            return null; // NOSONAR - null means all routes
+        }
+
+        List<String> output = new ArrayList<>();
+        for (String pattern : routesToCompress.split(",")) {
+            output.add(pattern.startsWith("/") ? pattern : "/" + pattern);
+        }
+        return Collections.unmodifiableList(output);
+    }
+
+    /**
+     * Verify if the service requests compression of the response on the route.
+     *
+     * @param requestUri URI of the request
+     * @return true if the response should be compressed
+     */
+    public boolean isCompressionRequired(String requestUri) {
+        if (!compressionEnabled) {
+            return false;
+        }
+        if (compressRoutes == null) {
+            return true;
+        }
+        return compressRoutes.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, requestUri));
+    }
+
+    @Value
+    public static class ResponseHeader {
+
+        String name;
+        String value;
+
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.routing;
+
+import com.netflix.zuul.context.RequestContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Service;
+import org.zowe.apiml.gateway.security.service.ServiceCacheEvict;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
+
+/**
+ * Provides the compiled {@link ServiceRoutingPolicy} of services. A policy is compiled on the first request of
+ * the service and it is kept until the instances of the service change (evicted the same way as other caches about
+ * services). Only services with an instance are cached.
+ */
+@Service
+@RequiredArgsConstructor
+public class ServiceRoutingPolicyService implements ServiceCacheEvict {
+
+    static final String POLICY_KEY = "apimlServiceRoutingPolicy";
+
+    private final DiscoveryClient discoveryClient;
+
+    private final Map<String, ServiceRoutingPolicy> policies = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the policy of the service. The discovery client is called only if the policy is not compiled yet.
+     *
+     * @param serviceId ID of the service
+     * @return the policy, {@link ServiceRoutingPolicy#EMPTY} if the service has no instance
+     */
+    public ServiceRoutingPolicy getPolicy(String serviceId) {
+        if (serviceId == null) {
+            return ServiceRoutingPolicy.EMPTY;
+        }
+
+        ServiceRoutingPolicy policy = policies.computeIfAbsent(serviceId.toLowerCase(Locale.ROOT), key -> {
+            List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+            if (instances == null || instances.isEmpty()) {
+                // do not cache, the ID could come from any request
+                return null;
+            }
+            return ServiceRoutingPolicy.of(serviceId, instances);
+        });
+        return policy == null ? ServiceRoutingPolicy.EMPTY : policy;
+    }
+
+    /**
+     * Returns the policy of the service of the current Zuul request. The policy is stored in the request context,
+     * so all filters of the request share the same instance.
+     *
+     * @return the policy of the routed service
+     */
+    public ServiceRoutingPolicy getPolicy() {
+        RequestContext context = RequestContext.getCurrentContext();
+        String serviceId = (String) context.get(SERVICE_ID_KEY);
+
+        Object stored = context.get(POLICY_KEY);
+        if (stored instanceof ServiceRoutingPolicy && Objects.equals(serviceId, ((ServiceRoutingPolicy) stored).getServiceId())) {
+            return (ServiceRoutingPolicy) stored;
+        }
+
+        ServiceRoutingPolicy policy = getPolicy(serviceId);
+        if (policy != ServiceRoutingPolicy.EMPTY) {
+            context.set(POLICY_KEY, policy);
+        }
+        return policy;
+    }
+
+    @Override
+    public void evictCacheService(String serviceId) {
+        if (serviceId != null) {
+            policies.remove(serviceId.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @Override
+    public void evictCacheAllService() {
+        policies.clear();
+    }
+
+}
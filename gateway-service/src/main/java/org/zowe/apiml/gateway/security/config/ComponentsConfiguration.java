@@ -11,6 +11,7 @@
 package org.zowe.apiml.gateway.security.config;
 
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -50,11 +51,16 @@ public class ComponentsConfiguration {
      * Service to call generating and validating of passTickets. If JVM contains mainframe's class, it uses it,
      * otherwise method returns dummy implementation
      *
+     * @param generatorPoolSize number of passTicket generators used concurrently
+     * @param cacheTtlMs time to reuse a generated passTicket for the same user and applId, 0 means disabled
      * @return mainframe / dummy implementation of passTicket's generation and validation
      */
     @Bean
-    public PassTicketService passTicketService() {
-        return new PassTicketService();
+    public PassTicketService passTicketService(
+        @Value("${apiml.security.auth.passticket.generatorPoolSize:" + PassTicketService.DEFAULT_GENERATOR_POOL_SIZE + "}") int generatorPoolSize,
+        @Value("${apiml.security.auth.passticket.cacheTtlMs:0}") long cacheTtlMs
+    ) {
+        return new PassTicketService(generatorPoolSize, cacheTtlMs);
     }
 
     @Bean
@@ -16,6 +16,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.zowe.apiml.gateway.security.service.AuthenticationService;
+import org.zowe.apiml.security.common.auth.saf.SafResourceAccessVerifying;
 import org.zowe.apiml.security.common.handler.FailedAuthenticationHandler;
 import org.zowe.apiml.security.common.token.TokenFormatNotValidException;
 import org.zowe.apiml.security.common.token.TokenNotProvidedException;
@@ -32,6 +33,8 @@ public class JWTLogoutHandler implements LogoutHandler {
 
     private final AuthenticationService authenticationService;
     private final FailedAuthenticationHandler failure;
+    // the cached SAF decisions of the user are evicted on logout, it is null if there is no SAF provider
+    private final SafResourceAccessVerifying safResourceAccessVerifying;
 
     @Override
     public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
@@ -53,6 +56,7 @@ public class JWTLogoutHandler implements LogoutHandler {
         } else {
             try {
                 authenticationService.invalidateJwtToken(token, true);
+                invalidateSafDecisions(token);
             } catch (TokenNotValidException e) {
                 // TokenNotValidException thrown in cases where the format is not valid
                 failure.onAuthenticationFailure(request, response, new TokenFormatNotValidException(e.getMessage()));
@@ -65,4 +69,18 @@ public class JWTLogoutHandler implements LogoutHandler {
             }
         }
     }
+
+    private void invalidateSafDecisions(String token) {
+        if (safResourceAccessVerifying == null) {
+            return;
+        }
+
+        try {
+            safResourceAccessVerifying.invalidate(authenticationService.parseJwtToken(token).getUserId());
+        } catch (RuntimeException e) {
+            // the logout itself was successful, the decisions expire later
+            log.debug("Cannot evict cached SAF decisions of the user: {}", e.getMessage());
+        }
+    }
+
 }
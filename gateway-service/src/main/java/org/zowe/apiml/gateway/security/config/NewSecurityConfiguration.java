@@ -12,6 +12,7 @@ package org.zowe.apiml.gateway.security.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -55,6 +56,7 @@ import org.zowe.apiml.gateway.security.service.schema.source.AuthSourceService;
 import org.zowe.apiml.gateway.security.ticket.SuccessfulTicketHandler;
 import org.zowe.apiml.gateway.services.ServicesInfoController;
 import org.zowe.apiml.gateway.zaas.ZaasAuthenticationFilter;
+import org.zowe.apiml.security.common.auth.saf.SafResourceAccessVerifying;
 import org.zowe.apiml.security.common.config.AuthConfigurationProperties;
 import org.zowe.apiml.security.common.config.CertificateAuthenticationProvider;
 import org.zowe.apiml.security.common.config.HandlerInitializer;
@@ -108,6 +110,7 @@ public class NewSecurityConfiguration {
     private final X509AuthenticationProvider x509AuthenticationProvider;
     private final AuthSourceService authSourceService;
     private final AuthExceptionHandler authExceptionHandler;
+    private final ObjectProvider<SafResourceAccessVerifying> safResourceAccessVerifying;
 
     @Value("${server.attls.enabled:false}")
     private boolean isAttlsEnabled;
@@ -186,7 +189,7 @@ public class NewSecurityConfiguration {
 
         private LogoutHandler logoutHandler() {
             FailedAuthenticationHandler failure = handlerInitializer.getAuthenticationFailureHandler();
-            return new JWTLogoutHandler(authenticationService, failure);
+            return new JWTLogoutHandler(authenticationService, failure, safResourceAccessVerifying.getIfAvailable());
         }
     }
 
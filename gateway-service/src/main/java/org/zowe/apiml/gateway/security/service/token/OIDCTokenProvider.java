@@ -20,7 +20,8 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Clock;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import lombok.Getter;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -36,23 +37,34 @@ import org.zowe.apiml.security.common.token.OIDCProvider;
 import org.zowe.apiml.security.common.token.TokenNotValidException;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.net.URL;
 import java.security.Key;
 import java.text.ParseException;
+import java.util.Collections;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Validates OIDC tokens by the public keys of the provider (JWK set).
+ * <p>
+ * The keys are held in an immutable snapshot which is replaced at once by a refresh, so validations never see a
+ * partially loaded set. The set is refreshed periodically in the background. If a refresh fails, the previous keys
+ * are still used. A token signed by an unknown key triggers a refresh on demand, but at most once per
+ * {@code apiml.security.oidc.jwks.unknownKeyRefreshIntervalSec} (to avoid flooding the provider by forged tokens).
+ */
 @RequiredArgsConstructor
 @Service
 @Slf4j
 @ConditionalOnProperty(value = "apiml.security.oidc.enabled", havingValue = "true")
 public class OIDCTokenProvider implements OIDCProvider {
 
+    private static final KeySnapshot EMPTY_SNAPSHOT = new KeySnapshot(null, Collections.emptyMap());
+
     @InjectApimlLogger
     protected final ApimlLogger logger = ApimlLogger.empty();
 
@@ -71,19 +83,47 @@ public class OIDCTokenProvider implements OIDCProvider {
     @Value("${apiml.security.oidc.jwks.refreshInternalHours:1}")
     private int jwkRefreshInterval;
 
+    @Value("${apiml.security.oidc.jwks.unknownKeyRefreshIntervalSec:60}")
+    private int unknownKeyRefreshInterval;
+
     @Qualifier("oidcJwtClock")
     private final Clock clock;
 
-    @Getter
-    private Map<String, Key> publicKeys = new ConcurrentHashMap<>();
-    @Getter
-    private JWKSet jwkSet;
+    private volatile KeySnapshot keySnapshot = EMPTY_SNAPSHOT;
+
+    private final Object unknownKeyRefreshLock = new Object();
+    // guarded by unknownKeyRefreshLock
+    private long lastUnknownKeyRefresh;
+    private boolean unknownKeyRefreshed;
+
+    private ScheduledExecutorService refreshExecutor;
 
     @PostConstruct
     public void afterPropertiesSet() {
         this.fetchJWKSet();
-        Executors.newSingleThreadScheduledExecutor(r -> new Thread("OIDC JWK Refresh"))
-            .scheduleAtFixedRate(this::fetchJWKSet, jwkRefreshInterval, jwkRefreshInterval, TimeUnit.HOURS);
+        if (refreshExecutor == null) {
+            refreshExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "OIDC JWK Refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            refreshExecutor.scheduleAtFixedRate(this::fetchJWKSet, jwkRefreshInterval, jwkRefreshInterval, TimeUnit.HOURS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    public Map<String, Key> getPublicKeys() {
+        return keySnapshot.getPublicKeys();
+    }
+
+    public JWKSet getJwkSet() {
+        return keySnapshot.getJwkSet();
     }
 
     @Retryable
@@ -95,16 +135,16 @@ public class OIDCTokenProvider implements OIDCProvider {
         log.debug("Refreshing JWK endpoints {}", jwksUri);
 
         try {
-            publicKeys.clear();
-            jwkSet = null;
-            jwkSet = JWKSet.load(new URL(jwksUri));
-            publicKeys.putAll(processKeys(jwkSet));
+            JWKSet jwkSet = JWKSet.load(new URL(jwksUri));
+            keySnapshot = new KeySnapshot(jwkSet, Collections.unmodifiableMap(processKeys(jwkSet)));
         } catch (IOException | ParseException | IllegalStateException e) {
+            // the previous keys are still valid
             log.error("Error processing response from URI {} message: {}", jwksUri, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error processing response from URI {}", jwksUri, e);
         }
     }
 
-
     private Map<String, Key> processKeys(JWKSet jwkKeys) {
         return jwkKeys.getKeys().stream()
             .filter(jwkKey -> {
@@ -122,46 +162,77 @@ public class OIDCTokenProvider implements OIDCProvider {
             }));
     }
 
+    /**
+     * Returns the key to verify a token. If the key is not known, the keys are fetched again (once per
+     * the interval). Concurrent requests with the same new key wait for the single refresh.
+     */
+    Key getKey(String kid) {
+        Key key = keySnapshot.getPublicKeys().get(kid);
+        if ((key != null) || StringUtils.isBlank(kid) || StringUtils.isBlank(jwksUri)) {
+            return key;
+        }
+
+        synchronized (unknownKeyRefreshLock) {
+            key = keySnapshot.getPublicKeys().get(kid);
+            if (key != null) {
+                // fetched by another request meanwhile
+                return key;
+            }
+
+            long now = System.nanoTime();
+            if (unknownKeyRefreshed && (now - lastUnknownKeyRefresh < TimeUnit.SECONDS.toNanos(unknownKeyRefreshInterval))) {
+                log.debug("OIDC token is signed by unknown key {}, JWK were refreshed recently", kid);
+                return null;
+            }
+            unknownKeyRefreshed = true;
+            lastUnknownKeyRefresh = now;
+
+            log.debug("OIDC token is signed by unknown key {}, refreshing JWK", kid);
+            fetchJWKSet();
+            return keySnapshot.getPublicKeys().get(kid);
+        }
+    }
+
     @Override
     public boolean isValid(String token) {
         if (StringUtils.isBlank(token)) {
             log.debug("No token has been provided.");
             return false;
         }
-        String kid = getKeyId(token);
-        logger.log(MessageType.DEBUG, "Token signed by key {}", kid);
-        return Optional.ofNullable(publicKeys.get(kid))
-            .map(key -> validate(token, key))
-            .map(claims -> claims != null && !claims.isEmpty())
-            .orElse(false);
-    }
-
-    private String getKeyId(String token) {
-        try {
-            return String.valueOf(Jwts.parserBuilder()
-                .setClock(clock)
-                .build()
-                .parseClaimsJwt(token.substring(0, token.lastIndexOf('.') + 1))
-                .getHeader()
-                .get("kid"));
-        } catch (JwtException e) {
-            log.error("OIDC Token is not valid: {}", e.getMessage());
-            return "";
-        }
+        Claims claims = validate(token);
+        return claims != null && !claims.isEmpty();
     }
 
-    private Claims validate(String token, Key key) {
+    /**
+     * Verifies and parses the token. The key ID is read from the header during the same parsing.
+     */
+    private Claims validate(String token) {
         try {
-            return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .setClock(clock)
+            return Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        String kid = header.getKeyId();
+                        logger.log(MessageType.DEBUG, "Token signed by key {}", kid);
+                        return getKey(kid);
+                    }
+                })
+                .clock(clock)
                 .build()
-                .parseClaimsJws(token)
-                .getBody();
-        } catch (TokenNotValidException | JwtException e) {
+                .parseSignedClaims(token)
+                .getPayload();
+        } catch (TokenNotValidException | JwtException | IllegalArgumentException e) {
             log.debug("OIDC Token is not valid: {}", e.getMessage());
             return null; // NOSONAR
         }
     }
 
+    @lombok.Value
+    private static class KeySnapshot {
+
+        JWKSet jwkSet;
+        Map<String, Key> publicKeys;
+
+    }
+
 }
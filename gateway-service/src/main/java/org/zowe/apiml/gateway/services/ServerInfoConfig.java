@@ -10,6 +10,7 @@
 
 package org.zowe.apiml.gateway.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.discovery.EurekaClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,8 +28,9 @@ public class ServerInfoConfig {
 
     @Bean
     public ServicesInfoService servicesInfoService(EurekaClient eurekaClient,
-                                                   EurekaMetadataParser eurekaMetadataParser, GatewayConfigProperties gatewayConfigProperties, TransformService transformService) {
-        return new ServicesInfoService(eurekaClient, eurekaMetadataParser, gatewayConfigProperties, transformService);
+                                                   EurekaMetadataParser eurekaMetadataParser, GatewayConfigProperties gatewayConfigProperties, TransformService transformService,
+                                                   ObjectMapper objectMapper) {
+        return new ServicesInfoService(eurekaClient, eurekaMetadataParser, gatewayConfigProperties, transformService, objectMapper);
     }
 
 }
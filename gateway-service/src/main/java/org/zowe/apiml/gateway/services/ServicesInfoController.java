@@ -13,19 +13,19 @@ package org.zowe.apiml.gateway.services;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.hystrix.contrib.javanica.annotation.HystrixCommand;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.zowe.apiml.services.ServiceInfo;
 
-import java.util.List;
-
 import static org.zowe.apiml.gateway.services.ServicesInfoService.CURRENT_VERSION;
 import static org.zowe.apiml.gateway.services.ServicesInfoService.VERSION_HEADER;
 
@@ -42,14 +42,33 @@ public class ServicesInfoController {
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @HystrixCommand
-    public ResponseEntity<List<ServiceInfo>> getServices(@RequestParam(required = false) String apiId) {
-        List<ServiceInfo> services = servicesInfoService.getServicesInfo(apiId);
-        HttpStatus status = (services.isEmpty()) ? HttpStatus.NOT_FOUND : HttpStatus.OK;
+    public ResponseEntity<byte[]> getServices(
+        @RequestParam(required = false) String apiId,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        ServicesInfoSnapshot snapshot = servicesInfoService.getServicesInfoSnapshot(apiId);
+        // nothing was found, the conditional request (i.e. If-None-Match: *) cannot match
+        if (snapshot.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .header(VERSION_HEADER, CURRENT_VERSION)
+                    .eTag(snapshot.getETag())
+                    .body(snapshot.getBody());
+        }
+
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_MODIFIED)
+                    .header(VERSION_HEADER, CURRENT_VERSION)
+                    .eTag(snapshot.getETag())
+                    .build();
+        }
 
         return ResponseEntity
-                .status(status)
+                .status(HttpStatus.OK)
                 .header(VERSION_HEADER, CURRENT_VERSION)
-                .body(services);
+                .eTag(snapshot.getETag())
+                .body(snapshot.getBody());
     }
 
     @GetMapping(value = "/{serviceId}", produces = MediaType.APPLICATION_JSON_VALUE)
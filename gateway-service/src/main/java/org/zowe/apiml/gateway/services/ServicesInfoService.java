@@ -11,10 +11,13 @@
 package org.zowe.apiml.gateway.services;
 
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.netflix.appinfo.InstanceInfo;
 import com.netflix.discovery.EurekaClient;
 import com.netflix.discovery.shared.Application;
-import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.StringUtils;
 import org.springframework.util.ObjectUtils;
@@ -32,10 +35,15 @@ import org.zowe.apiml.services.ServiceInfoUtils;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
@@ -47,27 +55,138 @@ import static org.zowe.apiml.services.ServiceInfoUtils.getInstances;
 import static org.zowe.apiml.services.ServiceInfoUtils.getMajorVersion;
 import static org.zowe.apiml.services.ServiceInfoUtils.getVersion;
 
+/**
+ * Provides information about registered services. The parsed metadata of each instance are cached until the instance
+ * is changed (see {@link InstanceInfo#getLastDirtyTimestamp()}) and the serialized list of services is kept as
+ * a snapshot with a content based ETag until any instance in the registry is changed.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class ServicesInfoService {
 
     public static final String VERSION_HEADER = "Content-Version";
     public static final String CURRENT_VERSION = "1";
 
+    // count of cached snapshots (filtered by different apiId)
+    private static final int MAX_SNAPSHOTS = 100;
+
     private final EurekaClient eurekaClient;
     private final EurekaMetadataParser eurekaMetadataParser;
     private final GatewayConfigProperties gatewayConfigProperties;
     private final TransformService transformService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, ParsedMetadata> metadataCache = new ConcurrentHashMap<>();
+    private final Cache<String, ServicesInfoSnapshot> snapshots = CacheBuilder.newBuilder().maximumSize(MAX_SNAPSHOTS).build();
+
+    public ServicesInfoService(
+        EurekaClient eurekaClient,
+        EurekaMetadataParser eurekaMetadataParser,
+        GatewayConfigProperties gatewayConfigProperties,
+        TransformService transformService
+    ) {
+        this(eurekaClient, eurekaMetadataParser, gatewayConfigProperties, transformService, new ObjectMapper());
+    }
+
+    public ServicesInfoService(
+        EurekaClient eurekaClient,
+        EurekaMetadataParser eurekaMetadataParser,
+        GatewayConfigProperties gatewayConfigProperties,
+        TransformService transformService,
+        ObjectMapper objectMapper
+    ) {
+        this.eurekaClient = eurekaClient;
+        this.eurekaMetadataParser = eurekaMetadataParser;
+        this.gatewayConfigProperties = gatewayConfigProperties;
+        this.transformService = transformService;
+        this.objectMapper = objectMapper;
+    }
 
     public List<ServiceInfo> getServicesInfo() {
         List<ServiceInfo> servicesInfo = new LinkedList<>();
+        Set<String> instanceIds = new HashSet<>();
         for (Application application : eurekaClient.getApplications().getRegisteredApplications()) {
             servicesInfo.add(getServiceInfo(application));
+            application.getInstances().forEach(instanceInfo -> instanceIds.add(instanceInfo.getId()));
         }
 
+        // remove parsed metadata of instances which are not registered anymore
+        metadataCache.keySet().retainAll(instanceIds);
+
         return servicesInfo;
     }
 
+    /**
+     * Returns serialized list of services (the same as {@link #getServicesInfo(String)}). The snapshot is reused until
+     * any instance in the registry is changed, so a repeated call does not parse or serialize anything.
+     *
+     * @param apiId filter of services by apiId, null means all services
+     * @return the serialized list with the ETag
+     */
+    public ServicesInfoSnapshot getServicesInfoSnapshot(String apiId) {
+        long fingerprint = getRegistryFingerprint();
+        // null (no filter) and an empty string are different filters
+        String key = apiId == null ? "*" : "=" + apiId;
+
+        ServicesInfoSnapshot snapshot = snapshots.getIfPresent(key);
+        if ((snapshot == null) || (snapshot.getFingerprint() != fingerprint)) {
+            snapshot = ServicesInfoSnapshot.of(getServicesInfo(apiId), objectMapper, fingerprint);
+            snapshots.put(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Computes a hash of the registry state without parsing of metadata. Any change of an instance (status,
+     * metadata, any other update) or the list of instances changes the result.
+     */
+    private long getRegistryFingerprint() {
+        long hash = 1;
+        for (Application application : eurekaClient.getApplications().getRegisteredApplications()) {
+            hash = mix(hash, Objects.hashCode(application.getName()));
+            for (InstanceInfo instanceInfo : application.getInstances()) {
+                hash = mix(hash, Objects.hashCode(instanceInfo.getId()));
+                hash = mix(hash, instanceInfo.getStatus() == null ? -1 : instanceInfo.getStatus().ordinal());
+                hash = mix(hash, getLastDirtyTimestamp(instanceInfo));
+                hash = mix(hash, instanceInfo.getLastUpdatedTimestamp());
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x9E3779B97F4A7C15L;
+    }
+
+    private static long getLastDirtyTimestamp(InstanceInfo instanceInfo) {
+        Long lastDirtyTimestamp = instanceInfo.getLastDirtyTimestamp();
+        return lastDirtyTimestamp == null ? 0L : lastDirtyTimestamp;
+    }
+
+    /**
+     * Returns parsed metadata of the instance. The result is cached until the instance is marked as dirty (a change of
+     * metadata) or the metadata differs.
+     */
+    private ParsedMetadata getParsedMetadata(InstanceInfo instanceInfo) {
+        Map<String, String> metadata = instanceInfo.getMetadata();
+        long lastDirtyTimestamp = getLastDirtyTimestamp(instanceInfo);
+        String id = instanceInfo.getId();
+
+        ParsedMetadata parsed = id == null ? null : metadataCache.get(id);
+        if ((parsed == null) || !parsed.isValid(lastDirtyTimestamp, metadata)) {
+            parsed = new ParsedMetadata(
+                lastDirtyTimestamp,
+                metadata == null ? null : new HashMap<>(metadata),
+                eurekaMetadataParser.parseApiInfo(metadata),
+                eurekaMetadataParser.parseRoutes(metadata),
+                eurekaMetadataParser.parseAuthentication(metadata)
+            );
+            if (id != null) {
+                metadataCache.put(id, parsed);
+            }
+        }
+        return parsed;
+    }
+
     public List<ServiceInfo> getServicesInfo(String apiId) {
         List<ServiceInfo> servicesInfo = getServicesInfo();
 
@@ -131,7 +250,8 @@ public class ServicesInfoService {
         List<ServiceInfo.ApiInfoExtended> completeList = new ArrayList<>();
 
         for (InstanceInfo instanceInfo : appInstances) {
-            List<ApiInfo> apiInfoList = eurekaMetadataParser.parseApiInfo(instanceInfo.getMetadata());
+            ParsedMetadata parsedMetadata = getParsedMetadata(instanceInfo);
+            List<ApiInfo> apiInfoList = parsedMetadata.getApiInfo();
             completeList.addAll(apiInfoList.stream()
                     .map(apiInfo -> ServiceInfo.ApiInfoExtended.builder()
                             .apiId(apiInfo.getApiId())
@@ -142,7 +262,7 @@ public class ServicesInfoService {
                                     apiInfo.getSwaggerUrl(),
                                     instanceInfo.getAppName().toLowerCase(),
                                     ServiceType.API,
-                                    eurekaMetadataParser.parseRoutes(instanceInfo.getMetadata())
+                                    parsedMetadata.getRoutes()
                             ))
                             .documentationUrl(apiInfo.getDocumentationUrl())
                             .version(apiInfo.getVersion())
@@ -165,7 +285,7 @@ public class ServicesInfoService {
 
     private ServiceInfo.Service getService(List<InstanceInfo> appInstances) {
         InstanceInfo instanceInfo = getInstanceWithHighestVersion(appInstances);
-        RoutedServices routes = eurekaMetadataParser.parseRoutes(getInstanceWithHighestVersion(appInstances).getMetadata());
+        RoutedServices routes = getParsedMetadata(instanceInfo).getRoutes();
 
         return ServiceInfo.Service.builder()
                 .title(instanceInfo.getMetadata().get(SERVICE_TITLE))
@@ -177,7 +297,7 @@ public class ServicesInfoService {
     private List<Authentication> getAuthentication(List<InstanceInfo> appInstances) {
         return appInstances.stream()
                 .map(instanceInfo -> {
-                    Authentication authentication = eurekaMetadataParser.parseAuthentication(instanceInfo.getMetadata());
+                    Authentication authentication = getParsedMetadata(instanceInfo).getAuthentication();
                     return authentication.isEmpty() ? null : authentication;
                 })
                 .filter(Objects::nonNull)
@@ -213,7 +333,7 @@ public class ServicesInfoService {
         Version highestVersion = Version.unknownVersion();
 
         for (InstanceInfo currentInfo : appInstances) {
-            List<ApiInfo> apiInfoList = eurekaMetadataParser.parseApiInfo(currentInfo.getMetadata());
+            List<ApiInfo> apiInfoList = getParsedMetadata(currentInfo).getApiInfo();
             for (ApiInfo apiInfo : apiInfoList) {
                 Version version = getVersion(apiInfo.getVersion());
                 if (version.compareTo(highestVersion) > 0) {
@@ -226,4 +346,19 @@ public class ServicesInfoService {
         return instanceInfo;
     }
 
+    @Value
+    private static class ParsedMetadata {
+
+        long lastDirtyTimestamp;
+        Map<String, String> metadata;
+        List<ApiInfo> apiInfo;
+        RoutedServices routes;
+        Authentication authentication;
+
+        boolean isValid(long lastDirtyTimestamp, Map<String, String> metadata) {
+            return (this.lastDirtyTimestamp == lastDirtyTimestamp) && Objects.equals(this.metadata, metadata);
+        }
+
+    }
+
 }
@@ -0,0 +1,80 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.zowe.apiml.services.ServiceInfo;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Serialized list of services with a strong ETag computed from the content. The same content always has the same ETag,
+ * so the clients can use the conditional request (header If-None-Match) even if the snapshot was rebuilt.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ServicesInfoSnapshot {
+
+    private final byte[] body;
+    private final String eTag;
+    private final boolean empty;
+    private final long fingerprint;
+
+    static ServicesInfoSnapshot of(List<ServiceInfo> servicesInfo, ObjectMapper objectMapper, long fingerprint) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(servicesInfo);
+            return new ServicesInfoSnapshot(body, getETag(body), servicesInfo.isEmpty(), fingerprint);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the list of services", e);
+        }
+    }
+
+    static String getETag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Verify if the value of header If-None-Match contains the ETag of the snapshot (weak comparison according to
+     * RFC 9110).
+     *
+     * @param ifNoneMatch value of the header If-None-Match
+     * @return true if the client already has the same content
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String value : ifNoneMatch.split(",")) {
+            String candidate = value.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || eTag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
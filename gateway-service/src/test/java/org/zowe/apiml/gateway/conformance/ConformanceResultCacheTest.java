@@ -0,0 +1,110 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.conformance;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConformanceResultCacheTest {
+
+    private final ConformanceResultCache underTest = new ConformanceResultCache(300, 100);
+    private final AtomicInteger validations = new AtomicInteger();
+
+    private final Supplier<ResponseEntity<String>> validation = () -> ResponseEntity.ok("{\"count\":" + validations.incrementAndGet() + "}");
+
+    private static ServiceInstance instance(String serviceId, String version) {
+        return new DefaultServiceInstance(serviceId + ":1", serviceId, "localhost", 10010, true, Collections.singletonMap("version", version));
+    }
+
+    @Test
+    void givenSameInstance_whenGet_thenValidationIsCalledOnce() {
+        ServiceInstance instance = instance("service", "1");
+
+        assertEquals("{\"count\":1}", underTest.get("service", instance, "token", validation).getBody());
+        assertEquals("{\"count\":1}", underTest.get("SERVICE", instance, "token", validation).getBody());
+        assertEquals(1, validations.get());
+        assertEquals(1, underTest.size());
+    }
+
+    @Test
+    void givenChangedMetadata_whenGet_thenValidationIsCalledAgain() {
+        underTest.get("service", instance("service", "1"), "token", validation);
+        underTest.get("service", instance("service", "2"), "token", validation);
+
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void givenCachedServices_whenEvictService_thenOnlyItsResultsAreRemoved() {
+        underTest.get("service1", instance("service1", "1"), "token", validation);
+        underTest.get("service2", instance("service2", "1"), "token", validation);
+
+        underTest.evictCacheService("SERVICE1");
+
+        assertEquals(1, underTest.size());
+        underTest.get("service2", instance("service2", "1"), "token", validation);
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void givenCachedServices_whenEvictAll_thenCacheIsEmpty() {
+        underTest.get("service1", instance("service1", "1"), "token", validation);
+        underTest.get("service2", instance("service2", "1"), "token", validation);
+
+        underTest.evictCacheAllService();
+
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    void givenFailingValidation_whenGet_thenExceptionIsThrownAndNotCached() {
+        ServiceInstance instance = instance("service", "1");
+        IllegalStateException exception = new IllegalStateException("failed");
+
+        assertSame(exception, assertThrows(IllegalStateException.class, () -> underTest.get("service", instance, "token", () -> {
+            throw exception;
+        })));
+        assertEquals(0, underTest.size());
+        assertEquals("{\"count\":1}", underTest.get("service", instance, "token", validation).getBody());
+    }
+
+    @Test
+    void givenMetadataWithSameHashCode_whenGet_thenValidationIsCalledAgain() {
+        // "Aa" and "BB" have the same hash code
+        assertEquals(instance("service", "Aa").getMetadata().hashCode(), instance("service", "BB").getMetadata().hashCode());
+
+        underTest.get("service", instance("service", "Aa"), "token", validation);
+        underTest.get("service", instance("service", "BB"), "token", validation);
+
+        assertEquals(2, validations.get());
+    }
+
+    @Test
+    void givenUncachedResult_whenGet_thenItIsReturnedAndNotCached() {
+        ServiceInstance instance = instance("service", "1");
+        ResponseEntity<String> temporaryFailure = ResponseEntity.badRequest().body("{}");
+
+        assertSame(temporaryFailure, underTest.get("service", instance, "token", () -> {
+            throw new ConformanceResultCache.UncachedResult(temporaryFailure);
+        }));
+        assertEquals(0, underTest.size());
+        assertEquals("{\"count\":1}", underTest.get("service", instance, "token", validation).getBody());
+    }
+
+}
@@ -14,20 +14,26 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
 import org.zowe.apiml.constants.EurekaMetadataDefinition;
+import org.zowe.apiml.message.api.ApiMessageView;
 import org.zowe.apiml.message.core.Message;
 import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.message.yaml.YamlMessageService;
@@ -38,11 +44,18 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 
@@ -67,6 +80,10 @@ public class ValidateAPIControllerTest {
     private GatewayClient gatewayClient;
     @Mock
     private AbstractSwaggerValidator swaggerValidator;
+    @Spy
+    private ConformanceResultCache conformanceResultCache = new ConformanceResultCache(300, 100);
+    @Mock
+    private ExecutorService conformanceBatchExecutor;
 
     ResponseEntity<String> result;
 
@@ -74,11 +91,17 @@ public class ValidateAPIControllerTest {
     private static final String WRONG_SERVICE_ID_KEY = "org.zowe.apiml.gateway.verifier.wrongServiceId";
     private static final String NO_METADATA_KEY = "org.zowe.apiml.gateway.verifier.noMetadata";
     private static final String NON_CONFORMANT_KEY = "org.zowe.apiml.gateway.verifier.nonConformant";
+    private static final String TOO_MANY_SERVICES_KEY = "org.zowe.apiml.gateway.verifier.tooManyServices";
 
     private static final Message WRONG_SERVICE_ID_MESSAGE = new YamlMessageService("/gateway-log-messages.yml").createMessage(WRONG_SERVICE_ID_KEY, "ThisWillBeRemoved");
     private static final Message NO_METADATA_MESSAGE = new YamlMessageService("/gateway-log-messages.yml").createMessage(NO_METADATA_KEY, "ThisWillBeRemoved");
     private static final Message NON_CONFORMANT_MESSAGE = new YamlMessageService("/gateway-log-messages.yml").createMessage(NON_CONFORMANT_KEY, "ThisWillBeRemoved");
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(validateAPIController, "batchMaxServices", 10);
+    }
+
     @AfterEach
     void cleanup() {
         result = null;
@@ -286,5 +309,144 @@ public class ValidateAPIControllerTest {
             assertTrue(result.getBody().contains("Cannot Retrieve MetaData"));
         }
     }
-}
 
+    @Nested
+    class GivenConformantService {
+
+        private static final String SERVICE_ID = "testservice";
+
+        private final HashMap<String, String> metadata = new HashMap<>();
+        private String apiDoc;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            metadata.put("swaggerUrl", "https://sample.swagger.url");
+            metadata.put(EurekaMetadataDefinition.AUTHENTICATION_SSO, "true");
+
+            when(verificationOnboardService.checkOnboarding(SERVICE_ID)).thenReturn(true);
+            when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(new ArrayList<>(Collections.singleton(serviceInstance)));
+            when(serviceInstance.getMetadata()).thenReturn(metadata);
+            when(verificationOnboardService.findSwaggerUrl(any())).thenReturn(Optional.of("a"));
+            when(gatewayClient.getGatewayConfigProperties()).thenReturn(GatewayConfigProperties.builder().build());
+
+            when(swaggerValidator.getMessages()).thenReturn(new ArrayList<>());
+            when(swaggerValidator.getAllEndpoints()).thenReturn(new HashSet<>(Collections.singletonList(new Endpoint(null, null, null, null))));
+            when(swaggerValidator.getProblemsWithEndpointUrls()).thenReturn(new ArrayList<>());
+
+            apiDoc = new String(Files.readAllBytes(new File("src/test/resources/api-doc.json").toPath()));
+            when(verificationOnboardService.getSwagger("a")).thenReturn(apiDoc);
+            when(verificationOnboardService.testEndpointsByCalling(any(), any())).thenReturn(new ArrayList<>());
+        }
+
+        private void check(int count, String token) {
+            try (MockedStatic<ValidatorFactory> validatorFactoryMockedStatic = mockStatic(ValidatorFactory.class)) {
+                validatorFactoryMockedStatic.when(() -> ValidatorFactory.parseSwagger(any(), any(), any(), any())).thenReturn(swaggerValidator);
+                for (int i = 0; i < count; i++) {
+                    result = validateAPIController.checkConformance(SERVICE_ID, token);
+                    assertEquals(HttpStatus.OK, result.getStatusCode());
+                }
+            }
+        }
+
+        @Test
+        void whenCheckedRepeatedly_thenNoDownstreamCallIsRepeated() {
+            check(10, "dummy");
+
+            verify(verificationOnboardService, times(1)).getSwagger(any());
+            verify(verificationOnboardService, times(1)).testEndpointsByCalling(any(), any());
+        }
+
+        @Test
+        void whenMetadataChange_thenServiceIsValidatedAgain() {
+            check(1, "dummy");
+            metadata.put("apiml.apiInfo.0.version", "2.0.0");
+            check(1, "dummy");
+
+            verify(verificationOnboardService, times(2)).getSwagger(any());
+        }
+
+        @Test
+        void whenCacheIsEvicted_thenServiceIsValidatedAgain() {
+            check(1, "dummy");
+            conformanceResultCache.evictCacheService(SERVICE_ID);
+            check(1, "dummy");
+
+            verify(verificationOnboardService, times(2)).getSwagger(any());
+        }
+
+        @Test
+        void whenDifferentToken_thenServiceIsValidatedAgain() {
+            check(1, "token1");
+            check(1, "token2");
+
+            verify(verificationOnboardService, times(2)).testEndpointsByCalling(any(), any());
+        }
+
+        @Test
+        void whenDocumentationIsNotAvailable_thenResultIsNotCached() {
+            when(messageService.createMessage(NON_CONFORMANT_KEY, "ThisWillBeRemoved")).thenReturn(NON_CONFORMANT_MESSAGE);
+            when(verificationOnboardService.getSwagger("a"))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn("", apiDoc);
+
+            result = validateAPIController.checkConformance(SERVICE_ID, "dummy");
+            assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+            assertTrue(result.getBody().contains("Could not retrieve the API documentation"));
+
+            result = validateAPIController.checkConformance(SERVICE_ID, "dummy");
+            assertEquals(HttpStatus.BAD_REQUEST, result.getStatusCode());
+            assertTrue(result.getBody().contains("is empty"));
+
+            // the documentation is available now
+            check(1, "dummy");
+            assertEquals(1, conformanceResultCache.size());
+            verify(verificationOnboardService, times(3)).getSwagger(any());
+        }
+
+        @Test
+        void whenBatch_thenEachServiceHasResult() {
+            when(messageService.createMessage(NON_CONFORMANT_KEY, "ThisWillBeRemoved")).thenReturn(NON_CONFORMANT_MESSAGE);
+            // run the validations in the calling thread, the static mock is bound to it
+            when(conformanceBatchExecutor.submit(ArgumentMatchers.<Callable<ResponseEntity<String>>>any())).thenAnswer(
+                invocation -> CompletableFuture.completedFuture(invocation.<Callable<ResponseEntity<String>>>getArgument(0).call())
+            );
+
+            ResponseEntity<Object> response;
+            try (MockedStatic<ValidatorFactory> validatorFactoryMockedStatic = mockStatic(ValidatorFactory.class)) {
+                validatorFactoryMockedStatic.when(() -> ValidatorFactory.parseSwagger(any(), any(), any(), any())).thenReturn(swaggerValidator);
+                response = validateAPIController.checkConformanceBatch(Arrays.asList(SERVICE_ID, "Invalid-Id", SERVICE_ID), "dummy");
+            }
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            @SuppressWarnings("unchecked")
+            Map<String, ValidateAPIController.BatchResult> results = (Map<String, ValidateAPIController.BatchResult>) response.getBody();
+            assertNotNull(results);
+            assertEquals(Arrays.asList(SERVICE_ID, "Invalid-Id"), new ArrayList<>(results.keySet()));
+            assertEquals(200, results.get(SERVICE_ID).getStatus());
+            assertTrue(results.get(SERVICE_ID).getResult().get("message").asText().contains("fulfills all checked conformance criteria"));
+            assertEquals(400, results.get("Invalid-Id").getStatus());
+            assertEquals(NON_CONFORMANT_KEY, results.get("Invalid-Id").getResult().get("messageKey").asText());
+            verify(verificationOnboardService, never()).checkOnboarding("Invalid-Id");
+            verify(verificationOnboardService, times(1)).getSwagger(any());
+        }
+
+        @Test
+        void whenBatchExceedsLimit_thenBadRequestAndNothingIsValidated() {
+            ReflectionTestUtils.setField(validateAPIController, "batchMaxServices", 2);
+            when(messageService.createMessage(TOO_MANY_SERVICES_KEY, 3, 2)).thenReturn(
+                new YamlMessageService("/gateway-log-messages.yml").createMessage(TOO_MANY_SERVICES_KEY, 3, 2)
+            );
+
+            ResponseEntity<Object> response = validateAPIController.checkConformanceBatch(Arrays.asList("service1", "service2", "service3"), "dummy");
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            ApiMessageView message = (ApiMessageView) response.getBody();
+            assertNotNull(message);
+            assertEquals(TOO_MANY_SERVICES_KEY, message.getMessages().get(0).getMessageKey());
+            assertTrue(message.getMessages().get(0).getMessageContent().contains("3 services, the maximum is 2"));
+            verifyNoInteractions(conformanceBatchExecutor, verificationOnboardService);
+        }
+
+    }
+
+}
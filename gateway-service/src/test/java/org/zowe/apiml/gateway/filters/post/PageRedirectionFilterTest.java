@@ -16,7 +16,9 @@ import org.zowe.apiml.product.routing.RoutedService;
 import org.zowe.apiml.product.routing.RoutedServices;
 import com.netflix.util.Pair;
 import com.netflix.zuul.context.RequestContext;
+import com.google.common.cache.CacheStats;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
@@ -25,15 +27,14 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import org.zowe.apiml.product.routing.transform.TransformService;
 
 import java.net.URI;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.http.HttpHeaders.LOCATION;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
 
 class PageRedirectionFilterTest {
@@ -53,6 +54,7 @@ class PageRedirectionFilterTest {
     private PageRedirectionFilter filter = null;
     private DiscoveryClient discoveryClient = null;
     private MockHttpServletResponse response = null;
+    private TransformService transformService = null;
 
     @BeforeEach
     void setUp() {
@@ -67,7 +69,7 @@ class PageRedirectionFilterTest {
         ctx.setResponse(response);
 
         GatewayConfigProperties gatewayConfigProperties = getGatewayConfigProperties(ctx);
-        TransformService transformService = new TransformService(new GatewayClient(gatewayConfigProperties));
+        transformService = new TransformService(new GatewayClient(gatewayConfigProperties));
 
         this.filter = new PageRedirectionFilter(this.discoveryClient, transformService);
     }
@@ -290,6 +292,144 @@ class PageRedirectionFilterTest {
                 "/" + SERVICE_ID + "/" + currentService.getGatewayUrl() + relativePath);
     }
 
+    @Nested
+    class GivenCache {
+
+        private final String serviceUrl = "/discoverableclient";
+        private final RoutedService currentService = new RoutedService("ui-v1", "ui/v1", serviceUrl);
+
+        @BeforeEach
+        void setUp() {
+            when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.singletonList(
+                new DefaultServiceInstance(INSTANCE_ID, SERVICE_ID, TARGET_SERVER_HOST, TARGET_SERVER_PORT, true)
+            ));
+        }
+
+        private PageRedirectionFilter createFilter(int maxEntries) {
+            PageRedirectionFilter output = new PageRedirectionFilter(discoveryClient, transformService, maxEntries);
+            RoutedServices routedServices = new RoutedServices();
+            routedServices.addRoutedService(currentService);
+            output.addRoutedServices(SERVICE_ID, routedServices);
+            return output;
+        }
+
+        private String redirect(PageRedirectionFilter filter, String location) {
+            RequestContext ctx = RequestContext.getCurrentContext();
+            ctx.clear();
+            ctx.set(SERVICE_ID_KEY, SERVICE_ID);
+            ctx.setRequest(new MockHttpServletRequest());
+            ctx.setResponse(new MockHttpServletResponse());
+            ctx.addZuulResponseHeader(LOCATION, location);
+            filter.run();
+            return ctx.getZuulResponseHeaders().stream()
+                .filter(stringPair -> LOCATION.equals(stringPair.first()))
+                .findFirst()
+                .map(Pair::second)
+                .orElse(null);
+        }
+
+        @Test
+        void whenRepeatedRedirection_thenStatisticsAreCollected() {
+            PageRedirectionFilter underTest = createFilter(10);
+            String location = mockLocationSameServer(serviceUrl + "/login.html");
+
+            String first = redirect(underTest, location);
+            assertEquals(first, redirect(underTest, location));
+            assertEquals(first, redirect(underTest, location));
+
+            CacheStats stats = underTest.getCacheStats();
+            assertEquals(2, stats.hitCount());
+            assertEquals(1, stats.missCount());
+            verify(discoveryClient, times(1)).getInstances(SERVICE_ID);
+        }
+
+        @Test
+        void whenServiceIsEvicted_thenHostsAreLoadedAgain() {
+            PageRedirectionFilter underTest = createFilter(10);
+            String location = mockLocationSameServer(serviceUrl + "/login.html");
+            String first = redirect(underTest, location);
+
+            underTest.evictCacheService(OTHER_SERVICE_ID);
+            assertEquals(first, redirect(underTest, location));
+            verify(discoveryClient, times(1)).getInstances(SERVICE_ID);
+
+            underTest.evictCacheService(SERVICE_ID);
+            assertEquals(first, redirect(underTest, location));
+            verify(discoveryClient, times(2)).getInstances(SERVICE_ID);
+            assertEquals(2, underTest.getCacheStats().missCount());
+        }
+
+        @Test
+        void whenLocationIsNotMatched_thenServicesAreLoadedOnceUntilEvicted() {
+            when(discoveryClient.getServices()).thenReturn(Arrays.asList(SERVICE_ID, OTHER_SERVICE_ID));
+            PageRedirectionFilter underTest = createFilter(10);
+            String location = mockLocationOtherServer("/some/page");
+
+            assertEquals(location, redirect(underTest, location));
+            assertEquals(location, redirect(underTest, location));
+            verify(discoveryClient, times(1)).getServices();
+            verify(discoveryClient, times(1)).getInstances(OTHER_SERVICE_ID);
+
+            underTest.evictCacheService(OTHER_SERVICE_ID);
+            assertEquals(location, redirect(underTest, location));
+            verify(discoveryClient, times(2)).getServices();
+            verify(discoveryClient, times(2)).getInstances(OTHER_SERVICE_ID);
+
+            underTest.evictCacheAllService();
+            assertEquals(location, redirect(underTest, location));
+            verify(discoveryClient, times(3)).getServices();
+        }
+
+        @Test
+        void whenManyThreads_thenAllRedirectionsAreCorrect() throws Exception {
+            // more locations than entries to force misses and evictions under contention
+            PageRedirectionFilter reference = createFilter(1000);
+            PageRedirectionFilter underTest = createFilter(16);
+            List<String> locations = new ArrayList<>();
+            Map<String, String> expected = new HashMap<>();
+            for (int i = 0; i < 64; i++) {
+                String location = mockLocationSameServer(serviceUrl + "/page" + i + ".html");
+                locations.add(location);
+                expected.put(location, redirect(reference, location));
+            }
+
+            int threads = 16;
+            int iterations = 2000;
+            AtomicInteger failures = new AtomicInteger();
+            CyclicBarrier start = new CyclicBarrier(threads);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int seed = t;
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        Random random = new Random(seed);
+                        for (int i = 0; i < iterations; i++) {
+                            // mostly hot locations
+                            String location = locations.get(random.nextInt(4) == 0 ? random.nextInt(locations.size()) : random.nextInt(8));
+                            if (!expected.get(location).equals(redirect(underTest, location))) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(0, failures.get());
+            CacheStats stats = underTest.getCacheStats();
+            assertEquals((long) threads * iterations, stats.requestCount());
+            assertTrue(stats.hitCount() > stats.missCount());
+        }
+
+    }
+
     private String mockLocationSameServer(String relativeUrl) {
         return String.join("", "https://", TARGET_SERVER_HOST, ":", String.valueOf(TARGET_SERVER_PORT), relativeUrl);
     }
@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -52,7 +53,7 @@ public class PerServiceAddResponseHeadersFilterTest {
 
         discoveryClient = mock(DiscoveryClient.class);
         when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.singletonList(instance));
-        underTest = new PerServiceAddResponseHeadersFilter(discoveryClient);
+        underTest = new PerServiceAddResponseHeadersFilter(new ServiceRoutingPolicyService(discoveryClient));
     }
 
     @Nested
@@ -20,6 +20,7 @@ import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 import org.zowe.apiml.message.core.MessageService;
 import org.zowe.apiml.message.yaml.YamlMessageService;
 
@@ -29,6 +30,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.PROXY_KEY;
@@ -60,7 +62,7 @@ class EncodedCharactersFilterTest {
 
     @BeforeEach
     void setup() {
-        filter = new EncodedCharactersFilter(discoveryClient, messageService);
+        filter = new EncodedCharactersFilter(new ServiceRoutingPolicyService(discoveryClient), messageService);
         serviceInstanceWithTrueConfiguration.getMetadata().put(METADATA_KEY, "true");
         serviceInstanceWithFalseConfiguration.getMetadata().put(METADATA_KEY, "false");
         RequestContext ctx = RequestContext.getCurrentContext();
@@ -154,4 +156,55 @@ class EncodedCharactersFilterTest {
 
         assertEquals(200, context.getResponse().getStatus());
     }
+
+    @Nested
+    class GivenScanner {
+
+        // the original implementation, the scanner has to behave identically
+        private final List<String> prohibitedSequences =
+            Arrays.asList("%2e", "%2E", ";", "%3b", "%3B", "%2f", "%2F", "\\", "%5c", "%5C", "%25", "%");
+
+        private boolean reference(String path) {
+            return prohibitedSequences.stream().anyMatch(forbidden -> path != null && path.contains(forbidden));
+        }
+
+        @Test
+        void whenRandomPaths_thenSameResultAsReference() {
+            String alphabet = "%;\\/.2345bcefBCEFaz09-_?&=~+:@ ";
+            Random random = new Random(20231019L);
+            for (int i = 0; i < 100_000; i++) {
+                char[] path = new char[random.nextInt(32)];
+                for (int j = 0; j < path.length; j++) {
+                    // mostly safe characters to get a mix of valid and invalid paths
+                    path[j] = random.nextInt(8) == 0 ? alphabet.charAt(random.nextInt(3)) : alphabet.charAt(3 + random.nextInt(alphabet.length() - 3));
+                }
+                String value = new String(path);
+                assertEquals(reference(value), EncodedCharactersFilter.checkRequestForEncodedCharacters(value), value);
+            }
+        }
+
+        @Test
+        void whenKnownSequences_thenSameResultAsReference() {
+            for (String sequence : prohibitedSequences) {
+                String value = "/api/v1/" + sequence + "/end";
+                assertTrue(EncodedCharactersFilter.checkRequestForEncodedCharacters(value), value);
+            }
+            assertEquals(reference(null), EncodedCharactersFilter.checkRequestForEncodedCharacters(null));
+            assertFalse(EncodedCharactersFilter.checkRequestForEncodedCharacters(""));
+        }
+
+        @Test
+        void whenLongPath_thenProhibitedCharacterAtTheEndIsFound() {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < 64 * 1024) {
+                sb.append("/service/api/v1/resource");
+            }
+            String valid = sb.toString();
+
+            assertFalse(EncodedCharactersFilter.checkRequestForEncodedCharacters(valid));
+            assertTrue(EncodedCharactersFilter.checkRequestForEncodedCharacters(valid + "%2f"));
+        }
+
+    }
+
 }
@@ -17,6 +17,7 @@ import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 import org.zowe.apiml.gzip.GZipResponseWrapper;
 
 import javax.servlet.FilterChain;
@@ -74,7 +75,7 @@ class PerServiceGZipFilterTest {
                 @BeforeEach
                 void setup() {
                     when(discoveryClient.getInstances(SERVICE_WITH_COMPRESSION)).thenReturn(instances);
-                    filter = new PerServiceGZipFilter(discoveryClient);
+                    filter = new PerServiceGZipFilter(new ServiceRoutingPolicyService(discoveryClient));
                     request.setRequestURI(url);
                 }
 
@@ -117,7 +118,7 @@ class PerServiceGZipFilterTest {
                     metadata.put("apiml.response.compressRoutes", "/**/compressed,/api/v1/,**/" + SERVICE_WITH_COMPRESSION + "/comp2ress");
 
                     when(discoveryClient.getInstances(SERVICE_WITH_COMPRESSION)).thenReturn(instances);
-                    filter = new PerServiceGZipFilter(discoveryClient);
+                    filter = new PerServiceGZipFilter(new ServiceRoutingPolicyService(discoveryClient));
                 }
 
                 @Test
@@ -141,7 +142,7 @@ class PerServiceGZipFilterTest {
                     metadata.put("apiml.response.compressRoutes", "/**/compressed,/api/v1/" + SERVICE_WITH_COMPRESSION + "/comp2ress");
 
                     when(discoveryClient.getInstances(SERVICE_WITH_COMPRESSION)).thenReturn(instances);
-                    filter = new PerServiceGZipFilter(discoveryClient);
+                    filter = new PerServiceGZipFilter(new ServiceRoutingPolicyService(discoveryClient));
                 }
 
 
@@ -164,7 +165,7 @@ class PerServiceGZipFilterTest {
             @BeforeEach
             void setup() {
                 request.setRequestURI("/api/v1/" + SERVICE_WITHOUT_COMPRESSION);
-                filter = new PerServiceGZipFilter(discoveryClient);
+                filter = new PerServiceGZipFilter(new ServiceRoutingPolicyService(discoveryClient));
                 when(discoveryClient.getInstances(SERVICE_WITHOUT_COMPRESSION)).thenReturn(instancesWithoutCompression);
             }
 
@@ -182,7 +183,7 @@ class PerServiceGZipFilterTest {
         @BeforeEach
         void setUp() {
             when(discoveryClient.getInstances(SERVICE_WITH_COMPRESSION)).thenReturn(instances);
-            filter = new PerServiceGZipFilter(discoveryClient);
+            filter = new PerServiceGZipFilter(new ServiceRoutingPolicyService(discoveryClient));
             request.setRequestURI("/api/v1/" + SERVICE_WITHOUT_COMPRESSION);
         }
 
@@ -198,7 +199,7 @@ class PerServiceGZipFilterTest {
     @Test
     void whenNoInstancesAvailable_thenDoNotWrapResponse() throws ServletException, IOException {
         request.setRequestURI("/api/v1/" + SERVICE_WITHOUT_COMPRESSION);
-        filter = new PerServiceGZipFilter(discoveryClient);
+        filter = new PerServiceGZipFilter(new ServiceRoutingPolicyService(discoveryClient));
         when(discoveryClient.getInstances(SERVICE_WITHOUT_COMPRESSION)).thenReturn(new ArrayList<>());
         MockHttpServletResponse response = new MockHttpServletResponse();
         filter.doFilterInternal(request, response, (request, response1) ->
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.cloud.netflix.zuul.filters.ProxyRequestHelper;
+import org.zowe.apiml.gateway.routing.ServiceRoutingPolicyService;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -46,7 +47,7 @@ class PerServiceIgnoreHeaderFilterTest {
 
         when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.singletonList(instance));
         when(instance.getMetadata()).thenReturn(metadata);
-        underTest = new PerServiceIgnoreHeaderFilter(discoveryClient, proxyRequestHelper);
+        underTest = new PerServiceIgnoreHeaderFilter(new ServiceRoutingPolicyService(discoveryClient), proxyRequestHelper);
     }
 
     @Nested
@@ -11,21 +11,23 @@
 package org.zowe.apiml.gateway.health;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.cloud.client.DefaultServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
 import org.zowe.apiml.gateway.security.login.Providers;
 import org.zowe.apiml.product.constants.CoreService;
 
 import java.util.Collections;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class GatewayHealthIndicatorTest {
 
@@ -142,4 +144,82 @@ class GatewayHealthIndicatorTest {
 
         assertThat(gatewayHealthIndicator.startedInformationPublished, is(true));
     }
+
+    @Nested
+    class GivenHealthSnapshot {
+
+        private DiscoveryClient discoveryClient;
+        private GatewayHealthIndicator underTest;
+
+        @BeforeEach
+        void setUp() {
+            when(providers.isZosfmUsed()).thenReturn(true);
+            when(providers.isZosmfAvailableAndOnline()).thenReturn(true);
+
+            discoveryClient = mock(DiscoveryClient.class);
+            when(discoveryClient.getInstances(CoreService.API_CATALOG.getServiceId())).thenReturn(
+                Collections.singletonList(getDefaultServiceInstance(CoreService.API_CATALOG.getServiceId(), "host", 10014)));
+            when(discoveryClient.getInstances(CoreService.DISCOVERY.getServiceId())).thenReturn(
+                Collections.singletonList(getDefaultServiceInstance(CoreService.DISCOVERY.getServiceId(), "host", 10011)));
+
+            underTest = new GatewayHealthIndicator(discoveryClient, providers, CoreService.API_CATALOG.getServiceId());
+        }
+
+        @Test
+        void whenProbedManyTimes_thenDiscoveryAndZosmfAreCheckedOnce() {
+            for (int i = 0; i < 10_000; i++) {
+                assertEquals(Status.UP, underTest.health().getStatus());
+            }
+
+            verify(discoveryClient, times(1)).getInstances(CoreService.DISCOVERY.getServiceId());
+            verify(discoveryClient, times(1)).getInstances(CoreService.API_CATALOG.getServiceId());
+            verify(discoveryClient, times(1)).getInstances(CoreService.GATEWAY.getServiceId());
+            verify(providers, times(1)).isZosmfAvailableAndOnline();
+        }
+
+        @Test
+        void whenRefreshed_thenProbeReturnsNewState() {
+            assertEquals(Status.UP, underTest.health().getStatus());
+
+            when(discoveryClient.getInstances(CoreService.DISCOVERY.getServiceId())).thenReturn(Collections.emptyList());
+            assertEquals(Status.UP, underTest.health().getStatus());
+
+            underTest.refresh();
+            Health health = underTest.health();
+            assertEquals(Status.DOWN, health.getStatus());
+            assertEquals("DOWN", health.getDetails().get(CoreService.DISCOVERY.getServiceId()));
+        }
+
+        @Test
+        void whenDiscoveryClientIsRefreshed_thenHealthIsComputedInBackground() {
+            underTest.health();
+            when(discoveryClient.getInstances(CoreService.DISCOVERY.getServiceId())).thenReturn(Collections.emptyList());
+
+            new GatewayHealthRefreshListener(underTest).onApplicationEvent(new HeartbeatEvent(discoveryClient, 1L));
+
+            verify(discoveryClient, timeout(5000).times(2)).getInstances(CoreService.GATEWAY.getServiceId());
+            // the snapshot is stored right after the last call of discovery client
+            await().until(() -> Status.DOWN.equals(underTest.health().getStatus()));
+            underTest.stop();
+        }
+
+        @Test
+        void whenBackgroundRefreshFails_thenStatusIsUnknownUntilNextRefresh() {
+            assertEquals(Status.UP, underTest.health().getStatus());
+            when(discoveryClient.getInstances(CoreService.DISCOVERY.getServiceId())).thenThrow(new IllegalStateException("failed"));
+
+            underTest.requestRefresh();
+            await().until(() -> Status.UNKNOWN.equals(underTest.health().getStatus()));
+            assertEquals("java.lang.IllegalStateException: failed", underTest.health().getDetails().get("error"));
+
+            reset(discoveryClient);
+            when(discoveryClient.getInstances(CoreService.DISCOVERY.getServiceId())).thenReturn(
+                Collections.singletonList(getDefaultServiceInstance(CoreService.DISCOVERY.getServiceId(), "host", 10011)));
+            underTest.requestRefresh();
+            await().until(() -> Status.UP.equals(underTest.health().getStatus()));
+            underTest.stop();
+        }
+
+    }
+
 }
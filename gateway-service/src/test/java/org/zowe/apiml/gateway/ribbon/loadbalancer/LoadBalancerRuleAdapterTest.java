@@ -128,6 +128,75 @@ class LoadBalancerRuleAdapterTest {
         }
     }
 
+    @Nested
+    class GivenServerView {
+
+        private final ILoadBalancer loadBalancer = mock(ILoadBalancer.class);
+        private LoadBalancerRuleAdapter underTest;
+
+        @BeforeEach
+        void setup() {
+            underTest = new LoadBalancerRuleAdapter(mock(InstanceInfo.class), mock(ConfigurableNamedContextFactory.class), null);
+            underTest.setLoadBalancer(loadBalancer);
+        }
+
+        private List<Server> createServers(int count) {
+            List<Server> servers = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                servers.add(createServer("server" + i));
+            }
+            Collections.shuffle(servers);
+            return servers;
+        }
+
+        @Test
+        void whenServerListIsNotChanged_thenViewIsReused() {
+            List<Server> servers = createServers(3);
+
+            long version = underTest.getView(servers).getVersion();
+
+            assertEquals(version, underTest.getView(new ArrayList<>(servers)).getVersion());
+        }
+
+        @Test
+        void whenServerIsReplaced_thenViewIsRebuilt() {
+            List<Server> servers = createServers(3);
+            long version = underTest.getView(servers).getVersion();
+
+            servers.set(1, createServer("server1"));
+
+            assertNotEquals(version, underTest.getView(servers).getVersion());
+        }
+
+        @Test
+        void whenServerIsNotReady_thenViewIsRebuiltAndServerIsTheLast() {
+            List<Server> servers = createServers(3);
+            long version = underTest.getView(servers).getVersion();
+
+            DiscoveryEnabledServer notReady = (DiscoveryEnabledServer) servers.get(0);
+            notReady.setReadyToServe(false);
+
+            LoadBalancerRuleAdapter.ServerView view = underTest.getView(servers);
+            assertNotEquals(version, view.getVersion());
+            assertTrue(view.toString().endsWith(notReady + "]"));
+        }
+
+        @Test
+        void givenManyInstances_whenChoose_thenEachIsSelectedOnceInRoundAndViewIsBuiltOnce() {
+            List<Server> servers = createServers(500);
+            when(loadBalancer.getAllServers()).thenReturn(servers);
+
+            Set<Server> selected = new HashSet<>();
+            for (int i = 0; i < servers.size(); i++) {
+                selected.add(underTest.choose("key"));
+            }
+
+            assertEquals(500, selected.size());
+            assertEquals(1, underTest.getView(servers).getVersion());
+        }
+
+    }
+
     private static DiscoveryEnabledServer createServer(String name) {
         InstanceInfo instanceInfo = InstanceInfo.Builder.newBuilder()
                 .setAppName(name)
@@ -0,0 +1,156 @@
+/*
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-v20.html
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Copyright Contributors to the Zowe Project.
+ */
+
+package org.zowe.apiml.gateway.routing;
+
+import com.netflix.zuul.context.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.cloud.netflix.zuul.filters.support.FilterConstants.SERVICE_ID_KEY;
+
+class ServiceRoutingPolicyServiceTest {
+
+    private static final String SERVICE_ID = "serviceid";
+
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private final Map<String, String> metadata = new HashMap<>();
+    private ServiceRoutingPolicyService underTest;
+
+    @BeforeEach
+    void setUp() {
+        metadata.put(ServiceRoutingPolicy.HEADERS_TO_IGNORE, "Header1, Header2");
+        metadata.put(ServiceRoutingPolicy.RESPONSE_HEADERS, "header1:value1, header2");
+        metadata.put(ServiceRoutingPolicy.RESPONSE_COMPRESS, "true");
+        metadata.put(ServiceRoutingPolicy.RESPONSE_COMPRESS_ROUTES, "/**/compressed,api/v1/**");
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Collections.singletonList(instance("1", metadata)));
+
+        underTest = new ServiceRoutingPolicyService(discoveryClient);
+
+        RequestContext context = RequestContext.getCurrentContext();
+        context.clear();
+        context.set(SERVICE_ID_KEY, SERVICE_ID);
+    }
+
+    private ServiceInstance instance(String id, Map<String, String> metadata) {
+        return new DefaultServiceInstance(id, SERVICE_ID, "localhost", 10010, true, metadata);
+    }
+
+    @Nested
+    class WhenCompile {
+
+        @Test
+        void thenMetadataAreParsed() {
+            ServiceRoutingPolicy policy = underTest.getPolicy(SERVICE_ID);
+
+            assertEquals(SERVICE_ID, policy.getServiceId());
+            assertTrue(policy.isEncodedCharactersAllowed());
+            assertEquals(Arrays.asList("Header1", "Header2"), policy.getHeadersToIgnore());
+            assertEquals(Arrays.asList(
+                new ServiceRoutingPolicy.ResponseHeader("header1", "value1"),
+                new ServiceRoutingPolicy.ResponseHeader("header2", "")
+            ), policy.getResponseHeaders());
+            assertEquals(Arrays.asList("/**/compressed", "/api/v1/**"), policy.getCompressRoutes());
+            assertTrue(policy.isCompressionRequired("/serviceid/api/v1/compressed"));
+            assertTrue(policy.isCompressionRequired("/api/v1/anything"));
+            assertFalse(policy.isCompressionRequired("/serviceid/api/v1/other"));
+        }
+
+        @Test
+        void givenAnyInstanceWithoutEncodedCharacters_thenNotAllowed() {
+            Map<String, String> disabled = Collections.singletonMap(ServiceRoutingPolicy.ENABLE_URL_ENCODED_CHARACTERS, "false");
+            when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(Arrays.asList(instance("1", metadata), instance("2", disabled)));
+
+            assertFalse(underTest.getPolicy(SERVICE_ID).isEncodedCharactersAllowed());
+        }
+
+        @Test
+        void givenNoInstance_thenEmptyPolicyIsNotCached() {
+            when(discoveryClient.getInstances(anyString())).thenReturn(Collections.emptyList());
+
+            assertSame(ServiceRoutingPolicy.EMPTY, underTest.getPolicy("unknown"));
+            assertSame(ServiceRoutingPolicy.EMPTY, underTest.getPolicy("unknown"));
+            verify(discoveryClient, times(2)).getInstances("unknown");
+        }
+
+    }
+
+    @Nested
+    class WhenManyRequests {
+
+        @Test
+        void thenMetadataAreProcessedOnce() {
+            ServiceRoutingPolicy policy = underTest.getPolicy();
+            for (int i = 0; i < 1000; i++) {
+                RequestContext.getCurrentContext().clear();
+                RequestContext.getCurrentContext().set(SERVICE_ID_KEY, SERVICE_ID);
+
+                assertSame(policy, underTest.getPolicy());
+                assertSame(policy, underTest.getPolicy("SERVICEID"));
+            }
+            verify(discoveryClient, times(1)).getInstances(anyString());
+        }
+
+        @Test
+        void thenPolicyIsSharedByRequestContext() {
+            ServiceRoutingPolicy policy = underTest.getPolicy();
+
+            assertSame(policy, RequestContext.getCurrentContext().get(ServiceRoutingPolicyService.POLICY_KEY));
+            assertSame(policy, underTest.getPolicy());
+        }
+
+        @Test
+        void givenAnotherServiceInContext_thenPolicyIsNotReused() {
+            underTest.getPolicy();
+            when(discoveryClient.getInstances("other")).thenReturn(Collections.emptyList());
+            RequestContext.getCurrentContext().set(SERVICE_ID_KEY, "other");
+
+            assertSame(ServiceRoutingPolicy.EMPTY, underTest.getPolicy());
+        }
+
+    }
+
+    @Nested
+    class WhenInstancesChange {
+
+        @Test
+        void givenEvictedService_thenPolicyIsCompiledAgain() {
+            ServiceRoutingPolicy policy = underTest.getPolicy(SERVICE_ID);
+            underTest.evictCacheService("other");
+            assertSame(policy, underTest.getPolicy(SERVICE_ID));
+
+            underTest.evictCacheService(SERVICE_ID);
+            assertNotSame(policy, underTest.getPolicy(SERVICE_ID));
+            verify(discoveryClient, times(2)).getInstances(SERVICE_ID);
+        }
+
+        @Test
+        void givenEvictedAll_thenPolicyIsCompiledAgain() {
+            ServiceRoutingPolicy policy = underTest.getPolicy(SERVICE_ID);
+            underTest.evictCacheAllService();
+
+            assertNotSame(policy, underTest.getPolicy(SERVICE_ID));
+        }
+
+    }
+
+}
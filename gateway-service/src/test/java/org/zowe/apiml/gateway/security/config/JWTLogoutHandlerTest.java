@@ -17,7 +17,9 @@ import org.mockito.Mockito;
 import org.springframework.security.core.Authentication;
 import org.zowe.apiml.gateway.security.service.AuthenticationService;
 import org.zowe.apiml.product.logging.LogMessageTracker;
+import org.zowe.apiml.security.common.auth.saf.SafResourceAccessVerifying;
 import org.zowe.apiml.security.common.handler.FailedAuthenticationHandler;
+import org.zowe.apiml.security.common.token.QueryResponse;
 import org.zowe.apiml.security.common.token.TokenFormatNotValidException;
 import org.zowe.apiml.security.common.token.TokenNotProvidedException;
 import org.zowe.apiml.security.common.token.TokenNotValidException;
@@ -35,6 +37,7 @@ class JWTLogoutHandlerTest {
 
     private AuthenticationService authenticationService;
     private FailedAuthenticationHandler failedAuthenticationHandler;
+    private SafResourceAccessVerifying safResourceAccessVerifying;
 
     private final LogMessageTracker logMessageTracker = new LogMessageTracker(JWTLogoutHandler.class);
 
@@ -52,7 +55,8 @@ class JWTLogoutHandlerTest {
 
         authenticationService = mock(AuthenticationService.class);
         failedAuthenticationHandler = mock(FailedAuthenticationHandler.class);
-        handler = new JWTLogoutHandler(authenticationService, failedAuthenticationHandler);
+        safResourceAccessVerifying = mock(SafResourceAccessVerifying.class);
+        handler = new JWTLogoutHandler(authenticationService, failedAuthenticationHandler, safResourceAccessVerifying);
 
         when(authenticationService.getJwtTokenFromRequest(request)).thenReturn(Optional.of(TOKEN));
         when(authenticationService.isInvalidated(TOKEN)).thenReturn(false);
@@ -64,6 +68,38 @@ class JWTLogoutHandlerTest {
         verify(authenticationService, times(1)).invalidateJwtToken(TOKEN, true);
     }
 
+    @Test
+    void givenToken_whenLogout_thenSafDecisionsOfUserAreInvalidated() {
+        QueryResponse queryResponse = new QueryResponse();
+        queryResponse.setUserId("user");
+        when(authenticationService.parseJwtToken(TOKEN)).thenReturn(queryResponse);
+
+        handler.logout(request, response, authentication);
+
+        verify(safResourceAccessVerifying).invalidate("user");
+    }
+
+    @Test
+    void givenTokenWhichCannotBeParsed_whenLogout_thenLogoutIsSuccessful() throws ServletException {
+        when(authenticationService.parseJwtToken(TOKEN)).thenThrow(new TokenNotValidException("msg"));
+
+        handler.logout(request, response, authentication);
+
+        verify(authenticationService).invalidateJwtToken(TOKEN, true);
+        verify(safResourceAccessVerifying, never()).invalidate(any());
+        verify(failedAuthenticationHandler, never()).onAuthenticationFailure(any(), any(), any());
+    }
+
+    @Test
+    void givenNoSafProvider_whenLogout_thenTokenInvalidated() {
+        handler = new JWTLogoutHandler(authenticationService, failedAuthenticationHandler, null);
+
+        handler.logout(request, response, authentication);
+
+        verify(authenticationService).invalidateJwtToken(TOKEN, true);
+        verify(authenticationService, never()).parseJwtToken(any());
+    }
+
     @Test
     void givenNoToken_whenLogout_thenHandleFailure() throws ServletException {
         when(authenticationService.getJwtTokenFromRequest(request)).thenReturn(Optional.empty());
@@ -13,8 +13,12 @@ package org.zowe.apiml.gateway.security.service.token;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.Requirement;
 import com.nimbusds.jose.jwk.*;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClock;
 import io.jsonwebtoken.impl.FixedClock;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -29,11 +33,18 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.zowe.apiml.gateway.cache.CachingServiceClientException;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.text.ParseException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
@@ -268,4 +279,130 @@ class OIDCTokenProviderTest {
             }
         }
     }
+
+    @Nested
+    class GivenLocalJwksEndpoint {
+
+        private HttpServer server;
+        private final AtomicReference<String> response = new AtomicReference<>();
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private RSAKey key1;
+        private RSAKey key2;
+
+        @BeforeEach
+        void setUp() throws IOException, JOSEException {
+            key1 = new RSAKeyGenerator(2048).keyID("key1").keyUse(KeyUse.SIGNATURE).generate();
+            key2 = new RSAKeyGenerator(2048).keyID("key2").keyUse(KeyUse.SIGNATURE).generate();
+            response.set(new JWKSet(key1).toString());
+
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/jwks", exchange -> {
+                requests.incrementAndGet();
+                String body = response.get();
+                if (body == null) {
+                    exchange.sendResponseHeaders(500, -1);
+                } else {
+                    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, bytes.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(bytes);
+                    }
+                }
+                exchange.close();
+            });
+            server.setExecutor(Executors.newFixedThreadPool(4));
+            server.start();
+
+            ReflectionTestUtils.setField(oidcTokenProvider, "jwksUri", "http://localhost:" + server.getAddress().getPort() + "/jwks");
+            ReflectionTestUtils.setField(oidcTokenProvider, "unknownKeyRefreshInterval", 3600);
+            oidcTokenProvider.fetchJWKSet();
+            requests.set(0);
+        }
+
+        @AfterEach
+        void tearDown() {
+            oidcTokenProvider.stop();
+            server.stop(0);
+        }
+
+        private String token(RSAKey key) throws JOSEException {
+            return Jwts.builder()
+                .header().keyId(key.getKeyID()).and()
+                .subject("user")
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(key.toPrivateKey())
+                .compact();
+        }
+
+        @Test
+        void whenKeysAreRefreshedUnderLoad_thenNoValidationFails() throws Exception {
+            String token = token(key1);
+            AtomicInteger validations = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+            AtomicInteger refreshes = new AtomicInteger();
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    futures.add(executor.submit(() -> {
+                        while (refreshes.get() < 50) {
+                            validations.incrementAndGet();
+                            if (!oidcTokenProvider.isValid(token)) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    }));
+                }
+                while (refreshes.get() < 50) {
+                    oidcTokenProvider.fetchJWKSet();
+                    refreshes.incrementAndGet();
+                }
+                for (Future<?> future : futures) {
+                    future.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertTrue(validations.get() > 0);
+            assertEquals(0, failures.get());
+            assertEquals(50, requests.get());
+        }
+
+        @Test
+        void whenRefreshFails_thenPreviousKeysAreUsed() throws JOSEException {
+            response.set(null);
+            oidcTokenProvider.fetchJWKSet();
+
+            assertEquals(1, requests.get());
+            assertTrue(oidcTokenProvider.getPublicKeys().containsKey("key1"));
+            assertNotNull(oidcTokenProvider.getJwkSet());
+            assertTrue(oidcTokenProvider.isValid(token(key1)));
+        }
+
+        @Test
+        void whenUnknownKey_thenKeysAreFetchedAgain() throws JOSEException {
+            response.set(new JWKSet(Arrays.asList(key1, key2)).toString());
+
+            assertTrue(oidcTokenProvider.isValid(token(key2)));
+            assertTrue(oidcTokenProvider.isValid(token(key2)));
+            assertEquals(1, requests.get());
+        }
+
+        @Test
+        void whenUnknownKeyRepeatedly_thenFetchIsRateLimited() throws JOSEException {
+            String token = token(key2);
+
+            assertFalse(oidcTokenProvider.isValid(token));
+            assertFalse(oidcTokenProvider.isValid(token));
+            assertFalse(oidcTokenProvider.isValid(token));
+            assertEquals(1, requests.get());
+            assertTrue(oidcTokenProvider.isValid(token(key1)));
+        }
+
+    }
+
 }
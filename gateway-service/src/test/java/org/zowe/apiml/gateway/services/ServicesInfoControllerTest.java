@@ -10,16 +10,17 @@
 
 package org.zowe.apiml.gateway.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.netflix.appinfo.InstanceInfo;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.zowe.apiml.services.ServiceInfo;
 
 import java.util.Arrays;
-import java.util.Collections;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.hamcrest.core.Is.is;
@@ -41,11 +42,13 @@ class ServicesInfoControllerTest {
     @Mock
     private ServicesInfoService servicesInfoService;
 
+    private static ServicesInfoSnapshot snapshot(ServiceInfo... servicesInfo) {
+        return ServicesInfoSnapshot.of(Arrays.asList(servicesInfo), new ObjectMapper(), 0);
+    }
+
     @Test
     void whenGetAllServices_thenReturnList() {
-        when(servicesInfoService.getServicesInfo(null)).thenReturn(
-                Arrays.asList(serviceInfo, serviceInfo)
-        );
+        when(servicesInfoService.getServicesInfoSnapshot(null)).thenReturn(snapshot(serviceInfo, serviceInfo));
 
         //@formatter:off
         given()
@@ -62,9 +65,7 @@ class ServicesInfoControllerTest {
     @Test
     void whenFilterByApiId_thenReturnList() {
         String apiId = "apiId";
-        when(servicesInfoService.getServicesInfo(apiId)).thenReturn(
-                Arrays.asList(serviceInfo, serviceInfo)
-        );
+        when(servicesInfoService.getServicesInfoSnapshot(apiId)).thenReturn(snapshot(serviceInfo, serviceInfo));
 
         //@formatter:off
         given()
@@ -81,7 +82,7 @@ class ServicesInfoControllerTest {
     @Test
     void whenApiIdDoesNotExists_thenReturn404() {
         String apiId = "apiId";
-        when(servicesInfoService.getServicesInfo(apiId)).thenReturn(Collections.emptyList());
+        when(servicesInfoService.getServicesInfoSnapshot(apiId)).thenReturn(snapshot());
 
         //@formatter:off
         given()
@@ -93,6 +94,66 @@ class ServicesInfoControllerTest {
         //@formatter:on
     }
 
+    @Test
+    void whenApiIdDoesNotExistsAndAnyETagIsRequested_thenReturn404() {
+        String apiId = "apiId";
+        ServicesInfoSnapshot snapshot = snapshot();
+        when(servicesInfoService.getServicesInfoSnapshot(apiId)).thenReturn(snapshot);
+
+        //@formatter:off
+        given()
+                .standaloneSetup(new ServicesInfoController(servicesInfoService))
+                .header(HttpHeaders.IF_NONE_MATCH, "*")
+        .when()
+                .get(String.format("%s?apiId=%s",SERVICES_URL, apiId))
+        .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+
+        given()
+                .standaloneSetup(new ServicesInfoController(servicesInfoService))
+                .header(HttpHeaders.IF_NONE_MATCH, snapshot.getETag())
+        .when()
+                .get(String.format("%s?apiId=%s",SERVICES_URL, apiId))
+        .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        //@formatter:on
+    }
+
+    @Test
+    void whenGetAllServicesWithETag_thenReturnNotModified() {
+        ServicesInfoSnapshot snapshot = snapshot(serviceInfo);
+        when(servicesInfoService.getServicesInfoSnapshot(null)).thenReturn(snapshot);
+
+        //@formatter:off
+        given()
+                .standaloneSetup(new ServicesInfoController(servicesInfoService))
+                .header(HttpHeaders.IF_NONE_MATCH, snapshot.getETag())
+        .when()
+                .get(SERVICES_URL)
+        .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, snapshot.getETag());
+        //@formatter:on
+    }
+
+    @Test
+    void whenGetAllServicesWithDifferentETag_thenReturnList() {
+        ServicesInfoSnapshot snapshot = snapshot(serviceInfo);
+        when(servicesInfoService.getServicesInfoSnapshot(null)).thenReturn(snapshot);
+
+        //@formatter:off
+        given()
+                .standaloneSetup(new ServicesInfoController(servicesInfoService))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+        .when()
+                .get(SERVICES_URL)
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, snapshot.getETag())
+                .body("size()", is(1));
+        //@formatter:on
+    }
+
     @Test
     void whenServiceIsUp_thenReturnOK() {
         when(servicesInfoService.getServiceInfo(SERVICE_ID)).thenReturn(serviceInfo);
@@ -18,6 +18,7 @@ import com.netflix.discovery.shared.Applications;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -30,6 +31,7 @@ import org.zowe.apiml.product.gateway.GatewayConfigProperties;
 import org.zowe.apiml.product.routing.transform.TransformService;
 import org.zowe.apiml.services.ServiceInfo;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -44,8 +46,15 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasProperty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.AUTHENTICATION_APPLID;
 import static org.zowe.apiml.constants.EurekaMetadataDefinition.AUTHENTICATION_SCHEME;
@@ -334,6 +343,71 @@ class ServicesInfoServiceTest {
         return createBasicTestInstance(metadata);
     }
 
+    @Nested
+    class GivenManyInstances {
+
+        private static final int INSTANCES = 1000;
+
+        private final EurekaMetadataParser parser = spy(new EurekaMetadataParser());
+        private Application application;
+        private ServicesInfoService service;
+
+        @BeforeEach
+        void setUp() {
+            List<InstanceInfo> instances = new ArrayList<>();
+            for (int i = 0; i < INSTANCES; i++) {
+                instances.add(createFullTestInstance());
+            }
+            application = new Application(CLIENT_SERVICE_ID, instances);
+            when(eurekaClient.getApplications()).thenReturn(new Applications(null, 1L, Collections.singletonList(application)));
+
+            service = new ServicesInfoService(eurekaClient, parser, gatewayConfigProperties, transformService);
+        }
+
+        @Test
+        void whenRepeatedCalls_thenMetadataAreParsedOnce() {
+            service.getServicesInfo();
+            service.getServicesInfo(CLIENT_API_ID);
+            service.getServicesInfoSnapshot(null);
+
+            verify(parser, times(INSTANCES)).parseApiInfo(any());
+            verify(parser, times(INSTANCES)).parseRoutes(any());
+            verify(parser, times(INSTANCES)).parseAuthentication(any());
+        }
+
+        @Test
+        void whenRegistryIsNotChanged_thenSnapshotIsReused() {
+            ServicesInfoSnapshot snapshot = service.getServicesInfoSnapshot(null);
+
+            assertSame(snapshot, service.getServicesInfoSnapshot(null));
+            assertTrue(snapshot.matches(snapshot.getETag()));
+        }
+
+        @Test
+        void whenInstanceIsAdded_thenSnapshotIsRebuiltAndOnlyNewInstanceIsParsed() {
+            ServicesInfoSnapshot snapshot = service.getServicesInfoSnapshot(null);
+
+            InstanceInfo instanceInfo = createFullTestInstance();
+            instanceInfo.getMetadata().put(CLIENT_CUSTOM_METADATA_KEY, "changed");
+            application.addInstance(instanceInfo);
+            ServicesInfoSnapshot updated = service.getServicesInfoSnapshot(null);
+
+            assertNotEquals(snapshot.getETag(), updated.getETag());
+            verify(parser, times(INSTANCES + 1)).parseApiInfo(any());
+        }
+
+        @Test
+        void whenSnapshotsAreFiltered_thenTheyAreCachedSeparately() {
+            ServicesInfoSnapshot all = service.getServicesInfoSnapshot(null);
+            ServicesInfoSnapshot empty = service.getServicesInfoSnapshot("");
+
+            assertTrue(empty.isEmpty());
+            assertFalse(all.isEmpty());
+            assertSame(empty, service.getServicesInfoSnapshot(""));
+        }
+
+    }
+
     private InstanceInfo createBasicTestInstance() {
         return createBasicTestInstance(InstanceInfo.InstanceStatus.UP, Collections.emptyMap());
     }